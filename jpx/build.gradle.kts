@@ -29,15 +29,42 @@ plugins {
 	`java-library`
 	idea
 	`maven-publish`
+	id("me.champeau.jmh")
 }
 
 description = "JPX - Java GPX (GPS) Library"
 
 moduleName = "io.jenetics.jpx"
 
+/**
+ * The SIMD implementation of the geom kernels uses the incubating
+ * 'jdk.incubator.vector' module. It is compiled separately, with its own
+ * compiler arguments, and loaded reflectively at runtime. This keeps the
+ * compilation of the main module free of the 'incubating module' warning.
+ */
+val vector: SourceSet by sourceSets.creating {
+	compileClasspath += sourceSets.main.get().output
+}
+
+tasks.named<JavaCompile>(vector.compileJavaTaskName) {
+	options.compilerArgs.addAll(listOf("--add-modules", "jdk.incubator.vector"))
+}
+
+tasks.jar {
+	from(vector.output)
+}
+
 dependencies {
 	testImplementation(libs.assertj)
 	testImplementation(libs.equalsverifier)
 	testImplementation(libs.prngine)
 	testImplementation(libs.testng)
+
+	testRuntimeOnly(vector.output)
+	"jmhRuntimeOnly"(vector.output)
+}
+
+tasks.test {
+	// Running the tests with the SIMD implementation of the geom kernels.
+	jvmArgs("--add-modules", "jdk.incubator.vector")
 }
@@ -0,0 +1,120 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jenetics.jpx.GPX.Reader.Order;
+
+/**
+ * Compares reading a directory of GPX files sequentially with the concurrent
+ * {@link GPX.Reader#readAll(java.util.Collection, java.util.concurrent.Executor, int, Order)}
+ * method.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class BatchReaderBenchmark {
+
+	@Param({"200"})
+	public int files;
+
+	@Param({"1000"})
+	public int points;
+
+	@Param({"INPUT", "COMPLETION"})
+	public Order order;
+
+	private Path directory;
+	private final List<Path> paths = new ArrayList<>();
+	private ExecutorService executor;
+
+	@Setup
+	public void setup() throws IOException {
+		directory = Files.createTempDirectory("jpx-batch-");
+		final GPX gpx = GPXReaderBenchmark.track(points);
+		for (int i = 0; i < files; ++i) {
+			final Path path = directory.resolve("track_" + i + ".gpx");
+			GPX.write(gpx, path);
+			paths.add(path);
+		}
+
+		executor = Executors.newFixedThreadPool(
+			2*Runtime.getRuntime().availableProcessors()
+		);
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		executor.shutdown();
+		for (Path path : paths) {
+			Files.delete(path);
+		}
+		Files.delete(directory);
+	}
+
+	@Benchmark
+	public long sequential() throws IOException {
+		long count = 0;
+		for (Path path : paths) {
+			count += GPX.Reader.DEFAULT.read(path).getTracks().size();
+		}
+		return count;
+	}
+
+	@Benchmark
+	public long readAll() {
+		return GPX.Reader.DEFAULT
+			.readAll(
+				paths,
+				executor,
+				4*Runtime.getRuntime().availableProcessors(),
+				order
+			)
+			.mapToLong(result -> result.gpx().getTracks().size())
+			.sum();
+	}
+
+}
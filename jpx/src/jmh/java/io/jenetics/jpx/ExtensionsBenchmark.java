@@ -0,0 +1,119 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+
+/**
+ * Measures reading and writing track-points with extensions. The extensions
+ * are kept as raw XML and the DOM document is only created on access.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class ExtensionsBenchmark {
+
+	@Param({"10000"})
+	public int points;
+
+	private byte[] gpx;
+	private GPX parsed;
+
+	@Setup
+	public void setup() throws IOException {
+		final var start = Instant.parse("2024-01-01T10:00:00Z");
+		final var xml = new StringBuilder();
+		xml.append("""
+			<gpx version="1.1" creator="benchmark"
+				xmlns="http://www.topografix.com/GPX/1/1"
+				xmlns:gpxtpx="http://www.garmin.com/xmlschemas/TrackPointExtension/v1">
+			<trk><name>track</name><trkseg>
+			""");
+		for (int i = 0; i < points; ++i) {
+			xml.append("<trkpt lat=\"").append(48.2 + i*0.00001)
+				.append("\" lon=\"").append(16.3 + i*0.00001).append("\">")
+				.append("<ele>").append(200 + i%100).append("</ele>")
+				.append("<time>").append(start.plusSeconds(i)).append("</time>")
+				.append("<name>point ").append(i).append("</name>")
+				.append("<desc>description of point ").append(i).append("</desc>")
+				.append("<sat>").append(4 + i%8).append("</sat>")
+				.append("<hdop>").append(1.2 + i%5*0.1).append("</hdop>")
+				.append("<extensions><gpxtpx:TrackPointExtension>")
+				.append("<gpxtpx:hr>").append(120 + i%40).append("</gpxtpx:hr>")
+				.append("<gpxtpx:cad>").append(80 + i%20).append("</gpxtpx:cad>")
+				.append("</gpxtpx:TrackPointExtension></extensions>")
+				.append("</trkpt>\n");
+		}
+		xml.append("</trkseg></trk></gpx>");
+
+		gpx = xml.toString().getBytes(UTF_8);
+		parsed = GPX.Reader.DEFAULT.read(new ByteArrayInputStream(gpx));
+	}
+
+	@Benchmark
+	public GPX read() throws IOException {
+		return GPX.Reader.DEFAULT.read(new ByteArrayInputStream(gpx));
+	}
+
+	@Benchmark
+	public Object readAndGetExtensions() throws IOException {
+		return GPX.Reader.DEFAULT.read(new ByteArrayInputStream(gpx))
+			.tracks()
+			.flatMap(Track::segments)
+			.flatMap(TrackSegment::points)
+			.map(WayPoint::getExtensions)
+			.flatMap(Optional::stream)
+			.collect(Collectors.<Document>toList());
+	}
+
+	@Benchmark
+	public byte[] write() throws IOException {
+		final var out = new ByteArrayOutputStream(gpx.length);
+		GPX.Writer.DEFAULT.write(parsed, out);
+		return out.toByteArray();
+	}
+
+}
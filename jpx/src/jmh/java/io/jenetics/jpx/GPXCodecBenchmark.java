@@ -0,0 +1,144 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the encoding and decoding throughput of the XML format, the
+ * binary serialization format and the compact {@link GPXCodec} format. The
+ * encoded size, relative to the XML format, is printed after the
+ * measurement.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class GPXCodecBenchmark {
+
+	public enum Format {
+		XML {
+			@Override
+			byte[] encode(final GPX gpx) {
+				final var out = new ByteArrayOutputStream();
+				try {
+					GPX.Writer.DEFAULT.write(gpx, out);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+				return out.toByteArray();
+			}
+
+			@Override
+			GPX decode(final byte[] bytes) {
+				try {
+					return GPX.Reader.DEFAULT.read(new ByteArrayInputStream(bytes));
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+		},
+
+		BINARY {
+			@Override
+			byte[] encode(final GPX gpx) {
+				return GPX.Writer.DEFAULT.toByteArray(gpx);
+			}
+
+			@Override
+			GPX decode(final byte[] bytes) {
+				return GPX.Reader.DEFAULT.formByteArray(bytes);
+			}
+		},
+
+		COMPACT {
+			@Override
+			byte[] encode(final GPX gpx) {
+				return GPXCodec.DEFAULT.encode(gpx);
+			}
+
+			@Override
+			GPX decode(final byte[] bytes) {
+				return GPXCodec.DEFAULT.decode(bytes);
+			}
+		};
+
+		abstract byte[] encode(final GPX gpx);
+		abstract GPX decode(final byte[] bytes);
+	}
+
+	@Param({"XML", "BINARY", "COMPACT"})
+	public Format format;
+
+	@Param({"10000"})
+	public int points;
+
+	private GPX gpx;
+	private byte[] bytes;
+
+	@Setup
+	public void setup() {
+		// The coordinates have the precision of a GPX file.
+		gpx = Format.XML.decode(Format.XML.encode(GPXReaderBenchmark.track(points)));
+		bytes = format.encode(gpx);
+	}
+
+	@Benchmark
+	public byte[] encode() {
+		return format.encode(gpx);
+	}
+
+	@Benchmark
+	public GPX decode() {
+		return format.decode(bytes);
+	}
+
+	@TearDown
+	public void size() {
+		final int xml = Format.XML.encode(gpx).length;
+		System.out.printf(
+			"%n%s: size = %d bytes, %.2f bytes/point, compression ratio = %.2f%n",
+			format, bytes.length, (double)bytes.length/points,
+			(double)xml/bytes.length
+		);
+	}
+
+}
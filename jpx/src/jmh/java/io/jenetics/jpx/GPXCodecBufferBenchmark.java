@@ -0,0 +1,93 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the {@code byte[]} and the {@link ByteBuffer} methods of the
+ * {@link GPXCodec}. The {@code pooled} methods reuse a direct buffer, as a
+ * buffer pool would do.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class GPXCodecBufferBenchmark {
+
+	@Param({"100", "10000"})
+	public int points;
+
+	private GPX gpx;
+	private byte[] bytes;
+	private ByteBuffer pooled;
+
+	@Setup
+	public void setup() {
+		gpx = GPXCodecBenchmark.Format.XML.decode(
+			GPXCodecBenchmark.Format.XML.encode(GPXReaderBenchmark.track(points))
+		);
+		bytes = GPXCodec.DEFAULT.encode(gpx);
+		pooled = ByteBuffer.allocateDirect(bytes.length).put(bytes);
+	}
+
+	@Benchmark
+	public byte[] encodeArray() {
+		return GPXCodec.DEFAULT.encode(gpx);
+	}
+
+	@Benchmark
+	public ByteBuffer encodeAllocated() {
+		return GPXCodec.DEFAULT.encode(gpx, ByteBuffer::allocate);
+	}
+
+	@Benchmark
+	public ByteBuffer encodePooled() {
+		return GPXCodec.DEFAULT.encode(gpx, size -> pooled.clear());
+	}
+
+	@Benchmark
+	public GPX decodeArray() {
+		return GPXCodec.DEFAULT.decode(bytes);
+	}
+
+	@Benchmark
+	public GPX decodePooled() {
+		return GPXCodec.DEFAULT.decode(pooled.duplicate().clear());
+	}
+
+}
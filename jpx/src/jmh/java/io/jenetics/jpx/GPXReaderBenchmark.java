@@ -0,0 +1,120 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Locale.ENGLISH;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.text.NumberFormat;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.transform.stream.StreamSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jenetics.jpx.GPX.Version;
+
+/**
+ * Measures the per-file cost of reading (small) GPX documents.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class GPXReaderBenchmark {
+
+	@Param({"10", "100", "10000"})
+	public int points;
+
+	private byte[] gpx;
+
+	@Setup
+	public void setup() {
+		gpx = GPX.Writer.DEFAULT
+			.toString(track(points))
+			.getBytes(UTF_8);
+	}
+
+	static GPX track(final int points) {
+		final var start = Instant.parse("2024-01-01T10:00:00Z");
+		final var segment = TrackSegment.builder();
+		for (int i = 0; i < points; ++i) {
+			final double lat = 48.2 + i*0.00001;
+			final double lon = 16.3 + i*0.00001;
+			final double ele = 200 + i%100;
+			final var time = start.plusSeconds(i);
+			segment.addPoint(p -> p.lat(lat).lon(lon).ele(ele).time(time));
+		}
+
+		return GPX.builder()
+			.addTrack(track -> track.addSegment(segment.build()))
+			.build();
+	}
+
+	@Benchmark
+	public GPX cachedReaderTree() throws IOException {
+		return GPX.Reader.DEFAULT.read(new ByteArrayInputStream(gpx));
+	}
+
+	/**
+	 * The previous reading strategy, where the reader tree is built for
+	 * every file.
+	 */
+	@Benchmark
+	public GPX rebuiltReaderTree() throws IOException, XMLStreamException {
+		final var reader = new InputStreamReader(new ByteArrayInputStream(gpx), UTF_8);
+		final var source = new StreamSource(reader);
+
+		try (var input = new XMLStreamReaderAdapter(
+				XMLProvider.provider()
+					.xmlInputFactory()
+					.createXMLStreamReader(source)))
+		{
+			input.next();
+
+			final var format = NumberFormat.getNumberInstance(ENGLISH);
+			final Function<String, Length> lengthParser = string ->
+				Length.parse(string, format);
+
+			return GPX.xmlReader(Version.V11, lengthParser).read(input, false);
+		}
+	}
+
+}
@@ -0,0 +1,163 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import javax.xml.transform.stream.StreamSource;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares reading big GPX files from a character stream, the former
+ * implementation of {@link GPX.Reader#read(Path)}, with reading the bytes of
+ * the file, as {@link GPX.Reader#read(Path)} does now, and with reading the
+ * memory mapped file via {@link GPX.Reader#read(java.nio.ByteBuffer)}.
+ * Besides the reading time, the throughput in bytes per second and the
+ * resident set size (RSS) of the forked JVM are reported. The RSS values are
+ * only available on Linux.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+@State(Scope.Benchmark)
+public class MappedReaderBenchmark {
+
+	// The approximate size of a written track point, in bytes.
+	private static final int POINT_SIZE = 150;
+
+	@Param({"300"})
+	public int megabytes;
+
+	private Path path;
+	private long size;
+
+	@Setup
+	public void setup() throws IOException {
+		final int points = (int)((long)megabytes*(1 << 20)/POINT_SIZE);
+
+		path = Files.createTempFile("jpx-mapped-", ".gpx");
+		GPX.write(GPXReaderBenchmark.track(points), path);
+		size = Files.size(path);
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		Files.delete(path);
+	}
+
+	/**
+	 * The number of read bytes, reported per second.
+	 */
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	@State(Scope.Thread)
+	public static class Bytes {
+		public long bytes;
+
+		@Setup(Level.Iteration)
+		public void reset() {
+			bytes = 0;
+		}
+	}
+
+	/**
+	 * The current and the peak resident set size of the JVM, in kilobytes.
+	 */
+	@AuxCounters(AuxCounters.Type.EVENTS)
+	@State(Scope.Thread)
+	public static class Memory {
+		public long rssKB;
+		public long peakRssKB;
+
+		@TearDown(Level.Iteration)
+		public void update() throws IOException {
+			rssKB = status("VmRSS:");
+			peakRssKB = status("VmHWM:");
+		}
+
+		private static long status(final String key) throws IOException {
+			final Path status = Path.of("/proc/self/status");
+			if (!Files.isReadable(status)) {
+				return 0;
+			}
+
+			return Files.readAllLines(status).stream()
+				.filter(line -> line.startsWith(key))
+				.mapToLong(line -> Long.parseLong(
+					line.substring(key.length()).replace("kB", "").trim()
+				))
+				.findFirst()
+				.orElse(0);
+		}
+	}
+
+	@Benchmark
+	public GPX characterStream(final Bytes bytes, final Memory memory)
+		throws IOException
+	{
+		try (var input = new InputStreamReader(Files.newInputStream(path), UTF_8)) {
+			final GPX gpx = GPX.Reader.DEFAULT.read(new StreamSource(input));
+			bytes.bytes += size;
+			return gpx;
+		}
+	}
+
+	@Benchmark
+	public GPX byteStream(final Bytes bytes, final Memory memory)
+		throws IOException
+	{
+		final GPX gpx = GPX.Reader.DEFAULT.read(path);
+		bytes.bytes += size;
+		return gpx;
+	}
+
+	@Benchmark
+	public GPX mapped(final Bytes bytes, final Memory memory)
+		throws IOException
+	{
+		final GPX gpx = GPX.Reader.DEFAULT.read(ByteBuffers.map(path));
+		bytes.bytes += size;
+		return gpx;
+	}
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares reading a single GPX file with many tracks sequentially with the
+ * concurrent {@link GPX.Reader#read(Path, java.util.concurrent.Executor)}
+ * method.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class ParallelReaderBenchmark {
+
+	@Param({"2000"})
+	public int tracks;
+
+	@Param({"500"})
+	public int points;
+
+	private Path path;
+	private ExecutorService executor;
+
+	@Setup
+	public void setup() throws IOException {
+		final Track track = GPXReaderBenchmark.track(points).getTracks().get(0);
+		final var gpx = GPX.builder();
+		for (int i = 0; i < tracks; ++i) {
+			gpx.addTrack(track);
+		}
+
+		path = Files.createTempFile("jpx-parallel-", ".gpx");
+		GPX.write(gpx.build(), path);
+
+		executor = Executors.newFixedThreadPool(
+			Runtime.getRuntime().availableProcessors()
+		);
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		executor.shutdown();
+		Files.delete(path);
+	}
+
+	@Benchmark
+	public GPX sequential() throws IOException {
+		return GPX.Reader.DEFAULT.read(path);
+	}
+
+	@Benchmark
+	public GPX parallel() throws IOException {
+		return GPX.Reader.DEFAULT.read(path, executor);
+	}
+
+}
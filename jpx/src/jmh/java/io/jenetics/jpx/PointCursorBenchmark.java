@@ -0,0 +1,99 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jenetics.jpx.GPX.Reader.PointType;
+
+/**
+ * Compares the elevation gain calculation via point streams with the
+ * allocation free point cursor. Run with {@code -prof gc} for comparing the
+ * allocation rates.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class PointCursorBenchmark {
+
+	@Param({"10000"})
+	public int points;
+
+	private GPX gpx;
+	private PointCursor cursor;
+
+	@Setup
+	public void setup() {
+		gpx = GPXReaderBenchmark.track(points);
+		cursor = PointCursor.of(gpx, PointType.TRACK_POINT);
+	}
+
+	@Benchmark
+	public double stream() {
+		final double[] state = {0.0, Double.NaN};
+		gpx.tracks()
+			.flatMap(Track::segments)
+			.flatMap(TrackSegment::points)
+			.forEach(point -> {
+				final double ele = point.getElevation()
+					.map(Length::doubleValue)
+					.orElse(Double.NaN);
+				if (ele > state[1]) {
+					state[0] += ele - state[1];
+				}
+				state[1] = ele;
+			});
+		return state[0];
+	}
+
+	@Benchmark
+	public double cursor() {
+		double gain = 0.0;
+		double previous = Double.NaN;
+
+		cursor.reset();
+		while (cursor.next()) {
+			final double ele = cursor.elevationOrNaN();
+			if (ele > previous) {
+				gain += ele - previous;
+			}
+			previous = ele;
+		}
+		return gain;
+	}
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jenetics.jpx.GPX.Reader.Projection;
+import io.jenetics.jpx.GPX.Version;
+
+/**
+ * Compares reading all fields of the track-points with reading only the
+ * position, elevation and time. The track-points contain additional fields
+ * and extensions, as written by fitness devices.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class ProjectionBenchmark {
+
+	private static final GPX.Reader ALL = GPX.Reader.DEFAULT;
+
+	private static final GPX.Reader POSITION = GPX.Reader.of(
+		Version.V11,
+		GPX.Reader.Mode.STRICT,
+		Projection.ALL.wayPoint("ele", "time").metadata()
+	);
+
+	@Param({"10000"})
+	public int points;
+
+	private byte[] gpx;
+
+	@Setup
+	public void setup() {
+		final var start = Instant.parse("2024-01-01T10:00:00Z");
+		final var xml = new StringBuilder();
+		xml.append("""
+			<gpx version="1.1" creator="benchmark"
+				xmlns="http://www.topografix.com/GPX/1/1"
+				xmlns:gpxtpx="http://www.garmin.com/xmlschemas/TrackPointExtension/v1">
+			<trk><name>track</name><trkseg>
+			""");
+		for (int i = 0; i < points; ++i) {
+			xml.append("<trkpt lat=\"").append(48.2 + i*0.00001)
+				.append("\" lon=\"").append(16.3 + i*0.00001).append("\">")
+				.append("<ele>").append(200 + i%100).append("</ele>")
+				.append("<time>").append(start.plusSeconds(i)).append("</time>")
+				.append("<name>point ").append(i).append("</name>")
+				.append("<desc>description of point ").append(i).append("</desc>")
+				.append("<sat>").append(4 + i%8).append("</sat>")
+				.append("<hdop>").append(1.2 + i%5*0.1).append("</hdop>")
+				.append("<extensions><gpxtpx:TrackPointExtension>")
+				.append("<gpxtpx:hr>").append(120 + i%40).append("</gpxtpx:hr>")
+				.append("<gpxtpx:cad>").append(80 + i%20).append("</gpxtpx:cad>")
+				.append("</gpxtpx:TrackPointExtension></extensions>")
+				.append("</trkpt>\n");
+		}
+		xml.append("</trkseg></trk></gpx>");
+
+		gpx = xml.toString().getBytes(UTF_8);
+	}
+
+	@Benchmark
+	public GPX allFields() throws IOException {
+		return ALL.read(new ByteArrayInputStream(gpx));
+	}
+
+	@Benchmark
+	public GPX positionFields() throws IOException {
+		return POSITION.read(new ByteArrayInputStream(gpx));
+	}
+
+}
@@ -0,0 +1,127 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the elevation gain calculation of a randomly chosen track, read
+ * from a memory-mapped {@link TrackArchive}, with decoding the whole
+ * {@link GPXCodec} encoded tracks.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class TrackArchiveBenchmark {
+
+	@Param({"100"})
+	public int tracks;
+
+	@Param({"10000"})
+	public int points;
+
+	private final Random random = new Random(123);
+
+	private Path path;
+	private TrackArchive archive;
+	private byte[] compact;
+
+	@Setup
+	public void setup() throws IOException {
+		final Track track = GPXReaderBenchmark.track(points).getTracks().get(0);
+		final List<Track> list = IntStream.range(0, tracks)
+			.mapToObj(i -> track)
+			.toList();
+
+		path = Files.createTempFile("jpx-", ".jpxa");
+		TrackArchive.write(list, path);
+		archive = TrackArchive.open(path);
+		compact = GPXCodec.DEFAULT.encode(GPX.builder().tracks(list).build());
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		archive.close();
+		Files.deleteIfExists(path);
+	}
+
+	@Benchmark
+	public double archive() {
+		final TrackArchive.Segment segment =
+			archive.segment(random.nextInt(tracks), 0);
+
+		double gain = 0.0;
+		double previous = Double.NaN;
+		for (int i = 0, n = segment.size(); i < n; ++i) {
+			final double ele = segment.elevationOrNaN(i);
+			if (ele > previous) {
+				gain += ele - previous;
+			}
+			previous = ele;
+		}
+		return gain;
+	}
+
+	@Benchmark
+	public double codec() {
+		final List<WayPoint> segment = GPXCodec.DEFAULT.decode(compact)
+			.getTracks().get(random.nextInt(tracks))
+			.getSegments().get(0)
+			.getPoints();
+
+		double gain = 0.0;
+		double previous = Double.NaN;
+		for (WayPoint point : segment) {
+			final double ele = point.getElevation()
+				.map(Length::doubleValue)
+				.orElse(Double.NaN);
+			if (ele > previous) {
+				gain += ele - previous;
+			}
+			previous = ele;
+		}
+		return gain;
+	}
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx.geom;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jenetics.jpx.Length;
+import io.jenetics.jpx.WayPoint;
+
+/**
+ * Compares the throughput of the distance models for a track with points
+ * about 10 m apart. The relative error of the path length, compared to the
+ * {@link DistanceModel#VINCENTY} model, is printed after the measurement.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class DistanceModelBenchmark {
+
+	@Param({"VINCENTY", "HAVERSINE", "EQUIRECTANGULAR", "ANDOYER_LAMBERT"})
+	public DistanceModel model;
+
+	private List<WayPoint> track;
+	private Geoid geoid;
+
+	@Setup
+	public void setup() {
+		final var random = new Random(123);
+		final double[] position = {48.2, 16.3};
+		track = Stream
+			.generate(() -> {
+				position[0] += (random.nextDouble() - 0.5)*0.0002;
+				position[1] += (random.nextDouble() - 0.5)*0.0002;
+				return WayPoint.of(position[0], position[1]);
+			})
+			.limit(10_000)
+			.toList();
+
+		geoid = Geoid.WGS84.withModel(model);
+	}
+
+	@Benchmark
+	public Length pathLength() {
+		return track.stream().collect(geoid.toPathLength());
+	}
+
+	@TearDown
+	public void accuracy() {
+		final double expected = track.stream()
+			.collect(Geoid.WGS84.toPathLength())
+			.doubleValue();
+		final double actual = pathLength().doubleValue();
+
+		System.out.printf(
+			"%n%s: path length = %.3f m, relative error = %.3e%n",
+			model, actual, Math.abs(actual - expected)/expected
+		);
+	}
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx.geom;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the scalar and the SIMD implementation of the coordinate kernels.
+ * The SIMD implementation is the {@link Kernels#INSTANCE}, since the
+ * benchmark is forked with the {@code jdk.incubator.vector} module.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@State(Scope.Benchmark)
+public class KernelsBenchmark {
+
+	@Param({"SCALAR", "VECTOR"})
+	public String kernel;
+
+	@Param({"100000"})
+	public int points;
+
+	private Kernels kernels;
+	private double[] lat;
+	private double[] lon;
+	private double[] coslat;
+	private double[] out;
+
+	@Setup
+	public void setup() {
+		kernels = "VECTOR".equals(kernel)
+			? Kernels.INSTANCE
+			: new ScalarKernels();
+
+		final var random = new Random(123);
+		lat = new double[points];
+		lon = new double[points];
+		for (int i = 0; i < points; ++i) {
+			lat[i] = Math.toRadians(48.0 + random.nextDouble());
+			lon[i] = Math.toRadians(16.0 + random.nextDouble());
+		}
+		coslat = new double[points];
+		kernels.cosines(lat, coslat);
+		out = new double[points - 1];
+	}
+
+	@Benchmark
+	public double[] haversine() {
+		kernels.haversine(lat, coslat, lon, 6_371_000, out);
+		return out;
+	}
+
+	@Benchmark
+	public double[] equirectangular() {
+		kernels.equirectangular(lat, lon, 6_378_137, 0.00669438, out);
+		return out;
+	}
+
+	@Benchmark
+	public double[] bounds() {
+		return kernels.bounds(lat, lon);
+	}
+
+}
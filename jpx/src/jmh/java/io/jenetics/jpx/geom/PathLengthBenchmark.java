@@ -0,0 +1,96 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx.geom;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import io.jenetics.jpx.Length;
+import io.jenetics.jpx.WayPoint;
+
+/**
+ * Compares the sequential, the parallel and the batch path length
+ * calculation.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1)
+@State(Scope.Benchmark)
+public class PathLengthBenchmark {
+
+	@Param({"10000", "1000000"})
+	public int points;
+
+	private List<WayPoint> track;
+	private double[] lat;
+	private double[] lon;
+
+	@Setup
+	public void setup() {
+		final var random = new Random(123);
+		track = Stream
+			.generate(() -> WayPoint.of(
+				48.0 + random.nextDouble(),
+				16.0 + random.nextDouble()))
+			.limit(points)
+			.toList();
+
+		lat = track.stream()
+			.mapToDouble(p -> p.getLatitude().doubleValue())
+			.toArray();
+		lon = track.stream()
+			.mapToDouble(p -> p.getLongitude().doubleValue())
+			.toArray();
+	}
+
+	@Benchmark
+	public Length sequential() {
+		return track.stream().collect(Geoid.WGS84.toPathLength());
+	}
+
+	@Benchmark
+	public Length parallel() {
+		return track.parallelStream().collect(Geoid.WGS84.toPathLength());
+	}
+
+	@Benchmark
+	public double batch() {
+		return Geoid.WGS84.pathLength(lat, lon);
+	}
+
+}
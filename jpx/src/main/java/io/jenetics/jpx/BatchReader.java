@@ -0,0 +1,166 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import io.jenetics.jpx.GPX.Reader.Order;
+import io.jenetics.jpx.GPX.Reader.PathResult;
+
+/**
+ * Reads a sequence of GPX files concurrently. The number of files, which are
+ * read or whose results are not delivered yet, is bounded by the given
+ * {@code maxInFlight} value. This also bounds the number of GPX objects held
+ * in memory. New files are only submitted for reading, when the results are
+ * consumed.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 3.3
+ * @since 3.3
+ */
+final class BatchReader implements Iterator<PathResult> {
+
+	private final GPX.Reader _reader;
+	private final Iterator<? extends Path> _paths;
+	private final Executor _executor;
+	private final int _maxInFlight;
+	private final Order _order;
+
+	// The read results, in completion order.
+	private final BlockingQueue<Completed> _completed = new LinkedBlockingQueue<>();
+
+	// Completed results, which are waiting for the results of their
+	// predecessors, if the results are delivered in input order.
+	private final Map<Integer, PathResult> _pending = new HashMap<>();
+
+	private int _submitted = 0;
+	private int _delivered = 0;
+
+	BatchReader(
+		final GPX.Reader reader,
+		final Iterator<? extends Path> paths,
+		final Executor executor,
+		final int maxInFlight,
+		final Order order
+	) {
+		if (maxInFlight < 1) {
+			throw new IllegalArgumentException(
+				"Max in-flight must be greater than zero: " + maxInFlight
+			);
+		}
+
+		_reader = requireNonNull(reader);
+		_paths = requireNonNull(paths);
+		_executor = requireNonNull(executor);
+		_maxInFlight = maxInFlight;
+		_order = requireNonNull(order);
+	}
+
+	@Override
+	public boolean hasNext() {
+		submit();
+		return _delivered < _submitted;
+	}
+
+	@Override
+	public PathResult next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+
+		PathResult result;
+		if (_order == Order.INPUT) {
+			result = _pending.remove(_delivered);
+			while (result == null) {
+				final PathResult completed = take();
+				if (completed.index() == _delivered) {
+					result = completed;
+				} else {
+					_pending.put(completed.index(), completed);
+				}
+			}
+		} else {
+			result = take();
+		}
+
+		++_delivered;
+		submit();
+		return result;
+	}
+
+	private void submit() {
+		while (_submitted - _delivered < _maxInFlight && _paths.hasNext()) {
+			final Path path = requireNonNull(_paths.next());
+			final int index = _submitted;
+			_executor.execute(() -> _completed.add(read(index, path)));
+			++_submitted;
+		}
+	}
+
+	private Completed read(final int index, final Path path) {
+		try {
+			return new Completed(
+				new PathResult(index, path, _reader.read(path), null),
+				null
+			);
+		} catch (IOException e) {
+			return new Completed(new PathResult(index, path, null, e), null);
+		} catch (RuntimeException e) {
+			final var error = new IOException(e.getMessage(), e);
+			return new Completed(new PathResult(index, path, null, error), null);
+		} catch (Error e) {
+			// Errors are re-thrown by the consuming thread.
+			return new Completed(null, e);
+		}
+	}
+
+	private PathResult take() {
+		final Completed completed;
+		try {
+			completed = _completed.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new UncheckedIOException(new InterruptedIOException(
+				"Interrupted while waiting for GPX file."
+			));
+		}
+
+		if (completed.error() != null) {
+			throw completed.error();
+		}
+		return completed.result();
+	}
+
+	private record Completed(PathResult result, Error error) {
+	}
+
+}
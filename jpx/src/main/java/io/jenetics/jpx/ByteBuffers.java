@@ -0,0 +1,169 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Helper methods for reading from and writing to byte buffers with the
+ * stream based IO classes. The streams read and write the buffer directly,
+ * starting at its current position, without copying it.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 3.3
+ * @since 3.3
+ */
+final class ByteBuffers {
+
+	/**
+	 * Files smaller than this size are read into a heap buffer at once.
+	 * Bigger files are streamed, instead of holding the whole file in memory.
+	 */
+	static final int BUFFER_THRESHOLD = 1 << 20;
+
+	private ByteBuffers() {
+	}
+
+	/**
+	 * Return the content of the given file, read into a heap buffer. The
+	 * file is closed, when this method returns.
+	 *
+	 * @param path the file to read
+	 * @return the content of the file, or {@code null} if the file is bigger
+	 *         than 2 GB and can't be returned as one buffer
+	 * @throws IOException if the file can't be read
+	 * @throws NullPointerException if the given {@code path} is {@code null}
+	 */
+	static ByteBuffer read(final Path path) throws IOException {
+		try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			final long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				return null;
+			}
+
+			final ByteBuffer buffer = ByteBuffer.allocate((int)size);
+			while (buffer.hasRemaining() && channel.read(buffer) != -1) {
+				// Reading until the buffer is full.
+			}
+			return buffer.flip();
+		}
+	}
+
+	/**
+	 * Maps the content of the given file into memory. <em>The mapping is not
+	 * released explicitly. It stays valid until the returned buffer is
+	 * garbage collected.</em> As long as the mapping exists, the file can't
+	 * be deleted, moved or overwritten on Windows.
+	 *
+	 * @param path the file to map
+	 * @return the mapped content of the file, or {@code null} if the file is
+	 *         bigger than 2 GB and can't be mapped as one buffer
+	 * @throws IOException if the file can't be mapped
+	 * @throws NullPointerException if the given {@code path} is {@code null}
+	 */
+	static ByteBuffer map(final Path path) throws IOException {
+		try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			final long size = channel.size();
+			return size <= Integer.MAX_VALUE
+				? channel.map(FileChannel.MapMode.READ_ONLY, 0, size)
+				: null;
+		}
+	}
+
+	/**
+	 * Return an input stream, which reads the remaining bytes of the given
+	 * buffer. Reading the stream advances the position of the buffer.
+	 *
+	 * @param buffer the buffer to read
+	 * @return a new input stream for the given buffer
+	 * @throws NullPointerException if the given {@code buffer} is {@code null}
+	 */
+	static InputStream input(final ByteBuffer buffer) {
+		requireNonNull(buffer);
+
+		return new InputStream() {
+			@Override
+			public int read() {
+				return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+			}
+
+			@Override
+			public int read(final byte[] bytes, final int offset, final int length) {
+				if (length == 0) {
+					return 0;
+				}
+				if (!buffer.hasRemaining()) {
+					return -1;
+				}
+
+				final int n = Math.min(length, buffer.remaining());
+				buffer.get(bytes, offset, n);
+				return n;
+			}
+
+			@Override
+			public long skip(final long n) {
+				final int skip = (int)Math.max(0, Math.min(n, buffer.remaining()));
+				buffer.position(buffer.position() + skip);
+				return skip;
+			}
+
+			@Override
+			public int available() {
+				return buffer.remaining();
+			}
+		};
+	}
+
+	/**
+	 * Return an output stream, which writes into the given buffer. Writing
+	 * the stream advances the position of the buffer.
+	 *
+	 * @param buffer the target buffer
+	 * @return a new output stream for the given buffer
+	 * @throws NullPointerException if the given {@code buffer} is {@code null}
+	 * @throws java.nio.BufferOverflowException, when writing to the stream,
+	 *         if there is insufficient space in the buffer
+	 */
+	static OutputStream output(final ByteBuffer buffer) {
+		requireNonNull(buffer);
+
+		return new OutputStream() {
+			@Override
+			public void write(final int b) {
+				buffer.put((byte)b);
+			}
+
+			@Override
+			public void write(final byte[] bytes, final int offset, final int length) {
+				buffer.put(bytes, offset, length);
+			}
+		};
+	}
+
+}
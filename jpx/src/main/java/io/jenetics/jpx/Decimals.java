@@ -0,0 +1,186 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import java.text.NumberFormat;
+
+/**
+ * Fast, locale independent parsing and formatting of decimal numbers. The
+ * parser handles the plain decimal numbers, which are usually found in GPX
+ * files, like {@code -12.3456}. Numbers with other forms, e.g. with exponent
+ * or grouping separators, are not handled by the fast path and must be parsed
+ * by the original parser. The same is true for the formatter, which returns
+ * {@code null} for values it can't format exactly like {@link NumberFormat}.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 3.3
+ * @since 3.3
+ */
+final class Decimals {
+
+	// The powers of ten, which are exactly representable as double.
+	private static final double[] POW10 = {
+		1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12,
+		1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+	};
+
+	// The largest mantissa, which is exactly representable as double.
+	private static final long MAX_MANTISSA = 1L << 53;
+
+	// Upper bound of the scaled values, which are formatted by the fast path.
+	// The rounding error of the scaled value is below 2^-12.
+	private static final double MAX_SCALED = 0x1p40;
+
+	// Scaled values, which are this close to a rounding tie, are not handled
+	// by the fast path.
+	private static final double TIE_EPSILON = 1e-3;
+
+	private Decimals() {
+	}
+
+	/**
+	 * Parses the given {@code value} with the same result as
+	 * {@link Double#parseDouble(String)}.
+	 *
+	 * @param value the string to parse
+	 * @return the parsed double value
+	 * @throws NumberFormatException if the given {@code value} can't be parsed
+	 * @throws NullPointerException if the given {@code value} is {@code null}
+	 */
+	static double parseDouble(final String value) {
+		final double result = parse(value, 0, value.length());
+		return Double.isNaN(result) ? Double.parseDouble(value) : result;
+	}
+
+	/**
+	 * Parses the plain decimal number, {@code -?\d*(\.\d*)?}, within the
+	 * given character range. The result is the correctly rounded double
+	 * value of the decimal number, which is the same value as returned by
+	 * {@link Double#parseDouble(String)}. Since the division of two exactly
+	 * representable doubles is correctly rounded, the fast path is restricted
+	 * to mantissas up to 2<sup>53</sup> and at most 22 fraction digits.
+	 *
+	 * @param value the character sequence to parse
+	 * @param start the start index of the number, inclusively
+	 * @param end the end index of the number, exclusively
+	 * @return the parsed value, or {@link Double#NaN} if the number couldn't
+	 *         be parsed by the fast path
+	 */
+	static double parse(
+		final CharSequence value,
+		final int start,
+		final int end
+	) {
+		int index = start;
+		final boolean negative = index < end && value.charAt(index) == '-';
+		if (negative) {
+			++index;
+		}
+
+		long mantissa = 0;
+		int digits = 0;
+		int fraction = -1;
+		for (; index < end; ++index) {
+			final char c = value.charAt(index);
+			if (c >= '0' && c <= '9') {
+				mantissa = mantissa*10 + (c - '0');
+				if (mantissa > MAX_MANTISSA) {
+					return Double.NaN;
+				}
+				++digits;
+				if (fraction != -1) {
+					++fraction;
+				}
+			} else if (c == '.' && fraction == -1) {
+				fraction = 0;
+			} else {
+				return Double.NaN;
+			}
+		}
+
+		if (digits == 0 || fraction >= POW10.length) {
+			return Double.NaN;
+		}
+
+		final double result = fraction > 0
+			? mantissa/POW10[fraction]
+			: mantissa;
+		return negative ? -result : result;
+	}
+
+	/**
+	 * Formats the given {@code value} with the same result as a
+	 * {@link NumberFormat} for the {@link java.util.Locale#ENGLISH} locale,
+	 * with the given maximum fraction digits and without grouping. The number
+	 * format rounds {@link java.math.RoundingMode#HALF_EVEN}. Since the
+	 * fast path rounds the (inexactly) scaled value, values close to a
+	 * rounding tie and values too big for the exact scaling are not handled.
+	 *
+	 * @param value the value to format
+	 * @param fractionDigits the maximum fraction digits
+	 * @return the formatted value, or {@code null} if the value couldn't be
+	 *         formatted by the fast path
+	 */
+	static String format(final double value, final int fractionDigits) {
+		if (fractionDigits < 0 || fractionDigits >= POW10.length) {
+			return null;
+		}
+
+		final double scaled = Math.abs(value)*POW10[fractionDigits];
+		if (!(scaled < MAX_SCALED)) {
+			return null;
+		}
+
+		final double floor = Math.floor(scaled);
+		final double remainder = scaled - floor;
+		if (Math.abs(remainder - 0.5) < TIE_EPSILON) {
+			return null;
+		}
+
+		long digits = (long)floor + (remainder > 0.5 ? 1 : 0);
+		int fraction = fractionDigits;
+		while (fraction > 0 && digits%10 == 0) {
+			digits /= 10;
+			--fraction;
+		}
+
+		final char[] chars = new char[fraction + 16];
+		int index = chars.length;
+		for (int i = 0; i < fraction; ++i) {
+			chars[--index] = (char)('0' + digits%10);
+			digits /= 10;
+		}
+		if (fraction > 0) {
+			chars[--index] = '.';
+		}
+		do {
+			chars[--index] = (char)('0' + digits%10);
+			digits /= 10;
+		} while (digits != 0);
+
+		// The number format keeps the sign of negative zero values.
+		if (Double.doubleToRawLongBits(value) < 0) {
+			chars[--index] = '-';
+		}
+
+		return new String(chars, index, chars.length - index);
+	}
+
+}
@@ -36,7 +36,7 @@ import java.io.Serializable;
  * @see <a href="https://en.wikipedia.org/wiki/Value_object">Value object</a>
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 2.0
+ * @version 3.3
  * @since 1.0
  */
 public final class Degrees
@@ -184,7 +184,7 @@ public final class Degrees
 		final String deg = Strings.trim(value);
 
 		return deg != null
-			? Degrees.ofDegrees(Double.parseDouble(deg))
+			? Degrees.ofDegrees(Decimals.parseDouble(deg))
 			: null;
 	}
 
@@ -0,0 +1,459 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+import java.time.Instant;
+
+import javax.xml.stream.XMLStreamException;
+
+import io.jenetics.jpx.GPX.Reader.Projection;
+import io.jenetics.jpx.GPX.Reader.Selection;
+import io.jenetics.jpx.GPX.Version;
+
+/**
+ * Reads a GPX document element by element and reports the read GPX objects
+ * to a {@link GPXHandler}. The XML elements of event types, which are not
+ * handled, are skipped without parsing its content.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 3.3
+ * @since 3.3
+ */
+final class EventReader {
+
+	// The element depths of the GPX elements.
+	private static final int GPX_DEPTH = 1;
+	private static final int CHILD_DEPTH = 2;
+	private static final int RTEPT_DEPTH = 3;
+	private static final int TRKPT_DEPTH = 4;
+
+	// The GPX v1.0 metadata elements, which are direct children of <gpx>.
+	private static final String[] V10_METADATA = {
+		"name", "desc", "author", "email", "url", "urlname", "time",
+		"keywords", "bounds"
+	};
+
+	private final XMLStreamReaderAdapter _xml;
+	private final Version _version;
+	private final boolean _lenient;
+	private final Projection _projection;
+	private final GPXHandler _handler;
+
+	// The readers are null, if the handler is not interested in the elements.
+	private final XMLReader<Metadata> _metadataReader;
+	private final XMLReader<WayPoint> _wayPointReader;
+	private final XMLReader<WayPoint> _routePointReader;
+	private final XMLReader<WayPoint> _trackPointReader;
+
+	// The current reading state.
+	private int _depth = 0;
+	private String _parent = null;
+	private boolean _segment = false;
+
+	private int _routeIndex = -1;
+	private int _trackIndex = -1;
+	private int _segmentIndex = -1;
+
+	// Collected metadata values of GPX v1.0 documents.
+	private Object[] _v10Metadata = null;
+	private boolean _v10MetadataReported = false;
+
+	EventReader(
+		final XMLStreamReaderAdapter xml,
+		final Version version,
+		final boolean lenient,
+		final Projection projection,
+		final Selection selection,
+		final GPXHandler handler,
+		final boolean metadata,
+		final boolean wayPoints,
+		final boolean routePoints,
+		final boolean trackPoints
+	) {
+		_xml = requireNonNull(xml);
+		_version = requireNonNull(version);
+		_lenient = lenient;
+		_projection = requireNonNull(projection);
+		_handler = requireNonNull(handler);
+
+		final Readers readers = Readers.of(
+			version,
+			projection,
+			selection,
+			metadata,
+			wayPoints,
+			routePoints,
+			trackPoints
+		);
+		_metadataReader = metadata ? readers.metadata() : null;
+		_wayPointReader = wayPoints ? readers.wayPoint() : null;
+		_routePointReader = routePoints ? readers.routePoint() : null;
+		_trackPointReader = trackPoints ? readers.trackPoint() : null;
+	}
+
+	/**
+	 * Create a new event reader, which only reads the GPX objects for the
+	 * callback methods, overridden by the given {@code handler}.
+	 *
+	 * @param xml the underlying XML stream reader
+	 * @param version the GPX version of the document
+	 * @param lenient the lenient reading mode
+	 * @param projection the fields of the read GPX objects
+	 * @param selection the selection of the read points
+	 * @param handler the GPX event handler
+	 * @return a new event reader
+	 */
+	static EventReader of(
+		final XMLStreamReaderAdapter xml,
+		final Version version,
+		final boolean lenient,
+		final Projection projection,
+		final Selection selection,
+		final GPXHandler handler
+	) {
+		final Class<?> type = handler.getClass();
+		return new EventReader(
+			xml,
+			version,
+			lenient,
+			projection,
+			selection,
+			handler,
+			overrides(type, "onMetadata", Metadata.class),
+			overrides(type, "onWayPoint", WayPoint.class),
+			overrides(type, "onRoutePoint", WayPoint.class),
+			overrides(type, "onTrackPoint", WayPoint.class)
+		);
+	}
+
+	private static boolean overrides(
+		final Class<?> type,
+		final String name,
+		final Class<?> parameter
+	) {
+		try {
+			return type.getMethod(name, parameter).getDeclaringClass() !=
+				GPXHandler.class;
+		} catch (NoSuchMethodException e) {
+			throw new AssertionError(e);
+		}
+	}
+
+	/**
+	 * Reads the whole GPX document.
+	 *
+	 * @throws XMLStreamException if the GPX document is invalid
+	 */
+	void read() throws XMLStreamException {
+		while (next()) {
+			// Reading the next event.
+		}
+	}
+
+	/**
+	 * Reads the next start or end element of the GPX document.
+	 *
+	 * @return {@code false} if the end of the GPX document has been reached,
+	 *         {@code true} otherwise
+	 * @throws XMLStreamException if the GPX document is invalid
+	 */
+	boolean next() throws XMLStreamException {
+		while (_xml.hasNext()) {
+			switch (_xml.next()) {
+				case START_ELEMENT -> {
+					start();
+					return true;
+				}
+				case END_ELEMENT -> {
+					end();
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	private void start() throws XMLStreamException {
+		++_depth;
+		final String name = _xml.getLocalName();
+
+		if (_depth == GPX_DEPTH) {
+			if (!"gpx".equals(name)) {
+				throw new XMLStreamException(format(
+					"Expected 'gpx' root element, but got '%s'.", name
+				));
+			}
+		} else if (_depth == CHILD_DEPTH) {
+			if (_version == Version.V10 &&
+				_metadataReader != null &&
+				!_v10MetadataReported)
+			{
+				final int index = v10MetadataIndex(name);
+				if (index != -1) {
+					readV10Metadata(index);
+					return;
+				}
+				v10Metadata();
+			}
+
+			switch (name) {
+				case "metadata" -> {
+					if (_version == Version.V11 && _metadataReader != null) {
+						final Metadata metadata = _metadataReader.read(_xml, _lenient);
+						pop();
+						if (metadata != null) {
+							_handler.onMetadata(metadata);
+						}
+					} else {
+						skip();
+					}
+				}
+				case "wpt" -> {
+					final WayPoint point = read(_wayPointReader);
+					if (point != null) {
+						_handler.onWayPoint(point);
+					}
+				}
+				case "rte" -> {
+					_parent = name;
+					_handler.onRouteStart(++_routeIndex);
+				}
+				case "trk" -> {
+					_parent = name;
+					_segmentIndex = -1;
+					_handler.onTrackStart(++_trackIndex);
+				}
+				default -> skip();
+			}
+		} else if (_depth == RTEPT_DEPTH && "rte".equals(_parent)) {
+			if ("rtept".equals(name)) {
+				final WayPoint point = read(_routePointReader);
+				if (point != null) {
+					_handler.onRoutePoint(point);
+				}
+			} else {
+				skip();
+			}
+		} else if (_depth == RTEPT_DEPTH && "trk".equals(_parent)) {
+			if ("trkseg".equals(name)) {
+				_segment = true;
+				_handler.onSegmentStart(++_segmentIndex);
+			} else {
+				skip();
+			}
+		} else if (_depth == TRKPT_DEPTH && _segment && "trkpt".equals(name)) {
+			final WayPoint point = read(_trackPointReader);
+			if (point != null) {
+				_handler.onTrackPoint(point);
+			}
+		} else {
+			skip();
+		}
+	}
+
+	private void end() {
+		if (_depth == RTEPT_DEPTH && _segment) {
+			_segment = false;
+			_handler.onSegmentEnd(_segmentIndex);
+		} else if (_depth == CHILD_DEPTH && _parent != null) {
+			if ("rte".equals(_parent)) {
+				_handler.onRouteEnd(_routeIndex);
+			} else {
+				_handler.onTrackEnd(_trackIndex);
+			}
+			_parent = null;
+		} else if (_depth == GPX_DEPTH) {
+			v10Metadata();
+		}
+
+		pop();
+	}
+
+	// Leaves the current element, without reporting an end event.
+	private void pop() {
+		--_depth;
+	}
+
+	private WayPoint read(final XMLReader<WayPoint> reader)
+		throws XMLStreamException
+	{
+		if (reader != null) {
+			// The reader leaves the stream at the end element of the point.
+			final WayPoint point = reader.read(_xml, _lenient);
+			pop();
+			return point;
+		} else {
+			skip();
+			return null;
+		}
+	}
+
+	// Skips the current element, including all of its children.
+	private void skip() throws XMLStreamException {
+		int depth = 1;
+		while (depth > 0 && _xml.hasNext()) {
+			switch (_xml.next()) {
+				case START_ELEMENT -> ++depth;
+				case END_ELEMENT -> --depth;
+			}
+		}
+		pop();
+	}
+
+	/* *************************************************************************
+	 * The element readers.
+	 * ************************************************************************/
+
+	/**
+	 * The XML readers of the elements, which are reported to the handler.
+	 * The readers of not reported elements are {@code null}.
+	 */
+	private record Readers(
+		XMLReader<Metadata> metadata,
+		XMLReader<WayPoint> wayPoint,
+		XMLReader<WayPoint> routePoint,
+		XMLReader<WayPoint> trackPoint
+	) {
+
+		// The XML reader trees are immutable and thread-safe. The readers of
+		// the default projection and selection are built only once per
+		// version and shared by all event readers.
+		private static final Readers V10 = create(
+			Version.V10, Projection.ALL, Selection.ALL, true, true, true, true
+		);
+		private static final Readers V11 = create(
+			Version.V11, Projection.ALL, Selection.ALL, true, true, true, true
+		);
+
+		static Readers of(
+			final Version version,
+			final Projection projection,
+			final Selection selection,
+			final boolean metadata,
+			final boolean wayPoints,
+			final boolean routePoints,
+			final boolean trackPoints
+		) {
+			if (projection.equals(Projection.ALL) &&
+				selection.equals(Selection.ALL))
+			{
+				return version == Version.V10 ? V10 : V11;
+			} else {
+				return create(
+					version,
+					projection,
+					selection,
+					metadata,
+					wayPoints,
+					routePoints,
+					trackPoints
+				);
+			}
+		}
+
+		private static Readers create(
+			final Version version,
+			final Projection projection,
+			final Selection selection,
+			final boolean metadata,
+			final boolean wayPoints,
+			final boolean routePoints,
+			final boolean trackPoints
+		) {
+			return new Readers(
+				metadata
+					? Metadata.xmlReader(projection)
+					: null,
+				wayPoints
+					? WayPoint.xmlReader(version, "wpt", Length::parse, projection, selection)
+					: null,
+				routePoints
+					? WayPoint.xmlReader(version, "rtept", Length::parse, projection, selection)
+					: null,
+				trackPoints
+					? WayPoint.xmlReader(version, "trkpt", Length::parse, projection, selection)
+					: null
+			);
+		}
+
+	}
+
+	/* *************************************************************************
+	 * Reading the GPX v1.0 metadata.
+	 * ************************************************************************/
+
+	private static int v10MetadataIndex(final String name) {
+		for (int i = 0; i < V10_METADATA.length; ++i) {
+			if (V10_METADATA[i].equals(name)) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private void readV10Metadata(final int index) throws XMLStreamException {
+		if (!_projection.isMetadataField(V10_METADATA[index])) {
+			skip();
+			return;
+		}
+		if (_v10Metadata == null) {
+			_v10Metadata = new Object[V10_METADATA.length];
+		}
+
+		final XMLReader<?> reader = switch (V10_METADATA[index]) {
+			case "time" -> XMLReader.elem("time").map(TimeFormat::parse);
+			case "bounds" -> Bounds.READER;
+			default -> XMLReader.elem(V10_METADATA[index]);
+		};
+		_v10Metadata[index] = reader.read(_xml, _lenient);
+		pop();
+	}
+
+	// Reports the collected GPX v1.0 metadata, if any.
+	private void v10Metadata() {
+		if (_v10Metadata != null) {
+			final Object[] v = _v10Metadata;
+			_v10Metadata = null;
+			_v10MetadataReported = true;
+
+			final Metadata metadata = GPX.toMetadataV10(
+				(String)v[0],
+				(String)v[1],
+				(String)v[2],
+				(String)v[3],
+				(String)v[4],
+				(String)v[5],
+				(Instant)v[6],
+				(String)v[7],
+				(Bounds)v[8]
+			);
+			if (metadata != null && metadata.nonEmpty()) {
+				_handler.onMetadata(metadata);
+			}
+		}
+	}
+
+}
@@ -30,7 +30,7 @@ import java.time.Year;
  * Some helper methods for parsing GPS values.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.2
+ * @version 3.3
  * @since 1.0
  */
 final class Format {
@@ -40,7 +40,7 @@ final class Format {
 
 	static Double parseDouble(final String value) {
 		final String d = Strings.trim(value);
-		return d != null ? Double.parseDouble(d) : null;
+		return d != null ? Decimals.parseDouble(d) : null;
 	}
 
 	/**
@@ -27,7 +27,7 @@ import static java.util.Objects.requireNonNull;
 import static io.jenetics.jpx.Lists.copyOf;
 import static io.jenetics.jpx.Lists.copyTo;
 
-import java.io.ByteArrayInputStream;
+import java.io.BufferedInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInput;
 import java.io.DataInputStream;
@@ -36,28 +36,39 @@ import java.io.DataOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.io.InvalidObjectException;
 import java.io.ObjectInputStream;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Serial;
 import java.io.Serializable;
+import java.io.StringReader;
 import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.net.URI;
+import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.text.NumberFormat;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
@@ -69,6 +80,9 @@ import javax.xml.transform.stream.StreamSource;
 
 import org.w3c.dom.Document;
 
+import io.jenetics.jpx.GPX.Reader.Projection;
+import io.jenetics.jpx.GPX.Reader.Selection;
+
 /**
  * GPX documents contain a metadata header, followed by way-points, routes, and
  * tracks. You can add your own elements to the extensions section of the GPX
@@ -450,6 +464,27 @@ public final class GPX implements Serializable {
 			.extensions(_extensions);
 	}
 
+	/**
+	 * Return a new GPX object with the given way-points, routes and tracks.
+	 * All other properties are taken from {@code this} object, without
+	 * further processing.
+	 */
+	GPX withElements(
+		final List<WayPoint> wayPoints,
+		final List<Route> routes,
+		final List<Track> tracks
+	) {
+		return new GPX(
+			_version,
+			_creator,
+			_metadata,
+			wayPoints,
+			routes,
+			tracks,
+			_extensions
+		);
+	}
+
 	@Override
 	public String toString() {
 		return format(
@@ -1113,6 +1148,578 @@ public final class GPX implements Serializable {
 			STRICT
 		}
 
+		/**
+		 * The point types which can be read by the streaming methods of the
+		 * GPX reader.
+		 *
+		 * @see #stream(Path, Set)
+		 *
+		 * @version 3.3
+		 * @since 3.3
+		 */
+		public enum PointType {
+
+			/**
+			 * The way-points of the GPX document, {@code <wpt>}.
+			 */
+			WAY_POINT,
+
+			/**
+			 * The route-points of the GPX routes, {@code <rtept>}.
+			 */
+			ROUTE_POINT,
+
+			/**
+			 * The track-points of the GPX track-segments, {@code <trkpt>}.
+			 */
+			TRACK_POINT
+		}
+
+		/**
+		 * A point read by the streaming methods of the GPX reader, together
+		 * with its position within the GPX document.
+		 *
+		 * @see #stream(Path, Set)
+		 *
+		 * @version 3.3
+		 * @since 3.3
+		 *
+		 * @param type the point type
+		 * @param index the index of the route (for route-points) or the track
+		 *        (for track-points) the point belongs to. For way-points, this
+		 *        is the index of the way-point itself.
+		 * @param segment the index of the track-segment, within its track,
+		 *        of a track-point, or {@code -1} for way- and route-points
+		 * @param point the read point
+		 */
+		public record IndexedPoint(
+			PointType type,
+			int index,
+			int segment,
+			WayPoint point
+		) {
+			/**
+			 * Create a new indexed point object.
+			 *
+			 * @param type the point type
+			 * @param index the route or track index of the point
+			 * @param segment the segment index of the point
+			 * @param point the read point
+			 * @throws NullPointerException if the {@code type} or the
+			 *         {@code point} is {@code null}
+			 */
+			public IndexedPoint {
+				requireNonNull(type);
+				requireNonNull(point);
+			}
+		}
+
+		/**
+		 * The delivery order of the results of the batch reading methods.
+		 *
+		 * @see #readAll(Collection, Executor, int, Order)
+		 *
+		 * @version 3.3
+		 * @since 3.3
+		 */
+		public enum Order {
+
+			/**
+			 * The results are delivered in the order of the input paths.
+			 */
+			INPUT,
+
+			/**
+			 * The results are delivered as soon as a file has been read.
+			 */
+			COMPLETION
+		}
+
+		/**
+		 * The result of reading a single GPX file with the batch reading
+		 * methods. A result contains either the read GPX object or the error,
+		 * which occurred while reading the file.
+		 *
+		 * @see #readAll(Collection, Executor, int, Order)
+		 *
+		 * @version 3.3
+		 * @since 3.3
+		 *
+		 * @param index the index of the path within the input paths
+		 * @param path the path of the read GPX file
+		 * @param gpx the read GPX object, or {@code null} if the file couldn't
+		 *        be read
+		 * @param error the reading error, or {@code null} if the file has been
+		 *        read successfully
+		 */
+		public record PathResult(
+			int index,
+			Path path,
+			GPX gpx,
+			IOException error
+		) {
+			/**
+			 * Create a new path result object.
+			 *
+			 * @param index the index of the path
+			 * @param path the path of the GPX file
+			 * @param gpx the read GPX object
+			 * @param error the reading error
+			 * @throws NullPointerException if the {@code path} is {@code null}
+			 * @throws IllegalArgumentException if not exactly one of the
+			 *         {@code gpx} and {@code error} values is given
+			 */
+			public PathResult {
+				requireNonNull(path);
+				if ((gpx == null) == (error == null)) {
+					throw new IllegalArgumentException(
+						"Either the GPX object or the error must be given."
+					);
+				}
+			}
+
+			/**
+			 * Return {@code true} if the GPX file has been read successfully.
+			 *
+			 * @return {@code true} if the GPX file has been read successfully
+			 */
+			public boolean isSuccess() {
+				return error == null;
+			}
+
+			/**
+			 * Return the read GPX object or throw the reading error.
+			 *
+			 * @return the read GPX object
+			 * @throws IOException if the GPX file couldn't be read
+			 */
+			public GPX get() throws IOException {
+				if (error != null) {
+					throw error;
+				}
+				return gpx;
+			}
+		}
+
+		/**
+		 * Selects the fields of way-points, tracks and metadata, which are
+		 * read from a GPX document. The fields are named by their GPX element
+		 * names, e.g. {@code "ele"}, {@code "time"}, {@code "name"},
+		 * {@code "link"}, {@code "extensions"} or {@code "trkseg"}. Elements
+		 * of fields, which are not selected, are skipped, without converting
+		 * their text, parsing numbers or building extension documents. This
+		 * reduces the CPU time and memory allocation, if only a few fields are
+		 * needed.
+		 * <pre>{@code
+		 * final GPX.Reader reader = GPX.Reader.of(
+		 *     Version.V11,
+		 *     Mode.STRICT,
+		 *     Projection.ALL
+		 *         .wayPoint("ele", "time")
+		 *         .track("name", "trkseg")
+		 *         .metadata()
+		 * );
+		 * }</pre>
+		 *
+		 * The mandatory {@code lat} and {@code lon} attributes of the
+		 * way-points are always read. Since the content of skipped elements is
+		 * not parsed, it is not validated either. Routes are always read
+		 * completely, except their route-points, which are read with the
+		 * way-point projection. The GPX 1.0 elements {@code url} and
+		 * {@code urlname} belong to the {@code link} field and the
+		 * {@code email} element of the metadata belongs to the
+		 * {@code author} field.
+		 *
+		 * @see #of(Version, Mode, Projection)
+		 *
+		 * @version 3.3
+		 * @since 3.3
+		 */
+		public static final class Projection {
+
+			/**
+			 * The projection which reads all fields.
+			 */
+			public static final Projection ALL = new Projection(null, null, null);
+
+			// The selected fields; null means all fields.
+			private final Set<String> _wayPoint;
+			private final Set<String> _track;
+			private final Set<String> _metadata;
+
+			private Projection(
+				final Set<String> wayPoint,
+				final Set<String> track,
+				final Set<String> metadata
+			) {
+				_wayPoint = wayPoint;
+				_track = track;
+				_metadata = metadata;
+			}
+
+			/**
+			 * Return a new projection, which reads only the given way-point
+			 * fields. This projection is used for way-points, route-points
+			 * and track-points.
+			 *
+			 * @param fields the way-point fields to read
+			 * @return a new projection with the given way-point fields
+			 * @throws NullPointerException if one of the fields is
+			 *         {@code null}
+			 * @throws IllegalArgumentException if one of the fields is not a
+			 *         way-point field
+			 */
+			public Projection wayPoint(final String... fields) {
+				return new Projection(
+					fields(WayPoint.FIELDS, fields),
+					_track,
+					_metadata
+				);
+			}
+
+			/**
+			 * Return a new projection, which reads only the given track
+			 * fields. The track segments are only read, if the
+			 * {@code "trkseg"} field is selected.
+			 *
+			 * @param fields the track fields to read
+			 * @return a new projection with the given track fields
+			 * @throws NullPointerException if one of the fields is
+			 *         {@code null}
+			 * @throws IllegalArgumentException if one of the fields is not a
+			 *         track field
+			 */
+			public Projection track(final String... fields) {
+				return new Projection(
+					_wayPoint,
+					fields(Track.FIELDS, fields),
+					_metadata
+				);
+			}
+
+			/**
+			 * Return a new projection, which reads only the given metadata
+			 * fields.
+			 *
+			 * @param fields the metadata fields to read
+			 * @return a new projection with the given metadata fields
+			 * @throws NullPointerException if one of the fields is
+			 *         {@code null}
+			 * @throws IllegalArgumentException if one of the fields is not a
+			 *         metadata field
+			 */
+			public Projection metadata(final String... fields) {
+				return new Projection(
+					_wayPoint,
+					_track,
+					fields(Metadata.FIELDS, fields)
+				);
+			}
+
+			/**
+			 * Return the selected way-point fields.
+			 *
+			 * @return the selected way-point fields, or an empty optional if
+			 *         all fields are read
+			 */
+			public Optional<Set<String>> wayPointFields() {
+				return Optional.ofNullable(_wayPoint);
+			}
+
+			/**
+			 * Return the selected track fields.
+			 *
+			 * @return the selected track fields, or an empty optional if all
+			 *         fields are read
+			 */
+			public Optional<Set<String>> trackFields() {
+				return Optional.ofNullable(_track);
+			}
+
+			/**
+			 * Return the selected metadata fields.
+			 *
+			 * @return the selected metadata fields, or an empty optional if
+			 *         all fields are read
+			 */
+			public Optional<Set<String>> metadataFields() {
+				return Optional.ofNullable(_metadata);
+			}
+
+			boolean isWayPointField(final String name) {
+				return _wayPoint == null || _wayPoint.contains(field(name));
+			}
+
+			boolean isTrackField(final String name) {
+				return _track == null || _track.contains(field(name));
+			}
+
+			boolean isMetadataField(final String name) {
+				return _metadata == null || _metadata.contains(field(name));
+			}
+
+			private static Set<String>
+			fields(final Set<String> valid, final String... fields) {
+				final Set<String> result = new HashSet<>();
+				for (String name : fields) {
+					final String field = field(requireNonNull(name));
+					if (!valid.contains(field)) {
+						throw new IllegalArgumentException(format(
+							"Unknown field '%s'.", name
+						));
+					}
+					result.add(field);
+				}
+				return Set.copyOf(result);
+			}
+
+			// Maps the GPX 1.0 element names to the field they belong to.
+			private static String field(final String name) {
+				return switch (name) {
+					case "url", "urlname" -> "link";
+					case "email" -> "author";
+					default -> name;
+				};
+			}
+
+			@Override
+			public int hashCode() {
+				return hash(_wayPoint, _track, _metadata);
+			}
+
+			@Override
+			public boolean equals(final Object obj) {
+				return obj instanceof Projection projection &&
+					Objects.equals(projection._wayPoint, _wayPoint) &&
+					Objects.equals(projection._track, _track) &&
+					Objects.equals(projection._metadata, _metadata);
+			}
+
+			@Override
+			public String toString() {
+				return format(
+					"Projection[way-point=%s, track=%s, metadata=%s]",
+					_wayPoint != null ? _wayPoint : "*",
+					_track != null ? _track : "*",
+					_metadata != null ? _metadata : "*"
+				);
+			}
+		}
+
+		/**
+		 * Selects the way-points, routes and tracks, which are read from a
+		 * GPX document. The selection is tested while reading: a point is
+		 * skipped, without reading its remaining child elements, as soon as
+		 * its location or time is known to be outside the selection. A track
+		 * is skipped as soon as its header, the fields before the first
+		 * track segment, is rejected by the track filter. This way, the
+		 * memory needed for reading a GPX document grows with the size of the
+		 * selected elements and not with the size of the document.
+		 * <pre>{@code
+		 * final GPX.Reader reader = GPX.Reader.of(
+		 *     Version.V11,
+		 *     Mode.STRICT,
+		 *     Projection.ALL,
+		 *     Selection.ALL
+		 *         .bounds(Bounds.of(47.0, 9.5, 49.0, 13.8))
+		 *         .time(start, end)
+		 *         .track(track -> track.getType().equals(Optional.of("running")))
+		 * );
+		 * }</pre>
+		 *
+		 * The point selection is applied to way-points, route-points and
+		 * track-points. If a point selection is given, track segments, tracks
+		 * and routes without selected points are dropped. The track filter is
+		 * tested with the track header, a track without segments. Since the
+		 * content of skipped elements is not parsed, it is not validated
+		 * either. The point time is always read, if a time range is selected,
+		 * even if it is not part of the {@link Projection}. The GPX handler
+		 * and stream based reading methods only apply the point selection.
+		 *
+		 * @see #of(Version, Mode, Projection, Selection)
+		 *
+		 * @version 3.3
+		 * @since 3.3
+		 */
+		public static final class Selection {
+
+			/**
+			 * The selection which reads all elements.
+			 */
+			public static final Selection ALL =
+				new Selection(null, null, null, null);
+
+			private final Bounds _bounds;
+			private final Instant _start;
+			private final Instant _end;
+			private final Predicate<? super Track> _track;
+
+			private Selection(
+				final Bounds bounds,
+				final Instant start,
+				final Instant end,
+				final Predicate<? super Track> track
+			) {
+				_bounds = bounds;
+				_start = start;
+				_end = end;
+				_track = track;
+			}
+
+			/**
+			 * Return a new selection, which only reads the points within the
+			 * given {@code bounds}, inclusively. If the minimum longitude of
+			 * the bounds is greater than its maximum longitude, the bounds
+			 * crosses the 180th meridian.
+			 *
+			 * @param bounds the bounds of the selected points
+			 * @return a new selection with the given point bounds
+			 * @throws NullPointerException if the given {@code bounds} is
+			 *         {@code null}
+			 */
+			public Selection bounds(final Bounds bounds) {
+				return new Selection(requireNonNull(bounds), _start, _end, _track);
+			}
+
+			/**
+			 * Return a new selection, which only reads the points with a time
+			 * within the given range. Points without time are not selected.
+			 *
+			 * @param start the start of the time range, inclusively
+			 * @param end the end of the time range, exclusively
+			 * @return a new selection with the given time range
+			 * @throws NullPointerException if one of the arguments is
+			 *         {@code null}
+			 * @throws IllegalArgumentException if {@code start} is after
+			 *         {@code end}
+			 */
+			public Selection time(final Instant start, final Instant end) {
+				requireNonNull(start);
+				requireNonNull(end);
+				if (start.isAfter(end)) {
+					throw new IllegalArgumentException(format(
+						"Start time is after end time: %s > %s.", start, end
+					));
+				}
+				return new Selection(_bounds, start, end, _track);
+			}
+
+			/**
+			 * Return a new selection, which only reads the tracks accepted by
+			 * the given {@code filter}. The filter is tested with the track
+			 * header, a track with the projected fields, but without segments.
+			 *
+			 * @param filter the track filter
+			 * @return a new selection with the given track filter
+			 * @throws NullPointerException if the given {@code filter} is
+			 *         {@code null}
+			 */
+			public Selection track(final Predicate<? super Track> filter) {
+				return new Selection(_bounds, _start, _end, requireNonNull(filter));
+			}
+
+			/**
+			 * Return the bounds of the selected points.
+			 *
+			 * @return the bounds of the selected points, or an empty optional
+			 *         if the points are not selected by its location
+			 */
+			public Optional<Bounds> bounds() {
+				return Optional.ofNullable(_bounds);
+			}
+
+			/**
+			 * Return the start of the selected time range, inclusively.
+			 *
+			 * @return the start of the selected time range, or an empty
+			 *         optional if the points are not selected by its time
+			 */
+			public Optional<Instant> start() {
+				return Optional.ofNullable(_start);
+			}
+
+			/**
+			 * Return the end of the selected time range, exclusively.
+			 *
+			 * @return the end of the selected time range, or an empty
+			 *         optional if the points are not selected by its time
+			 */
+			public Optional<Instant> end() {
+				return Optional.ofNullable(_end);
+			}
+
+			boolean isPointSelection() {
+				return _bounds != null || _start != null;
+			}
+
+			boolean isTimeSelection() {
+				return _start != null;
+			}
+
+			boolean isTrackSelection() {
+				return _track != null;
+			}
+
+			boolean accepts(final Latitude latitude, final Longitude longitude) {
+				if (_bounds == null || latitude == null || longitude == null) {
+					return true;
+				}
+
+				final double lat = latitude.toDegrees();
+				final double lon = longitude.toDegrees();
+				final double minLon = _bounds.getMinLongitude().toDegrees();
+				final double maxLon = _bounds.getMaxLongitude().toDegrees();
+
+				return lat >= _bounds.getMinLatitude().toDegrees() &&
+					lat <= _bounds.getMaxLatitude().toDegrees() &&
+					(minLon <= maxLon
+						? lon >= minLon && lon <= maxLon
+						: lon >= minLon || lon <= maxLon);
+			}
+
+			boolean accepts(final Instant time) {
+				return _start == null ||
+					time != null &&
+					!time.isBefore(_start) &&
+					time.isBefore(_end);
+			}
+
+			boolean accepts(final Track header) {
+				return _track == null || _track.test(header);
+			}
+
+			@Override
+			public int hashCode() {
+				return hash(_bounds, _start, _end, _track);
+			}
+
+			@Override
+			public boolean equals(final Object obj) {
+				return obj instanceof Selection selection &&
+					Objects.equals(selection._bounds, _bounds) &&
+					Objects.equals(selection._start, _start) &&
+					Objects.equals(selection._end, _end) &&
+					Objects.equals(selection._track, _track);
+			}
+
+			@Override
+			public String toString() {
+				return format(
+					"Selection[bounds=%s, time=%s, track=%s]",
+					_bounds != null ? _bounds : "*",
+					_start != null ? format("[%s, %s)", _start, _end) : "*",
+					_track != null ? _track : "*"
+				);
+			}
+		}
+
+		// The XML reader trees are immutable and thread-safe. They are built
+		// only once per version and shared by all reader instances.
+		private static final XMLReader<GPX> V10_READER =
+			GPX.xmlReader(Version.V10, Length::parse);
+		private static final XMLReader<GPX> V11_READER =
+			GPX.xmlReader(Version.V11, Length::parse);
+
 		/**
 		 * The <em>default </em>GPX reader, reading GPX files (v1.1) with
 		 * reading mode {@link Mode#STRICT}.
@@ -1123,10 +1730,33 @@ public final class GPX implements Serializable {
 
 		private final Version _version;
 		private final Mode _mode;
-
-		private Reader(final Version version, final Mode mode) {
+		private final Projection _projection;
+		private final Selection _selection;
+		private final XMLReader<GPX> _reader;
+
+		private Reader(
+			final Version version,
+			final Mode mode,
+			final Projection projection,
+			final Selection selection
+		) {
 			_version = requireNonNull(version);
 			_mode = requireNonNull(mode);
+			_projection = requireNonNull(projection);
+			_selection = requireNonNull(selection);
+
+			if (projection.equals(Projection.ALL) &&
+				selection.equals(Selection.ALL))
+			{
+				_reader = version == Version.V10 ? V10_READER : V11_READER;
+			} else {
+				_reader = GPX.xmlReader(
+					version,
+					Length::parse,
+					projection,
+					selection
+				);
+			}
 		}
 
 		/**
@@ -1147,6 +1777,28 @@ public final class GPX implements Serializable {
 			return _mode;
 		}
 
+		/**
+		 * Return the projection, which selects the read fields.
+		 *
+		 * @since 3.3
+		 *
+		 * @return the projection of {@code this} reader
+		 */
+		public Projection projection() {
+			return _projection;
+		}
+
+		/**
+		 * Return the selection, which selects the read elements.
+		 *
+		 * @since 3.3
+		 *
+		 * @return the selection of {@code this} reader
+		 */
+		public Selection selection() {
+			return _selection;
+		}
+
 		/**
 		 * Read a GPX object from the given input {@code source}. This is the
 		 * most general method for reading a {@code GPX} object.
@@ -1166,39 +1818,92 @@ public final class GPX implements Serializable {
 		public GPX read(final Source source)
 			throws IOException
 		{
+			final XMLStreamReader reader;
 			try {
-				final XMLStreamReader reader = XMLProvider.provider()
+				reader = XMLProvider.provider()
 					.xmlInputFactory()
 					.createXMLStreamReader(source);
+			} catch (XMLStreamException e) {
+				throw new IOException(e);
+			}
 
-				try (var input = new XMLStreamReaderAdapter(reader)) {
-					if (input.hasNext()) {
-						input.next();
+			return read(reader);
+		}
 
-						final var format = NumberFormat.getNumberInstance(ENGLISH);
-						final Function<String, Length> lengthParser = string ->
-							Length.parse(string, format);
+		/**
+		 * Read a GPX object from the remaining raw {@code bytes} of the given
+		 * buffer. The XML parser reads the bytes directly and detects the
+		 * encoding of the document, from its byte order mark and XML
+		 * declaration. Documents without encoding declaration are read as
+		 * UTF-8. The position of the given buffer is not changed.
+		 * <p>
+		 * This method allows reading memory mapped GPX files, which avoids
+		 * copying big files into the Java heap.
+		 * <pre>{@code
+		 * final GPX gpx;
+		 * try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+		 *     final ByteBuffer bytes = channel
+		 *         .map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		 *     gpx = GPX.Reader.DEFAULT.read(bytes);
+		 * }
+		 * }</pre>
+		 *
+		 * <em>The mapping of a file is not released, when the channel is
+		 * closed. It stays valid until the mapped buffer is garbage
+		 * collected. On Windows, the file can't be deleted, moved or
+		 * overwritten as long as the mapping exists.</em> Use
+		 * {@link #read(Path)} if the file is modified right after reading it.
+		 *
+		 * @since 3.3
+		 *
+		 * @param bytes the bytes of the GPX document
+		 * @return the GPX object read from the given bytes
+		 * @throws IOException if the GPX object can't be read
+		 * @throws NullPointerException if the given {@code bytes} buffer is
+		 *         {@code null}
+		 * @throws InvalidObjectException if the gpx input is invalid.
+		 */
+		public GPX read(final ByteBuffer bytes) throws IOException {
+			return readBytes(ByteBuffers.input(bytes.duplicate()));
+		}
 
-						return GPX.xmlReader(_version, lengthParser)
-							.read(input, _mode == Mode.LENIENT);
-					} else {
-						throw new InvalidObjectException("No 'gpx' element found.");
-					}
-				} catch (XMLStreamException e) {
-					throw new InvalidObjectException(
-						"Invalid GPX: " + e.getMessage()
-					);
-				} catch (IllegalArgumentException e) {
-					final var ioe = new InvalidObjectException(e.getMessage());
-					throw (InvalidObjectException)ioe.initCause(e);
-				}
+		private GPX readBytes(final InputStream input) throws IOException {
+			final XMLStreamReader reader;
+			try {
+				reader = XMLProvider.provider()
+					.xmlInputFactory()
+					.createXMLStreamReader(input);
 			} catch (XMLStreamException e) {
 				throw new IOException(e);
 			}
+
+			return read(reader);
+		}
+
+		private GPX read(final XMLStreamReader reader) throws IOException {
+			try (var input = new XMLStreamReaderAdapter(reader)) {
+				if (input.hasNext()) {
+					input.next();
+					return _reader.read(input, _mode == Mode.LENIENT);
+				} else {
+					throw new InvalidObjectException("No 'gpx' element found.");
+				}
+			} catch (XMLStreamException e) {
+				throw new InvalidObjectException(
+					"Invalid GPX: " + e.getMessage()
+				);
+			} catch (IllegalArgumentException e) {
+				final var ioe = new InvalidObjectException(e.getMessage());
+				throw (InvalidObjectException)ioe.initCause(e);
+			}
 		}
 
 		/**
-		 * Read a GPX object from the given {@code input} stream.
+		 * Read a GPX object from the given {@code input} stream. The bytes of
+		 * the stream are given directly to the XML parser, which detects the
+		 * encoding of the document from its byte order mark and XML
+		 * declaration. Documents without encoding declaration are read as
+		 * UTF-8.
 		 *
 		 * @param input the input stream from where the GPX date is read
 		 * @return the GPX object read from the in stream
@@ -1210,14 +1915,16 @@ public final class GPX implements Serializable {
 		public GPX read(final InputStream input)
 			throws IOException
 		{
-			final var wrapper = new NonCloseableInputStream(input);
-			try (var reader = new InputStreamReader(wrapper, UTF_8)) {
-				return read(new StreamSource(reader));
-			}
+			return readBytes(new NonCloseableInputStream(input));
 		}
 
 		/**
-		 * Read a GPX object from the given {@code path}.
+		 * Read a GPX object from the given {@code path}. Smaller files are
+		 * read into memory at once, bigger files are streamed. The file is
+		 * closed, when this method returns. The bytes of the file are given
+		 * directly to the XML parser, which detects the encoding of the
+		 * document from its byte order mark and XML declaration. Documents
+		 * without encoding declaration are read as UTF-8.
 		 *
 		 * @param path the input path from where the GPX date is read
 		 * @return the GPX object read from the input stream
@@ -1227,11 +1934,57 @@ public final class GPX implements Serializable {
 		 * @throws InvalidObjectException if the gpx input is invalid.
 		 */
 		public GPX read(final Path path) throws IOException {
-			try (var input = Files.newInputStream(path)) {
-				return read(input);
+			if (Files.size(path) < ByteBuffers.BUFFER_THRESHOLD) {
+				return read(ByteBuffers.read(path));
+			}
+
+			try (var input = new BufferedInputStream(Files.newInputStream(path))) {
+				return readBytes(input);
 			}
 		}
 
+		/**
+		 * Read a GPX object from the given {@code path}, parsing the document
+		 * concurrently with the given {@code executor}. The file is mapped
+		 * into memory and scanned for the boundaries of the top-level
+		 * {@code <wpt>}, {@code <rte>} and {@code <trk>} elements. These
+		 * elements are parsed concurrently and reassembled in document order.
+		 * The rest of the document is read sequentially. The read GPX object
+		 * is the same as the one returned by {@link #read(Path)}. This method
+		 * pays off for big files with many top-level elements. It doesn't
+		 * speed up the reading of a file which consists of a single, big
+		 * track.
+		 * <p>
+		 * Documents, which can't be split safely, are read sequentially. This
+		 * is the case for documents with a DOCTYPE declaration, UTF-16 or
+		 * UTF-32 encoded documents and files bigger than 2 GB.
+		 * <p>
+		 * <em>The memory mapping of the file is not released explicitly, when
+		 * this method returns. It stays valid until it is garbage collected.
+		 * On Windows, the file can't be deleted, moved or overwritten as long
+		 * as the mapping exists.</em> Use {@link #read(Path)} if the file is
+		 * modified right after reading it.
+		 *
+		 * <pre>{@code
+		 * final GPX gpx = GPX.Reader.DEFAULT
+		 *     .read(Path.of("tracks.gpx"), ForkJoinPool.commonPool());
+		 * }</pre>
+		 *
+		 * @since 3.3
+		 *
+		 * @param path the input path from where the GPX date is read
+		 * @param executor the executor used for parsing the document parts
+		 * @return the GPX object read from the input file
+		 * @throws IOException if the GPX object can't be read
+		 * @throws NullPointerException if one of the arguments is {@code null}
+		 * @throws InvalidObjectException if the gpx input is invalid.
+		 */
+		public GPX read(final Path path, final Executor executor)
+			throws IOException
+		{
+			return new ParallelReader(this, executor).read(path);
+		}
+
 		/**
 		 * Read a GPX object from the given {@code file}.
 		 *
@@ -1260,6 +2013,313 @@ public final class GPX implements Serializable {
 			return read(Paths.get(path));
 		}
 
+		/**
+		 * Reads the GPX data from the given {@code input} stream and reports
+		 * it to the given event {@code handler}. No {@link GPX}, {@link Route},
+		 * {@link Track} or {@link TrackSegment} objects are created. Way-points
+		 * and metadata objects are only created, if the corresponding handler
+		 * methods are overridden. <em>The caller of this method is responsible
+		 * for closing the given {@code input} stream.</em>
+		 *
+		 * @see GPXHandler
+		 *
+		 * @since 3.3
+		 *
+		 * @param input the input stream from where the GPX date is read
+		 * @param handler the GPX event handler
+		 * @throws IOException if the GPX data can't be read
+		 * @throws NullPointerException if one of the arguments is {@code null}
+		 * @throws InvalidObjectException if the gpx input is invalid.
+		 */
+		public void read(final InputStream input, final GPXHandler handler)
+			throws IOException
+		{
+			requireNonNull(handler);
+
+			final var wrapper = new NonCloseableInputStream(input);
+			try {
+				final XMLStreamReader source = XMLProvider.provider()
+					.xmlInputFactory()
+					.createXMLStreamReader(wrapper);
+
+				try (var xml = new XMLStreamReaderAdapter(source)) {
+					EventReader.of(
+						xml,
+						_version,
+						_mode == Mode.LENIENT,
+						_projection,
+						_selection,
+						handler
+					).read();
+				} catch (XMLStreamException e) {
+					throw new InvalidObjectException(
+						"Invalid GPX: " + e.getMessage()
+					);
+				} catch (IllegalArgumentException e) {
+					final var ioe = new InvalidObjectException(e.getMessage());
+					throw (InvalidObjectException)ioe.initCause(e);
+				}
+			} catch (XMLStreamException e) {
+				throw new IOException(e);
+			}
+		}
+
+		/**
+		 * Reads the GPX data from the given {@code path} and reports it to
+		 * the given event {@code handler}.
+		 *
+		 * @see GPXHandler
+		 * @see #read(InputStream, GPXHandler)
+		 *
+		 * @since 3.3
+		 *
+		 * @param path the input path from where the GPX date is read
+		 * @param handler the GPX event handler
+		 * @throws IOException if the GPX data can't be read
+		 * @throws NullPointerException if one of the arguments is {@code null}
+		 * @throws InvalidObjectException if the gpx input is invalid.
+		 */
+		public void read(final Path path, final GPXHandler handler)
+			throws IOException
+		{
+			try (var input = Files.newInputStream(path)) {
+				read(input, handler);
+			}
+		}
+
+		/**
+		 * Return a lazy stream of the points, with the given {@code types},
+		 * from the GPX file with the given {@code path}. In contrast to the
+		 * {@code read} methods, the GPX object graph is never materialized;
+		 * the points are read one after another, when the stream is consumed.
+		 * This keeps the memory consumption constant, regardless of the size
+		 * of the GPX file. All other GPX elements, like the metadata or the
+		 * extensions of the tracks, are skipped.
+		 * <pre>{@code
+		 * try (var points = GPX.Reader.DEFAULT
+		 *     .stream(path, Set.of(PointType.TRACK_POINT)))
+		 * {
+		 *     final Length length = points
+		 *         .map(IndexedPoint::point)
+		 *         .collect(Geoid.WGS84.toPathLength());
+		 * }
+		 * }</pre>
+		 *
+		 * <em>The returned stream must be closed, for releasing the underlying
+		 * file resources.</em> Errors, while reading the points, are thrown as
+		 * {@link UncheckedIOException}.
+		 *
+		 * @since 3.3
+		 *
+		 * @param path the input path from where the GPX date is read
+		 * @param types the point types to read
+		 * @return a lazy stream of the GPX points
+		 * @throws IOException if the GPX file can't be opened
+		 * @throws NullPointerException if one of the arguments is {@code null}
+		 */
+		public Stream<IndexedPoint> stream(
+			final Path path,
+			final Set<PointType> types
+		)
+			throws IOException
+		{
+			requireNonNull(types);
+
+			final var input = Files.newInputStream(path);
+			try {
+				final var xml = new XMLStreamReaderAdapter(
+					XMLProvider.provider()
+						.xmlInputFactory()
+						.createXMLStreamReader(input)
+				);
+
+				final var points = new PointSpliterator(
+					xml,
+					_version,
+					types,
+					_mode == Mode.LENIENT,
+					_projection,
+					_selection
+				);
+				return StreamSupport.stream(points, false)
+					.onClose(() -> {
+						try (input; xml) {
+							// Close the XML reader and the file.
+						} catch (XMLStreamException e) {
+							throw new UncheckedIOException(new IOException(e));
+						} catch (IOException e) {
+							throw new UncheckedIOException(e);
+						}
+					});
+			} catch (XMLStreamException e) {
+				input.close();
+				throw new IOException(e);
+			} catch (RuntimeException e) {
+				input.close();
+				throw e;
+			}
+		}
+
+		/**
+		 * Return a lazy stream of the <em>track-points</em> of the GPX file
+		 * with the given {@code path}. This is a shortcut for
+		 * <pre>{@code
+		 * stream(path, Set.of(PointType.TRACK_POINT))
+		 *     .map(IndexedPoint::point);
+		 * }</pre>
+		 *
+		 * <em>The returned stream must be closed, for releasing the underlying
+		 * file resources.</em>
+		 *
+		 * @see #stream(Path, Set)
+		 *
+		 * @since 3.3
+		 *
+		 * @param path the input path from where the GPX date is read
+		 * @return a lazy stream of the GPX track-points
+		 * @throws IOException if the GPX file can't be opened
+		 * @throws NullPointerException if the given {@code path} is
+		 *         {@code null}
+		 */
+		public Stream<WayPoint> stream(final Path path) throws IOException {
+			return stream(path, Set.of(PointType.TRACK_POINT))
+				.map(IndexedPoint::point);
+		}
+
+		/**
+		 * Reads the given GPX files concurrently, using the given
+		 * {@code executor}. At most {@code maxInFlight} files are read, or
+		 * have been read but not consumed yet, at the same time. This bounds
+		 * the memory needed for the read GPX objects. The files are read
+		 * lazily, while consuming the returned stream. An error, reading a
+		 * single file, doesn't abort the batch. It is reported by the
+		 * {@link PathResult} of the file instead.
+		 * <pre>{@code
+		 * final var executor = Executors.newFixedThreadPool(8);
+		 * try (var files = Files.list(Path.of("tracks"))) {
+		 *     GPX.Reader.DEFAULT
+		 *         .readAll(files.toList(), executor, 16, Order.COMPLETION)
+		 *         .forEach(result -> {
+		 *             if (result.isSuccess()) {
+		 *                 store(result.path(), result.gpx());
+		 *             } else {
+		 *                 log(result.path(), result.error());
+		 *             }
+		 *         });
+		 * } finally {
+		 *     executor.shutdown();
+		 * }
+		 * }</pre>
+		 *
+		 * If the stream is not consumed completely, the files already
+		 * submitted are still read, but their results are dropped.
+		 *
+		 * @since 3.3
+		 *
+		 * @param paths the paths of the GPX files to read
+		 * @param executor the executor used for reading the files. Since
+		 *        reading files is partly I/O bound, the executor may use more
+		 *        threads than CPU cores are available.
+		 * @param maxInFlight the maximal number of files, which are read, or
+		 *        whose results haven't been consumed yet
+		 * @param order the delivery order of the results
+		 * @return a lazy stream of the reading results
+		 * @throws NullPointerException if one of the arguments is {@code null}
+		 * @throws IllegalArgumentException if {@code maxInFlight < 1}
+		 */
+		public Stream<PathResult> readAll(
+			final Collection<? extends Path> paths,
+			final Executor executor,
+			final int maxInFlight,
+			final Order order
+		) {
+			final var reader = new BatchReader(
+				this,
+				List.copyOf(paths).iterator(),
+				executor,
+				maxInFlight,
+				order
+			);
+
+			return StreamSupport.stream(
+				Spliterators.spliterator(
+					reader,
+					paths.size(),
+					Spliterator.ORDERED | Spliterator.NONNULL
+				),
+				false
+			);
+		}
+
+		/**
+		 * Reads the given GPX files concurrently, using the
+		 * {@link ForkJoinPool#commonPool()}. At most twice the number of
+		 * available processors files are in-flight and the results are
+		 * delivered in input order.
+		 *
+		 * @see #readAll(Collection, Executor, int, Order)
+		 *
+		 * @since 3.3
+		 *
+		 * @param paths the paths of the GPX files to read
+		 * @return a lazy stream of the reading results
+		 * @throws NullPointerException if the given {@code paths} are
+		 *         {@code null}
+		 */
+		public Stream<PathResult> readAll(final Collection<? extends Path> paths) {
+			return readAll(
+				paths,
+				ForkJoinPool.commonPool(),
+				2*Runtime.getRuntime().availableProcessors(),
+				Order.INPUT
+			);
+		}
+
+		/**
+		 * Reads the GPX files of the given {@code directory} concurrently,
+		 * whose file names match the given {@code glob} pattern. The files are
+		 * read in the lexicographic order of their paths. Subdirectories are
+		 * not read.
+		 *
+		 * @see #readAll(Collection, Executor, int, Order)
+		 * @see java.nio.file.FileSystem#getPathMatcher(String)
+		 *
+		 * @since 3.3
+		 *
+		 * @param directory the directory of the GPX files
+		 * @param glob the glob pattern of the file names, e.g.
+		 *        {@code "*.gpx"}
+		 * @param executor the executor used for reading the files
+		 * @param maxInFlight the maximal number of files, which are read, or
+		 *        whose results haven't been consumed yet
+		 * @param order the delivery order of the results
+		 * @return a lazy stream of the reading results
+		 * @throws IOException if the directory can't be listed
+		 * @throws NullPointerException if one of the arguments is {@code null}
+		 * @throws IllegalArgumentException if {@code maxInFlight < 1}
+		 */
+		public Stream<PathResult> readAll(
+			final Path directory,
+			final String glob,
+			final Executor executor,
+			final int maxInFlight,
+			final Order order
+		)
+			throws IOException
+		{
+			final List<Path> paths = new ArrayList<>();
+			try (var files = Files.newDirectoryStream(directory, glob)) {
+				for (Path file : files) {
+					if (!Files.isDirectory(file)) {
+						paths.add(file);
+					}
+				}
+			}
+			paths.sort(null);
+
+			return readAll(paths, executor, maxInFlight, order);
+		}
+
 		/**
 		 * Create a GPX object from the given GPX-XML string.
 		 *
@@ -1274,7 +2334,8 @@ public final class GPX implements Serializable {
 		 */
 		public GPX fromString(final String xml) {
 			try {
-				return read(new ByteArrayInputStream(xml.getBytes()));
+				// The string is already decoded and is parsed as characters.
+				return read(new StreamSource(new StringReader(xml)));
 			} catch (InvalidObjectException e) {
 				if (e.getCause() instanceof IllegalArgumentException iae) {
 					throw iae;
@@ -1304,9 +2365,9 @@ public final class GPX implements Serializable {
 			final int offset,
 			final int length
 		) {
-			final var in = new ByteArrayInputStream(bytes, offset,  length);
+			final var in = ByteBuffers.input(ByteBuffer.wrap(bytes, offset, length));
 			try (var din = new DataInputStream(in)) {
-				return GPX.read(din);
+				return GPX.read(IO.DictionaryInput.of(din));
 			} catch (IOException e) {
 				throw new IllegalArgumentException(e);
 			}
@@ -1343,7 +2404,52 @@ public final class GPX implements Serializable {
 		 * @throws NullPointerException if one of the arguments is {@code null}
 		 */
 		public static Reader of(final Version version, final Mode mode) {
-			return new Reader(version, mode);
+			return new Reader(version, mode, Projection.ALL, Selection.ALL);
+		}
+
+		/**
+		 * Return a GPX reader, reading GPX files with the given version and in
+		 * the given reading mode. Only the fields, selected by the given
+		 * {@code projection}, are read.
+		 *
+		 * @since 3.3
+		 *
+		 * @param version the GPX version to read
+		 * @param mode the reading mode
+		 * @param projection the fields to read
+		 * @return a new GPX reader object
+		 * @throws NullPointerException if one of the arguments is {@code null}
+		 */
+		public static Reader of(
+			final Version version,
+			final Mode mode,
+			final Projection projection
+		) {
+			return new Reader(version, mode, projection, Selection.ALL);
+		}
+
+		/**
+		 * Return a GPX reader, reading GPX files with the given version and in
+		 * the given reading mode. Only the fields, selected by the given
+		 * {@code projection}, of the elements, selected by the given
+		 * {@code selection}, are read.
+		 *
+		 * @since 3.3
+		 *
+		 * @param version the GPX version to read
+		 * @param mode the reading mode
+		 * @param projection the fields to read
+		 * @param selection the elements to read
+		 * @return a new GPX reader object
+		 * @throws NullPointerException if one of the arguments is {@code null}
+		 */
+		public static Reader of(
+			final Version version,
+			final Mode mode,
+			final Projection projection,
+			final Selection selection
+		) {
+			return new Reader(version, mode, projection, selection);
 		}
 
 		/**
@@ -1357,7 +2463,7 @@ public final class GPX implements Serializable {
 		 * @throws NullPointerException if one of the arguments is {@code null}
 		 */
 		public static Reader of(final Mode mode) {
-			return new Reader(Version.V11, mode);
+			return new Reader(Version.V11, mode, Projection.ALL, Selection.ALL);
 		}
 
 	}
@@ -1428,9 +2534,42 @@ public final class GPX implements Serializable {
 		private final Indent _indent;
 		private final int _maximumFractionDigits;
 
+		// The number format is not thread-safe, so every thread gets its own
+		// copy. The XML writer trees are built once per writer instance.
+		private final ThreadLocal<NumberFormat> _format;
+		private final XMLWriter<GPX> _v10Writer;
+		private final XMLWriter<GPX> _v11Writer;
+
 		private Writer(final Indent indent, final int maximumFractionDigits) {
 			_indent = requireNonNull(indent);
 			_maximumFractionDigits = maximumFractionDigits;
+
+			_format = ThreadLocal.withInitial(() -> {
+				final var format = NumberFormat.getNumberInstance(ENGLISH);
+				format.setMaximumFractionDigits(maximumFractionDigits);
+				format.setGroupingUsed(false);
+				return format;
+			});
+
+			final Function<Number, String> formatter = this::format;
+			_v10Writer = GPX.xmlWriter(Version.V10, formatter);
+			_v11Writer = GPX.xmlWriter(Version.V11, formatter);
+		}
+
+		private String format(final Number value) {
+			if (value == null) {
+				return null;
+			}
+
+			if (!(value instanceof BigDecimal || value instanceof BigInteger)) {
+				final String result = Decimals
+					.format(value.doubleValue(), _maximumFractionDigits);
+				if (result != null) {
+					return result;
+				}
+			}
+
+			return _format.get().format(value);
 		}
 
 		/**
@@ -1494,14 +2633,8 @@ public final class GPX implements Serializable {
 					: new IndentingXMLStreamWriter(writer, _indent.value());
 
 				try (output) {
-					final var format = NumberFormat.getNumberInstance(ENGLISH);
-					format.setMaximumFractionDigits(_maximumFractionDigits);
-					format.setGroupingUsed(false);
-					final Function<Number, String> formatter = value ->
-						value != null ? format.format(value) : null;
-
 					output.writeStartDocument("UTF-8", "1.0");
-					GPX.xmlWriter(gpx._version, formatter).write(output, gpx);
+					xmlWriter(gpx._version).write(output, gpx);
 					output.writeEndDocument();
 				}
 			} catch (XMLStreamException e) {
@@ -1509,6 +2642,145 @@ public final class GPX implements Serializable {
 			}
 		}
 
+		private XMLWriter<GPX> xmlWriter(final Version version) {
+			return version == Version.V10 ? _v10Writer : _v11Writer;
+		}
+
+		/**
+		 * Opens a writer, which writes a GPX document incrementally to the
+		 * given {@code output} stream. The elements of the given
+		 * {@code header} object, like metadata and way-points, are written
+		 * before the streamed tracks. <em>The caller of this method is
+		 * responsible for closing the given {@code output} stream, after the
+		 * returned writer has been closed.</em>
+		 *
+		 * @see GPXStreamWriter
+		 *
+		 * @since 3.3
+		 *
+		 * @param output the output stream where the GPX document is written to
+		 * @param header the GPX object, which defines the version, creator and
+		 *        the content written before the streamed tracks
+		 * @return a new streaming GPX writer
+		 * @throws IOException if opening the writer fails
+		 * @throws NullPointerException if one of the given arguments is
+		 *         {@code null}
+		 */
+		public GPXStreamWriter open(final OutputStream output, final GPX header)
+			throws IOException
+		{
+			requireNonNull(header);
+			final var wrapper = new NonCloseableOutputStream(output);
+			return open(new OutputStreamWriter(wrapper, UTF_8), header);
+		}
+
+		/**
+		 * Opens a writer, which writes a GPX document incrementally to the
+		 * given {@code output} stream. <em>The caller of this method is
+		 * responsible for closing the given {@code output} stream, after the
+		 * returned writer has been closed.</em>
+		 *
+		 * @see GPXStreamWriter
+		 *
+		 * @since 3.3
+		 *
+		 * @param output the output stream where the GPX document is written to
+		 * @return a new streaming GPX writer
+		 * @throws IOException if opening the writer fails
+		 * @throws NullPointerException if the given {@code output} stream is
+		 *         {@code null}
+		 */
+		public GPXStreamWriter open(final OutputStream output)
+			throws IOException
+		{
+			return open(output, GPX.builder().build());
+		}
+
+		/**
+		 * Opens a writer, which writes a GPX document incrementally to the
+		 * given {@code path}. The elements of the given {@code header}
+		 * object, like metadata and way-points, are written before the
+		 * streamed tracks. The file is closed, when the returned writer is
+		 * closed.
+		 *
+		 * @see GPXStreamWriter
+		 *
+		 * @since 3.3
+		 *
+		 * @param path the output path where the GPX document is written to
+		 * @param header the GPX object, which defines the version, creator and
+		 *        the content written before the streamed tracks
+		 * @return a new streaming GPX writer
+		 * @throws IOException if opening the writer fails
+		 * @throws NullPointerException if one of the given arguments is
+		 *         {@code null}
+		 */
+		public GPXStreamWriter open(final Path path, final GPX header)
+			throws IOException
+		{
+			requireNonNull(header);
+			final OutputStream out = Files.newOutputStream(path);
+			try {
+				return open(new OutputStreamWriter(out, UTF_8), header);
+			} catch (IOException|RuntimeException e) {
+				try {
+					out.close();
+				} catch (IOException suppressed) {
+					e.addSuppressed(suppressed);
+				}
+				throw e;
+			}
+		}
+
+		/**
+		 * Opens a writer, which writes a GPX document incrementally to the
+		 * given {@code path}. The file is closed, when the returned writer is
+		 * closed.
+		 *
+		 * @see GPXStreamWriter
+		 *
+		 * @since 3.3
+		 *
+		 * @param path the output path where the GPX document is written to
+		 * @return a new streaming GPX writer
+		 * @throws IOException if opening the writer fails
+		 * @throws NullPointerException if the given {@code path} is
+		 *         {@code null}
+		 */
+		public GPXStreamWriter open(final Path path) throws IOException {
+			return open(path, GPX.builder().build());
+		}
+
+		private GPXStreamWriter open(
+			final OutputStreamWriter output,
+			final GPX header
+		)
+			throws IOException
+		{
+			try {
+				final XMLStreamWriter writer = XMLProvider.provider()
+					.xmlOutputFactory()
+					.createXMLStreamWriter(new StreamResult(output));
+
+				final XMLStreamWriterAdapter xml = _indent.value() == null
+					? new XMLStreamWriterAdapter(writer)
+					: new IndentingXMLStreamWriter(writer, _indent.value());
+
+				final Function<Number, String> formatter = this::format;
+				return new GPXStreamWriter(
+					xml,
+					output,
+					header,
+					GPX.xmlStartWriter(header._version, formatter),
+					GPX.xmlEndWriter(),
+					Track.xmlStartWriter(header._version, formatter),
+					WayPoint.xmlWriter(header._version, "trkpt", formatter)
+				);
+			} catch (XMLStreamException e) {
+				throw new IOException(e);
+			}
+		}
+
 		/**
 		 * Writes the given {@code gpx} object (in GPX XML format) to the given
 		 * {@code output} stream. <em>The caller of this method is responsible
@@ -1607,7 +2879,7 @@ public final class GPX implements Serializable {
 		byte[] toByteArray(final GPX gpx) {
 			final var out = new ByteArrayOutputStream();
 			try (var dout = new DataOutputStream(out)) {
-				gpx.write(dout);
+				gpx.write(IO.DictionaryOutput.of(dout));
 			} catch (IOException e) {
 				throw new UncheckedIOException(e);
 			}
@@ -1948,6 +3220,13 @@ public final class GPX implements Serializable {
 	// Define the needed writers for the different versions.
 	private static XMLWriters<GPX>
 	writers(final Function<? super Number, String> formatter) {
+		return headWriters(formatter)
+			.v00(XMLWriter.doc("extensions").flatMap(GPX::getExtensions));
+	}
+
+	// The writers of the GPX elements, which are written before the extensions.
+	private static XMLWriters<GPX>
+	headWriters(final Function<? super Number, String> formatter) {
 		return new XMLWriters<GPX>()
 			.v00(XMLWriter.attr("version").map(gpx -> gpx._version._value))
 			.v00(XMLWriter.attr("creator").map(GPX::getCreator))
@@ -1967,18 +3246,20 @@ public final class GPX implements Serializable {
 			.v10(XMLWriter.elems(Route.xmlWriter(Version.V10, formatter)).map(GPX::getRoutes))
 			.v11(XMLWriter.elems(Route.xmlWriter(Version.V11, formatter)).map(GPX::getRoutes))
 			.v10(XMLWriter.elems(Track.xmlWriter(Version.V10, formatter)).map(GPX::getTracks))
-			.v11(XMLWriter.elems(Track.xmlWriter(Version.V11, formatter)).map(GPX::getTracks))
-			.v00(XMLWriter.doc("extensions").flatMap(GPX::getExtensions));
+			.v11(XMLWriter.elems(Track.xmlWriter(Version.V11, formatter)).map(GPX::getTracks));
 	}
 
 
 	// Define the needed readers for the different versions.
-	private static XMLReaders
-	readers(final Function<? super String, Length> lengthParser) {
+	private static XMLReaders readers(
+		final Function<? super String, Length> lengthParser,
+		final Projection projection,
+		final Selection selection
+	) {
 		return new XMLReaders()
 			.v00(XMLReader.attr("version").map(Version::of, Version.V11))
 			.v00(XMLReader.attr("creator"))
-			.v11(Metadata.READER)
+			.v11(Metadata.xmlReader(projection))
 			.v10(XMLReader.elem("name"))
 			.v10(XMLReader.elem("desc"))
 			.v10(XMLReader.elem("author"))
@@ -1988,12 +3269,12 @@ public final class GPX implements Serializable {
 			.v10(XMLReader.elem("time").map(TimeFormat::parse))
 			.v10(XMLReader.elem("keywords"))
 			.v10(Bounds.READER)
-			.v10(XMLReader.elems(WayPoint.xmlReader(Version.V10, "wpt", lengthParser)))
-			.v11(XMLReader.elems(WayPoint.xmlReader(Version.V11, "wpt", lengthParser)))
-			.v10(XMLReader.elems(Route.xmlReader(Version.V10, lengthParser)))
-			.v11(XMLReader.elems(Route.xmlReader(Version.V11, lengthParser)))
-			.v10(XMLReader.elems(Track.xmlReader(Version.V10, lengthParser)))
-			.v11(XMLReader.elems(Track.xmlReader(Version.V11, lengthParser)))
+			.v10(XMLReader.elems(WayPoint.xmlReader(Version.V10, "wpt", lengthParser, projection, selection)))
+			.v11(XMLReader.elems(WayPoint.xmlReader(Version.V11, "wpt", lengthParser, projection, selection)))
+			.v10(XMLReader.elems(Route.xmlReader(Version.V10, lengthParser, projection, selection)))
+			.v11(XMLReader.elems(Route.xmlReader(Version.V11, lengthParser, projection, selection)))
+			.v10(XMLReader.elems(Track.xmlReader(Version.V10, lengthParser, projection, selection)))
+			.v11(XMLReader.elems(Track.xmlReader(Version.V11, lengthParser, projection, selection)))
 			.v00(XMLReader.doc("extensions"));
 	}
 
@@ -2005,14 +3286,63 @@ public final class GPX implements Serializable {
 		return XMLWriter.elem("gpx", writers(formatter).writers(version));
 	}
 
+	/**
+	 * Return a writer, which starts the {@code <gpx>} element and writes all
+	 * its child elements, except the extensions. The {@code <gpx>} element is
+	 * left open, for appending additional tracks.
+	 */
+	static XMLWriter<GPX> xmlStartWriter(
+		final Version version,
+		final Function<? super Number, String> formatter
+	) {
+		final XMLWriter<GPX>[] children = headWriters(formatter).writers(version);
+		return (xml, gpx) -> {
+			xml.writeStartElement("gpx");
+			for (XMLWriter<GPX> child : children) {
+				child.write(xml, gpx);
+			}
+		};
+	}
+
+	/**
+	 * Return a writer, which writes the extensions of the GPX object and
+	 * closes the {@code <gpx>} element, started by the
+	 * {@link #xmlStartWriter(Version, Function)}.
+	 */
+	static XMLWriter<GPX> xmlEndWriter() {
+		final XMLWriter<GPX> extensions = XMLWriter.doc("extensions")
+			.flatMap(GPX::getExtensions);
+
+		return (xml, gpx) -> {
+			extensions.write(xml, gpx);
+			xml.writeEndElement();
+		};
+	}
+
 	static XMLReader<GPX> xmlReader(
 		final Version version,
 		final Function<? super String, Length> lengthParser
 	) {
+		return xmlReader(version, lengthParser, Projection.ALL, Selection.ALL);
+	}
+
+	static XMLReader<GPX> xmlReader(
+		final Version version,
+		final Function<? super String, Length> lengthParser,
+		final Projection projection,
+		final Selection selection
+	) {
+		// The GPX 1.0 metadata elements are direct children of <gpx>.
+		final Predicate<String> fields = name -> switch (name) {
+			case "metadata", "wpt", "rte", "trk", "extensions" -> true;
+			default -> projection.isMetadataField(name);
+		};
+
 		return XMLReader.elem(
 			version == Version.V10 ? GPX::toGPXv10 : GPX::toGPXv11,
 			"gpx",
-			readers(lengthParser).readers(version)
+			readers(lengthParser, projection, selection)
+				.readers(version, fields)
 		);
 	}
 
@@ -2034,20 +3364,13 @@ public final class GPX implements Serializable {
 		return new GPX(
 			(Version)v[0],
 			(String)v[1],
-			Metadata.of(
+			toMetadataV10(
 				(String)v[2],
 				(String)v[3],
-				Person.of(
-					(String)v[4],
-					v[5] != null
-						? Email.of((String)v[5])
-						: null,
-					v[6] != null
-						? Link.of((String)v[6], (String)v[7], null)
-						: null
-				),
-				null,
-				null,
+				(String)v[4],
+				(String)v[5],
+				(String)v[6],
+				(String)v[7],
 				(Instant)v[8],
 				(String)v[9],
 				(Bounds)v[10]
@@ -2060,6 +3383,35 @@ public final class GPX implements Serializable {
 	}
 
 
+	// Creates the metadata object from the GPX v1.0 elements.
+	static Metadata toMetadataV10(
+		final String name,
+		final String desc,
+		final String author,
+		final String email,
+		final String url,
+		final String urlname,
+		final Instant time,
+		final String keywords,
+		final Bounds bounds
+	) {
+		return Metadata.of(
+			name,
+			desc,
+			Person.of(
+				author,
+				email != null ? Email.of(email) : null,
+				url != null ? Link.of(url, urlname, null) : null
+			),
+			null,
+			null,
+			time,
+			keywords,
+			bounds
+		);
+	}
+
+
 	/* *************************************************************************
 	 *  Write and read GPX files
 	 * ************************************************************************/
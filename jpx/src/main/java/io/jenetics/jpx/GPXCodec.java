@@ -0,0 +1,863 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidObjectException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+
+import io.jenetics.jpx.GPX.Version;
+import io.jenetics.jpx.Length.Unit;
+
+/**
+ * Compact binary codec for {@link GPX} objects. Compared to the XML format,
+ * and the binary format used for Java serialization, the point sequences of
+ * the way-points, routes and track-segments are stored <em>column-wise</em>.
+ * <ul>
+ *     <li>Latitude, longitude and elevation values are quantized to a
+ *     configurable number of fraction digits and stored as zig-zag encoded,
+ *     variable-length deltas of their predecessor.</li>
+ *     <li>Timestamps are stored as second deltas. The nanosecond column is
+ *     only written if at least one timestamp has a fraction of a second.</li>
+ *     <li>The presence of the optional elevation and time values is stored
+ *     as bitmap, which is omitted if all or none of the points have a
+ *     value.</li>
+ *     <li>Points with additional attributes, like a name or extensions, are
+ *     stored in a side table.</li>
+ *     <li>Repeated strings are written only once and then referenced by
+ *     their dictionary id.</li>
+ * </ul>
+ * The quantization doesn't lose any information. Values which can't be
+ * restored exactly from their quantized value, are additionally stored as
+ * raw {@code double} value. The precision therefore only influences the size
+ * of the encoded data. It should match the precision of the data source,
+ * which is usually given by the number of fraction digits in the original
+ * GPX file.
+ *
+ * <pre>{@code
+ * final GPXCodec codec = GPXCodec.of(6, 1);
+ * final byte[] bytes = codec.encode(gpx);
+ * assert codec.decode(bytes).equals(gpx);
+ * }</pre>
+ *
+ * The encoded data contains the used precision. Data encoded with a codec
+ * of a different precision can therefore be decoded with every codec.
+ * <p>
+ * Besides {@code byte[]} arrays, GPX objects can be encoded into and decoded
+ * from heap or direct {@link ByteBuffer}s. The exact size of the encoded
+ * data can be determined in advance, which allows allocating, or acquiring
+ * from a buffer pool, a buffer of the needed size only once.
+ * <pre>{@code
+ * final ByteBuffer buffer = GPXCodec.DEFAULT.encode(gpx, pool::acquire);
+ * try {
+ *     cache.put(key, buffer);
+ * } finally {
+ *     pool.release(buffer);
+ * }
+ * }</pre>
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 3.3
+ * @since 3.3
+ */
+public final class GPXCodec {
+
+	/**
+	 * The maximal number of fraction digits of the quantized values.
+	 */
+	public static final int MAX_DIGITS = 12;
+
+	/**
+	 * The default codec, which stores coordinates with seven and elevations
+	 * with three fraction digits. This is a resolution of about one
+	 * centimeter for the coordinates and one millimeter for the elevation.
+	 */
+	public static final GPXCodec DEFAULT = new GPXCodec(7, 3);
+
+	// The magic number "JPXC" of the compact format.
+	private static final int MAGIC = 0x4A505843;
+	private static final int FORMAT_VERSION = 1;
+
+	// Flags of the point block, describing the existing columns.
+	private static final int SOME_ELEVATIONS = 1;
+	private static final int ALL_ELEVATIONS = 1 << 1;
+	private static final int SOME_TIMES = 1 << 2;
+	private static final int ALL_TIMES = 1 << 3;
+	private static final int NANOS = 1 << 4;
+
+	private final int _coordinateDigits;
+	private final int _elevationDigits;
+
+	private GPXCodec(final int coordinateDigits, final int elevationDigits) {
+		_coordinateDigits = coordinateDigits;
+		_elevationDigits = elevationDigits;
+	}
+
+	/**
+	 * Return the number of fraction digits, the latitude and longitude
+	 * degree values are quantized to.
+	 *
+	 * @return the number of fraction digits of the coordinates
+	 */
+	public int coordinateDigits() {
+		return _coordinateDigits;
+	}
+
+	/**
+	 * Return the number of fraction digits, the elevation values, in meter,
+	 * are quantized to.
+	 *
+	 * @return the number of fraction digits of the elevations
+	 */
+	public int elevationDigits() {
+		return _elevationDigits;
+	}
+
+	/**
+	 * Encodes the given {@code gpx} object.
+	 *
+	 * @param gpx the GPX object to encode
+	 * @return the encoded GPX object
+	 * @throws NullPointerException if the given {@code gpx} is {@code null}
+	 */
+	public byte[] encode(final GPX gpx) {
+		requireNonNull(gpx);
+
+		final var out = new ByteArrayOutputStream();
+		try (var dout = new DataOutputStream(out)) {
+			write(gpx, (DataOutput)dout);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * Decodes the GPX object from the given {@code bytes}, which has been
+	 * created by the {@link #encode(GPX)} method.
+	 *
+	 * @param bytes the encoded GPX object
+	 * @return the decoded GPX object
+	 * @throws IllegalArgumentException if the given {@code bytes} doesn't
+	 *         represent a valid, encoded GPX object
+	 * @throws NullPointerException if the given {@code bytes} is {@code null}
+	 */
+	public GPX decode(final byte[] bytes) {
+		return decode(ByteBuffer.wrap(bytes));
+	}
+
+	/**
+	 * Return the size of the encoded {@code gpx} object, in bytes. The size
+	 * is determined by encoding the GPX object, without storing the encoded
+	 * bytes.
+	 *
+	 * @param gpx the GPX object
+	 * @return the size of the encoded GPX object
+	 * @throws NullPointerException if the given {@code gpx} is {@code null}
+	 */
+	public int encodedSize(final GPX gpx) {
+		requireNonNull(gpx);
+
+		final var out = new DataOutputStream(OutputStream.nullOutputStream());
+		try {
+			write(gpx, (DataOutput)out);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return out.size();
+	}
+
+	/**
+	 * Encodes the given {@code gpx} object into the given {@code buffer},
+	 * starting at its current position. The position of the buffer is
+	 * advanced by the {@link #encodedSize(GPX)} of the GPX object.
+	 *
+	 * @param gpx the GPX object to encode
+	 * @param buffer the target buffer
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws java.nio.BufferOverflowException if there is insufficient space
+	 *         in the buffer. The content of the buffer, after its position,
+	 *         is undefined in this case.
+	 * @throws java.nio.ReadOnlyBufferException if the buffer is read-only
+	 */
+	public void encode(final GPX gpx, final ByteBuffer buffer) {
+		requireNonNull(gpx);
+
+		final var out = new DataOutputStream(ByteBuffers.output(buffer));
+		try {
+			write(gpx, (DataOutput)out);
+			out.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Encodes the given {@code gpx} object into a buffer, returned by the
+	 * given {@code allocator}. The allocator is called exactly once, with the
+	 * {@link #encodedSize(GPX)} of the GPX object, and must return a buffer
+	 * with at least this number of remaining bytes. This allows the use of a
+	 * buffer pool.
+	 * <pre>{@code
+	 * final ByteBuffer buffer = codec.encode(gpx, ByteBuffer::allocateDirect);
+	 * }</pre>
+	 *
+	 * @param gpx the GPX object to encode
+	 * @param allocator the buffer allocator
+	 * @return the buffer returned by the allocator. Its position is unchanged
+	 *         and its limit is set to the end of the encoded data.
+	 * @throws NullPointerException if one of the arguments is {@code null},
+	 *         or the allocator returns {@code null}
+	 * @throws java.nio.BufferOverflowException if the returned buffer has
+	 *         not enough remaining bytes
+	 */
+	public ByteBuffer encode(
+		final GPX gpx,
+		final IntFunction<? extends ByteBuffer> allocator
+	) {
+		requireNonNull(allocator);
+
+		final ByteBuffer buffer = allocator.apply(encodedSize(gpx));
+		final int position = buffer.position();
+		encode(gpx, buffer);
+		buffer.limit(buffer.position()).position(position);
+		return buffer;
+	}
+
+	/**
+	 * Decodes a GPX object from the given {@code buffer}, starting at its
+	 * current position. After decoding, the position of the buffer points
+	 * to the first byte after the encoded GPX object.
+	 *
+	 * @param buffer the buffer containing the encoded GPX object
+	 * @return the decoded GPX object
+	 * @throws IllegalArgumentException if the buffer doesn't contain a valid,
+	 *         encoded GPX object
+	 * @throws NullPointerException if the given {@code buffer} is {@code null}
+	 */
+	public GPX decode(final ByteBuffer buffer) {
+		final var in = new DataInputStream(ByteBuffers.input(buffer));
+		try {
+			return read((DataInput)in);
+		} catch (IOException e) {
+			throw new IllegalArgumentException(e);
+		}
+	}
+
+	/**
+	 * Writes the given {@code gpx} object to the given output stream. The
+	 * stream is flushed, but not closed.
+	 *
+	 * @param gpx the GPX object to write
+	 * @param output the output stream
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IOException if an I/O error occurs
+	 */
+	public void write(final GPX gpx, final OutputStream output)
+		throws IOException
+	{
+		requireNonNull(gpx);
+
+		final var out = new DataOutputStream(new BufferedOutputStream(output));
+		write(gpx, (DataOutput)out);
+		out.flush();
+	}
+
+	/**
+	 * Reads a GPX object, written with the {@link #write(GPX, OutputStream)}
+	 * method, from the given input stream. The stream is not closed and
+	 * should be buffered.
+	 *
+	 * @param input the input stream
+	 * @return the read GPX object
+	 * @throws NullPointerException if the given {@code input} is {@code null}
+	 * @throws InvalidObjectException if the stream doesn't contain a valid,
+	 *         encoded GPX object
+	 * @throws IOException if an I/O error occurs
+	 */
+	public GPX read(final InputStream input) throws IOException {
+		return read((DataInput)new DataInputStream(input));
+	}
+
+	@Override
+	public int hashCode() {
+		return 31*_coordinateDigits + _elevationDigits;
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		return obj instanceof GPXCodec codec &&
+			codec._coordinateDigits == _coordinateDigits &&
+			codec._elevationDigits == _elevationDigits;
+	}
+
+	@Override
+	public String toString() {
+		return format(
+			"GPXCodec[coordinateDigits=%d, elevationDigits=%d]",
+			_coordinateDigits, _elevationDigits
+		);
+	}
+
+	/**
+	 * Return a new codec with the given precision.
+	 *
+	 * @param coordinateDigits the number of fraction digits, the latitude and
+	 *        longitude degree values are quantized to
+	 * @param elevationDigits the number of fraction digits, the elevation
+	 *        values, in meter, are quantized to
+	 * @return a new codec with the given precision
+	 * @throws IllegalArgumentException if one of the digits is not within
+	 *         the range {@code [0, MAX_DIGITS]}
+	 */
+	public static GPXCodec of(
+		final int coordinateDigits,
+		final int elevationDigits
+	) {
+		return new GPXCodec(
+			digits(coordinateDigits),
+			digits(elevationDigits)
+		);
+	}
+
+	private static int digits(final int digits) {
+		if (digits < 0 || digits > MAX_DIGITS) {
+			throw new IllegalArgumentException(format(
+				"Digits not within [0, %d]: %d.", MAX_DIGITS, digits
+			));
+		}
+		return digits;
+	}
+
+
+	/* *************************************************************************
+	 *  Binary format
+	 * ************************************************************************/
+
+	private void write(final GPX gpx, final DataOutput output)
+		throws IOException
+	{
+		final DataOutput out = IO.DictionaryOutput.of(output);
+		out.writeInt(MAGIC);
+		out.writeByte(FORMAT_VERSION);
+		out.writeByte(_coordinateDigits);
+		out.writeByte(_elevationDigits);
+
+		final var columns = new ColumnWriter(
+			scale(_coordinateDigits),
+			scale(_elevationDigits)
+		);
+
+		IO.writeString(gpx.getVersion(), out);
+		IO.writeString(gpx.getCreator(), out);
+		IO.writeNullable(gpx.getMetadata().orElse(null), Metadata::write, out);
+		IO.writeNullable(gpx.getExtensions().orElse(null), IO::write, out);
+
+		columns.write(gpx.getWayPoints(), out);
+
+		IO.writeInt(gpx.getRoutes().size(), out);
+		for (Route route : gpx.getRoutes()) {
+			withPoints(route, List.of()).write(out);
+			columns.write(route.getPoints(), out);
+		}
+
+		IO.writeInt(gpx.getTracks().size(), out);
+		for (Track track : gpx.getTracks()) {
+			withSegments(track, List.of()).write(out);
+			IO.writeInt(track.getSegments().size(), out);
+			for (TrackSegment segment : track.getSegments()) {
+				IO.writeNullable(segment.getExtensions().orElse(null), IO::write, out);
+				columns.write(segment.getPoints(), out);
+			}
+		}
+	}
+
+	private static GPX read(final DataInput input) throws IOException {
+		final DataInput in = IO.DictionaryInput.of(input);
+		if (in.readInt() != MAGIC) {
+			throw new InvalidObjectException("Invalid compact GPX format.");
+		}
+		final int version = in.readUnsignedByte();
+		if (version != FORMAT_VERSION) {
+			throw new InvalidObjectException(format(
+				"Unsupported compact GPX format version: %d.", version
+			));
+		}
+		final var columns = new ColumnReader(
+			scale(readDigits(in)),
+			scale(readDigits(in))
+		);
+
+		final Version gpxVersion = Version.of(IO.readString(in));
+		final String creator = IO.readString(in);
+		final Metadata metadata = IO.readNullable(Metadata::read, in);
+		final var extensions = IO.readNullable(IO::readDoc, in);
+
+		final List<WayPoint> wayPoints = columns.read(in);
+
+		final int routeCount = length(in);
+		final List<Route> routes = new ArrayList<>(routeCount);
+		for (int i = 0; i < routeCount; ++i) {
+			final Route route = Route.read(in);
+			routes.add(withPoints(route, columns.read(in)));
+		}
+
+		final int trackCount = length(in);
+		final List<Track> tracks = new ArrayList<>(trackCount);
+		for (int i = 0; i < trackCount; ++i) {
+			final Track track = Track.read(in);
+
+			final int segmentCount = length(in);
+			final List<TrackSegment> segments = new ArrayList<>(segmentCount);
+			for (int j = 0; j < segmentCount; ++j) {
+				final var ext = IO.readNullable(IO::readDoc, in);
+				segments.add(TrackSegment.wrap(columns.read(in), ext));
+			}
+			tracks.add(withSegments(track, segments));
+		}
+
+		return GPX.of(
+			gpxVersion,
+			creator,
+			metadata,
+			wayPoints,
+			routes,
+			tracks,
+			extensions
+		);
+	}
+
+	// The points of a route are written column-wise, separate from the route.
+	private static Route withPoints(
+		final Route route,
+		final List<WayPoint> points
+	) {
+		return Route.of(
+			route.getName().orElse(null),
+			route.getComment().orElse(null),
+			route.getDescription().orElse(null),
+			route.getSource().orElse(null),
+			route.getLinks(),
+			route.getNumber().orElse(null),
+			route.getType().orElse(null),
+			route.getExtensions().orElse(null),
+			points
+		);
+	}
+
+	// The segments of a track are written column-wise, separate from the track.
+	private static Track withSegments(
+		final Track track,
+		final List<TrackSegment> segments
+	) {
+		return Track.of(
+			track.getName().orElse(null),
+			track.getComment().orElse(null),
+			track.getDescription().orElse(null),
+			track.getSource().orElse(null),
+			track.getLinks(),
+			track.getNumber().orElse(null),
+			track.getType().orElse(null),
+			track.getExtensions().orElse(null),
+			segments
+		);
+	}
+
+	private static int readDigits(final DataInput in) throws IOException {
+		final int digits = in.readUnsignedByte();
+		if (digits > MAX_DIGITS) {
+			throw new InvalidObjectException("Invalid precision: " + digits);
+		}
+		return digits;
+	}
+
+	private static int length(final DataInput in) throws IOException {
+		final int length = IO.readInt(in);
+		if (length < 0) {
+			throw new InvalidObjectException("Invalid length: " + length);
+		}
+		return length;
+	}
+
+	private static double scale(final int digits) {
+		return Math.pow(10, digits);
+	}
+
+	// Return true, if the original value can be restored from the quantized.
+	private static boolean exact(
+		final double value,
+		final long quantized,
+		final double scale
+	) {
+		return Double.doubleToRawLongBits(quantized/scale) ==
+			Double.doubleToRawLongBits(value);
+	}
+
+
+	/* *************************************************************************
+	 *  Column writer and reader
+	 * ************************************************************************/
+
+	/**
+	 * Writes point sequences column-wise. The column buffers are reused for
+	 * all point sequences of a GPX object.
+	 */
+	private static final class ColumnWriter {
+		private final double _coordinateScale;
+		private final double _elevationScale;
+
+		private double[] _values = new double[0];
+		private boolean[] _present = new boolean[0];
+
+		ColumnWriter(final double coordinateScale, final double elevationScale) {
+			_coordinateScale = coordinateScale;
+			_elevationScale = elevationScale;
+		}
+
+		void write(final List<WayPoint> points, final DataOutput out)
+			throws IOException
+		{
+			final int n = points.size();
+			IO.writeInt(n, out);
+			if (n == 0) {
+				return;
+			}
+			if (_values.length < n) {
+				_values = new double[n];
+				_present = new boolean[n];
+			}
+
+			int elevations = 0;
+			int times = 0;
+			boolean nanos = false;
+			for (WayPoint point : points) {
+				if (point.elevation() != null) {
+					++elevations;
+				}
+				final Instant time = point.time();
+				if (time != null) {
+					++times;
+					nanos |= time.getNano() != 0;
+				}
+			}
+
+			int flags = 0;
+			if (elevations > 0) flags |= SOME_ELEVATIONS;
+			if (elevations == n) flags |= ALL_ELEVATIONS;
+			if (times > 0) flags |= SOME_TIMES;
+			if (times == n) flags |= ALL_TIMES;
+			if (nanos) flags |= NANOS;
+			out.writeByte(flags);
+
+			// Presence bitmaps of the optional columns.
+			if (elevations > 0 && elevations < n) {
+				for (int i = 0; i < n; ++i) {
+					_present[i] = points.get(i).elevation() != null;
+				}
+				writeBitmap(n, out);
+			}
+			if (times > 0 && times < n) {
+				for (int i = 0; i < n; ++i) {
+					_present[i] = points.get(i).time() != null;
+				}
+				writeBitmap(n, out);
+			}
+
+			// Coordinate columns.
+			for (int i = 0; i < n; ++i) {
+				_values[i] = points.get(i).getLatitude().toDegrees();
+			}
+			writeColumn(n, _coordinateScale, out);
+			for (int i = 0; i < n; ++i) {
+				_values[i] = points.get(i).getLongitude().toDegrees();
+			}
+			writeColumn(n, _coordinateScale, out);
+
+			// Elevation column, containing only the existing values.
+			if (elevations > 0) {
+				int j = 0;
+				for (WayPoint point : points) {
+					final Length elevation = point.elevation();
+					if (elevation != null) {
+						_values[j++] = elevation.doubleValue();
+					}
+				}
+				writeColumn(elevations, _elevationScale, out);
+			}
+
+			// Time columns, containing only the existing values.
+			if (times > 0) {
+				long last = 0;
+				for (WayPoint point : points) {
+					final Instant time = point.time();
+					if (time != null) {
+						IO.writeLong(time.getEpochSecond() - last, out);
+						last = time.getEpochSecond();
+					}
+				}
+				if (nanos) {
+					for (WayPoint point : points) {
+						final Instant time = point.time();
+						if (time != null) {
+							IO.writeInt(time.getNano(), out);
+						}
+					}
+				}
+			}
+
+			// Side table of the points with additional attributes.
+			int extras = 0;
+			for (WayPoint point : points) {
+				if (!point.isCompact()) {
+					++extras;
+				}
+			}
+			IO.writeInt(extras, out);
+			if (extras > 0) {
+				int last = 0;
+				for (int i = 0; i < n; ++i) {
+					final WayPoint point = points.get(i);
+					if (!point.isCompact()) {
+						IO.writeInt(i - last, out);
+						point.write(out);
+						last = i;
+					}
+				}
+			}
+		}
+
+		private void writeBitmap(final int length, final DataOutput out)
+			throws IOException
+		{
+			final byte[] bitmap = new byte[(length + 7) >>> 3];
+			for (int i = 0; i < length; ++i) {
+				if (_present[i]) {
+					bitmap[i >>> 3] |= 1 << (i & 7);
+				}
+			}
+			out.write(bitmap);
+		}
+
+		private void writeColumn(
+			final int length,
+			final double scale,
+			final DataOutput out
+		)
+			throws IOException
+		{
+			long last = 0;
+			int exceptions = 0;
+			for (int i = 0; i < length; ++i) {
+				final long value = Math.round(_values[i]*scale);
+				IO.writeLong(value - last, out);
+				last = value;
+
+				if (!exact(_values[i], value, scale)) {
+					++exceptions;
+				}
+			}
+
+			// The values which can't be restored from its quantized value.
+			IO.writeInt(exceptions, out);
+			if (exceptions > 0) {
+				int index = 0;
+				for (int i = 0; i < length; ++i) {
+					if (!exact(_values[i], Math.round(_values[i]*scale), scale)) {
+						IO.writeInt(i - index, out);
+						out.writeLong(Double.doubleToRawLongBits(_values[i]));
+						index = i;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads the point sequences, written by the {@link ColumnWriter}.
+	 */
+	private static final class ColumnReader {
+		private final double _coordinateScale;
+		private final double _elevationScale;
+
+		ColumnReader(final double coordinateScale, final double elevationScale) {
+			_coordinateScale = coordinateScale;
+			_elevationScale = elevationScale;
+		}
+
+		List<WayPoint> read(final DataInput in) throws IOException {
+			final int n = length(in);
+			if (n == 0) {
+				return List.of();
+			}
+
+			final int flags = in.readUnsignedByte();
+			final boolean[] elevationPresent = presence(
+				flags, SOME_ELEVATIONS, ALL_ELEVATIONS, n, in
+			);
+			final boolean[] timePresent = presence(
+				flags, SOME_TIMES, ALL_TIMES, n, in
+			);
+
+			final double[] lat = readColumn(n, _coordinateScale, in);
+			final double[] lon = readColumn(n, _coordinateScale, in);
+
+			final double[] ele = elevationPresent != null
+				? readColumn(count(elevationPresent), _elevationScale, in)
+				: null;
+
+			long[] seconds = null;
+			int[] nanos = null;
+			if (timePresent != null) {
+				seconds = new long[count(timePresent)];
+				long last = 0;
+				for (int i = 0; i < seconds.length; ++i) {
+					last += IO.readLong(in);
+					seconds[i] = last;
+				}
+				if ((flags & NANOS) != 0) {
+					nanos = new int[seconds.length];
+					for (int i = 0; i < nanos.length; ++i) {
+						nanos[i] = IO.readInt(in);
+					}
+				}
+			}
+
+			final WayPoint[] points = new WayPoint[n];
+			final int extras = length(in);
+			int index = 0;
+			for (int i = 0; i < extras; ++i) {
+				index += IO.readInt(in);
+				if (index < 0 || index >= n) {
+					throw new InvalidObjectException(
+						"Invalid point index: " + index
+					);
+				}
+				points[index] = WayPoint.read(in);
+			}
+
+			int e = 0;
+			int t = 0;
+			for (int i = 0; i < n; ++i) {
+				final Length elevation = ele != null && elevationPresent[i]
+					? Length.of(ele[e++], Unit.METER)
+					: null;
+				final Instant time = seconds != null && timePresent[i]
+					? Instant.ofEpochSecond(seconds[t], nanos != null ? nanos[t] : 0)
+					: null;
+				if (time != null) {
+					++t;
+				}
+
+				if (points[i] == null) {
+					points[i] = WayPoint.of(
+						Latitude.ofDegrees(lat[i]),
+						Longitude.ofDegrees(lon[i]),
+						elevation,
+						time
+					);
+				}
+			}
+
+			return List.of(points);
+		}
+
+		private static boolean[] presence(
+			final int flags,
+			final int some,
+			final int all,
+			final int length,
+			final DataInput in
+		)
+			throws IOException
+		{
+			if ((flags & some) == 0) {
+				return null;
+			}
+
+			final boolean[] present = new boolean[length];
+			if ((flags & all) != 0) {
+				Arrays.fill(present, true);
+			} else {
+				final byte[] bitmap = new byte[(length + 7) >>> 3];
+				in.readFully(bitmap);
+				for (int i = 0; i < length; ++i) {
+					present[i] = (bitmap[i >>> 3] & (1 << (i & 7))) != 0;
+				}
+			}
+			return present;
+		}
+
+		private static int count(final boolean[] present) {
+			int count = 0;
+			for (boolean value : present) {
+				if (value) {
+					++count;
+				}
+			}
+			return count;
+		}
+
+		private static double[] readColumn(
+			final int length,
+			final double scale,
+			final DataInput in
+		)
+			throws IOException
+		{
+			final double[] values = new double[length];
+			long last = 0;
+			for (int i = 0; i < length; ++i) {
+				last += IO.readLong(in);
+				values[i] = last/scale;
+			}
+
+			final int exceptions = length(in);
+			int index = 0;
+			for (int i = 0; i < exceptions; ++i) {
+				index += IO.readInt(in);
+				if (index < 0 || index >= length) {
+					throw new InvalidObjectException(
+						"Invalid value index: " + index
+					);
+				}
+				values[index] = Double.longBitsToDouble(in.readLong());
+			}
+			return values;
+		}
+	}
+
+}
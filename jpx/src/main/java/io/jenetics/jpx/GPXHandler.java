@@ -0,0 +1,136 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+/**
+ * Callback interface for reading GPX files in an event based way. The reader
+ * calls the handler methods in document order, without building the
+ * {@link GPX}, {@link Route}, {@link Track} or {@link TrackSegment} objects.
+ * This allows computing aggregates of very large GPX files, without keeping
+ * them in memory.
+ * <pre>{@code
+ * final var count = new AtomicLong();
+ * GPX.Reader.DEFAULT.read(path, new GPXHandler() {
+ *     @Override
+ *     public void onTrackPoint(final WayPoint point) {
+ *         count.incrementAndGet();
+ *     }
+ * });
+ * }</pre>
+ *
+ * All methods have an empty default implementation. The reader only creates
+ * the {@link Metadata} and {@link WayPoint} objects for the callback methods
+ * which are overridden by the handler implementation. The XML elements of
+ * not handled event types are skipped, without parsing their content.
+ *
+ * @see GPX.Reader#read(java.nio.file.Path, GPXHandler)
+ * @see GPX.Reader#read(java.io.InputStream, GPXHandler)
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 3.3
+ * @since 3.3
+ */
+public interface GPXHandler {
+
+	/**
+	 * Called when the metadata of the GPX document has been read. This
+	 * method is called at most once and only if the GPX document contains
+	 * non-empty metadata.
+	 *
+	 * @param metadata the metadata of the GPX document
+	 */
+	default void onMetadata(final Metadata metadata) {
+	}
+
+	/**
+	 * Called for every way-point, {@code <wpt>}, of the GPX document.
+	 *
+	 * @param point the read way-point
+	 */
+	default void onWayPoint(final WayPoint point) {
+	}
+
+	/**
+	 * Called when a new route, {@code <rte>}, starts.
+	 *
+	 * @param index the index of the route within the GPX document
+	 */
+	default void onRouteStart(final int index) {
+	}
+
+	/**
+	 * Called for every route-point, {@code <rtept>}, of the current route.
+	 *
+	 * @param point the read route-point
+	 */
+	default void onRoutePoint(final WayPoint point) {
+	}
+
+	/**
+	 * Called when the current route ends.
+	 *
+	 * @param index the index of the route within the GPX document
+	 */
+	default void onRouteEnd(final int index) {
+	}
+
+	/**
+	 * Called when a new track, {@code <trk>}, starts.
+	 *
+	 * @param index the index of the track within the GPX document
+	 */
+	default void onTrackStart(final int index) {
+	}
+
+	/**
+	 * Called when a new track-segment, {@code <trkseg>}, of the current track
+	 * starts.
+	 *
+	 * @param index the index of the segment within its track
+	 */
+	default void onSegmentStart(final int index) {
+	}
+
+	/**
+	 * Called for every track-point, {@code <trkpt>}, of the current
+	 * track-segment.
+	 *
+	 * @param point the read track-point
+	 */
+	default void onTrackPoint(final WayPoint point) {
+	}
+
+	/**
+	 * Called when the current track-segment ends.
+	 *
+	 * @param index the index of the segment within its track
+	 */
+	default void onSegmentEnd(final int index) {
+	}
+
+	/**
+	 * Called when the current track ends.
+	 *
+	 * @param index the index of the track within the GPX document
+	 */
+	default void onTrackEnd(final int index) {
+	}
+
+}
@@ -0,0 +1,288 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import javax.xml.stream.XMLStreamException;
+
+/**
+ * Writes a GPX document incrementally, track-point by track-point. This
+ * allows writing GPX files with a (practically) unbounded number of points,
+ * since only the currently written point is kept in memory. The written
+ * document is a well-formed GPX document, once the writer has been closed.
+ * <pre>{@code
+ * try (var writer = GPX.Writer.DEFAULT.open(path)) {
+ *     writer.beginTrack();
+ *     writer.beginSegment();
+ *     while (logging) {
+ *         writer.writePoint(WayPoint.of(lat, lon, ele, time));
+ *     }
+ *     writer.endSegment();
+ *     writer.endTrack();
+ * }
+ * }</pre>
+ *
+ * The elements of the header {@link GPX} object, given when opening the
+ * writer, are written before the streamed tracks. Closing the writer ends the
+ * open segment and track elements and writes the extensions of the header
+ * {@code GPX} object.
+ *
+ * @see GPX.Writer#open(java.io.OutputStream, GPX)
+ * @see GPX.Writer#open(java.nio.file.Path, GPX)
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 3.3
+ * @since 3.3
+ */
+public final class GPXStreamWriter implements Closeable {
+
+	/**
+	 * The number of written points, after which the output is flushed.
+	 */
+	static final int FLUSH_INTERVAL = 1_000;
+
+	private final XMLStreamWriterAdapter _xml;
+	private final Closeable _output;
+	private final GPX _header;
+	private final XMLWriter<GPX> _endWriter;
+	private final XMLWriter<Track> _trackWriter;
+	private final XMLWriter<WayPoint> _pointWriter;
+
+	private boolean _track = false;
+	private boolean _segment = false;
+	private boolean _closed = false;
+	private int _points = 0;
+
+	GPXStreamWriter(
+		final XMLStreamWriterAdapter xml,
+		final Closeable output,
+		final GPX header,
+		final XMLWriter<GPX> startWriter,
+		final XMLWriter<GPX> endWriter,
+		final XMLWriter<Track> trackWriter,
+		final XMLWriter<WayPoint> pointWriter
+	)
+		throws XMLStreamException
+	{
+		_xml = requireNonNull(xml);
+		_output = requireNonNull(output);
+		_header = requireNonNull(header);
+		_endWriter = requireNonNull(endWriter);
+		_trackWriter = requireNonNull(trackWriter);
+		_pointWriter = requireNonNull(pointWriter);
+
+		_xml.writeStartDocument("UTF-8", "1.0");
+		startWriter.write(_xml, _header);
+	}
+
+	/**
+	 * Starts a new, empty track.
+	 *
+	 * @return {@code this} writer, for command chaining
+	 * @throws IOException if writing the track fails
+	 * @throws IllegalStateException if the writer has been closed or the
+	 *         previous track hasn't been ended
+	 */
+	public GPXStreamWriter beginTrack() throws IOException {
+		return beginTrack(Track.builder().build());
+	}
+
+	/**
+	 * Starts a new track, with the properties of the given {@code track},
+	 * like name and description. The segments of the given track are written
+	 * immediately, before the streamed segments.
+	 *
+	 * @param track the track properties
+	 * @return {@code this} writer, for command chaining
+	 * @throws IOException if writing the track fails
+	 * @throws IllegalStateException if the writer has been closed or the
+	 *         previous track hasn't been ended
+	 * @throws NullPointerException if the given {@code track} is {@code null}
+	 */
+	public GPXStreamWriter beginTrack(final Track track) throws IOException {
+		requireNonNull(track);
+		requireOpen();
+		if (_track) {
+			throw new IllegalStateException("Previous track not ended.");
+		}
+
+		try {
+			_trackWriter.write(_xml, track);
+		} catch (XMLStreamException e) {
+			throw new IOException(e);
+		}
+		_track = true;
+		return this;
+	}
+
+	/**
+	 * Starts a new track-segment in the current track.
+	 *
+	 * @return {@code this} writer, for command chaining
+	 * @throws IOException if writing the segment fails
+	 * @throws IllegalStateException if the writer has been closed, no track
+	 *         has been started or the previous segment hasn't been ended
+	 */
+	public GPXStreamWriter beginSegment() throws IOException {
+		requireOpen();
+		if (!_track) {
+			throw new IllegalStateException("No track started.");
+		}
+		if (_segment) {
+			throw new IllegalStateException("Previous segment not ended.");
+		}
+
+		try {
+			_xml.writeStartElement("trkseg");
+		} catch (XMLStreamException e) {
+			throw new IOException(e);
+		}
+		_segment = true;
+		return this;
+	}
+
+	/**
+	 * Writes the given track-point to the current segment. The output is
+	 * flushed every {@value #FLUSH_INTERVAL} points.
+	 *
+	 * @param point the track-point to write
+	 * @return {@code this} writer, for command chaining
+	 * @throws IOException if writing the point fails
+	 * @throws IllegalStateException if the writer has been closed or no
+	 *         segment has been started
+	 * @throws NullPointerException if the given {@code point} is {@code null}
+	 */
+	public GPXStreamWriter writePoint(final WayPoint point) throws IOException {
+		requireNonNull(point);
+		requireOpen();
+		if (!_segment) {
+			throw new IllegalStateException("No segment started.");
+		}
+
+		try {
+			_pointWriter.write(_xml, point);
+			if (++_points%FLUSH_INTERVAL == 0) {
+				_xml.flush();
+			}
+		} catch (XMLStreamException e) {
+			throw new IOException(e);
+		}
+		return this;
+	}
+
+	/**
+	 * Ends the current track-segment.
+	 *
+	 * @return {@code this} writer, for command chaining
+	 * @throws IOException if writing the segment end fails
+	 * @throws IllegalStateException if the writer has been closed or no
+	 *         segment has been started
+	 */
+	public GPXStreamWriter endSegment() throws IOException {
+		requireOpen();
+		if (!_segment) {
+			throw new IllegalStateException("No segment started.");
+		}
+
+		try {
+			_xml.writeEndElement();
+		} catch (XMLStreamException e) {
+			throw new IOException(e);
+		}
+		_segment = false;
+		return this;
+	}
+
+	/**
+	 * Ends the current track. An open segment of the track is ended first.
+	 *
+	 * @return {@code this} writer, for command chaining
+	 * @throws IOException if writing the track end fails
+	 * @throws IllegalStateException if the writer has been closed or no
+	 *         track has been started
+	 */
+	public GPXStreamWriter endTrack() throws IOException {
+		requireOpen();
+		if (!_track) {
+			throw new IllegalStateException("No track started.");
+		}
+		if (_segment) {
+			endSegment();
+		}
+
+		try {
+			_xml.writeEndElement();
+		} catch (XMLStreamException e) {
+			throw new IOException(e);
+		}
+		_track = false;
+		return this;
+	}
+
+	/**
+	 * Flushes the written elements to the underlying output.
+	 *
+	 * @throws IOException if flushing the output fails
+	 * @throws IllegalStateException if the writer has been closed
+	 */
+	public void flush() throws IOException {
+		requireOpen();
+		try {
+			_xml.flush();
+		} catch (XMLStreamException e) {
+			throw new IOException(e);
+		}
+	}
+
+	private void requireOpen() {
+		if (_closed) {
+			throw new IllegalStateException("Writer has been closed.");
+		}
+	}
+
+	/**
+	 * Ends the open segment and track, completes the GPX document and closes
+	 * the underlying output. Closing an already closed writer has no effect.
+	 *
+	 * @throws IOException if writing the end of the GPX document fails
+	 */
+	@Override
+	public void close() throws IOException {
+		if (!_closed) {
+			try (_output) {
+				if (_track) {
+					endTrack();
+				}
+				_endWriter.write(_xml, _header);
+				_xml.writeEndDocument();
+				_xml.close();
+			} catch (XMLStreamException e) {
+				throw new IOException(e);
+			} finally {
+				_closed = true;
+			}
+		}
+	}
+
+}
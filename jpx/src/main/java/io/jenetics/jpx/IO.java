@@ -20,6 +20,7 @@
 package io.jenetics.jpx;
 
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
 import static io.jenetics.jpx.Lists.copyOf;
 
 import java.io.ByteArrayInputStream;
@@ -27,9 +28,12 @@ import java.io.ByteArrayOutputStream;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
+import java.io.StreamCorruptedException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import javax.xml.parsers.ParserConfigurationException;
 
@@ -40,7 +44,7 @@ import org.xml.sax.SAXException;
  * Helper methods needed for implementing the Java serializations.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.2
+ * @version 3.3
  * @since 1.2
  */
 final class IO {
@@ -128,9 +132,13 @@ final class IO {
 	static void writeString(final String value, final DataOutput out)
 		throws IOException
 	{
-		final byte[] bytes = value.getBytes(UTF_8);
-		writeInt(bytes.length, out);
-		out.write(bytes);
+		if (out instanceof DictionaryOutput dictionary) {
+			dictionary.writeString(value);
+		} else {
+			final byte[] bytes = value.getBytes(UTF_8);
+			writeInt(bytes.length, out);
+			out.write(bytes);
+		}
 	}
 
 	/**
@@ -142,9 +150,13 @@ final class IO {
 	 * @throws IOException if an I/O error occurs
 	 */
 	static String readString(final DataInput in) throws IOException {
-		final byte[] bytes = new byte[readInt(in)];
-		in.readFully(bytes);
-		return new String(bytes, UTF_8);
+		if (in instanceof DictionaryInput dictionary) {
+			return dictionary.readString();
+		} else {
+			final byte[] bytes = new byte[readInt(in)];
+			in.readFully(bytes);
+			return new String(bytes, UTF_8);
+		}
 	}
 
 	/**
@@ -472,4 +484,255 @@ final class IO {
 		}
 	}
 
+	/* *************************************************************************
+	 *  String dictionary
+	 * ************************************************************************/
+
+	/**
+	 * Data output, which writes every distinct string only once. The
+	 * {@link #writeString(String, DataOutput)} method writes the first
+	 * occurrence of a string with its (non-negative) length, like the plain
+	 * data output, and every repetition as negative dictionary id. The
+	 * dictionary is scoped to the lifetime of the output object.
+	 *
+	 * @see DictionaryInput
+	 *
+	 * @version 3.3
+	 * @since 3.3
+	 */
+	static final class DictionaryOutput implements DataOutput {
+		private final DataOutput _out;
+		private final Map<String, Integer> _ids = new HashMap<>();
+
+		private DictionaryOutput(final DataOutput out) {
+			_out = out;
+		}
+
+		private void writeString(final String value) throws IOException {
+			final Integer id = _ids.putIfAbsent(value, _ids.size());
+			if (id != null) {
+				IO.writeInt(-id - 1, _out);
+			} else {
+				final byte[] bytes = value.getBytes(UTF_8);
+				IO.writeInt(bytes.length, _out);
+				_out.write(bytes);
+			}
+		}
+
+		@Override
+		public void write(final int b) throws IOException {
+			_out.write(b);
+		}
+
+		@Override
+		public void write(final byte[] b) throws IOException {
+			_out.write(b);
+		}
+
+		@Override
+		public void write(final byte[] b, final int off, final int len)
+			throws IOException
+		{
+			_out.write(b, off, len);
+		}
+
+		@Override
+		public void writeBoolean(final boolean v) throws IOException {
+			_out.writeBoolean(v);
+		}
+
+		@Override
+		public void writeByte(final int v) throws IOException {
+			_out.writeByte(v);
+		}
+
+		@Override
+		public void writeShort(final int v) throws IOException {
+			_out.writeShort(v);
+		}
+
+		@Override
+		public void writeChar(final int v) throws IOException {
+			_out.writeChar(v);
+		}
+
+		@Override
+		public void writeInt(final int v) throws IOException {
+			_out.writeInt(v);
+		}
+
+		@Override
+		public void writeLong(final long v) throws IOException {
+			_out.writeLong(v);
+		}
+
+		@Override
+		public void writeFloat(final float v) throws IOException {
+			_out.writeFloat(v);
+		}
+
+		@Override
+		public void writeDouble(final double v) throws IOException {
+			_out.writeDouble(v);
+		}
+
+		@Override
+		public void writeBytes(final String s) throws IOException {
+			_out.writeBytes(s);
+		}
+
+		@Override
+		public void writeChars(final String s) throws IOException {
+			_out.writeChars(s);
+		}
+
+		@Override
+		public void writeUTF(final String s) throws IOException {
+			_out.writeUTF(s);
+		}
+
+		/**
+		 * Return a dictionary output, which writes to the given data output.
+		 *
+		 * @param out the underlying data output
+		 * @return the given output, if it is already a dictionary output, or
+		 *         a new dictionary output otherwise
+		 * @throws NullPointerException if the given output is {@code null}
+		 */
+		static DictionaryOutput of(final DataOutput out) {
+			return out instanceof DictionaryOutput dictionary
+				? dictionary
+				: new DictionaryOutput(requireNonNull(out));
+		}
+	}
+
+	/**
+	 * Data input, which reads the strings written by a
+	 * {@link DictionaryOutput}. Repeated strings are returned as the same
+	 * string instance.
+	 *
+	 * @see DictionaryOutput
+	 *
+	 * @version 3.3
+	 * @since 3.3
+	 */
+	static final class DictionaryInput implements DataInput {
+		private final DataInput _in;
+		private final List<String> _strings = new ArrayList<>();
+
+		private DictionaryInput(final DataInput in) {
+			_in = in;
+		}
+
+		private String readString() throws IOException {
+			final int length = IO.readInt(_in);
+			if (length < 0) {
+				final int id = -length - 1;
+				if (id >= _strings.size()) {
+					throw new StreamCorruptedException(
+						"Invalid string id: " + id
+					);
+				}
+				return _strings.get(id);
+			} else {
+				final byte[] bytes = new byte[length];
+				_in.readFully(bytes);
+				final String value = new String(bytes, UTF_8);
+				_strings.add(value);
+				return value;
+			}
+		}
+
+		@Override
+		public void readFully(final byte[] b) throws IOException {
+			_in.readFully(b);
+		}
+
+		@Override
+		public void readFully(final byte[] b, final int off, final int len)
+			throws IOException
+		{
+			_in.readFully(b, off, len);
+		}
+
+		@Override
+		public int skipBytes(final int n) throws IOException {
+			return _in.skipBytes(n);
+		}
+
+		@Override
+		public boolean readBoolean() throws IOException {
+			return _in.readBoolean();
+		}
+
+		@Override
+		public byte readByte() throws IOException {
+			return _in.readByte();
+		}
+
+		@Override
+		public int readUnsignedByte() throws IOException {
+			return _in.readUnsignedByte();
+		}
+
+		@Override
+		public short readShort() throws IOException {
+			return _in.readShort();
+		}
+
+		@Override
+		public int readUnsignedShort() throws IOException {
+			return _in.readUnsignedShort();
+		}
+
+		@Override
+		public char readChar() throws IOException {
+			return _in.readChar();
+		}
+
+		@Override
+		public int readInt() throws IOException {
+			return _in.readInt();
+		}
+
+		@Override
+		public long readLong() throws IOException {
+			return _in.readLong();
+		}
+
+		@Override
+		public float readFloat() throws IOException {
+			return _in.readFloat();
+		}
+
+		@Override
+		public double readDouble() throws IOException {
+			return _in.readDouble();
+		}
+
+		@Override
+		public String readLine() throws IOException {
+			return _in.readLine();
+		}
+
+		@Override
+		public String readUTF() throws IOException {
+			return _in.readUTF();
+		}
+
+		/**
+		 * Return a dictionary input, which reads from the given data input.
+		 *
+		 * @param in the underlying data input
+		 * @return the given input, if it is already a dictionary input, or
+		 *         a new dictionary input otherwise
+		 * @throws NullPointerException if the given input is {@code null}
+		 */
+		static DictionaryInput of(final DataInput in) {
+			return in instanceof DictionaryInput dictionary
+				? dictionary
+				: new DictionaryInput(requireNonNull(in));
+		}
+	}
+
 }
@@ -34,7 +34,7 @@ import java.io.Serializable;
  * the range of {@code [-90..90]}.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 2.0
+ * @version 3.3
  * @since 1.0
  */
 public final class Latitude extends Number implements Serializable {
@@ -185,7 +185,7 @@ public final class Latitude extends Number implements Serializable {
 	static Latitude parse(final String value) {
 		final String lat = Strings.trim(value);
 		return lat != null
-			? Latitude.ofDegrees(Double.parseDouble(lat))
+			? Latitude.ofDegrees(Decimals.parseDouble(lat))
 			: null;
 	}
 
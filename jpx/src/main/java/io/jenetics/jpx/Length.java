@@ -20,6 +20,7 @@
 package io.jenetics.jpx;
 
 import static java.lang.String.format;
+import static java.util.Locale.ENGLISH;
 import static java.util.Objects.requireNonNull;
 
 import java.io.DataInput;
@@ -38,7 +39,7 @@ import java.text.ParseException;
  * "m" (metre).
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.2
+ * @version 3.3
  * @since 1.0
  */
 public final class Length
@@ -221,6 +222,33 @@ public final class Length
 		return new Length(Unit.METER.convert(length, unit));
 	}
 
+	// The number format is not thread-safe, so every thread gets its own copy.
+	private static final ThreadLocal<NumberFormat> FORMAT =
+		ThreadLocal.withInitial(() -> NumberFormat.getNumberInstance(ENGLISH));
+
+	/**
+	 * Parses the given length string, in meters. This method is thread-safe
+	 * and can be used in shared XML reader instances.
+	 *
+	 * @param value the length string to parse
+	 * @return the parsed length, or {@code null} if the given {@code value}
+	 *         is {@code null} or blank
+	 * @throws NumberFormatException if the given {@code value} can't be parsed
+	 */
+	static Length parse(final String value) {
+		final String length = Strings.trim(value);
+		if (length != null) {
+			// Plain decimal numbers are parsed to the same value as with
+			// the number format.
+			final double meters = Decimals.parse(length, 0, length.length());
+			if (!Double.isNaN(meters)) {
+				return Length.of(meters, Unit.METER);
+			}
+		}
+
+		return parse(value, FORMAT.get());
+	}
+
 	static Length parse(final String value, final NumberFormat format) {
 		final Double length = parseDouble(value, format);
 		return length !=  null ? Length.of(length, Unit.METER) : null;
@@ -34,7 +34,7 @@ import java.io.Serializable;
  * the range of {@code [-180..180]}.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 2.0
+ * @version 3.3
  * @since 1.0
  */
 public final class Longitude extends Number implements Serializable {
@@ -185,7 +185,7 @@ public final class Longitude extends Number implements Serializable {
 	static Longitude parse(final String value) {
 		final String lon = Strings.trim(value);
 		return lon != null
-			? Longitude.ofDegrees(Double.parseDouble(lon))
+			? Longitude.ofDegrees(Decimals.parseDouble(lon))
 			: null;
 	}
 
@@ -35,10 +35,14 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 
 import org.w3c.dom.Document;
 
+import io.jenetics.jpx.GPX.Reader.Projection;
+import io.jenetics.jpx.GPX.Version;
+
 /**
  * Information about the GPX file, author, and copyright restrictions goes in
  * the metadata section. Providing rich, meaningful information about your GPX
@@ -769,33 +773,47 @@ public final class Metadata implements Serializable {
 		);
 	}
 
+	private static final XMLReaders READERS = new XMLReaders()
+		.v00(XMLReader.elem("name"))
+		.v00(XMLReader.elem("desc"))
+		.v00(Person.reader("author"))
+		.v00(Copyright.READER)
+		.v00(XMLReader.elems(Link.READER))
+		.v00(XMLReader.elem("time").map(TimeFormat::parse))
+		.v00(XMLReader.elem("keywords"))
+		.v00(Bounds.READER)
+		.v00(XMLReader.doc("extensions"));
+
+	/**
+	 * The names of the metadata fields.
+	 */
+	static final Set<String> FIELDS = READERS.names();
+
+	static final XMLReader<Metadata> READER = xmlReader(Projection.ALL);
+
+	static XMLReader<Metadata> xmlReader(final Projection projection) {
+		return XMLReader.elem(
+			Metadata::toMetadata,
+			"metadata",
+			READERS.readers(Version.V11, projection::isMetadataField)
+		);
+	}
+
 	@SuppressWarnings("unchecked")
-	static final XMLReader<Metadata> READER = XMLReader.elem(
-		v -> {
-			final Metadata metadata = new Metadata(
-				(String)v[0],
-				(String)v[1],
-				(Person)v[2],
-				(Copyright)v[3],
-				(List<Link>)v[4],
-				(Instant)v[5],
-				(String)v[6],
-				(Bounds)v[7],
-				XML.extensions((Document)v[8])
-			);
+	private static Metadata toMetadata(final Object[] v) {
+		final Metadata metadata = new Metadata(
+			(String)v[0],
+			(String)v[1],
+			(Person)v[2],
+			(Copyright)v[3],
+			(List<Link>)v[4],
+			(Instant)v[5],
+			(String)v[6],
+			(Bounds)v[7],
+			XML.extensions((Document)v[8])
+		);
 
-			return metadata.isEmpty() ? null : metadata;
-		},
-		"metadata",
-		XMLReader.elem("name"),
-		XMLReader.elem("desc"),
-		Person.reader("author"),
-		Copyright.READER,
-		XMLReader.elems(Link.READER),
-		XMLReader.elem("time").map(TimeFormat::parse),
-		XMLReader.elem("keywords"),
-		Bounds.READER,
-		XMLReader.doc("extensions")
-	);
+		return metadata.isEmpty() ? null : metadata;
+	}
 
 }
@@ -0,0 +1,581 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.util.Objects.requireNonNull;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InvalidObjectException;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import io.jenetics.jpx.GPX.Reader.Mode;
+import io.jenetics.jpx.GPX.Reader.Projection;
+import io.jenetics.jpx.GPX.Reader.Selection;
+import io.jenetics.jpx.GPX.Version;
+
+/**
+ * Reads a single GPX document concurrently. The raw bytes of the document are
+ * scanned for the boundaries of the top-level {@code <wpt>}, {@code <rte>}
+ * and {@code <trk>} elements. Runs of these elements are parsed concurrently,
+ * each one wrapped into a copy of the document prolog and the {@code <gpx>}
+ * start tag. This way, every element is parsed within the same namespace
+ * context as in the sequential case. The rest of the document, the
+ * <em>skeleton</em>, is parsed with the sequential reader, which determines
+ * the version, creator, metadata and extensions of the read GPX object.
+ * <p>
+ * Documents which can't be split safely, e.g. documents with a DOCTYPE
+ * declaration or UTF-16 encoded documents, are read sequentially.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 3.3
+ * @since 3.3
+ */
+final class ParallelReader {
+
+	/**
+	 * The minimal number of bytes, which are parsed by one task.
+	 */
+	static final int MIN_BATCH_SIZE = 1 << 20;
+
+	private final GPX.Reader _reader;
+	private final Executor _executor;
+	private final int _minBatchSize;
+
+	private final boolean _lenient;
+	private final XMLReader<WayPoint> _wayPointReader;
+	private final XMLReader<Route> _routeReader;
+	private final XMLReader<Track> _trackReader;
+
+	ParallelReader(
+		final GPX.Reader reader,
+		final Executor executor,
+		final int minBatchSize
+	) {
+		if (minBatchSize < 1) {
+			throw new IllegalArgumentException(format(
+				"Minimal batch size must be positive: %d", minBatchSize
+			));
+		}
+
+		_reader = requireNonNull(reader);
+		_executor = requireNonNull(executor);
+		_minBatchSize = minBatchSize;
+
+		final Version version = reader.version();
+		final Projection projection = reader.projection();
+		final Selection selection = reader.selection();
+		_lenient = reader.mode() == Mode.LENIENT;
+		_wayPointReader = WayPoint
+			.xmlReader(version, "wpt", Length::parse, projection, selection);
+		_routeReader = Route
+			.xmlReader(version, Length::parse, projection, selection);
+		_trackReader = Track
+			.xmlReader(version, Length::parse, projection, selection);
+	}
+
+	ParallelReader(final GPX.Reader reader, final Executor executor) {
+		this(reader, executor, MIN_BATCH_SIZE);
+	}
+
+	/**
+	 * Reads the GPX document of the given file. The file is mapped into
+	 * memory and files bigger than 2 GB are read sequentially. The mapping
+	 * is released when it is garbage collected, see
+	 * {@link ByteBuffers#map(Path)}.
+	 *
+	 * @param path the GPX file
+	 * @return the read GPX object
+	 * @throws IOException if the file can't be read or is invalid
+	 */
+	GPX read(final Path path) throws IOException {
+		final ByteBuffer document = ByteBuffers.map(path);
+		return document != null
+			? read(document)
+			: _reader.read(path);
+	}
+
+	/**
+	 * Reads the GPX document from the remaining bytes of the given buffer.
+	 * The position of the buffer is not changed.
+	 *
+	 * @param document the bytes of the GPX document
+	 * @return the read GPX object
+	 * @throws IOException if the document is invalid
+	 */
+	GPX read(final ByteBuffer document) throws IOException {
+		final ByteBuffer doc = document.slice();
+		final Layout layout = Layout.scan(doc);
+		if (layout == null || layout.size == 0) {
+			return _reader.read(doc);
+		}
+
+		final List<CompletableFuture<Batch>> batches = submit(doc, layout);
+		try {
+			final GPX skeleton = _reader.read(
+				ByteBuffer.wrap(layout.skeleton(doc))
+			);
+
+			final List<WayPoint> wayPoints = new ArrayList<>();
+			final List<Route> routes = new ArrayList<>();
+			final List<Track> tracks = new ArrayList<>();
+			for (var batch : batches) {
+				final Batch result = join(batch);
+				wayPoints.addAll(result.wayPoints);
+				routes.addAll(result.routes);
+				tracks.addAll(result.tracks);
+			}
+
+			return skeleton.withElements(wayPoints, routes, tracks);
+		} finally {
+			// Results are not needed anymore, if reading has failed.
+			batches.forEach(batch -> batch.cancel(false));
+		}
+	}
+
+	// Splits the elements into batches and submits them for parsing.
+	private List<CompletableFuture<Batch>> submit(
+		final ByteBuffer doc,
+		final Layout layout
+	) {
+		final byte[] prefix = new byte[layout.rootEnd];
+		doc.get(0, prefix);
+		final byte[] suffix = ("</" + layout.root + ">").getBytes(ISO_8859_1);
+
+		final int parallelism = 4*Runtime.getRuntime().availableProcessors();
+		final long bytes = layout.elementBytes();
+		final long size = Math.max(_minBatchSize, bytes/parallelism);
+
+		final List<CompletableFuture<Batch>> batches = new ArrayList<>();
+		int first = 0;
+		while (first < layout.size) {
+			int last = first;
+			while (last + 1 < layout.size &&
+				layout.ends[last] - layout.starts[first] < size)
+			{
+				++last;
+			}
+
+			final ByteBuffer elements = doc.slice(
+				layout.starts[first],
+				layout.ends[last] - layout.starts[first]
+			);
+			batches.add(CompletableFuture.supplyAsync(
+				() -> parse(prefix, elements, suffix),
+				_executor
+			));
+
+			first = last + 1;
+		}
+
+		return batches;
+	}
+
+	private static Batch join(final CompletableFuture<Batch> batch)
+		throws IOException
+	{
+		try {
+			return batch.join();
+		} catch (CompletionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof XMLStreamException) {
+				throw new InvalidObjectException(
+					"Invalid GPX: " + cause.getMessage()
+				);
+			} else if (cause instanceof IOException ioe) {
+				throw ioe;
+			} else if (cause instanceof IllegalArgumentException) {
+				final var ioe = new InvalidObjectException(cause.getMessage());
+				throw (InvalidObjectException)ioe.initCause(cause);
+			} else if (cause instanceof RuntimeException re) {
+				throw re;
+			} else if (cause instanceof Error err) {
+				throw err;
+			}
+			throw e;
+		}
+	}
+
+	/* *************************************************************************
+	 * Parsing the top-level GPX elements.
+	 * ************************************************************************/
+
+	private record Batch(
+		List<WayPoint> wayPoints,
+		List<Route> routes,
+		List<Track> tracks
+	) {
+		Batch() {
+			this(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+		}
+	}
+
+	private Batch parse(
+		final byte[] prefix,
+		final ByteBuffer elements,
+		final byte[] suffix
+	) {
+		final InputStream input = new SequenceInputStream(
+			new ByteArrayInputStream(prefix),
+			new SequenceInputStream(
+				ByteBuffers.input(elements),
+				new ByteArrayInputStream(suffix)
+			)
+		);
+
+		try {
+			final XMLStreamReader source = XMLProvider.provider()
+				.xmlInputFactory()
+				.createXMLStreamReader(input);
+
+			try (var xml = new XMLStreamReaderAdapter(source)) {
+				return parse(xml);
+			}
+		} catch (XMLStreamException e) {
+			throw new CompletionException(e);
+		}
+	}
+
+	private Batch parse(final XMLStreamReaderAdapter xml)
+		throws XMLStreamException
+	{
+		// Moving to the <gpx> start element.
+		while (xml.hasNext() && xml.next() != START_ELEMENT) {
+		}
+
+		final Batch batch = new Batch();
+		while (xml.hasNext()) {
+			switch (xml.next()) {
+				case START_ELEMENT -> {
+					switch (xml.getLocalName()) {
+						case "wpt" -> add(batch.wayPoints, _wayPointReader, xml);
+						case "rte" -> add(batch.routes, _routeReader, xml);
+						case "trk" -> add(batch.tracks, _trackReader, xml);
+						default -> skip(xml);
+					}
+				}
+				case END_ELEMENT -> {
+					return batch;
+				}
+			}
+		}
+
+		throw new XMLStreamException("Premature end of file while reading 'gpx'.");
+	}
+
+	// Reads the element the same way as the list elements of the GPX reader.
+	private <T> void add(
+		final List<T> list,
+		final XMLReader<T> reader,
+		final XMLStreamReaderAdapter xml
+	)
+		throws XMLStreamException
+	{
+		try {
+			final T element = reader.read(xml, _lenient);
+			if (element != null) {
+				list.add(element);
+			}
+		} catch (IllegalArgumentException|NullPointerException e) {
+			if (!_lenient) {
+				final XMLStreamException exp = new XMLStreamException(format(
+					"Unexpected element <%s>.",
+					xml.getLocalName()
+				));
+				exp.addSuppressed(e);
+				throw exp;
+			}
+		}
+	}
+
+	// Skips the current element. Other elements are read with the skeleton.
+	private static void skip(final XMLStreamReaderAdapter xml)
+		throws XMLStreamException
+	{
+		int depth = 1;
+		while (depth > 0 && xml.hasNext()) {
+			switch (xml.next()) {
+				case START_ELEMENT -> ++depth;
+				case END_ELEMENT -> --depth;
+			}
+		}
+	}
+
+	/* *************************************************************************
+	 * Scanning the raw document bytes.
+	 * ************************************************************************/
+
+	/**
+	 * The byte layout of a GPX document: the end of the {@code <gpx>} start
+	 * tag and the boundaries of the top-level way-point, route and track
+	 * elements, in document order.
+	 */
+	static final class Layout {
+		final String root;
+		final int rootEnd;
+
+		int[] starts = new int[16];
+		int[] ends = new int[16];
+		int size = 0;
+
+		private Layout(final String root, final int rootEnd) {
+			this.root = root;
+			this.rootEnd = rootEnd;
+		}
+
+		private void add(final int start, final int end) {
+			if (size == starts.length) {
+				starts = Arrays.copyOf(starts, size*2);
+				ends = Arrays.copyOf(ends, size*2);
+			}
+			starts[size] = start;
+			ends[size] = end;
+			++size;
+		}
+
+		long elementBytes() {
+			long bytes = 0;
+			for (int i = 0; i < size; ++i) {
+				bytes += ends[i] - starts[i];
+			}
+			return bytes;
+		}
+
+		/**
+		 * Return the document bytes without the top-level way-point, route
+		 * and track elements.
+		 */
+		byte[] skeleton(final ByteBuffer doc) {
+			final byte[] bytes = new byte[(int)(doc.limit() - elementBytes())];
+			int pos = 0;
+			int index = 0;
+			for (int i = 0; i < size; ++i) {
+				final int length = starts[i] - pos;
+				doc.get(pos, bytes, index, length);
+				index += length;
+				pos = ends[i];
+			}
+			doc.get(pos, bytes, index, doc.limit() - pos);
+			return bytes;
+		}
+
+		/**
+		 * Scans the given document for the top-level GPX elements.
+		 *
+		 * @param doc the document bytes
+		 * @return the document layout, or {@code null} if the document can't
+		 *         be split safely
+		 */
+		static Layout scan(final ByteBuffer doc) {
+			final int limit = doc.limit();
+			if (limit < 2 || doc.get(0) == 0 || doc.get(1) == 0 ||
+				(doc.get(0) & 0xFF) == 0xFE || (doc.get(0) & 0xFF) == 0xFF)
+			{
+				// UTF-16 or UTF-32 encoded documents.
+				return null;
+			}
+
+			Layout layout = null;
+			int depth = 0;
+			int start = -1;
+
+			int pos = indexOf(doc, '<', 0);
+			while (pos != -1 && pos + 1 < limit) {
+				final byte next = doc.get(pos + 1);
+				int end;
+
+				if (next == '?') {
+					end = indexOf(doc, "?>", pos + 2);
+				} else if (next == '!') {
+					if (startsWith(doc, pos, "<!--")) {
+						end = indexOf(doc, "-->", pos + 4);
+					} else if (startsWith(doc, pos, "<![CDATA[")) {
+						end = indexOf(doc, "]]>", pos + 9);
+					} else {
+						// DOCTYPE declarations may define entities.
+						return null;
+					}
+				} else if (next == '/') {
+					end = indexOf(doc, '>', pos + 2);
+					if (end == -1) {
+						return null;
+					}
+					++end;
+
+					--depth;
+					if (depth == 1 && start != -1) {
+						layout.add(start, end);
+						start = -1;
+					} else if (depth == 0) {
+						return layout;
+					}
+				} else {
+					end = tagEnd(doc, pos + 1);
+					if (end == -1) {
+						return null;
+					}
+					final boolean empty = doc.get(end - 2) == '/';
+
+					if (depth == 0) {
+						layout = new Layout(name(doc, pos + 1), end);
+					} else if (depth == 1 && isElement(doc, pos + 1)) {
+						if (empty) {
+							layout.add(pos, end);
+						} else {
+							start = pos;
+						}
+					}
+					if (!empty) {
+						++depth;
+					} else if (depth == 0) {
+						return layout;
+					}
+				}
+
+				if (end == -1) {
+					return null;
+				}
+				pos = indexOf(doc, '<', end);
+			}
+
+			return null;
+		}
+
+		// Return the index after the '>' of the start tag, skipping quoted
+		// attribute values.
+		private static int tagEnd(final ByteBuffer doc, final int from) {
+			final int limit = doc.limit();
+			byte quote = 0;
+			for (int i = from; i < limit; ++i) {
+				final byte b = doc.get(i);
+				if (quote != 0) {
+					if (b == quote) {
+						quote = 0;
+					}
+				} else if (b == '"' || b == '\'') {
+					quote = b;
+				} else if (b == '>') {
+					return i + 1;
+				}
+			}
+			return -1;
+		}
+
+		private static String name(final ByteBuffer doc, final int from) {
+			int i = from;
+			while (i < doc.limit() && !isNameEnd(doc.get(i))) {
+				++i;
+			}
+
+			// Keeps the raw bytes of the name, whatever the encoding is.
+			final byte[] name = new byte[i - from];
+			doc.get(from, name);
+			return new String(name, ISO_8859_1);
+		}
+
+		private static boolean isNameEnd(final byte b) {
+			return b == '>' || b == '/' || (b >= 0 && b <= ' ');
+		}
+
+		// Tests whether the element, starting at the given index, is a
+		// way-point, route or track element, with an optional prefix.
+		private static boolean isElement(final ByteBuffer doc, final int from) {
+			int i = from;
+			int local = from;
+			while (i < doc.limit()) {
+				final byte b = doc.get(i);
+				if (isNameEnd(b)) {
+					break;
+				}
+				if (b == ':') {
+					local = i + 1;
+				}
+				++i;
+			}
+
+			return i - local == 3 && (
+				startsWith(doc, local, "wpt") ||
+				startsWith(doc, local, "rte") ||
+				startsWith(doc, local, "trk")
+			);
+		}
+
+		private static boolean startsWith(
+			final ByteBuffer doc,
+			final int from,
+			final String prefix
+		) {
+			if (from + prefix.length() > doc.limit()) {
+				return false;
+			}
+			for (int i = 0; i < prefix.length(); ++i) {
+				if (doc.get(from + i) != prefix.charAt(i)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private static int indexOf(
+			final ByteBuffer doc,
+			final char value,
+			final int from
+		) {
+			for (int i = from, n = doc.limit(); i < n; ++i) {
+				if (doc.get(i) == value) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		// Return the index after the found value, or -1.
+		private static int indexOf(
+			final ByteBuffer doc,
+			final String value,
+			final int from
+		) {
+			final byte first = (byte)value.charAt(0);
+			for (int i = from, n = doc.limit() - value.length(); i <= n; ++i) {
+				if (doc.get(i) == first && startsWith(doc, i, value)) {
+					return i + value.length();
+				}
+			}
+			return -1;
+		}
+	}
+
+}
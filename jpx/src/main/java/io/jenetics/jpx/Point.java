@@ -28,7 +28,7 @@ import io.jenetics.jpx.geom.Geoid;
  * A geographic point with optional elevation and time.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 3.0
+ * @version 3.3
  * @since 1.0
  */
 public interface Point {
@@ -85,4 +85,25 @@ public interface Point {
 		return Geoid.DEFAULT.distance(this, end);
 	}
 
+	/**
+	 * Calculate the distance between points with the given {@code geoid}.
+	 * This allows using one of the faster, approximate distance models.
+	 * <pre>{@code
+	 * final Geoid geoid = Geoid.WGS84.withModel(DistanceModel.HAVERSINE);
+	 * final Length distance = start.distance(end, geoid);
+	 * }</pre>
+	 *
+	 * @see Geoid#withModel(io.jenetics.jpx.geom.DistanceModel)
+	 *
+	 * @since 3.3
+	 *
+	 * @param end the end point
+	 * @param geoid the geoid used for calculating the distance
+	 * @return the distance between {@code this} and {@code end} in meters
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 */
+	default Length distance(final Point end, final Geoid geoid) {
+		return geoid.distance(this, end);
+	}
+
 }
@@ -0,0 +1,520 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+
+import java.time.Instant;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.stream.Stream;
+
+import org.w3c.dom.Document;
+
+import io.jenetics.jpx.Length.Unit;
+import io.jenetics.jpx.geom.Coordinates;
+import io.jenetics.jpx.geom.Geoid;
+
+/**
+ * Compact, column oriented representation of the points of a
+ * {@link TrackSegment}. The latitude, longitude, elevation and time values of
+ * the points are stored in primitive arrays, which needs about 32 bytes per
+ * point, instead of the 150+ bytes of a {@link WayPoint} object. Points which
+ * contain additional values, like the {@code name} or the {@code fix}, are
+ * rare for track-points. They are stored, as they are, in a sparse side table.
+ * <pre>{@code
+ * final PointColumns columns = PointColumns.of(segment);
+ * final Length length = columns.pathLength(Geoid.WGS84);
+ *
+ * // Converting the columns back into a segment, without copying the points.
+ * final TrackSegment view = columns.toTrackSegment();
+ * assert view.equals(segment);
+ * }</pre>
+ *
+ * The {@link WayPoint} objects of the {@link #getPoints()} list and of the
+ * {@link #toTrackSegment()} view are created lazily, when they are accessed.
+ * Converting such a view back, via {@link #of(TrackSegment)}, returns
+ * columns, which are sharing the arrays of the original columns.
+ * <p>
+ * The elevations are stored in meters and the times as nanoseconds since the
+ * epoch. Points, whose time can't be represented as epoch nanos, are stored
+ * in the side table as well. Instances of this class are immutable.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 3.3
+ * @since 3.3
+ */
+public final class PointColumns {
+
+	/**
+	 * The value of the {@link #epochNanosOrMin(int)} method, if the point
+	 * has no time.
+	 */
+	public static final long NO_TIME = Long.MIN_VALUE;
+
+	private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+	private final double[] _lat;
+	private final double[] _lon;
+
+	// The elevation and time columns are null, if no point has such a value.
+	private final double[] _ele;
+	private final long[] _time;
+
+	// Sparse side table of the points with additional values.
+	private final int[] _extraIndexes;
+	private final WayPoint[] _extras;
+
+	private final Document _extensions;
+
+	private PointColumns(
+		final double[] lat,
+		final double[] lon,
+		final double[] ele,
+		final long[] time,
+		final int[] extraIndexes,
+		final WayPoint[] extras,
+		final Document extensions
+	) {
+		_lat = lat;
+		_lon = lon;
+		_ele = ele;
+		_time = time;
+		_extraIndexes = extraIndexes;
+		_extras = extras;
+		_extensions = extensions;
+	}
+
+	/**
+	 * Return the number of points.
+	 *
+	 * @return the number of points
+	 */
+	public int size() {
+		return _lat.length;
+	}
+
+	/**
+	 * Return {@code true} if there are no points.
+	 *
+	 * @return {@code true} if there are no points, {@code false} otherwise
+	 */
+	public boolean isEmpty() {
+		return _lat.length == 0;
+	}
+
+	/**
+	 * Return the latitude of the point with the given {@code index}.
+	 *
+	 * @param index the point index
+	 * @return the latitude of the point, in degrees
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	public double latitude(final int index) {
+		return _lat[index];
+	}
+
+	/**
+	 * Return the longitude of the point with the given {@code index}.
+	 *
+	 * @param index the point index
+	 * @return the longitude of the point, in degrees
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	public double longitude(final int index) {
+		return _lon[index];
+	}
+
+	/**
+	 * Return the elevation of the point with the given {@code index}.
+	 *
+	 * @param index the point index
+	 * @return the elevation of the point, in meters, or {@link Double#NaN}
+	 *         if the point has no elevation
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	public double elevationOrNaN(final int index) {
+		Objects.checkIndex(index, _lat.length);
+		return _ele != null ? _ele[index] : Double.NaN;
+	}
+
+	/**
+	 * Return the time of the point with the given {@code index}.
+	 *
+	 * @param index the point index
+	 * @return the time of the point, in nanoseconds since the epoch, or
+	 *         {@link #NO_TIME} if the point has no time or if its time can't
+	 *         be represented as epoch nanos
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	public long epochNanosOrMin(final int index) {
+		Objects.checkIndex(index, _lat.length);
+		return _time != null ? _time[index] : NO_TIME;
+	}
+
+	/**
+	 * Return the point with the given {@code index}. The way-point object is
+	 * created on every call.
+	 *
+	 * @param index the point index
+	 * @return the point with the given {@code index}
+	 * @throws IndexOutOfBoundsException if the index is out of range
+	 */
+	public WayPoint get(final int index) {
+		Objects.checkIndex(index, _lat.length);
+
+		final WayPoint extra = extra(index);
+		if (extra != null) {
+			return extra;
+		}
+
+		final double ele = _ele != null ? _ele[index] : Double.NaN;
+		final long time = _time != null ? _time[index] : NO_TIME;
+		return WayPoint.of(
+			Latitude.ofDegrees(_lat[index]),
+			Longitude.ofDegrees(_lon[index]),
+			Double.isNaN(ele) ? null : Length.of(ele, Unit.METER),
+			time == NO_TIME ? null : toInstant(time)
+		);
+	}
+
+	// Return the point of the side table with the given index, or null.
+	WayPoint extra(final int index) {
+		if (_extras.length > 0) {
+			final int i = Arrays.binarySearch(_extraIndexes, index);
+			return i >= 0 ? _extras[i] : null;
+		} else {
+			return null;
+		}
+	}
+
+	/**
+	 * Return an unmodifiable list view of the points. The way-points are
+	 * created lazily, when they are accessed.
+	 *
+	 * @return an unmodifiable list view of the points
+	 */
+	public List<WayPoint> getPoints() {
+		return new Points(this);
+	}
+
+	/**
+	 * Return a stream of the points. The way-points are created lazily.
+	 *
+	 * @return a stream of the points
+	 */
+	public Stream<WayPoint> points() {
+		return getPoints().stream();
+	}
+
+	/**
+	 * Return the extensions of the track-segment, the points are from.
+	 *
+	 * @return the extensions document
+	 */
+	public Optional<Document> getExtensions() {
+		return Optional.ofNullable(_extensions).map(XML::clone);
+	}
+
+	/**
+	 * Calculates the bounds of the points.
+	 *
+	 * @see Bounds#toBounds()
+	 *
+	 * @return the bounds of the points, or {@code null} if there are no points
+	 */
+	public Bounds bounds() {
+		return Coordinates.bounds(_lat, _lon);
+	}
+
+	/**
+	 * Calculates the length of the path, which is defined by the points.
+	 *
+	 * @see Geoid#toPathLength()
+	 *
+	 * @param geoid the geoid used for the distance calculation
+	 * @return the length of the path
+	 * @throws NullPointerException if the given {@code geoid} is {@code null}
+	 */
+	public Length pathLength(final Geoid geoid) {
+		return Length.of(geoid.pathLength(_lat, _lon), Unit.METER);
+	}
+
+	/**
+	 * Return a track-segment, which is backed by {@code this} columns. The
+	 * points are not copied and the way-point objects of the segment are
+	 * created lazily, when they are accessed.
+	 *
+	 * @return a track-segment view of {@code this} columns
+	 */
+	public TrackSegment toTrackSegment() {
+		return TrackSegment.wrap(getPoints(), XML.clone(_extensions));
+	}
+
+	@Override
+	public int hashCode() {
+		int hash = Arrays.hashCode(_lat);
+		hash = 31*hash + Arrays.hashCode(_lon);
+		hash = 31*hash + Arrays.hashCode(_ele);
+		hash = 31*hash + Arrays.hashCode(_time);
+		hash = 31*hash + Arrays.hashCode(_extraIndexes);
+		hash = 31*hash + Arrays.hashCode(_extras);
+		return hash;
+	}
+
+	/**
+	 * Compares the point columns, including the side table of the points
+	 * with additional values. Like {@link TrackSegment#equals(Object)} and
+	 * {@link WayPoint#equals(Object)}, the extensions documents of the
+	 * segment and of the points are not compared.
+	 *
+	 * @param obj the object to compare with
+	 * @return {@code true} if the given object contains the same points,
+	 *         {@code false} otherwise
+	 */
+	@Override
+	public boolean equals(final Object obj) {
+		return obj == this ||
+			obj instanceof PointColumns columns &&
+			Arrays.equals(columns._lat, _lat) &&
+			Arrays.equals(columns._lon, _lon) &&
+			Arrays.equals(columns._ele, _ele) &&
+			Arrays.equals(columns._time, _time) &&
+			Arrays.equals(columns._extraIndexes, _extraIndexes) &&
+			Arrays.equals(columns._extras, _extras);
+	}
+
+	@Override
+	public String toString() {
+		return format("PointColumns[points=%s]", _lat.length);
+	}
+
+
+	/* *************************************************************************
+	 *  Static object creation methods
+	 * ************************************************************************/
+
+	/**
+	 * Create a new columns object from the points of the given track-segment.
+	 * If the given segment is a {@link #toTrackSegment()} view, the arrays of
+	 * the backing columns are shared and not copied.
+	 *
+	 * @param segment the track-segment
+	 * @return a new columns object with the points of the given segment
+	 * @throws NullPointerException if the given {@code segment} is {@code null}
+	 */
+	public static PointColumns of(final TrackSegment segment) {
+		final Document extensions = segment.getExtensions().orElse(null);
+		if (segment.getPoints() instanceof Points points) {
+			final PointColumns c = points._columns;
+			return new PointColumns(
+				c._lat, c._lon, c._ele, c._time,
+				c._extraIndexes, c._extras,
+				extensions
+			);
+		} else {
+			return of(segment.getPoints(), extensions);
+		}
+	}
+
+	/**
+	 * Create a new columns object from the given points.
+	 *
+	 * @param points the points
+	 * @return a new columns object with the given points
+	 * @throws NullPointerException if the given {@code points} list or one of
+	 *         its elements is {@code null}
+	 */
+	public static PointColumns of(final List<? extends WayPoint> points) {
+		return of(points, null);
+	}
+
+	private static PointColumns of(
+		final List<? extends WayPoint> points,
+		final Document extensions
+	) {
+		final int size = points.size();
+		final double[] lat = new double[size];
+		final double[] lon = new double[size];
+		final double[] ele = new double[size];
+		final long[] time = new long[size];
+		boolean hasEle = false;
+		boolean hasTime = false;
+
+		int[] extraIndexes = new int[0];
+		WayPoint[] extras = new WayPoint[0];
+		int extraCount = 0;
+
+		int index = 0;
+		for (WayPoint point : points) {
+			lat[index] = point.getLatitude().doubleValue();
+			lon[index] = point.getLongitude().doubleValue();
+
+			final Length elevation = point.getElevation().orElse(null);
+			ele[index] = elevation != null ? elevation.doubleValue() : Double.NaN;
+			hasEle |= elevation != null;
+
+			final Instant instant = point.getTime().orElse(null);
+			final long nanos = instant != null ? toNanos(instant) : NO_TIME;
+			time[index] = nanos;
+			hasTime |= nanos != NO_TIME;
+
+			final boolean lossless =
+				point.isCompact() &&
+				(elevation == null || !Double.isNaN(elevation.doubleValue())) &&
+				(instant == null || nanos != NO_TIME);
+
+			if (!lossless) {
+				if (extraCount == extras.length) {
+					extraIndexes = Arrays.copyOf(extraIndexes, extraCount*2 + 1);
+					extras = Arrays.copyOf(extras, extraCount*2 + 1);
+				}
+				extraIndexes[extraCount] = index;
+				extras[extraCount] = point;
+				++extraCount;
+			}
+
+			++index;
+		}
+
+		return new PointColumns(
+			lat,
+			lon,
+			hasEle ? ele : null,
+			hasTime ? time : null,
+			Arrays.copyOf(extraIndexes, extraCount),
+			Arrays.copyOf(extras, extraCount),
+			extensions
+		);
+	}
+
+	/**
+	 * Create a new columns object from the given coordinate arrays. The given
+	 * arrays are copied.
+	 *
+	 * @param lat the latitude values, in degrees
+	 * @param lon the longitude values, in degrees
+	 * @param ele the elevation values, in meters. A {@link Double#NaN} value
+	 *        marks a missing elevation. The array may be {@code null}, if
+	 *        no point has an elevation.
+	 * @param time the time values, in nanoseconds since the epoch. A
+	 *        {@link #NO_TIME} value marks a missing time. The array may be
+	 *        {@code null}, if no point has a time.
+	 * @return a new columns object with the given values
+	 * @throws NullPointerException if the {@code lat} or {@code lon} array is
+	 *         {@code null}
+	 * @throws IllegalArgumentException if the arrays have different lengths or
+	 *         if one of the latitude or longitude values is out of range
+	 */
+	public static PointColumns of(
+		final double[] lat,
+		final double[] lon,
+		final double[] ele,
+		final long[] time
+	) {
+		requireNonNull(lat);
+		requireNonNull(lon);
+		if (lon.length != lat.length ||
+			ele != null && ele.length != lat.length ||
+			time != null && time.length != lat.length)
+		{
+			throw new IllegalArgumentException(
+				"All column arrays must have the same length."
+			);
+		}
+		for (int i = 0; i < lat.length; ++i) {
+			// Validates the coordinate values.
+			Latitude.ofDegrees(lat[i]);
+			Longitude.ofDegrees(lon[i]);
+		}
+
+		return new PointColumns(
+			lat.clone(),
+			lon.clone(),
+			ele != null ? ele.clone() : null,
+			time != null ? time.clone() : null,
+			new int[0],
+			new WayPoint[0],
+			null
+		);
+	}
+
+	/**
+	 * Return the backing columns of the given point list, if it is a
+	 * {@link #getPoints()} view, or {@code null} otherwise.
+	 *
+	 * @param points the point list
+	 * @return the backing columns of the given list, or {@code null}
+	 */
+	static PointColumns columns(final List<WayPoint> points) {
+		return points instanceof Points view ? view._columns : null;
+	}
+
+	// Return the epoch nanos of the instant, or NO_TIME if not representable.
+	static long toNanos(final Instant instant) {
+		try {
+			return Math.addExact(
+				Math.multiplyExact(instant.getEpochSecond(), NANOS_PER_SECOND),
+				instant.getNano()
+			);
+		} catch (ArithmeticException e) {
+			return NO_TIME;
+		}
+	}
+
+	static Instant toInstant(final long nanos) {
+		return Instant.ofEpochSecond(
+			Math.floorDiv(nanos, NANOS_PER_SECOND),
+			Math.floorMod(nanos, NANOS_PER_SECOND)
+		);
+	}
+
+
+	/* *************************************************************************
+	 *  Lazy way-point list view
+	 * ************************************************************************/
+
+	private static final class Points
+		extends AbstractList<WayPoint>
+		implements RandomAccess
+	{
+		private final PointColumns _columns;
+
+		private Points(final PointColumns columns) {
+			_columns = columns;
+		}
+
+		@Override
+		public WayPoint get(final int index) {
+			return _columns.get(index);
+		}
+
+		@Override
+		public int size() {
+			return _columns.size();
+		}
+	}
+
+}
@@ -0,0 +1,330 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.Instant;
+import java.util.List;
+
+import io.jenetics.jpx.GPX.Reader.PointType;
+
+/**
+ * Reusable cursor, which walks the points of a {@link GPX} object, without
+ * allocating objects for every visited point. The point values are accessed
+ * via primitive accessors, which don't create {@link java.util.Optional} or
+ * boxed values.
+ * <pre>{@code
+ * final PointCursor cursor = PointCursor.of(gpx, PointType.TRACK_POINT);
+ * double ascent = 0;
+ * double previous = Double.NaN;
+ * while (cursor.next()) {
+ *     final double ele = cursor.elevationOrNaN();
+ *     if (ele > previous) {
+ *         ascent += ele - previous;
+ *     }
+ *     previous = ele;
+ * }
+ * }</pre>
+ *
+ * The values of track-segments, which are backed by {@link PointColumns}, are
+ * read directly from the columns. A cursor object is not thread-safe.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 3.3
+ * @since 3.3
+ */
+public final class PointCursor {
+
+	/**
+	 * The value of the {@link #epochMillisOrMin()} method, if the current point
+	 * has no time.
+	 */
+	public static final long NO_TIME = Long.MIN_VALUE;
+
+	private static final long NANOS_PER_MILLI = 1_000_000L;
+
+	private final PointType _type;
+	private GPX _gpx;
+
+	// The index of the current route or track.
+	private int _index;
+	// The index of the current track-segment.
+	private int _segment;
+	// The index of the current point within its point list.
+	private int _position;
+
+	private List<WayPoint> _points;
+	private PointColumns _columns;
+	private WayPoint _point;
+	private boolean _valid;
+	private boolean _done;
+
+	private PointCursor(final GPX gpx, final PointType type) {
+		_type = requireNonNull(type);
+		reset(gpx);
+	}
+
+	/**
+	 * Return the type of the points, this cursor is walking.
+	 *
+	 * @return the point type of this cursor
+	 */
+	public PointType type() {
+		return _type;
+	}
+
+	/**
+	 * Moves the cursor to the beginning of the given {@code gpx} object. This
+	 * allows reusing the cursor for different GPX objects.
+	 *
+	 * @param gpx the GPX object to walk
+	 * @throws NullPointerException if the given {@code gpx} is {@code null}
+	 */
+	public void reset(final GPX gpx) {
+		_gpx = requireNonNull(gpx);
+		reset();
+	}
+
+	/**
+	 * Moves the cursor back to the first point.
+	 */
+	public void reset() {
+		_index = -1;
+		_segment = -1;
+		_position = -1;
+		_points = List.of();
+		_columns = null;
+		_point = null;
+		_valid = false;
+		_done = false;
+	}
+
+	/**
+	 * Moves the cursor to the next point.
+	 *
+	 * @return {@code true} if the cursor points to a valid point,
+	 *         {@code false} if there are no more points
+	 */
+	public boolean next() {
+		if (_done) {
+			return false;
+		}
+
+		++_position;
+		while (_position >= _points.size()) {
+			if (!nextPoints()) {
+				_done = true;
+				_valid = false;
+				_point = null;
+				return false;
+			}
+			_position = 0;
+		}
+
+		_point = _columns == null ? _points.get(_position) : null;
+		_valid = true;
+		return true;
+	}
+
+	private boolean nextPoints() {
+		return switch (_type) {
+			case WAY_POINT -> ++_index == 0 && points(_gpx.getWayPoints());
+			case ROUTE_POINT -> {
+				final List<Route> routes = _gpx.getRoutes();
+				yield ++_index < routes.size() &&
+					points(routes.get(_index).getPoints());
+			}
+			case TRACK_POINT -> nextSegment();
+		};
+	}
+
+	private boolean nextSegment() {
+		final List<Track> tracks = _gpx.getTracks();
+		while (_index < tracks.size()) {
+			if (_index >= 0) {
+				final List<TrackSegment> segments = tracks.get(_index).getSegments();
+				if (++_segment < segments.size()) {
+					return points(segments.get(_segment).getPoints());
+				}
+			}
+			++_index;
+			_segment = -1;
+		}
+		return false;
+	}
+
+	private boolean points(final List<WayPoint> points) {
+		_points = points;
+		_columns = PointColumns.columns(points);
+		return true;
+	}
+
+	private void checkValid() {
+		if (!_valid) {
+			throw new IllegalStateException(
+				"Cursor doesn't point to a valid point."
+			);
+		}
+	}
+
+	/**
+	 * Return the index of the route (for route-points) or the track (for
+	 * track-points) the current point belongs to. For way-points, this is the
+	 * index of the way-point itself.
+	 *
+	 * @return the route, track or way-point index of the current point
+	 * @throws IllegalStateException if the cursor doesn't point to a valid
+	 *         point
+	 */
+	public int index() {
+		checkValid();
+		return _type == PointType.WAY_POINT ? _position : _index;
+	}
+
+	/**
+	 * Return the index of the track-segment, within its track, of the current
+	 * track-point, or {@code -1} for way- and route-points.
+	 *
+	 * @return the segment index of the current point
+	 * @throws IllegalStateException if the cursor doesn't point to a valid
+	 *         point
+	 */
+	public int segment() {
+		checkValid();
+		return _type == PointType.TRACK_POINT ? _segment : -1;
+	}
+
+	/**
+	 * Return the index of the current point within its route or
+	 * track-segment. For way-points, this is the index of the way-point itself.
+	 *
+	 * @return the position of the current point
+	 * @throws IllegalStateException if the cursor doesn't point to a valid
+	 *         point
+	 */
+	public int position() {
+		checkValid();
+		return _position;
+	}
+
+	/**
+	 * Return the latitude of the current point.
+	 *
+	 * @return the latitude of the current point, in degrees
+	 * @throws IllegalStateException if the cursor doesn't point to a valid
+	 *         point
+	 */
+	public double latitude() {
+		checkValid();
+		return _columns != null
+			? _columns.latitude(_position)
+			: _point.getLatitude().doubleValue();
+	}
+
+	/**
+	 * Return the longitude of the current point.
+	 *
+	 * @return the longitude of the current point, in degrees
+	 * @throws IllegalStateException if the cursor doesn't point to a valid
+	 *         point
+	 */
+	public double longitude() {
+		checkValid();
+		return _columns != null
+			? _columns.longitude(_position)
+			: _point.getLongitude().doubleValue();
+	}
+
+	/**
+	 * Return the elevation of the current point.
+	 *
+	 * @return the elevation of the current point, in meters, or
+	 *         {@link Double#NaN} if the point has no elevation
+	 * @throws IllegalStateException if the cursor doesn't point to a valid
+	 *         point
+	 */
+	public double elevationOrNaN() {
+		checkValid();
+		if (_columns != null) {
+			return _columns.elevationOrNaN(_position);
+		} else {
+			final Length elevation = _point.elevation();
+			return elevation != null ? elevation.doubleValue() : Double.NaN;
+		}
+	}
+
+	/**
+	 * Return the time of the current point.
+	 *
+	 * @return the time of the current point, in milliseconds since the epoch,
+	 *         or {@link #NO_TIME} if the point has no time
+	 * @throws IllegalStateException if the cursor doesn't point to a valid
+	 *         point
+	 * @throws ArithmeticException if the time of the point is too large to be
+	 *         represented as epoch milliseconds
+	 */
+	public long epochMillisOrMin() {
+		checkValid();
+		if (_columns != null) {
+			final long nanos = _columns.epochNanosOrMin(_position);
+			if (nanos != PointColumns.NO_TIME) {
+				return Math.floorDiv(nanos, NANOS_PER_MILLI);
+			} else {
+				// The time might not be representable as epoch nanos.
+				final WayPoint extra = _columns.extra(_position);
+				return extra != null && extra.time() != null
+					? extra.time().toEpochMilli()
+					: NO_TIME;
+			}
+		} else {
+			final Instant time = _point.time();
+			return time != null ? time.toEpochMilli() : NO_TIME;
+		}
+	}
+
+	/**
+	 * Return the current point. If the current point is backed by
+	 * {@link PointColumns}, a new way-point object is created.
+	 *
+	 * @return the current point
+	 * @throws IllegalStateException if the cursor doesn't point to a valid
+	 *         point
+	 */
+	public WayPoint point() {
+		checkValid();
+		return _columns != null ? _columns.get(_position) : _point;
+	}
+
+	/**
+	 * Create a new cursor, which walks the points of the given {@code type}
+	 * of the given {@code gpx} object. The cursor is positioned before the
+	 * first point.
+	 *
+	 * @param gpx the GPX object to walk
+	 * @param type the type of the points to walk
+	 * @return a new point cursor
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 */
+	public static PointCursor of(final GPX gpx, final PointType type) {
+		return new PointCursor(gpx, type);
+	}
+
+}
@@ -0,0 +1,138 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.InvalidObjectException;
+import java.io.UncheckedIOException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+import javax.xml.stream.XMLStreamException;
+
+import io.jenetics.jpx.GPX.Reader.IndexedPoint;
+import io.jenetics.jpx.GPX.Reader.PointType;
+import io.jenetics.jpx.GPX.Reader.Projection;
+import io.jenetics.jpx.GPX.Reader.Selection;
+import io.jenetics.jpx.GPX.Version;
+
+/**
+ * Pull based spliterator, which reads the way-points, route-points and
+ * track-points of a GPX document one by one. Only the currently read point is
+ * hold in memory; all other elements of the GPX document are skipped.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 3.3
+ * @since 3.3
+ */
+final class PointSpliterator
+	extends Spliterators.AbstractSpliterator<IndexedPoint>
+	implements GPXHandler
+{
+
+	private final EventReader _reader;
+
+	private IndexedPoint _point = null;
+	private int _wayPointIndex = -1;
+	private int _routeIndex = -1;
+	private int _trackIndex = -1;
+	private int _segmentIndex = -1;
+
+	PointSpliterator(
+		final XMLStreamReaderAdapter xml,
+		final Version version,
+		final Set<PointType> types,
+		final boolean lenient,
+		final Projection projection,
+		final Selection selection
+	) {
+		super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+		requireNonNull(types);
+
+		_reader = new EventReader(
+			xml,
+			version,
+			lenient,
+			projection,
+			selection,
+			this,
+			false,
+			types.contains(PointType.WAY_POINT),
+			types.contains(PointType.ROUTE_POINT),
+			types.contains(PointType.TRACK_POINT)
+		);
+	}
+
+	@Override
+	public boolean tryAdvance(final Consumer<? super IndexedPoint> action) {
+		try {
+			while (_point == null && _reader.next()) {
+				// Reading until the next point is available.
+			}
+		} catch (XMLStreamException e) {
+			throw new UncheckedIOException(
+				new InvalidObjectException("Invalid GPX: " + e.getMessage())
+			);
+		}
+
+		if (_point != null) {
+			final IndexedPoint point = _point;
+			_point = null;
+			action.accept(point);
+			return true;
+		} else {
+			return false;
+		}
+	}
+
+	@Override
+	public void onWayPoint(final WayPoint point) {
+		_point = new IndexedPoint(PointType.WAY_POINT, ++_wayPointIndex, -1, point);
+	}
+
+	@Override
+	public void onRouteStart(final int index) {
+		_routeIndex = index;
+	}
+
+	@Override
+	public void onRoutePoint(final WayPoint point) {
+		_point = new IndexedPoint(PointType.ROUTE_POINT, _routeIndex, -1, point);
+	}
+
+	@Override
+	public void onTrackStart(final int index) {
+		_trackIndex = index;
+	}
+
+	@Override
+	public void onSegmentStart(final int index) {
+		_segmentIndex = index;
+	}
+
+	@Override
+	public void onTrackPoint(final WayPoint point) {
+		_point = new IndexedPoint(PointType.TRACK_POINT, _trackIndex, _segmentIndex, point);
+	}
+
+}
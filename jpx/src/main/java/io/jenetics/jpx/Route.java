@@ -46,6 +46,8 @@ import java.util.stream.Stream;
 
 import org.w3c.dom.Document;
 
+import io.jenetics.jpx.GPX.Reader.Projection;
+import io.jenetics.jpx.GPX.Reader.Selection;
 import io.jenetics.jpx.GPX.Version;
 
 /**
@@ -64,7 +66,7 @@ import io.jenetics.jpx.GPX.Version;
  * }</pre>
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.5
+ * @version 3.3
  * @since 1.0
  */
 public final class Route implements Iterable<WayPoint>, Serializable {
@@ -891,8 +893,11 @@ public final class Route implements Iterable<WayPoint>, Serializable {
 
 
 	// Define the necessary readers for the different versions.
-	private static XMLReaders
-	readers(final Function<? super String, Length> lengthParser) {
+	private static XMLReaders readers(
+		final Function<? super String, Length> lengthParser,
+		final Projection projection,
+		final Selection selection
+	) {
 		return new XMLReaders()
 			.v00(XMLReader.elem("name"))
 			.v00(XMLReader.elem("cmt"))
@@ -904,8 +909,8 @@ public final class Route implements Iterable<WayPoint>, Serializable {
 			.v00(XMLReader.elem("number").map(UInt::parse))
 			.v00(XMLReader.elem("type"))
 			.v00(XMLReader.doc("extensions"))
-			.v10(XMLReader.elems(WayPoint.xmlReader(Version.V10, "rtept", lengthParser)))
-			.v11(XMLReader.elems(WayPoint.xmlReader(Version.V11, "rtept", lengthParser)));
+			.v10(XMLReader.elems(WayPoint.xmlReader(Version.V10, "rtept", lengthParser, projection, selection)))
+			.v11(XMLReader.elems(WayPoint.xmlReader(Version.V11, "rtept", lengthParser, projection, selection)));
 	}
 
 	static XMLWriter<Route> xmlWriter(
@@ -919,11 +924,30 @@ public final class Route implements Iterable<WayPoint>, Serializable {
 		final Version version,
 		final Function<? super String, Length> lengthParser
 	) {
-		return XMLReader.elem(
-			version == Version.V10 ? Route::toRouteV10 : Route::toRouteV11,
-			"rte",
-			readers(lengthParser).readers(version)
-		);
+		return xmlReader(version, lengthParser, Projection.ALL, Selection.ALL);
+	}
+
+	static XMLReader<Route> xmlReader(
+		final Version version,
+		final Function<? super String, Length> lengthParser,
+		final Projection projection,
+		final Selection selection
+	) {
+		final Function<Object[], Route> creator =
+			version == Version.V10 ? Route::toRouteV10 : Route::toRouteV11;
+		final XMLReader<?>[] children =
+			readers(lengthParser, projection, selection).readers(version);
+
+		if (selection.isPointSelection()) {
+			// Routes without selected points are dropped. The route-points
+			// are the last child values.
+			final XMLReader.Guard guard = (v, next) ->
+				next != -1 || v[v.length - 1] != null;
+
+			return XMLReader.elem(creator, "rte", guard, children);
+		} else {
+			return XMLReader.elem(creator, "rte", children);
+		}
 	}
 
 	@SuppressWarnings("unchecked")
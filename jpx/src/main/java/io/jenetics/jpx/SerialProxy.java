@@ -19,6 +19,8 @@
  */
 package io.jenetics.jpx;
 
+import java.io.DataInput;
+import java.io.DataOutput;
 import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
@@ -30,7 +32,7 @@ import java.io.StreamCorruptedException;
  * The shared serialization delegate for this package.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 2.0
+ * @version 3.3
  * @since 1.2
  */
 final class SerialProxy implements Externalizable {
@@ -57,6 +59,12 @@ final class SerialProxy implements Externalizable {
 	static final byte UINT = 17;
 	static final byte WAY_POINT = 18;
 
+	/**
+	 * Flag of the type byte, which marks objects written with a string
+	 * dictionary. Objects serialized without dictionary can still be read.
+	 */
+	private static final byte DICTIONARY = 0x40;
+
 	/**
 	 * The type being serialized.
 	 */
@@ -85,8 +93,9 @@ final class SerialProxy implements Externalizable {
 	}
 
 	@Override
-	public void writeExternal(final ObjectOutput out) throws IOException {
-		out.writeByte(_type);
+	public void writeExternal(final ObjectOutput output) throws IOException {
+		output.writeByte(_type | DICTIONARY);
+		final DataOutput out = IO.DictionaryOutput.of(output);
 		switch (_type) {
 			case BOUNDS -> ((Bounds)_object).write(out);
 			case COPYRIGHT -> ((Copyright)_object).write(out);
@@ -113,8 +122,12 @@ final class SerialProxy implements Externalizable {
 	}
 
 	@Override
-	public void readExternal(final ObjectInput in) throws IOException {
-		_type = in.readByte();
+	public void readExternal(final ObjectInput input) throws IOException {
+		final byte type = input.readByte();
+		_type = (byte)(type & ~DICTIONARY);
+		final DataInput in = (type & DICTIONARY) != 0
+			? IO.DictionaryInput.of(input)
+			: input;
 		switch (_type) {
 			case BOUNDS -> _object = Bounds.read(in);
 			case COPYRIGHT -> _object = Copyright.read(in);
@@ -34,7 +34,7 @@ import java.io.Serializable;
  * Represents the GPS speed value in m/s.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.2
+ * @version 3.3
  * @since 1.0
  */
 public final class Speed
@@ -199,7 +199,7 @@ public final class Speed
 	static Speed parse(final String value) {
 		final String speed = Strings.trim(value);
 		return speed != null
-			? Speed.of(Double.parseDouble(speed), Unit.METERS_PER_SECOND)
+			? Speed.of(Decimals.parseDouble(speed), Unit.METERS_PER_SECOND)
 			: null;
 	}
 
@@ -37,7 +37,7 @@ import java.util.stream.Stream;
  * Enumeration of the valid date time formats.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 3.0
+ * @version 3.3
  * @since 1.0
  */
 enum TimeFormat {
@@ -64,6 +64,9 @@ enum TimeFormat {
 		"\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}:\\d{2}(\\.\\d{1,9})*+([+-]\\d{2}:\\d{2})"
 	);
 
+	// Number of days from year zero to 1970-01-01.
+	private static final long DAYS_0000_TO_1970 = 719_528L;
+
 	// Default formatter used for formatting time strings.
 	private static final DateTimeFormatter FORMATTER =
 		DateTimeFormatter.ISO_DATE_TIME.withZone(UTC);
@@ -111,6 +114,11 @@ enum TimeFormat {
 	}
 
 	static Optional<Instant> parseOptional(final String time) {
+		final var instant = time != null ? parseFast(time) : null;
+		if (instant != null) {
+			return Optional.of(instant);
+		}
+
 		final var format = findFormat(time);
 		if (format != null) {
 			return Optional.of(format.formatParse(time));
@@ -146,6 +154,11 @@ enum TimeFormat {
 		final String time = Strings.trim(value);
 
 		if (time != null) {
+			final var instant = parseFast(time);
+			if (instant != null) {
+				return instant;
+			}
+
 			final var format = findFormat(time);
 			if (format != null) {
 				return format.formatParse(time);
@@ -159,4 +172,130 @@ enum TimeFormat {
 		}
 	}
 
+	/**
+	 * Parses the common GPX time formats directly, without regex matching
+	 * and {@link DateTimeFormatter}:
+	 * {@code yyyy-MM-ddTHH:mm:ss[.S{1,9}][Z|±hh:mm]}. Time strings without
+	 * offset are UTC times.
+	 *
+	 * @param time the (trimmed) time string to parse
+	 * @return the parsed instant, or {@code null} if the time string doesn't
+	 *         have the common form or one of the fields is outside its
+	 *         regular range. Such strings are handled by the formatter path.
+	 */
+	static Instant parseFast(final String time) {
+		final int length = time.length();
+		if (length < 19 ||
+			time.charAt(4) != '-' ||
+			time.charAt(7) != '-' ||
+			time.charAt(10) != 'T' ||
+			time.charAt(13) != ':' ||
+			time.charAt(16) != ':')
+		{
+			return null;
+		}
+
+		final int year = digits(time, 0, 4);
+		final int month = digits(time, 5, 2);
+		final int day = digits(time, 8, 2);
+		final int hour = digits(time, 11, 2);
+		final int minute = digits(time, 14, 2);
+		final int second = digits(time, 17, 2);
+		if ((year|month|day|hour|minute|second) < 0 ||
+			month < 1 || month > 12 ||
+			day < 1 || day > lengthOfMonth(year, month) ||
+			hour > 23 || minute > 59 || second > 59)
+		{
+			return null;
+		}
+
+		int index = 19;
+		int nanos = 0;
+		if (index < length && time.charAt(index) == '.') {
+			final int start = ++index;
+			while (index < length && index - start < 9 && isDigit(time.charAt(index))) {
+				nanos = nanos*10 + (time.charAt(index) - '0');
+				++index;
+			}
+			if (index == start) {
+				return null;
+			}
+			for (int i = index - start; i < 9; ++i) {
+				nanos *= 10;
+			}
+		}
+
+		int offset = 0;
+		if (index < length) {
+			final char sign = time.charAt(index);
+			if (sign == 'Z' && index + 1 == length) {
+				offset = 0;
+			} else if ((sign == '+' || sign == '-') &&
+				index + 6 == length &&
+				time.charAt(index + 3) == ':')
+			{
+				final int hours = digits(time, index + 1, 2);
+				final int minutes = digits(time, index + 4, 2);
+				if ((hours|minutes) < 0 ||
+					hours > 18 || minutes > 59 ||
+					(hours == 18 && minutes != 0))
+				{
+					return null;
+				}
+				offset = (hours*3600 + minutes*60)*(sign == '-' ? -1 : 1);
+			} else {
+				return null;
+			}
+		}
+
+		final long seconds = epochDay(year, month, day)*86_400L +
+			hour*3600 + minute*60 + second - offset;
+
+		return Instant.ofEpochSecond(seconds, nanos);
+	}
+
+	private static boolean isDigit(final char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	// Returns -1 if one of the characters is not a digit.
+	private static int digits(final String time, final int start, final int length) {
+		int value = 0;
+		for (int i = start; i < start + length; ++i) {
+			final char c = time.charAt(i);
+			if (!isDigit(c)) {
+				return -1;
+			}
+			value = value*10 + (c - '0');
+		}
+		return value;
+	}
+
+	private static boolean isLeapYear(final int year) {
+		return (year & 3) == 0 && (year%100 != 0 || year%400 == 0);
+	}
+
+	private static int lengthOfMonth(final int year, final int month) {
+		return switch (month) {
+			case 2 -> isLeapYear(year) ? 29 : 28;
+			case 4, 6, 9, 11 -> 30;
+			default -> 31;
+		};
+	}
+
+	// Same calculation as 'LocalDate.toEpochDay', for non-negative years.
+	private static long epochDay(final int year, final int month, final int day) {
+		long total = 365L*year;
+		total += (year + 3)/4 - (year + 99)/100 + (year + 399)/400;
+		total += (367*month - 362)/12;
+		total += day - 1;
+		if (month > 2) {
+			--total;
+			if (!isLeapYear(year)) {
+				--total;
+			}
+		}
+		return total - DAYS_0000_TO_1970;
+	}
+
 }
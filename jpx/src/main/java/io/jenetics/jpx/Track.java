@@ -39,6 +39,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -46,6 +47,8 @@ import java.util.stream.Stream;
 
 import org.w3c.dom.Document;
 
+import io.jenetics.jpx.GPX.Reader.Projection;
+import io.jenetics.jpx.GPX.Reader.Selection;
 import io.jenetics.jpx.GPX.Version;
 
 /**
@@ -68,7 +71,7 @@ import io.jenetics.jpx.GPX.Version;
  * }</pre>
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.5
+ * @version 3.3
  * @since 1.0
  */
 public final class Track implements Iterable<TrackSegment>, Serializable {
@@ -868,8 +871,11 @@ public final class Track implements Iterable<TrackSegment>, Serializable {
 	}
 
 	// Define the necessary readers for the different versions.
-	private static XMLReaders
-	readers(final Function<? super String, Length> lengthParser) {
+	private static XMLReaders readers(
+		final Function<? super String, Length> lengthParser,
+		final Projection projection,
+		final Selection selection
+	) {
 		return new XMLReaders()
 			.v00(XMLReader.elem("name"))
 			.v00(XMLReader.elem("cmt"))
@@ -881,8 +887,8 @@ public final class Track implements Iterable<TrackSegment>, Serializable {
 			.v00(XMLReader.elem("number").map(UInt::parse))
 			.v00(XMLReader.elem("type"))
 			.v00(XMLReader.doc("extensions"))
-			.v10(XMLReader.elems(TrackSegment.xmlReader(Version.V10, lengthParser)))
-			.v11(XMLReader.elems(TrackSegment.xmlReader(Version.V11, lengthParser)));
+			.v10(XMLReader.elems(TrackSegment.xmlReader(Version.V10, lengthParser, projection, selection)))
+			.v11(XMLReader.elems(TrackSegment.xmlReader(Version.V11, lengthParser, projection, selection)));
 	}
 
 	static XMLWriter<Track> xmlWriter(
@@ -892,15 +898,68 @@ public final class Track implements Iterable<TrackSegment>, Serializable {
 		return XMLWriter.elem("trk", writers(formatter).writers(version));
 	}
 
+	/**
+	 * Return a writer, which starts the {@code <trk>} element and writes all
+	 * its child elements, including the existing segments. The {@code <trk>}
+	 * element is left open, for appending additional segments.
+	 */
+	static XMLWriter<Track> xmlStartWriter(
+		final Version version,
+		final Function<? super Number, String> formatter
+	) {
+		final XMLWriter<Track>[] children = writers(formatter).writers(version);
+		return (xml, track) -> {
+			xml.writeStartElement("trk");
+			for (XMLWriter<Track> child : children) {
+				child.write(xml, track);
+			}
+		};
+	}
+
+	/**
+	 * The names of the track fields, for all GPX versions.
+	 */
+	static final Set<String> FIELDS =
+		readers(Length::parse, Projection.ALL, Selection.ALL).names();
+
 	static XMLReader<Track> xmlReader(
 		final Version version,
 		final Function<? super String, Length> lengthParser
 	) {
-		return XMLReader.elem(
-			version == Version.V10 ? Track::toTrackV10 : Track::toTrackV11,
-			"trk",
-			readers(lengthParser).readers(version)
-		);
+		return xmlReader(version, lengthParser, Projection.ALL, Selection.ALL);
+	}
+
+	static XMLReader<Track> xmlReader(
+		final Version version,
+		final Function<? super String, Length> lengthParser,
+		final Projection projection,
+		final Selection selection
+	) {
+		final Function<Object[], Track> creator =
+			version == Version.V10 ? Track::toTrackV10 : Track::toTrackV11;
+		final XMLReader<?>[] children =
+			readers(lengthParser, projection, selection)
+				.readers(version, projection::isTrackField);
+
+		if (selection.isPointSelection() || selection.isTrackSelection()) {
+			// The track segments are the last child values. The track header
+			// is tested before the first segment is read.
+			final XMLReader.Guard guard = (v, next) -> {
+				final int segments = v.length - 1;
+				if (v[segments] != null || next != segments && next != -1) {
+					return true;
+				}
+				if (next == -1 && selection.isPointSelection()) {
+					return false;
+				}
+				return !selection.isTrackSelection() ||
+					selection.accepts(creator.apply(v));
+			};
+
+			return XMLReader.elem(creator, "trk", guard, children);
+		} else {
+			return XMLReader.elem(creator, "trk", children);
+		}
 	}
 
 	@SuppressWarnings("unchecked")
@@ -0,0 +1,721 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import static java.lang.String.format;
+import static java.util.Objects.requireNonNull;
+import static io.jenetics.jpx.PointColumns.NO_TIME;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.RandomAccess;
+
+import io.jenetics.jpx.Length.Unit;
+
+/**
+ * Memory-mapped, random access archive of track points. The archive stores
+ * the latitude, longitude, elevation and time of the track points, and
+ * allows to access the track-segments of very large point sets, without
+ * loading them into the heap.
+ * <pre>{@code
+ * TrackArchive.write(gpx, Path.of("tracks.jpxa"));
+ *
+ * try (var archive = TrackArchive.open(Path.of("tracks.jpxa"))) {
+ *     final TrackArchive.Segment segment = archive.segment(1_000, 2);
+ *     final PointColumns columns = segment.toColumns();
+ *     final Length length = columns.pathLength(Geoid.DEFAULT);
+ * }
+ * }</pre>
+ *
+ * The archive file starts with an index of the tracks and segments, which
+ * allows to locate the points of every segment in constant time. The points
+ * of a segment are stored column-wise, as little-endian {@code double} and
+ * {@code long} values. The {@link Segment} objects and the {@link Point}s
+ * they contain are views of the mapped file, which read the values on
+ * demand.
+ * <p>
+ * Only the coordinates, elevations and times of the track points are
+ * stored. Elevations with a {@link Double#NaN} value are stored as missing
+ * elevations.
+ * <p>
+ * The archive is thread-safe. Closing the archive closes the underlying
+ * file channel. The segment views stay valid until they are garbage
+ * collected, which also releases the file mapping.
+ *
+ * @see PointColumns
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 3.3
+ * @since 3.3
+ */
+public final class TrackArchive implements Closeable {
+
+	/**
+	 * The maximal number of points of a track-segment, which can be stored
+	 * in an archive file.
+	 */
+	public static final int MAX_SEGMENT_POINTS = 1 << 25;
+
+	// The magic number "JPXA" of the archive format.
+	private static final int MAGIC = 0x4A505841;
+	private static final int FORMAT_VERSION = 1;
+
+	private static final int HEADER_SIZE = 16;
+	private static final int SEGMENT_ENTRY_SIZE = 16;
+
+	// Flags of the segment entries.
+	private static final int ELEVATIONS = 1;
+	private static final int TIMES = 1 << 1;
+
+	// The file is mapped in regions, which start at multiples of the chunk
+	// size and overlap by (almost) the chunk size. A segment, with at most
+	// MAX_SEGMENT_POINTS points, or an index entry, is therefore always
+	// contained in the region of its start position.
+	private static final long CHUNK_SIZE = 1L << 30;
+
+	private final FileChannel _channel;
+	private final ByteBuffer[] _regions;
+	private final int _trackCount;
+	private final int _segmentCount;
+	private final long _segmentTable;
+
+	private TrackArchive(final FileChannel channel) throws IOException {
+		_channel = channel;
+
+		final long size = channel.size();
+		if (size < HEADER_SIZE) {
+			throw new InvalidObjectException("Invalid track archive.");
+		}
+
+		_regions = new ByteBuffer[(int)((size - 1)/CHUNK_SIZE + 1)];
+		for (int i = 0; i < _regions.length; ++i) {
+			final long position = i*CHUNK_SIZE;
+			_regions[i] = channel
+				.map(
+					FileChannel.MapMode.READ_ONLY,
+					position,
+					Math.min(size - position, Integer.MAX_VALUE)
+				)
+				.order(ByteOrder.LITTLE_ENDIAN);
+		}
+
+		final ByteBuffer header = _regions[0];
+		if (header.getInt(0) != MAGIC) {
+			throw new InvalidObjectException("Invalid track archive.");
+		}
+		if (header.getInt(4) != FORMAT_VERSION) {
+			throw new InvalidObjectException(format(
+				"Unsupported track archive version: %d.", header.getInt(4)
+			));
+		}
+		_trackCount = header.getInt(8);
+		_segmentCount = header.getInt(12);
+		_segmentTable = segmentTable(_trackCount);
+
+		if (_trackCount < 0 ||
+			_segmentCount < 0 ||
+			_segmentTable + (long)_segmentCount*SEGMENT_ENTRY_SIZE > size)
+		{
+			throw new InvalidObjectException("Invalid track archive.");
+		}
+	}
+
+	/**
+	 * Return the number of tracks stored in the archive.
+	 *
+	 * @return the number of tracks
+	 */
+	public int trackCount() {
+		return _trackCount;
+	}
+
+	/**
+	 * Return the number of track-segments of all tracks.
+	 *
+	 * @return the overall number of track-segments
+	 */
+	public int segmentCount() {
+		return _segmentCount;
+	}
+
+	/**
+	 * Return the number of track-segments of the track with the given index.
+	 *
+	 * @param track the track index
+	 * @return the number of segments of the given track
+	 * @throws IndexOutOfBoundsException if the track index is out of range
+	 */
+	public int segmentCount(final int track) {
+		Objects.checkIndex(track, _trackCount);
+		return firstSegment(track + 1) - firstSegment(track);
+	}
+
+	/**
+	 * Return the track-segment with the given indexes.
+	 *
+	 * @param track the track index
+	 * @param segment the segment index within the given track
+	 * @return the track-segment view
+	 * @throws IndexOutOfBoundsException if one of the indexes is out of range
+	 */
+	public Segment segment(final int track, final int segment) {
+		Objects.checkIndex(segment, segmentCount(track));
+		return segment(firstSegment(track) + segment);
+	}
+
+	/**
+	 * Return the track-segments of the track with the given index.
+	 *
+	 * @param track the track index
+	 * @return the track-segment views of the given track
+	 * @throws IndexOutOfBoundsException if the track index is out of range
+	 */
+	public List<Segment> segments(final int track) {
+		final int first = firstSegment(track);
+		final int count = segmentCount(track);
+
+		final Segment[] segments = new Segment[count];
+		for (int i = 0; i < count; ++i) {
+			segments[i] = segment(first + i);
+		}
+		return List.of(segments);
+	}
+
+	private int firstSegment(final int track) {
+		final long entry = HEADER_SIZE + (long)track*Integer.BYTES;
+		return region(entry).getInt(local(entry));
+	}
+
+	private Segment segment(final int index) {
+		final long entry = _segmentTable + (long)index*SEGMENT_ENTRY_SIZE;
+		final ByteBuffer table = region(entry);
+		final int local = local(entry);
+
+		final long offset = table.getLong(local);
+		final int size = table.getInt(local + 8);
+		final int flags = table.getInt(local + 12);
+		return new Segment(region(offset), local(offset), size, flags);
+	}
+
+	private ByteBuffer region(final long position) {
+		return _regions[(int)(position/CHUNK_SIZE)];
+	}
+
+	private static int local(final long position) {
+		return (int)(position%CHUNK_SIZE);
+	}
+
+	/**
+	 * Closes the underlying file channel.
+	 *
+	 * @throws IOException if an I/O error occurs
+	 */
+	@Override
+	public void close() throws IOException {
+		_channel.close();
+	}
+
+	@Override
+	public String toString() {
+		return format(
+			"TrackArchive[tracks=%d, segments=%d]",
+			_trackCount, _segmentCount
+		);
+	}
+
+	/* *************************************************************************
+	 *  Static object creation methods
+	 * ************************************************************************/
+
+	/**
+	 * Opens the track archive file with the given {@code path}.
+	 *
+	 * @param path the path of the archive file
+	 * @return the opened track archive
+	 * @throws NullPointerException if the given {@code path} is {@code null}
+	 * @throws InvalidObjectException if the file is not a valid archive
+	 * @throws IOException if an I/O error occurs
+	 */
+	public static TrackArchive open(final Path path) throws IOException {
+		final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+		try {
+			return new TrackArchive(channel);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Writes the tracks of the given {@code gpx} object to the archive file
+	 * with the given {@code path}. An existing file is overwritten.
+	 *
+	 * @param gpx the GPX object, which tracks are written
+	 * @param path the path of the archive file
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IllegalArgumentException if a track-segment contains more than
+	 *         {@link #MAX_SEGMENT_POINTS} points, or a point time can't be
+	 *         represented in nanoseconds since the epoch
+	 * @throws IOException if an I/O error occurs
+	 */
+	public static void write(final GPX gpx, final Path path) throws IOException {
+		write(gpx.getTracks(), path);
+	}
+
+	/**
+	 * Writes the given {@code tracks} to the archive file with the given
+	 * {@code path}. An existing file is overwritten.
+	 *
+	 * @param tracks the tracks to write
+	 * @param path the path of the archive file
+	 * @throws NullPointerException if one of the arguments is {@code null}
+	 * @throws IllegalArgumentException if a track-segment contains more than
+	 *         {@link #MAX_SEGMENT_POINTS} points, or a point time can't be
+	 *         represented in nanoseconds since the epoch
+	 * @throws IOException if an I/O error occurs
+	 */
+	public static void write(final List<? extends Track> tracks, final Path path)
+		throws IOException
+	{
+		requireNonNull(tracks);
+		requireNonNull(path);
+
+		int segmentCount = 0;
+		for (Track track : tracks) {
+			segmentCount += track.getSegments().size();
+			for (TrackSegment segment : track.getSegments()) {
+				if (segment.getPoints().size() > MAX_SEGMENT_POINTS) {
+					throw new IllegalArgumentException(format(
+						"Segment has more than %d points: %d.",
+						MAX_SEGMENT_POINTS, segment.getPoints().size()
+					));
+				}
+			}
+		}
+
+		try (var channel = FileChannel.open(
+				path,
+				StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.WRITE);
+			var out = new Output(channel))
+		{
+			out.putInt(MAGIC);
+			out.putInt(FORMAT_VERSION);
+			out.putInt(tracks.size());
+			out.putInt(segmentCount);
+
+			// The track table, with the index of the first track segment.
+			int first = 0;
+			for (Track track : tracks) {
+				out.putInt(first);
+				first += track.getSegments().size();
+			}
+			out.putInt(first);
+			out.align();
+
+			// The segment table.
+			long offset = segmentTable(tracks.size()) +
+				(long)segmentCount*SEGMENT_ENTRY_SIZE;
+			for (Track track : tracks) {
+				for (TrackSegment segment : track.getSegments()) {
+					final List<WayPoint> points = segment.getPoints();
+					final int flags = flags(points);
+
+					out.putLong(offset);
+					out.putInt(points.size());
+					out.putInt(flags);
+					offset += columnsSize(points.size(), flags);
+				}
+			}
+
+			// The segment data.
+			for (Track track : tracks) {
+				for (TrackSegment segment : track.getSegments()) {
+					final List<WayPoint> points = segment.getPoints();
+					write(points, flags(points), out);
+				}
+			}
+		}
+	}
+
+	private static long segmentTable(final int trackCount) {
+		final long table = HEADER_SIZE + (trackCount + 1L)*Integer.BYTES;
+		return (table + 7) & ~7L;
+	}
+
+	private static int flags(final List<WayPoint> points) {
+		int flags = 0;
+		for (WayPoint point : points) {
+			final Length ele = point.elevation();
+			if (ele != null && !Double.isNaN(ele.doubleValue())) {
+				flags |= ELEVATIONS;
+			}
+			if (point.time() != null) {
+				flags |= TIMES;
+			}
+		}
+		return flags;
+	}
+
+	private static long columnsSize(final int size, final int flags) {
+		return (long)size*Double.BYTES*columns(flags);
+	}
+
+	private static int columns(final int flags) {
+		return 2 +
+			((flags & ELEVATIONS) != 0 ? 1 : 0) +
+			((flags & TIMES) != 0 ? 1 : 0);
+	}
+
+	private static void write(
+		final List<WayPoint> points,
+		final int flags,
+		final Output out
+	)
+		throws IOException
+	{
+		for (WayPoint point : points) {
+			out.putDouble(point.getLatitude().doubleValue());
+		}
+		for (WayPoint point : points) {
+			out.putDouble(point.getLongitude().doubleValue());
+		}
+		if ((flags & ELEVATIONS) != 0) {
+			for (WayPoint point : points) {
+				final Length ele = point.elevation();
+				out.putDouble(ele != null ? ele.doubleValue() : Double.NaN);
+			}
+		}
+		if ((flags & TIMES) != 0) {
+			for (WayPoint point : points) {
+				final Instant time = point.time();
+				long nanos = NO_TIME;
+				if (time != null) {
+					nanos = PointColumns.toNanos(time);
+					if (nanos == NO_TIME) {
+						throw new IllegalArgumentException(format(
+							"Time can't be represented in nanoseconds: %s.",
+							time
+						));
+					}
+				}
+				out.putLong(nanos);
+			}
+		}
+	}
+
+	/**
+	 * Buffered, little-endian output of the archive writer.
+	 */
+	private static final class Output implements Closeable {
+		private final FileChannel _channel;
+		private final ByteBuffer _buffer = ByteBuffer
+			.allocateDirect(1 << 16)
+			.order(ByteOrder.LITTLE_ENDIAN);
+
+		private long _position = 0;
+
+		Output(final FileChannel channel) {
+			_channel = channel;
+		}
+
+		long position() {
+			return _position + _buffer.position();
+		}
+
+		void putInt(final int value) throws IOException {
+			ensure(Integer.BYTES).putInt(value);
+		}
+
+		void putLong(final long value) throws IOException {
+			ensure(Long.BYTES).putLong(value);
+		}
+
+		void putDouble(final double value) throws IOException {
+			ensure(Double.BYTES).putDouble(value);
+		}
+
+		// Pads the output to a multiple of eight bytes.
+		void align() throws IOException {
+			while (position()%8 != 0) {
+				ensure(1).put((byte)0);
+			}
+		}
+
+		private ByteBuffer ensure(final int bytes) throws IOException {
+			if (_buffer.remaining() < bytes) {
+				flush();
+			}
+			return _buffer;
+		}
+
+		private void flush() throws IOException {
+			_buffer.flip();
+			while (_buffer.hasRemaining()) {
+				_position += _channel.write(_buffer);
+			}
+			_buffer.clear();
+		}
+
+		@Override
+		public void close() throws IOException {
+			flush();
+		}
+	}
+
+	/* *************************************************************************
+	 *  Segment and point views
+	 * ************************************************************************/
+
+	/**
+	 * View of a track-segment of the archive. The points are read from the
+	 * mapped archive file on demand.
+	 *
+	 * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+	 * @version 3.3
+	 * @since 3.3
+	 */
+	public static final class Segment
+		extends AbstractList<Point>
+		implements RandomAccess
+	{
+		private final ByteBuffer _buffer;
+		private final int _size;
+		private final int _lat;
+		private final int _lon;
+		private final int _ele;
+		private final int _time;
+
+		private Segment(
+			final ByteBuffer buffer,
+			final int offset,
+			final int size,
+			final int flags
+		) {
+			_buffer = buffer;
+			_size = size;
+
+			final int column = size*Double.BYTES;
+			_lat = offset;
+			_lon = offset + column;
+			_ele = (flags & ELEVATIONS) != 0 ? _lon + column : -1;
+			_time = (flags & TIMES) != 0
+				? (_ele != -1 ? _ele : _lon) + column
+				: -1;
+		}
+
+		@Override
+		public int size() {
+			return _size;
+		}
+
+		/**
+		 * Return the latitude, in degrees, of the point with the given index.
+		 *
+		 * @param index the point index
+		 * @return the latitude of the point, in degrees
+		 * @throws IndexOutOfBoundsException if the index is out of range
+		 */
+		public double latitude(final int index) {
+			Objects.checkIndex(index, _size);
+			return _buffer.getDouble(_lat + index*Double.BYTES);
+		}
+
+		/**
+		 * Return the longitude, in degrees, of the point with the given index.
+		 *
+		 * @param index the point index
+		 * @return the longitude of the point, in degrees
+		 * @throws IndexOutOfBoundsException if the index is out of range
+		 */
+		public double longitude(final int index) {
+			Objects.checkIndex(index, _size);
+			return _buffer.getDouble(_lon + index*Double.BYTES);
+		}
+
+		/**
+		 * Return the elevation, in meters, of the point with the given index.
+		 *
+		 * @param index the point index
+		 * @return the elevation of the point, in meters, or {@link Double#NaN}
+		 *         if the point has no elevation
+		 * @throws IndexOutOfBoundsException if the index is out of range
+		 */
+		public double elevationOrNaN(final int index) {
+			Objects.checkIndex(index, _size);
+			return _ele != -1
+				? _buffer.getDouble(_ele + index*Double.BYTES)
+				: Double.NaN;
+		}
+
+		/**
+		 * Return the time of the point with the given index, in nanoseconds
+		 * since the epoch.
+		 *
+		 * @param index the point index
+		 * @return the time of the point, in nanoseconds since the epoch, or
+		 *         {@link PointColumns#NO_TIME} if the point has no time
+		 * @throws IndexOutOfBoundsException if the index is out of range
+		 */
+		public long epochNanosOrMin(final int index) {
+			Objects.checkIndex(index, _size);
+			return _time != -1
+				? _buffer.getLong(_time + index*Long.BYTES)
+				: NO_TIME;
+		}
+
+		/**
+		 * Return a view of the point with the given index.
+		 *
+		 * @param index the point index
+		 * @return the point view
+		 * @throws IndexOutOfBoundsException if the index is out of range
+		 */
+		@Override
+		public Point get(final int index) {
+			Objects.checkIndex(index, _size);
+			return new PointView(this, index);
+		}
+
+		/**
+		 * Copies the points of the segment into the heap.
+		 *
+		 * @return the point columns of this segment
+		 */
+		public PointColumns toColumns() {
+			final double[] lat = new double[_size];
+			final double[] lon = new double[_size];
+			_buffer.slice(_lat, _size*Double.BYTES)
+				.order(ByteOrder.LITTLE_ENDIAN)
+				.asDoubleBuffer()
+				.get(lat);
+			_buffer.slice(_lon, _size*Double.BYTES)
+				.order(ByteOrder.LITTLE_ENDIAN)
+				.asDoubleBuffer()
+				.get(lon);
+
+			double[] ele = null;
+			if (_ele != -1) {
+				ele = new double[_size];
+				_buffer.slice(_ele, _size*Double.BYTES)
+					.order(ByteOrder.LITTLE_ENDIAN)
+					.asDoubleBuffer()
+					.get(ele);
+			}
+			long[] time = null;
+			if (_time != -1) {
+				time = new long[_size];
+				_buffer.slice(_time, _size*Long.BYTES)
+					.order(ByteOrder.LITTLE_ENDIAN)
+					.asLongBuffer()
+					.get(time);
+			}
+
+			return PointColumns.of(lat, lon, ele, time);
+		}
+	}
+
+	/**
+	 * View of a single point of an archive segment.
+	 */
+	private static final class PointView implements Point {
+		private final Segment _segment;
+		private final int _index;
+
+		PointView(final Segment segment, final int index) {
+			_segment = segment;
+			_index = index;
+		}
+
+		@Override
+		public Latitude getLatitude() {
+			return Latitude.ofDegrees(_segment.latitude(_index));
+		}
+
+		@Override
+		public Longitude getLongitude() {
+			return Longitude.ofDegrees(_segment.longitude(_index));
+		}
+
+		@Override
+		public Optional<Length> getElevation() {
+			final double ele = _segment.elevationOrNaN(_index);
+			return Double.isNaN(ele)
+				? Optional.empty()
+				: Optional.of(Length.of(ele, Unit.METER));
+		}
+
+		@Override
+		public Optional<Instant> getTime() {
+			final long time = _segment.epochNanosOrMin(_index);
+			return time == NO_TIME
+				? Optional.empty()
+				: Optional.of(PointColumns.toInstant(time));
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(
+				_segment.latitude(_index),
+				_segment.longitude(_index),
+				_segment.elevationOrNaN(_index),
+				_segment.epochNanosOrMin(_index)
+			);
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			return obj instanceof PointView point &&
+				Double.compare(
+					point._segment.latitude(point._index),
+					_segment.latitude(_index)) == 0 &&
+				Double.compare(
+					point._segment.longitude(point._index),
+					_segment.longitude(_index)) == 0 &&
+				Double.compare(
+					point._segment.elevationOrNaN(point._index),
+					_segment.elevationOrNaN(_index)) == 0 &&
+				point._segment.epochNanosOrMin(point._index) ==
+					_segment.epochNanosOrMin(_index);
+		}
+
+		@Override
+		public String toString() {
+			return format(
+				"[lat=%s, lon=%s]",
+				_segment.latitude(_index),
+				_segment.longitude(_index)
+			);
+		}
+	}
+
+}
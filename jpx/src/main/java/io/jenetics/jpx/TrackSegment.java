@@ -44,6 +44,8 @@ import java.util.stream.Stream;
 
 import org.w3c.dom.Document;
 
+import io.jenetics.jpx.GPX.Reader.Projection;
+import io.jenetics.jpx.GPX.Reader.Selection;
 import io.jenetics.jpx.GPX.Version;
 
 /**
@@ -53,7 +55,7 @@ import io.jenetics.jpx.GPX.Version;
  * span of track data.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.5
+ * @version 3.3
  * @since 1.0
  */
 public final class TrackSegment implements Iterable<WayPoint>, Serializable {
@@ -70,7 +72,7 @@ public final class TrackSegment implements Iterable<WayPoint>, Serializable {
 	 * @param points the points of the track-segment
 	 */
 	private TrackSegment(final List<WayPoint> points, final Document extensions) {
-		_points = copyOf(points);
+		_points = requireNonNull(points);
 		_extensions = extensions;
 	}
 
@@ -369,7 +371,7 @@ public final class TrackSegment implements Iterable<WayPoint>, Serializable {
 		final Document extensions
 	) {
 		return new TrackSegment(
-			points,
+			copyOf(points),
 			XML.extensions(XML.clone(extensions))
 		);
 	}
@@ -386,6 +388,22 @@ public final class TrackSegment implements Iterable<WayPoint>, Serializable {
 		return of(points, null);
 	}
 
+	/**
+	 * Create a new track-segment, which uses the given point list directly.
+	 * The caller is responsible for passing an unmodifiable list with
+	 * non-{@code null} elements and a valid, not shared extensions document.
+	 *
+	 * @param points the unmodifiable points of the track-segment
+	 * @param extensions the extensions document
+	 * @return a new track-segment which is backed by the given point list
+	 */
+	static TrackSegment wrap(
+		final List<WayPoint> points,
+		final Document extensions
+	) {
+		return new TrackSegment(points, extensions);
+	}
+
 
 	/* *************************************************************************
 	 *  Java object serialization
@@ -410,7 +428,7 @@ public final class TrackSegment implements Iterable<WayPoint>, Serializable {
 
 	static TrackSegment read(final DataInput in) throws IOException {
 		return new TrackSegment(
-			IO.reads(WayPoint::read, in),
+			copyOf(IO.reads(WayPoint::read, in)),
 			IO.readNullable(IO::readDoc, in)
 		);
 	}
@@ -432,19 +450,36 @@ public final class TrackSegment implements Iterable<WayPoint>, Serializable {
 		);
 	}
 
-	@SuppressWarnings("unchecked")
 	static XMLReader<TrackSegment> xmlReader(
 		final Version version,
 		final Function<? super String, Length> lengthParser
 	) {
-		return XMLReader.elem(a -> new TrackSegment(
-				(List<WayPoint>)a[0],
-				XML.extensions((Document)a[1])
-			),
-			"trkseg",
-			XMLReader.elems(WayPoint.xmlReader(version,"trkpt", lengthParser)),
-			XMLReader.doc("extensions")
+		return xmlReader(version, lengthParser, Projection.ALL, Selection.ALL);
+	}
+
+	@SuppressWarnings("unchecked")
+	static XMLReader<TrackSegment> xmlReader(
+		final Version version,
+		final Function<? super String, Length> lengthParser,
+		final Projection projection,
+		final Selection selection
+	) {
+		final Function<Object[], TrackSegment> creator = a -> new TrackSegment(
+			copyOf((List<WayPoint>)a[0]),
+			XML.extensions((Document)a[1])
 		);
+		final XMLReader<?>[] children = {
+			XMLReader.elems(WayPoint.xmlReader(version,"trkpt", lengthParser, projection, selection)),
+			XMLReader.doc("extensions")
+		};
+
+		if (selection.isPointSelection()) {
+			// Segments without selected points are dropped.
+			final XMLReader.Guard guard = (v, next) -> next != -1 || v[0] != null;
+			return XMLReader.elem(creator, "trkseg", guard, children);
+		} else {
+			return XMLReader.elem(creator, "trkseg", children);
+		}
 	}
 
 
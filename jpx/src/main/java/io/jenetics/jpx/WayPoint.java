@@ -42,10 +42,13 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 
 import org.w3c.dom.Document;
 
+import io.jenetics.jpx.GPX.Reader.Projection;
+import io.jenetics.jpx.GPX.Reader.Selection;
 import io.jenetics.jpx.GPX.Version;
 
 /**
@@ -60,7 +63,7 @@ import io.jenetics.jpx.GPX.Version;
  * }</pre>
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 3.0
+ * @version 3.3
  * @since 1.0
  */
 public final class WayPoint implements Point, Serializable {
@@ -91,7 +94,7 @@ public final class WayPoint implements Point, Serializable {
 	private final Duration _ageOfGPSData;
 	private final DGPSStation _dgpsID;
 	private final Degrees _course;
-	private final Document _extensions;
+	private final XMLFragment _extensions;
 
 	/**
 	 * Create a new way-point with the given parameter.
@@ -159,7 +162,7 @@ public final class WayPoint implements Point, Serializable {
 		final Duration ageOfGPSData,
 		final DGPSStation dgpsID,
 		final Degrees course,
-		final Document extensions
+		final XMLFragment extensions
 	) {
 		_latitude = requireNonNull(latitude);
 		_longitude = requireNonNull(longitude);
@@ -398,7 +401,7 @@ public final class WayPoint implements Point, Serializable {
 	 *         because of an erroneous XML configuration
 	 */
 	public Optional<Document> getExtensions() {
-		return Optional.ofNullable(_extensions).map(XML::clone);
+		return Optional.ofNullable(_extensions).map(XMLFragment::document);
 	}
 
 	/**
@@ -411,7 +414,7 @@ public final class WayPoint implements Point, Serializable {
 	 *         way-point
 	 */
 	public Builder toBuilder() {
-		return builder()
+		final Builder builder = builder()
 			.lat(_latitude)
 			.lon(_longitude)
 			.ele(_elevation)
@@ -433,8 +436,51 @@ public final class WayPoint implements Point, Serializable {
 			.pdop(_pdop)
 			.ageofdgpsdata(_ageOfGPSData)
 			.dgpsid(_dgpsID)
-			.course(_course)
-			.extensions(_extensions);
+			.course(_course);
+
+		// The immutable extensions fragment is shared, without parsing it.
+		builder._extensions = _extensions;
+		return builder;
+	}
+
+	// Allocation free access of the elevation, used by the point cursor.
+	Length elevation() {
+		return _elevation;
+	}
+
+	// Allocation free access of the time, used by the point cursor.
+	Instant time() {
+		return _time;
+	}
+
+	/**
+	 * Return {@code true} if only the latitude, longitude, elevation and time
+	 * values of this way-point are set. These are the values, which are stored
+	 * in the primitive columns of the {@link PointColumns} class.
+	 *
+	 * @return {@code true} if this way-point only contains the location values
+	 */
+	boolean isCompact() {
+		return
+			_speed == null &&
+			_magneticVariation == null &&
+			_geoidHeight == null &&
+			_name == null &&
+			_comment == null &&
+			_description == null &&
+			_source == null &&
+			_links.isEmpty() &&
+			_symbol == null &&
+			_type == null &&
+			_fix == null &&
+			_sat == null &&
+			_hdop == null &&
+			_vdop == null &&
+			_pdop == null &&
+			_ageOfGPSData == null &&
+			_dgpsID == null &&
+			_course == null &&
+			_extensions == null;
 	}
 
 	@Override
@@ -539,7 +585,7 @@ public final class WayPoint implements Point, Serializable {
 		private Duration _ageOfDGPSData;
 		private DGPSStation _dgpsID;
 		private Degrees _course;
-		private Document _extensions;
+		private XMLFragment _extensions;
 
 		private Builder() {
 		}
@@ -1273,7 +1319,7 @@ public final class WayPoint implements Point, Serializable {
 		 *         an {@code extensions} node
 		 */
 		public Builder extensions(final Document extensions) {
-			_extensions = XML.checkExtensions(extensions);
+			_extensions = XMLFragment.of(XML.checkExtensions(extensions));
 			return this;
 		}
 
@@ -1285,7 +1331,7 @@ public final class WayPoint implements Point, Serializable {
 		 * @return the extensions document
 		 */
 		public Optional<Document> extensions() {
-			return Optional.ofNullable(_extensions);
+			return Optional.ofNullable(_extensions).map(XMLFragment::document);
 		}
 
 		/**
@@ -1465,7 +1511,7 @@ public final class WayPoint implements Point, Serializable {
 			ageOfGPSData,
 			dgpsID,
 			course,
-			XML.extensions(XML.clone(extensions))
+			XMLFragment.of(XML.extensions(XML.clone(extensions)))
 		);
 	}
 
@@ -1905,7 +1951,7 @@ public final class WayPoint implements Point, Serializable {
 		}
 		if ((existing & (1 << 20)) != 0) {
 			assert _extensions != null;
-			IO.write(_extensions, out);
+			_extensions.write(out);
 		}
 	}
 
@@ -1934,7 +1980,7 @@ public final class WayPoint implements Point, Serializable {
 			((existing & (1 << 17)) != 0) ? Duration.ofMillis(in.readLong()) : null,
 			((existing & (1 << 18)) != 0) ? DGPSStation.read(in) : null,
 			((existing & (1 << 19)) != 0) ? Degrees.read(in) : null,
-			((existing & (1 << 20)) != 0) ? IO.readDoc(in) : null
+			((existing & (1 << 20)) != 0) ? XMLFragment.of(IO.readDoc(in)) : null
 		);
 	}
 
@@ -1983,7 +2029,7 @@ public final class WayPoint implements Point, Serializable {
 			.v00(XMLWriter.elem("ageofdgpsdata").map(wp -> toDurationString(wp._ageOfGPSData)))
 			.v00(XMLWriter.elem("dgpsid").map(wp -> toIntString(wp._dgpsID)))
 			.v10(XMLWriter.elem("course").map(wp -> formatter.apply(wp._course)))
-			.v00(XMLWriter.doc("extensions").map(gpx -> gpx._extensions));
+			.v00(XMLWriter.fragment("extensions").map(wp -> wp._extensions));
 	}
 
 	// Define the necessary readers for the different versions.
@@ -2014,7 +2060,7 @@ public final class WayPoint implements Point, Serializable {
 			.v00(XMLReader.elem("ageofdgpsdata").map(Format::parseDuration))
 			.v00(XMLReader.elem("dgpsid").map(DGPSStation::parse))
 			.v10(XMLReader.elem("course").map(Degrees::parse))
-			.v00(XMLReader.doc("extensions"));
+			.v00(XMLReader.fragment("extensions"));
 	}
 
 	static XMLWriter<WayPoint> xmlWriter(
@@ -2025,20 +2071,67 @@ public final class WayPoint implements Point, Serializable {
 		return XMLWriter.elem(name, writers(formatter).writers(version));
 	}
 
+	/**
+	 * The names of the way-point fields, for all GPX versions.
+	 */
+	static final Set<String> FIELDS = readers(Length::parse).names();
+
 	static XMLReader<WayPoint> xmlReader(
 		final Version version,
 		final String name,
 		final Function<? super String, Length> lengthParser
 	) {
-		return XMLReader.elem(
-			version == Version.V10
-				? WayPoint::toWayPointV10
-				: WayPoint::toWayPointV11,
+		return xmlReader(
+			version,
 			name,
-			readers(lengthParser).readers(version)
+			lengthParser,
+			Projection.ALL,
+			Selection.ALL
 		);
 	}
 
+	static XMLReader<WayPoint> xmlReader(
+		final Version version,
+		final String name,
+		final Function<? super String, Length> lengthParser,
+		final Projection projection,
+		final Selection selection
+	) {
+		final Function<Object[], WayPoint> create = version == Version.V10
+			? WayPoint::toWayPointV10
+			: WayPoint::toWayPointV11;
+
+		// The time is needed for testing the selected time range, but it is
+		// only part of the created way-point, if it is projected.
+		final boolean time = selection.isTimeSelection() &&
+			!projection.isWayPointField("time");
+
+		final Function<Object[], WayPoint> creator = time
+			? v -> {
+				v[4] = null;
+				return create.apply(v);
+			}
+			: create;
+
+		final XMLReader<?>[] children = readers(lengthParser).readers(
+			version,
+			field -> projection.isWayPointField(field) ||
+				time && "time".equals(field)
+		);
+
+		if (selection.isPointSelection()) {
+			// The location is known after reading the attributes and the
+			// time after reading the 'time' element.
+			final XMLReader.Guard guard = (v, next) ->
+				selection.accepts((Latitude)v[0], (Longitude)v[1]) &&
+				(v[4] == null && next != -1 || selection.accepts((Instant)v[4]));
+
+			return XMLReader.elem(creator, name, guard, children);
+		} else {
+			return XMLReader.elem(creator, name, children);
+		}
+	}
+
 	@SuppressWarnings("unchecked")
 	private static WayPoint toWayPointV11(final Object[] v) {
 		return new WayPoint(
@@ -2064,7 +2157,7 @@ public final class WayPoint implements Point, Serializable {
 			(Duration)v[19],
 			(DGPSStation)v[20],
 			null,
-			XML.extensions((Document)v[21])
+			(XMLFragment)v[21]
 		);
 	}
 
@@ -2094,7 +2187,7 @@ public final class WayPoint implements Point, Serializable {
 			(Duration)v[20],
 			(DGPSStation)v[21],
 			(Degrees)v[22],
-			XML.extensions((Document)v[23])
+			(XMLFragment)v[23]
 		);
 	}
 
@@ -0,0 +1,483 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.requireNonNull;
+import static javax.xml.stream.XMLStreamConstants.CDATA;
+import static javax.xml.stream.XMLStreamConstants.CHARACTERS;
+import static javax.xml.stream.XMLStreamConstants.COMMENT;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.PROCESSING_INSTRUCTION;
+import static javax.xml.stream.XMLStreamConstants.SPACE;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.w3c.dom.Document;
+
+/**
+ * Immutable XML fragment of an {@code <extensions>} element. A fragment read
+ * from a GPX document is kept as raw, self-contained XML string, which
+ * declares all namespaces it uses. The DOM document is only parsed, if it is
+ * requested, and the raw fragment is written without building a DOM
+ * document.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 3.3
+ * @since 3.3
+ */
+final class XMLFragment {
+
+	private static final String NAME = "extensions";
+
+	// Exactly one of the two fields is not null.
+	private final String _xml;
+	private final Document _document;
+
+	private XMLFragment(final String xml, final Document document) {
+		_xml = xml;
+		_document = document;
+	}
+
+	/**
+	 * Return a fragment of the given extensions {@code document}.
+	 *
+	 * @param document the extensions document, may be {@code null}
+	 * @return the fragment of the given document, or {@code null} if the
+	 *         given {@code document} is {@code null}
+	 */
+	static XMLFragment of(final Document document) {
+		return document != null ? new XMLFragment(null, document) : null;
+	}
+
+	/**
+	 * Return a new copy of the DOM document of this fragment. The raw
+	 * fragment is parsed on every call.
+	 *
+	 * @return a new DOM document of this fragment
+	 * @throws org.w3c.dom.DOMException if the document could not be created,
+	 *         because of an erroneous XML configuration
+	 */
+	Document document() {
+		if (_document != null) {
+			return XML.clone(_document);
+		}
+
+		try (var xml = new XMLStreamReaderAdapter(
+				XMLProvider.provider()
+					.xmlInputFactory()
+					.createXMLStreamReader(new StringReader(_xml))))
+		{
+			xml.nextTag();
+			return XML.extensions(XMLReader.doc(NAME).read(xml, false));
+		} catch (XMLStreamException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Writes this fragment to the given XML stream writer. A raw fragment is
+	 * copied element by element, without building a DOM document and
+	 * without parsing it with a new XML stream reader.
+	 *
+	 * @param writer the XML stream writer
+	 * @throws XMLStreamException if writing the fragment fails
+	 */
+	void write(final XMLStreamWriter writer) throws XMLStreamException {
+		if (_document != null) {
+			XMLWriter.doc(NAME).write(writer, _document);
+			return;
+		}
+
+		final var scope = new Scope();
+		int pos = 0;
+		while (pos < _xml.length()) {
+			if (_xml.charAt(pos) != '<') {
+				final int end = _xml.indexOf('<', pos);
+				writer.writeCharacters(unescape(_xml, pos, end));
+				pos = end;
+			} else if (_xml.startsWith("</", pos)) {
+				scope.pop();
+				writer.writeEndElement();
+				pos = _xml.indexOf('>', pos) + 1;
+			} else if (_xml.startsWith("<?", pos)) {
+				final int end = _xml.indexOf("?>", pos);
+				final int space = _xml.indexOf(' ', pos);
+				final boolean data = space != -1 && space < end;
+				writer.writeProcessingInstruction(
+					_xml.substring(pos + 2, data ? space : end),
+					data ? _xml.substring(space + 1, end) : ""
+				);
+				pos = end + 2;
+			} else {
+				pos = startElement(_xml, pos + 1, scope, writer);
+			}
+		}
+	}
+
+	/**
+	 * Writes this fragment as serialized XML document, in the format of
+	 * {@link IO#write(Document, DataOutput)}.
+	 *
+	 * @param out the data output
+	 * @throws IOException if an I/O error occurs
+	 */
+	void write(final DataOutput out) throws IOException {
+		if (_document != null) {
+			IO.write(_document, out);
+		} else {
+			final byte[] data = _xml.getBytes(UTF_8);
+			IO.writeInt(data.length, out);
+			out.write(data);
+		}
+	}
+
+	private static String prefix(final String prefix) {
+		return prefix != null ? prefix : "";
+	}
+
+	private static String uri(final String uri) {
+		return uri != null ? uri : "";
+	}
+
+	/* *************************************************************************
+	 * Writing the raw fragment.
+	 * ************************************************************************/
+
+	// Writes the start element at the given position of the raw fragment and
+	// returns the position after it. The raw fragment has been created by the
+	// read method and contains no self-closing elements and no unescaped
+	// markup characters in text and attribute values.
+	private static int startElement(
+		final String xml,
+		final int start,
+		final Scope scope,
+		final XMLStreamWriter writer
+	)
+		throws XMLStreamException
+	{
+		int pos = start;
+		while (xml.charAt(pos) != ' ' && xml.charAt(pos) != '>') {
+			++pos;
+		}
+		final String name = xml.substring(start, pos);
+
+		final var namespaces = new ArrayList<String>(2);
+		final var attributes = new ArrayList<String>(2);
+		while (xml.charAt(pos) == ' ') {
+			final int eq = xml.indexOf('=', pos);
+			final int end = xml.indexOf('"', eq + 2);
+			final String attr = xml.substring(pos + 1, eq);
+			final String value = unescape(xml, eq + 2, end);
+
+			if (attr.equals("xmlns") || attr.startsWith("xmlns:")) {
+				namespaces.add(attr.length() > 5 ? attr.substring(6) : "");
+				namespaces.add(value);
+			} else {
+				attributes.add(attr);
+				attributes.add(value);
+			}
+			pos = end + 1;
+		}
+
+		scope.push();
+		for (int i = 0; i < namespaces.size(); i += 2) {
+			scope.bind(namespaces.get(i), namespaces.get(i + 1));
+		}
+
+		final String prefix = prefixOf(name);
+		writer.writeStartElement(
+			prefix,
+			localNameOf(name),
+			uri(scope.uri(prefix))
+		);
+		for (int i = 0; i < namespaces.size(); i += 2) {
+			if (namespaces.get(i).isEmpty()) {
+				writer.writeDefaultNamespace(namespaces.get(i + 1));
+			} else {
+				writer.writeNamespace(namespaces.get(i), namespaces.get(i + 1));
+			}
+		}
+		for (int i = 0; i < attributes.size(); i += 2) {
+			final String attr = attributes.get(i);
+			final String attrPrefix = prefixOf(attr);
+			writer.writeAttribute(
+				attrPrefix,
+				attrPrefix.isEmpty() ? "" : uri(scope.uri(attrPrefix)),
+				localNameOf(attr),
+				attributes.get(i + 1)
+			);
+		}
+
+		return pos + 1;
+	}
+
+	private static String prefixOf(final String name) {
+		final int index = name.indexOf(':');
+		return index != -1 ? name.substring(0, index) : "";
+	}
+
+	private static String localNameOf(final String name) {
+		return name.substring(name.indexOf(':') + 1);
+	}
+
+	private static String unescape(
+		final String xml,
+		final int start,
+		final int end
+	) {
+		int amp = xml.indexOf('&', start);
+		if (amp == -1 || amp >= end) {
+			return xml.substring(start, end);
+		}
+
+		final var out = new StringBuilder(end - start);
+		int pos = start;
+		while (amp != -1 && amp < end) {
+			out.append(xml, pos, amp);
+			final int semi = xml.indexOf(';', amp);
+			final String ref = xml.substring(amp + 1, semi);
+			switch (ref) {
+				case "amp" -> out.append('&');
+				case "lt" -> out.append('<');
+				case "gt" -> out.append('>');
+				case "quot" -> out.append('"');
+				case "apos" -> out.append('\'');
+				default -> out.appendCodePoint(
+					ref.startsWith("#x")
+						? Integer.parseInt(ref.substring(2), 16)
+						: Integer.parseInt(ref.substring(1))
+				);
+			}
+			pos = semi + 1;
+			amp = xml.indexOf('&', pos);
+		}
+		out.append(xml, pos, end);
+		return out.toString();
+	}
+
+	/* *************************************************************************
+	 * Reading the raw fragment.
+	 * ************************************************************************/
+
+	/**
+	 * Reads the raw XML fragment of the current element. Namespaces, which
+	 * are used but declared outside the element, are declared at the first
+	 * element using it. Whitespace-only text and comments are dropped, like
+	 * when building the extensions document.
+	 *
+	 * @param xml the XML stream reader, positioned at the start element of
+	 *        the fragment; the stream is left at the end element
+	 * @return the raw fragment, or {@code null} if the element is empty
+	 * @throws XMLStreamException if the fragment can't be read
+	 */
+	static XMLFragment read(final XMLStreamReaderAdapter xml)
+		throws XMLStreamException
+	{
+		xml.require(START_ELEMENT, null, null);
+
+		final var out = new StringBuilder(256);
+		final var text = new StringBuilder();
+		final var scope = new Scope();
+		boolean empty = true;
+		int depth = 0;
+
+		do {
+			final int event = depth == 0 ? START_ELEMENT : xml.next();
+			switch (event) {
+				case START_ELEMENT -> {
+					if (flush(text, out) || depth > 0) empty = false;
+					++depth;
+					startElement(xml, scope, out);
+				}
+				case END_ELEMENT -> {
+					if (flush(text, out)) empty = false;
+					--depth;
+					scope.pop();
+					out.append("</")
+						.append(name(xml.getPrefix(), xml.getLocalName()))
+						.append('>');
+				}
+				case CHARACTERS, CDATA, SPACE -> text.append(xml.getText());
+				case COMMENT -> {
+					// Comments are not part of the extensions document.
+				}
+				case PROCESSING_INSTRUCTION -> {
+					flush(text, out);
+					empty = false;
+					out.append("<?").append(xml.getPITarget());
+					if (xml.getPIData() != null && !xml.getPIData().isEmpty()) {
+						out.append(' ').append(xml.getPIData());
+					}
+					out.append("?>");
+				}
+			}
+		} while (depth > 0);
+
+		return empty ? null : new XMLFragment(out.toString(), null);
+	}
+
+	private static void startElement(
+		final XMLStreamReaderAdapter xml,
+		final Scope scope,
+		final StringBuilder out
+	) {
+		scope.push();
+		out.append('<').append(name(xml.getPrefix(), xml.getLocalName()));
+
+		for (int i = 0; i < xml.getNamespaceCount(); ++i) {
+			declare(
+				prefix(xml.getNamespacePrefix(i)),
+				uri(xml.getNamespaceURI(i)),
+				scope,
+				out
+			);
+		}
+		declare(prefix(xml.getPrefix()), uri(xml.getNamespaceURI()), scope, out);
+		for (int i = 0; i < xml.getAttributeCount(); ++i) {
+			final String prefix = prefix(xml.getAttributePrefix(i));
+			if (!prefix.isEmpty()) {
+				declare(prefix, uri(xml.getAttributeNamespace(i)), scope, out);
+			}
+		}
+
+		// The attributes are ordered by name, like in the DOM document.
+		final var names = new String[xml.getAttributeCount()];
+		final var order = new Integer[names.length];
+		for (int i = 0; i < names.length; ++i) {
+			names[i] = name(xml.getAttributePrefix(i), xml.getAttributeLocalName(i));
+			order[i] = i;
+		}
+		Arrays.sort(order, Comparator.comparing(i -> names[i]));
+
+		for (int i : order) {
+			out.append(' ').append(names[i]).append("=\"");
+			escape(xml.getAttributeValue(i), true, out);
+			out.append('"');
+		}
+		out.append('>');
+	}
+
+	// Declares the namespace, if it is not already bound in the fragment.
+	private static void declare(
+		final String prefix,
+		final String uri,
+		final Scope scope,
+		final StringBuilder out
+	) {
+		if ("xml".equals(prefix) || uri.equals(scope.uri(prefix))) {
+			return;
+		}
+
+		scope.bind(prefix, uri);
+		out.append(prefix.isEmpty() ? " xmlns" : " xmlns:" + prefix)
+			.append("=\"");
+		escape(uri, true, out);
+		out.append('"');
+	}
+
+	private static String name(final String prefix, final String local) {
+		return prefix == null || prefix.isEmpty() ? local : prefix + ":" + local;
+	}
+
+	// Writes the collected text, if it is not whitespace only.
+	private static boolean flush(final StringBuilder text, final StringBuilder out) {
+		boolean written = false;
+		if (!text.isEmpty()) {
+			if (!text.chars().allMatch(Character::isWhitespace)) {
+				escape(text, false, out);
+				written = true;
+			}
+			text.setLength(0);
+		}
+		return written;
+	}
+
+	private static void escape(
+		final CharSequence value,
+		final boolean attribute,
+		final StringBuilder out
+	) {
+		for (int i = 0; i < value.length(); ++i) {
+			final char c = value.charAt(i);
+			switch (c) {
+				case '&' -> out.append("&amp;");
+				case '<' -> out.append("&lt;");
+				case '>' -> out.append("&gt;");
+				case '"' -> out.append(attribute ? "&quot;" : "\"");
+				case '\r' -> out.append("&#13;");
+				case '\n' -> out.append(attribute ? "&#10;" : "\n");
+				case '\t' -> out.append(attribute ? "&#9;" : "\t");
+				default -> out.append(c);
+			}
+		}
+	}
+
+	/**
+	 * The namespace bindings declared within the fragment.
+	 */
+	private static final class Scope {
+		private final List<String> _prefixes = new ArrayList<>();
+		private final List<String> _uris = new ArrayList<>();
+		private final List<Integer> _marks = new ArrayList<>();
+
+		void push() {
+			_marks.add(_prefixes.size());
+		}
+
+		void pop() {
+			final int mark = _marks.remove(_marks.size() - 1);
+			while (_prefixes.size() > mark) {
+				_prefixes.remove(_prefixes.size() - 1);
+				_uris.remove(_uris.size() - 1);
+			}
+		}
+
+		void bind(final String prefix, final String uri) {
+			_prefixes.add(prefix);
+			_uris.add(uri);
+		}
+
+		// The unbound default namespace is the empty namespace.
+		String uri(final String prefix) {
+			if (XMLConstants.XML_NS_PREFIX.equals(prefix)) {
+				return XMLConstants.XML_NS_URI;
+			}
+			for (int i = _prefixes.size() - 1; i >= 0; --i) {
+				if (_prefixes.get(i).equals(prefix)) {
+					return _uris.get(i);
+				}
+			}
+			return prefix.isEmpty() ? "" : null;
+		}
+	}
+
+}
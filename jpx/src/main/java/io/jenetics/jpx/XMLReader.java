@@ -31,9 +31,7 @@ import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
 import static io.jenetics.jpx.Lists.copyOf;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.function.Function;
 import java.util.stream.IntStream;
@@ -50,7 +48,7 @@ import io.jenetics.jpx.XMLReader.Type;
  * Simplifies the usage of the {@link XMLStreamReader}.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.5
+ * @version 3.3
  * @since 1.0
  */
 abstract class XMLReader<T> {
@@ -82,6 +80,28 @@ abstract class XMLReader<T> {
 
 	}
 
+	/**
+	 * Tests the partially read values of an element. It allows to skip an
+	 * element, as soon as its already read values are known to be rejected.
+	 */
+	@FunctionalInterface
+	interface Guard {
+
+		/**
+		 * Tests the values of the element read so far. The guard is tested
+		 * before every known child element and at the end of the element.
+		 *
+		 * @param values the values read so far, in the order of the child
+		 *        readers
+		 * @param next the index of the child reader of the next child
+		 *        element, or {@code -1} at the end of the element
+		 * @return {@code false} if the element is rejected, {@code true}
+		 *         otherwise
+		 */
+		boolean test(final Object[] values, final int next);
+
+	}
+
 	private final String _name;
 	private final Type _type;
 
@@ -289,6 +309,41 @@ abstract class XMLReader<T> {
 		return new ElemReader<>(name, generator, asList(children), Type.ELEM);
 	}
 
+	/**
+	 * Return a {@code Reader} for reading an object of type {@code T} from the
+	 * XML element with the given {@code name}. The element is skipped, and
+	 * {@code null} is returned, as soon as the given {@code guard} rejects the
+	 * values read so far. The skipped content is neither converted nor
+	 * validated.
+	 *
+	 * @param generator the generator function, which build the result object
+	 *        from the given parameter array
+	 * @param name the name of the root (sub-tree) element
+	 * @param guard the guard, which rejects partially read elements
+	 * @param children the child element reader, which creates the values
+	 *        forwarded to the {@code generator} function
+	 * @param <T> the reader result type
+	 * @return a node reader
+	 * @throws NullPointerException if one of the given arguments is {@code null}
+	 * @throws IllegalArgumentException if the given child readers contains more
+	 *         than one <em>text</em> reader
+	 */
+	static <T> XMLReader<T> elem(
+		final Function<Object[], T> generator,
+		final String name,
+		final Guard guard,
+		final XMLReader<?>... children
+	) {
+		requireNonNull(name);
+		requireNonNull(generator);
+		requireNonNull(guard);
+		Stream.of(requireNonNull(children)).forEach(Objects::requireNonNull);
+
+		return new ElemReader<>(
+			name, generator, guard, asList(children), Type.ELEM
+		);
+	}
+
 	/**
 	 * Return a {@code Reader} which reads the value from the child elements of
 	 * the given parent element {@code name}.
@@ -345,6 +400,19 @@ abstract class XMLReader<T> {
 		return new IgnoreReader(name);
 	}
 
+	/**
+	 * Return a {@code Reader} which skips the element with the given
+	 * {@code name}, including all of its children, and returns {@code null}.
+	 * The skipped content is neither converted nor validated.
+	 *
+	 * @param name the name of the skipped element
+	 * @return a skipping reader
+	 * @throws NullPointerException if the given {@code name} is {@code null}
+	 */
+	static XMLReader<Object> skip(final String name) {
+		return new SkipReader(name);
+	}
+
 	/**
 	 * Return a {@code XMLReader} which collects the elements, read by the given
 	 * child {@code reader}, and returns it as a list of these elements.
@@ -379,6 +447,18 @@ abstract class XMLReader<T> {
 	public static XMLReader<Document> doc(final String name) {
 		return new DocReader(name);
 	}
+
+	/**
+	 * Return a {@code Reader} which reads the element with the given
+	 * {@code name} as raw XML fragment, without building a DOM document.
+	 *
+	 * @param name the name of the fragment element
+	 * @return a fragment reader
+	 * @throws NullPointerException if the given {@code name} is {@code null}
+	 */
+	static XMLReader<XMLFragment> fragment(final String name) {
+		return new FragmentReader(name);
+	}
 }
 
 
@@ -426,14 +506,20 @@ final class TextReader extends XMLReader<String> {
 	public String read(final XMLStreamReaderAdapter xml, final boolean lenient)
 		throws XMLStreamException
 	{
-		final StringBuilder out = new StringBuilder();
-
 		int type = xml.getEventType();
-		do {
+		final String text = xml.getText();
+
+		// The text is usually delivered as single event. The string builder
+		// is only needed if the text is split into several events.
+		StringBuilder out = null;
+		while (xml.hasNext() && (type = xml.next()) == CHARACTERS || type == CDATA) {
+			if (out == null) {
+				out = new StringBuilder(text);
+			}
 			out.append(xml.getText());
-		} while (xml.hasNext() && (type = xml.next()) == CHARACTERS || type == CDATA);
+		}
 
-		return out.toString();
+		return out != null ? out.toString() : text;
 	}
 }
 
@@ -455,6 +541,10 @@ final class ListReader<T> extends XMLReader<List<T>> {
 		_adoptee = adoptee;
 	}
 
+	XMLReader<? extends T> adoptee() {
+		return _adoptee;
+	}
+
 	@Override
 	public List<T> read(final XMLStreamReaderAdapter xml, final boolean lenient)
 		throws XMLStreamException
@@ -491,6 +581,39 @@ final class IgnoreReader extends XMLReader<Object> {
 	}
 }
 
+/**
+ * This reader implementation skips the element with the given name, without
+ * reading its content.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 3.3
+ * @since 3.3
+ */
+final class SkipReader extends XMLReader<Object> {
+
+	SkipReader(final String name) {
+		super(name, Type.ELEM);
+	}
+
+	@Override
+	public Object read(final XMLStreamReaderAdapter xml, final boolean lenient)
+		throws XMLStreamException
+	{
+		xml.require(START_ELEMENT, null, name());
+
+		// Leaves the stream at the end element of the skipped element.
+		int depth = 1;
+		while (depth > 0 && xml.hasNext()) {
+			switch (xml.next()) {
+				case START_ELEMENT -> ++depth;
+				case END_ELEMENT -> --depth;
+			}
+		}
+		return null;
+	}
+
+}
+
 /**
  * This reader implementation reads the XML nodes from a given base node.
  *
@@ -543,52 +666,140 @@ final class DocReader extends XMLReader<Document> {
 
 }
 
+/**
+ * This reader implementation reads the element as raw XML fragment.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 3.3
+ * @since 3.3
+ */
+final class FragmentReader extends XMLReader<XMLFragment> {
+
+	FragmentReader(final String name) {
+		super(name, Type.ELEM);
+	}
+
+	@Override
+	public XMLFragment read(final XMLStreamReaderAdapter xml, final boolean lenient)
+		throws XMLStreamException
+	{
+		xml.require(START_ELEMENT, null, name());
+
+		try {
+			return XMLFragment.read(xml);
+		} catch (XMLStreamException|RuntimeException e) {
+			if (!lenient) {
+				throw e;
+			}
+			return null;
+		}
+	}
+
+}
+
 /**
  * The main XML element reader implementation.
  *
  * @param <T> the reader data type
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.2
+ * @version 3.3
  * @since 1.2
  */
 final class ElemReader<T> extends XMLReader<T> {
 
 	// Given parameters.
 	private final Function<Object[], T> _creator;
-	private final List<XMLReader<?>> _children;
+	private final Guard _guard;
+	private final XMLReader<?>[] _children;
 
 	// Derived parameters.
-	private final Map<String, Integer> _readerIndexMapping = new HashMap<>();
 	private final int[] _attrReaderIndexes;
-	private final int[] _textReaderIndex;
+	private final int _textReaderIndex;
+
+	// The child readers of LIST type. If the child is a list reader, the
+	// adoptee is stored, which allows adding the read elements directly.
+	private final boolean[] _lists;
+	private final XMLReader<?>[] _listElements;
+
+	// Open addressing hash table, which maps the child names to its index.
+	private final String[] _names;
+	private final int[] _indexes;
+	private final int _mask;
 
 	ElemReader(
 		final String name,
 		final Function<Object[], T> creator,
 		final List<XMLReader<?>> children,
 		final Type type
+	) {
+		this(name, creator, null, children, type);
+	}
+
+	ElemReader(
+		final String name,
+		final Function<Object[], T> creator,
+		final Guard guard,
+		final List<XMLReader<?>> children,
+		final Type type
 	) {
 		super(name, type);
 
 		_creator = requireNonNull(creator);
-		_children = requireNonNull(children);
+		_guard = guard;
+		_children = children.toArray(XMLReader<?>[]::new);
 
-		for (int i = 0; i < _children.size(); ++i) {
-			_readerIndexMapping.put(_children.get(i).name(), i);
-		}
-		_attrReaderIndexes = IntStream.range(0, _children.size())
-			.filter(i -> _children.get(i).type() == Type.ATTR)
+		_attrReaderIndexes = IntStream.range(0, _children.length)
+			.filter(i -> _children[i].type() == Type.ATTR)
 			.toArray();
-		_textReaderIndex = IntStream.range(0, _children.size())
-			.filter(i -> _children.get(i).type() == Type.TEXT)
+		final int[] textReaderIndexes = IntStream.range(0, _children.length)
+			.filter(i -> _children[i].type() == Type.TEXT)
 			.toArray();
 
-		if (_textReaderIndex.length > 1) {
+		if (textReaderIndexes.length > 1) {
 			throw new IllegalArgumentException(
 				"Found more than one TEXT reader."
 			);
 		}
+		_textReaderIndex = textReaderIndexes.length == 1
+			? textReaderIndexes[0]
+			: -1;
+
+		_lists = new boolean[_children.length];
+		_listElements = new XMLReader<?>[_children.length];
+		for (int i = 0; i < _children.length; ++i) {
+			_lists[i] = _children[i].type() == Type.LIST;
+			if (_children[i] instanceof ListReader<?> list) {
+				_listElements[i] = list.adoptee();
+			}
+		}
+
+		final int size = Integer.highestOneBit(Math.max(_children.length, 1))*4;
+		_names = new String[size];
+		_indexes = new int[size];
+		_mask = size - 1;
+		for (int i = 0; i < _children.length; ++i) {
+			final String key = _children[i].name();
+
+			int slot = key.hashCode() & _mask;
+			while (_names[slot] != null && !_names[slot].equals(key)) {
+				slot = (slot + 1) & _mask;
+			}
+			_names[slot] = key;
+			_indexes[slot] = i;
+		}
+	}
+
+	private int indexOf(final String name) {
+		int slot = name.hashCode() & _mask;
+		String key;
+		while ((key = _names[slot]) != null) {
+			if (key.equals(name)) {
+				return _indexes[slot];
+			}
+			slot = (slot + 1) & _mask;
+		}
+		return -1;
 	}
 
 	@Override
@@ -600,18 +811,12 @@ final class ElemReader<T> extends XMLReader<T> {
 		}
 		xml.require(START_ELEMENT, null, name());
 
-		final List<ReaderResult> results = _children.stream()
-			.map(ReaderResult::of)
-			.toList();
-
-		final ReaderResult text = _textReaderIndex.length == 1
-			? results.get(_textReaderIndex[0])
-			: null;
+		final Object[] values = new Object[_children.length];
 
 		for (int attrReaderIndex : _attrReaderIndexes) {
-			final ReaderResult result = results.get(attrReaderIndex);
 			try {
-				result.put(result.reader().read(xml, lenient));
+				values[attrReaderIndex] =
+					_children[attrReaderIndex].read(xml, lenient);
 			} catch (IllegalArgumentException|NullPointerException e) {
 				if (!lenient) throw e;
 			}
@@ -624,39 +829,45 @@ final class ElemReader<T> extends XMLReader<T> {
 					case COMMENT -> consumeComment(xml);
 					case START_ELEMENT -> {
 						final String localName = xml.getLocalName();
-						Integer index = _readerIndexMapping.get(localName);
-
-						if (index == null && !lenient) {
-							throw new XMLStreamException(format(
-								"Unexpected element <%s>.",
-								xml.getLocalName()
-							));
-						}
-
-						final ReaderResult result = index != null
-							? results.get(index)
-							: ReaderResult.of(elem(xml.getLocalName()));
+						final int index = indexOf(localName);
 
-						if (result != null) {
-							throwUnexpectedElement(xml, lenient, result);
-							hasNext = xml.safeNext();
+						if (index == -1) {
+							if (!lenient) {
+								throw new XMLStreamException(format(
+									"Unexpected element <%s>.",
+									localName
+								));
+							}
+							readUnknown(xml, elem(localName));
+						} else if (_guard != null && !_guard.test(values, index)) {
+							skipRest(xml);
+							return null;
+						} else {
+							throwUnexpectedElement(xml, lenient, values, index);
 						}
+						hasNext = xml.safeNext();
 					}
 					case CHARACTERS, CDATA -> {
-						if (text != null) {
-							throwUnexpectedElement(xml, lenient, text);
+						if (_textReaderIndex != -1) {
+							throwUnexpectedElement(
+								xml, lenient, values, _textReaderIndex
+							);
 						} else {
 							xml.next();
 						}
 						hasNext = true;
 					}
 					case END_ELEMENT, END_DOCUMENT -> {
+						if (_guard != null && !_guard.test(values, -1)) {
+							return null;
+						}
 						try {
-							return _creator.apply(
-								results.stream()
-									.map(ReaderResult::value)
-									.toArray()
-							);
+							for (int i = 0; i < values.length; ++i) {
+								if (_lists[i]) {
+									values[i] = copyOf((List<?>)values[i]);
+								}
+							}
+							return _creator.apply(values);
 						} catch (IllegalArgumentException|NullPointerException e) {
 							if (!lenient) {
 								throw new XMLStreamException(format(
@@ -676,6 +887,20 @@ final class ElemReader<T> extends XMLReader<T> {
 		));
 	}
 
+	// Skips the rest of the element, starting at the start element of one of
+	// its children, and leaves the stream at the end element of the element.
+	private static void skipRest(final XMLStreamReaderAdapter xml)
+		throws XMLStreamException
+	{
+		int depth = 2;
+		while (depth > 0 && xml.hasNext()) {
+			switch (xml.next()) {
+				case START_ELEMENT -> ++depth;
+				case END_ELEMENT -> --depth;
+			}
+		}
+	}
+
 	private void consumeComment(final XMLStreamReader xml) throws XMLStreamException {
 		assert xml.getEventType() == COMMENT;
 		if (xml.hasNext()) {
@@ -683,15 +908,33 @@ final class ElemReader<T> extends XMLReader<T> {
 		}
 	}
 
+	// Unknown elements are read, in lenient mode, and the result is discarded.
+	private static void readUnknown(
+		final XMLStreamReaderAdapter xml,
+		final XMLReader<?> reader
+	)
+		throws XMLStreamException
+	{
+		try {
+			reader.read(xml, true);
+		} catch (IllegalArgumentException|NullPointerException ignore) {
+		}
+	}
+
 	private void throwUnexpectedElement(
 		final XMLStreamReaderAdapter xml,
 		final boolean lenient,
-		final ReaderResult text
+		final Object[] values,
+		final int index
 	)
 		throws XMLStreamException
 	{
 		try {
-			text.put(text.reader().read(xml, lenient));
+			if (_lists[index]) {
+				addTo(values, index, xml, lenient);
+			} else {
+				values[index] = _children[index].read(xml, lenient);
+			}
 		} catch (IllegalArgumentException|NullPointerException e) {
 			if (!lenient) {
 				final XMLStreamException exp = new XMLStreamException(format(
@@ -703,119 +946,39 @@ final class ElemReader<T> extends XMLReader<T> {
 			}
 		}
 	}
-}
-
-/**
- * Helper interface for storing the XML reader (intermediate) results.
- *
- * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.2
- * @since 1.2
- */
-interface ReaderResult {
-
-	/**
-	 * Return the underlying XML reader, which reads the result.
-	 *
-	 * @return return the underlying XML reader
-	 */
-	XMLReader<?> reader();
-
-	/**
-	 * Put the given {@code value} to the reader result.
-	 *
-	 * @param value the reader result
-	 */
-	void put(final Object value);
-
-	/**
-	 * Return the current reader result value.
-	 *
-	 * @return the current reader result value
-	 */
-	Object value();
-
-	/**
-	 * Create a reader result for the given XML reader
-	 *
-	 * @param reader the XML reader
-	 * @return a reader result for the given reader
-	 */
-	static ReaderResult of(final XMLReader<?> reader) {
-		return reader.type() == Type.LIST
-			? new ListResult(reader)
-			: new ValueResult(reader);
-	}
-
-}
-
-/**
- * Result object for values read from XML elements.
- *
- * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.2
- * @since 1.2
- */
-final class ValueResult implements ReaderResult {
-
-	private final XMLReader<?> _reader;
-	private Object _value;
-
-	ValueResult(final XMLReader<?> reader) {
-		_reader = reader;
-	}
-
-	@Override
-	public void put(final Object value) {
-		_value = value;
-	}
-
-	@Override
-	public XMLReader<?> reader() {
-		return _reader;
-	}
-
-
-	@Override
-	public Object value() {
-		return _value;
-	}
 
-}
-
-/**
- * Result object for list values read from XML elements.
- *
- * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.2
- * @since 1.2
- */
-final class ListResult implements ReaderResult {
-
-	private final XMLReader<?> _reader;
-	private final List<Object> _value = new ArrayList<>();
-
-	ListResult(final XMLReader<?> reader) {
-		_reader = reader;
-	}
-
-	@Override
-	public void put(final Object value) {
-		if (value instanceof List<?> list) {
-			_value.addAll(list);
+	@SuppressWarnings("unchecked")
+	private void addTo(
+		final Object[] values,
+		final int index,
+		final XMLStreamReaderAdapter xml,
+		final boolean lenient
+	)
+		throws XMLStreamException
+	{
+		List<Object> list = (List<Object>)values[index];
+
+		if (_listElements[index] != null) {
+			final Object element = _listElements[index].read(xml, lenient);
+			if (element != null) {
+				if (list == null) {
+					list = new ArrayList<>();
+					values[index] = list;
+				}
+				list.add(element);
+			}
 		} else {
-			_value.add(value);
+			final Object value = _children[index].read(xml, lenient);
+			if (list == null) {
+				list = new ArrayList<>();
+				values[index] = list;
+			}
+			if (value instanceof List<?> elements) {
+				list.addAll(elements);
+			} else {
+				list.add(value);
+			}
 		}
 	}
 
-	@Override
-	public XMLReader<?> reader() {
-		return _reader;
-	}
-
-	@Override
-	public List<Object> value() {
-		return copyOf(_value);
-	}
-
 }
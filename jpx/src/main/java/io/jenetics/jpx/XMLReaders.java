@@ -23,7 +23,11 @@ import static java.util.Objects.requireNonNull;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import io.jenetics.jpx.GPX.Version;
 
@@ -31,7 +35,7 @@ import io.jenetics.jpx.GPX.Version;
  * XMLReader collection for different GPX versions.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.3
+ * @version 3.3
  * @since 1.3
  */
 final class XMLReaders{
@@ -68,4 +72,37 @@ final class XMLReaders{
 			.toArray(XMLReader[]::new);
 	}
 
+	/**
+	 * Return the readers for the given version, where the element readers,
+	 * not accepted by the given {@code fields} predicate, are replaced by
+	 * readers which skip the element. Attribute readers are never replaced.
+	 *
+	 * @param version the GPX version
+	 * @param fields the predicate for the names of the wanted elements
+	 * @return the readers for the given version
+	 */
+	XMLReader<?>[] readers(
+		final Version version,
+		final Predicate<? super String> fields
+	) {
+		return Stream.of(readers(version))
+			.map(reader ->
+				reader.type() == XMLReader.Type.ATTR || fields.test(reader.name())
+					? reader
+					: XMLReader.skip(reader.name())
+			)
+			.toArray(XMLReader[]::new);
+	}
+
+	/**
+	 * Return the names of all readers, for all GPX versions.
+	 *
+	 * @return the names of all readers
+	 */
+	Set<String> names() {
+		return _readers.stream()
+			.map(XMLReader::name)
+			.collect(Collectors.toUnmodifiableSet());
+	}
+
 }
@@ -34,7 +34,7 @@ import org.w3c.dom.Element;
  * Helper class for simplifying XML stream writing.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.2
+ * @version 3.3
  * @since 1.0
  */
 @FunctionalInterface
@@ -218,6 +218,16 @@ interface XMLWriter<T> {
 		};
 	}
 
+	static XMLWriter<XMLFragment> fragment(final String name) {
+		requireNonNull(name);
+
+		return (xml, data) -> {
+			if (data != null) {
+				data.write(xml);
+			}
+		};
+	}
+
 	/**
 	 * Creates a new {@code XMLWriter}, which writes the given {@code children} as
 	 * sub-elements, defined by the given {@code childXMLWriter}.
@@ -0,0 +1,80 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx.geom;
+
+import static java.lang.String.format;
+
+import io.jenetics.jpx.Bounds;
+
+/**
+ * Functions for coordinates, which are given as primitive arrays of latitude
+ * and longitude values. This allows processing large, columnar stored point
+ * sets without creating {@link io.jenetics.jpx.Point} objects.
+ *
+ * @see Geoid#distances(double[], double[], double[])
+ * @see Geoid#pathLength(double[], double[])
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 3.3
+ * @since 3.3
+ */
+public final class Coordinates {
+
+	private Coordinates() {
+	}
+
+	/**
+	 * Calculates the bounds of the given coordinates. This is the array
+	 * counterpart of the {@link Bounds#toBounds()} collector. If the
+	 * {@code jdk.incubator.vector} module is available at runtime, the min/max
+	 * reduction is done with SIMD instructions, which gives the very same
+	 * result.
+	 *
+	 * <pre>{@code
+	 * final double[] lat = {48.20, 48.21, 48.22};
+	 * final double[] lon = {16.37, 16.38, 16.40};
+	 * final Bounds bounds = Coordinates.bounds(lat, lon);
+	 * }</pre>
+	 *
+	 * @param lat the latitude values, in degrees
+	 * @param lon the longitude values, in degrees
+	 * @return the bounds of the given coordinates, or {@code null} if the
+	 *         given arrays are empty
+	 * @throws NullPointerException if one of the arrays is {@code null}
+	 * @throws IllegalArgumentException if the {@code lat} and {@code lon}
+	 *         arrays have different lengths or if one of the values is not
+	 *         within the valid latitude or longitude range
+	 */
+	public static Bounds bounds(final double[] lat, final double[] lon) {
+		if (lat.length != lon.length) {
+			throw new IllegalArgumentException(format(
+				"Latitude and longitude arrays must have the same length: %d != %d.",
+				lat.length, lon.length
+			));
+		}
+		if (lat.length == 0) {
+			return null;
+		}
+
+		final double[] b = Kernels.INSTANCE.bounds(lat, lon);
+		return Bounds.of(b[0], b[1], b[2], b[3]);
+	}
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx.geom;
+
+/**
+ * The available models for calculating the distance between two points. The
+ * approximations are considerably faster than the exact {@link #VINCENTY}
+ * model and are well suited for the short distances between consecutive GPS
+ * fixes. The given error bounds are for the {@link Ellipsoid#WGS84}
+ * ellipsoid.
+ *
+ * <pre>{@code
+ * final Geoid geoid = Geoid.WGS84.withModel(DistanceModel.EQUIRECTANGULAR);
+ * final Length length = track.segments()
+ *     .flatMap(TrackSegment::points)
+ *     .collect(geoid.toPathLength());
+ * }</pre>
+ *
+ * @see Geoid#withModel(DistanceModel)
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 3.3
+ * @since 3.3
+ */
+public enum DistanceModel {
+
+	/**
+	 * The iterative inverse solution of Vincenty, which calculates the
+	 * distance on the ellipsoid with sub-millimeter accuracy. This is the
+	 * default model. It doesn't converge for (nearly) antipodal points.
+	 *
+	 * @see <a href="http://www.ngs.noaa.gov/PUBS_LIB/inverse.pdf">DIRECT AND
+	 *               INVERSE SOLUTIONS OF GEODESICS 0 THE ELLIPSOID
+	 *               WITH APPLICATION OF NESTED EQUATIONS</a>
+	 */
+	VINCENTY,
+
+	/**
+	 * The great-circle distance on a sphere with the mean radius,
+	 * {@code (2a + b)/3}, of the ellipsoid. Ignoring the flattening of the
+	 * earth leads to a relative error of up to 0.6%, independent of the
+	 * distance.
+	 *
+	 * @see <a href="https://en.wikipedia.org/wiki/Haversine_formula">
+	 *     Haversine formula</a>
+	 */
+	HAVERSINE,
+
+	/**
+	 * Flat earth approximation, which projects the points onto the tangent
+	 * plane at their mean latitude. The meridional and the prime vertical
+	 * radius of curvature of the ellipsoid are used, so the error only
+	 * depends on the distance of the points: the relative error is below
+	 * 10<sup>-7</sup> for distances up to 1 km, below 10<sup>-5</sup> for
+	 * distances up to 10 km and below 10<sup>-3</sup> for distances up to
+	 * 100 km. This is the fastest model and the recommended one for the
+	 * points of a track. It must not be used for longer distances and for
+	 * points close to the poles.
+	 */
+	EQUIRECTANGULAR,
+
+	/**
+	 * The Andoyer-Lambert formula, which corrects the great-circle distance
+	 * of the reduced latitudes with a first order flattening term. The
+	 * relative error is below 2&middot;10<sup>-6</sup>, which is about 10 m
+	 * for a distance of 5000 km. The formula is not defined for antipodal
+	 * points.
+	 *
+	 * @see <a href="https://en.wikipedia.org/wiki/Geographical_distance#Lambert's_formula_for_long_lines">
+	 *     Lambert's formula for long lines</a>
+	 */
+	ANDOYER_LAMBERT
+
+}
@@ -19,11 +19,14 @@
  */
 package io.jenetics.jpx.geom;
 
+import static java.lang.Math.PI;
 import static java.lang.Math.abs;
 import static java.lang.Math.asin;
 import static java.lang.Math.atan;
 import static java.lang.Math.atan2;
 import static java.lang.Math.cos;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
 import static java.lang.Math.sin;
 import static java.lang.Math.sqrt;
 import static java.lang.Math.tan;
@@ -44,7 +47,7 @@ import io.jenetics.jpx.Point;
  * @see Ellipsoid
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.0
+ * @version 3.3
  * @since 1.0
  */
 public final class Geoid {
@@ -81,10 +84,20 @@ public final class Geoid {
 	public static final Geoid DEFAULT = of(Ellipsoid.DEFAULT);
 
 	private final Ellipsoid _ellipsoid;
+	private final DistanceModel _model;
+
+	// Major semi-axes of the ellipsoid.
+	private final double A;
 
 	// Minor semi-axes of the ellipsoid.
 	private final double B;
 
+	// Mean radius (2A + B)/3 of the ellipsoid.
+	private final double R;
+
+	// Square of the first eccentricity.
+	private final double E2;
+
 	private final double AABBBB;
 
 	// Flattening (A - B)/A
@@ -100,19 +113,23 @@ public final class Geoid {
 	 * Create a new {@code Geoid} object with the given ellipsoid.
 	 *
 	 * @param ellipsoid the ellipsoid used by the geoid
-	 * @throws NullPointerException if the given {@code ellipsoid} is {@code null}
+	 * @param model the distance model used by the geoid
+	 * @throws NullPointerException if one of the arguments is {@code null}
 	 */
-	private Geoid(final Ellipsoid ellipsoid) {
+	private Geoid(final Ellipsoid ellipsoid, final DistanceModel model) {
 		_ellipsoid = requireNonNull(ellipsoid);
+		_model = requireNonNull(model);
 
-		final double a = ellipsoid.A();
-		final double aa = a*a;
+		A = ellipsoid.A();
+		final double aa = A*A;
 
 		B = ellipsoid.B();
 		final double bb = B*B;
 
 		AABBBB = (aa - bb)/bb;
 		F = 1.0/ellipsoid.F();
+		R = (2*A + B)/3.0;
+		E2 = F*(2 - F);
 	}
 
 	/**
@@ -125,7 +142,36 @@ public final class Geoid {
 	}
 
 	/**
-	 * Calculate the distance between points on an ellipsoidal earth model. This
+	 * Return the model used for calculating the distance between two points.
+	 *
+	 * @since 3.3
+	 *
+	 * @return the distance model of {@code this} geoid
+	 */
+	public DistanceModel model() {
+		return _model;
+	}
+
+	/**
+	 * Return a new {@code Geoid} object with the same ellipsoid, which uses
+	 * the given distance {@code model}. The {@link #distance(Point, Point)}
+	 * method and the {@link #toPathLength()} and {@link #toTourLength()}
+	 * collectors of the returned geoid are using the given model.
+	 *
+	 * @since 3.3
+	 *
+	 * @param model the distance model of the new geoid
+	 * @return a new geoid with the given distance {@code model}
+	 * @throws NullPointerException if the given {@code model} is {@code null}
+	 */
+	public Geoid withModel(final DistanceModel model) {
+		return model == _model ? this : new Geoid(_ellipsoid, model);
+	}
+
+	/**
+	 * Calculate the distance between points on an ellipsoidal earth model,
+	 * using the {@link #model()} of this geoid. With the default
+	 * {@link DistanceModel#VINCENTY} model, this
 	 * method will throw an {@link ArithmeticException} if the algorithm doesn't
 	 * converge while calculating the distance, which is the case for a point
 	 * and its (near) antidote.
@@ -145,25 +191,219 @@ public final class Geoid {
 	 *         which is the case for a point and its (near) antidote.
 	 */
 	public Length distance(final Point start, final Point end) {
-		final double lat1 = start.getLatitude().toRadians();
-		final double lon1 = start.getLongitude().toRadians();
-		final double lat2 = end.getLatitude().toRadians();
-		final double lon2 = end.getLongitude().toRadians();
+		final double s = distance(
+			start.getLatitude().toRadians(),
+			start.getLongitude().toRadians(),
+			end.getLatitude().toRadians(),
+			end.getLongitude().toRadians()
+		);
 
-		final double omega = lon2 - lon1;
+		if (Double.isNaN(s)) {
+			throw new ArithmeticException(format(
+				"Calculating distance between %s and %s didn't converge.",
+				start, end
+			));
+		}
 
-		final double tanphi1 = tan(lat1);
-		final double tanU1 = (1.0 - F)*tanphi1;
-		final double U1 = atan(tanU1);
-		final double sinU1 = sin(U1);
-		final double cosU1 = cos(U1);
+		return Length.of(s, Unit.METER);
+	}
 
-		final double tanphi2 = tan(lat2);
-		final double tanU2 = (1.0 - F)*tanphi2;
-		final double U2 = atan(tanU2);
-		final double sinU2 = sin(U2);
-		final double cosU2 = cos(U2);
+	/**
+	 * Calculate the distances between consecutive points of the given
+	 * coordinate arrays, using the {@link #model()} of this geoid. The points
+	 * are given as two parallel arrays of latitude and longitude values, in
+	 * degrees. After this method returns, {@code out[i]} contains the
+	 * distance, in meters, between the points {@code i} and {@code i + 1}.
+	 * <pre>{@code
+	 * final double[] lat = {48.20, 48.21, 48.22};
+	 * final double[] lon = {16.37, 16.38, 16.40};
+	 * final double[] out = new double[lat.length - 1];
+	 * Geoid.WGS84.distances(lat, lon, out);
+	 * }</pre>
+	 *
+	 * The calculated distances are the same as calculated by the
+	 * {@link #distance(Point, Point)} method, but the trigonometric values of
+	 * every point are only calculated once. This makes the method suitable for
+	 * processing large, columnar stored tracks. If the
+	 * {@code jdk.incubator.vector} module is available at runtime, the
+	 * closed-form models, {@link DistanceModel#HAVERSINE} and
+	 * {@link DistanceModel#EQUIRECTANGULAR}, are calculated with SIMD
+	 * instructions. The relative difference to the scalar calculation is
+	 * then less than {@code 1e-12}. The coordinate values are not
+	 * validated; they must lie within the valid ranges of the
+	 * {@link io.jenetics.jpx.Latitude} and {@link io.jenetics.jpx.Longitude}
+	 * values.
+	 *
+	 * @since 3.3
+	 *
+	 * @param lat the latitude values of the points, in degrees
+	 * @param lon the longitude values of the points, in degrees
+	 * @param out the array where the calculated distances are written to
+	 * @throws NullPointerException if one of the arrays is {@code null}
+	 * @throws IllegalArgumentException if the {@code lat} and {@code lon}
+	 *         arrays have different lengths or if the {@code out} array is
+	 *         shorter than {@code lat.length - 1}
+	 * @throws ArithmeticException if the algorithm used for calculating the
+	 *         distance between two consecutive points didn't converge, which
+	 *         is the case for a point and its (near) antidote.
+	 */
+	public void distances(
+		final double[] lat,
+		final double[] lon,
+		final double[] out
+	) {
+		if (lat.length != lon.length) {
+			throw new IllegalArgumentException(format(
+				"Latitude and longitude arrays must have the same length: %d != %d.",
+				lat.length, lon.length
+			));
+		}
+		if (out.length < lat.length - 1) {
+			throw new IllegalArgumentException(format(
+				"Output array too short; expected at least %d but was %d.",
+				lat.length - 1, out.length
+			));
+		}
 
+		final int n = lat.length;
+		if (n < 2) {
+			return;
+		}
+
+		// The per-point values are calculated in separate, branch free loops,
+		// which can be optimized (unrolled, vectorized) by the JIT.
+		final Kernels kernels = Kernels.INSTANCE;
+		final double[] phi = new double[n];
+		final double[] lambda = new double[n];
+		kernels.radians(lat, phi);
+		kernels.radians(lon, lambda);
+
+		switch (_model) {
+			case VINCENTY -> {
+				final double[] sinU = new double[n];
+				final double[] cosU = new double[n];
+				for (int i = 0; i < n; ++i) {
+					final double U = reducedLatitude(phi[i]);
+					sinU[i] = sin(U);
+					cosU[i] = cos(U);
+				}
+				for (int i = 0; i < n - 1; ++i) {
+					out[i] = vincenty(
+						sinU[i], cosU[i],
+						sinU[i + 1], cosU[i + 1],
+						lambda[i + 1] - lambda[i]
+					);
+				}
+				for (int i = 0; i < n - 1; ++i) {
+					if (Double.isNaN(out[i])) {
+						throw new ArithmeticException(format(
+							"Calculating distance between [lat=%s, lon=%s] " +
+							"and [lat=%s, lon=%s] didn't converge.",
+							lat[i], lon[i], lat[i + 1], lon[i + 1]
+						));
+					}
+				}
+			}
+			case HAVERSINE -> {
+				final double[] cosphi = new double[n];
+				kernels.cosines(phi, cosphi);
+				kernels.haversine(phi, cosphi, lambda, R, out);
+			}
+			case EQUIRECTANGULAR ->
+				kernels.equirectangular(phi, lambda, A, E2, out);
+			case ANDOYER_LAMBERT -> {
+				final double[] beta = new double[n];
+				for (int i = 0; i < n; ++i) {
+					beta[i] = reducedLatitude(phi[i]);
+				}
+				final double[] cosbeta = new double[n];
+				kernels.cosines(beta, cosbeta);
+				for (int i = 0; i < n - 1; ++i) {
+					out[i] = andoyerLambert(
+						beta[i], cosbeta[i], lambda[i],
+						beta[i + 1], cosbeta[i + 1], lambda[i + 1]
+					);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Calculate the length of the (open) path, which is defined by the given
+	 * coordinate arrays, using the {@link #model()} of this geoid. The points
+	 * are given as two parallel arrays of latitude and longitude values, in
+	 * degrees. The result is the same as collecting the points with the
+	 * {@link #toPathLength()} collector.
+	 *
+	 * @see #distances(double[], double[], double[])
+	 *
+	 * @since 3.3
+	 *
+	 * @param lat the latitude values of the path points, in degrees
+	 * @param lon the longitude values of the path points, in degrees
+	 * @return the length of the path in meters
+	 * @throws NullPointerException if one of the arrays is {@code null}
+	 * @throws IllegalArgumentException if the {@code lat} and {@code lon}
+	 *         arrays have different lengths
+	 * @throws ArithmeticException if the algorithm used for calculating the
+	 *         distance between two consecutive points didn't converge, which
+	 *         is the case for a point and its (near) antidote.
+	 */
+	public double pathLength(final double[] lat, final double[] lon) {
+		final double[] distances = new double[max(lat.length - 1, 0)];
+		distances(lat, lon, distances);
+
+		final DoubleAdder length = new DoubleAdder();
+		for (double distance : distances) {
+			length.add(distance);
+		}
+		return length.value();
+	}
+
+	// Distance between the given points, in radians. Returns NaN if the
+	// Vincenty algorithm doesn't converge.
+	private double distance(
+		final double lat1,
+		final double lon1,
+		final double lat2,
+		final double lon2
+	) {
+		return switch (_model) {
+			case VINCENTY -> {
+				final double U1 = reducedLatitude(lat1);
+				final double U2 = reducedLatitude(lat2);
+				yield vincenty(sin(U1), cos(U1), sin(U2), cos(U2), lon2 - lon1);
+			}
+			case HAVERSINE -> R*centralAngle(
+				lat1, cos(lat1), lon1,
+				lat2, cos(lat2), lon2
+			);
+			case EQUIRECTANGULAR -> equirectangular(A, E2, lat1, lon1, lat2, lon2);
+			case ANDOYER_LAMBERT -> {
+				final double beta1 = reducedLatitude(lat1);
+				final double beta2 = reducedLatitude(lat2);
+				yield andoyerLambert(
+					beta1, cos(beta1), lon1,
+					beta2, cos(beta2), lon2
+				);
+			}
+		};
+	}
+
+	// Reduced (parametric) latitude of the given geodetic latitude.
+	private double reducedLatitude(final double lat) {
+		return atan((1.0 - F)*tan(lat));
+	}
+
+	// Vincenty's inverse formula, using the sine and cosine of the reduced
+	// latitudes. Returns NaN if the iteration doesn't converge.
+	private double vincenty(
+		final double sinU1,
+		final double cosU1,
+		final double sinU2,
+		final double cosU2,
+		final double omega
+	) {
 		final double sinU1sinU2 = sinU1*sinU2;
 		final double cosU1sinU2 = cosU1*sinU2;
 		final double sinU1cosU2 = sinU1*cosU2;
@@ -238,16 +478,86 @@ public final class Geoid {
 			(abs((lambda - lambda0)/lambda) > DISTANCE_ITERATION_EPSILON));
 
 		if (iteration >= DISTANCE_ITERATION_MAX) {
-			throw new ArithmeticException(format(
-				"Calculating distance between %s and %s didn't converge.",
-				start, end
-			));
+			return Double.NaN;
 		}
 
 		// Eq. 19
-		final double s = B*a*(sigma - deltasigma);
+		return B*a*(sigma - deltasigma);
+	}
 
-		return Length.of(s, Unit.METER);
+	// Central angle between the two points on the unit sphere.
+	static double centralAngle(
+		final double lat1,
+		final double coslat1,
+		final double lon1,
+		final double lat2,
+		final double coslat2,
+		final double lon2
+	) {
+		final double sinlat = sin((lat2 - lat1)/2);
+		final double sinlon = sin((lon2 - lon1)/2);
+		final double h = sinlat*sinlat + coslat1*coslat2*sinlon*sinlon;
+		return 2*asin(sqrt(min(h, 1.0)));
+	}
+
+	static double equirectangular(
+		final double a,
+		final double e2,
+		final double lat1,
+		final double lon1,
+		final double lat2,
+		final double lon2
+	) {
+		double dlon = lon2 - lon1;
+		if (dlon > PI) {
+			dlon -= 2*PI;
+		} else if (dlon < -PI) {
+			dlon += 2*PI;
+		}
+
+		// Meridional and prime vertical radius of curvature.
+		final double sinlat = sin((lat1 + lat2)/2);
+		final double w2 = 1 - e2*sinlat*sinlat;
+		final double n = a/sqrt(w2);
+		final double m = n*(1 - e2)/w2;
+
+		final double y = m*(lat2 - lat1);
+		final double x = n*cos((lat1 + lat2)/2)*dlon;
+		return sqrt(x*x + y*y);
+	}
+
+	// The latitudes are the reduced latitudes of the points.
+	private double andoyerLambert(
+		final double beta1,
+		final double cosbeta1,
+		final double lon1,
+		final double beta2,
+		final double cosbeta2,
+		final double lon2
+	) {
+		final double sigma = centralAngle(
+			beta1, cosbeta1, lon1,
+			beta2, cosbeta2, lon2
+		);
+		if (sigma == 0.0) {
+			return 0.0;
+		}
+
+		final double p = (beta1 + beta2)/2;
+		final double q = (beta2 - beta1)/2;
+		final double sinp = sin(p);
+		final double cosp = cos(p);
+		final double sinq = sin(q);
+		final double cosq = cos(q);
+		final double sinhalf = sin(sigma/2);
+		final double coshalf = cos(sigma/2);
+
+		final double x = (sigma - sin(sigma))*
+			sinp*sinp*cosq*cosq/(coshalf*coshalf);
+		final double y = (sigma + sin(sigma))*
+			cosp*cosp*sinq*sinq/(sinhalf*sinhalf);
+
+		return A*(sigma - F/2*(x + y));
 	}
 
 	/**
@@ -261,9 +571,9 @@ public final class Geoid {
 	 *     .collect(Geoid.WGSC_84.toPathLength());
 	 * }</pre>
 	 *
-	 * <b>The returned {@code Collector} doesn't work for <em>parallel</em>
-	 * stream. Using it for a <em>parallel</em> point stream will throw an
-	 * {@link UnsupportedOperationException} at runtime.</b>
+	 * The returned {@code Collector} also works for <em>parallel</em>
+	 * streams. The partial lengths are combined in the encounter order of
+	 * the points, so the point stream must be <em>ordered</em>.
 	 *
 	 * @see #toTourLength()
 	 *
@@ -290,9 +600,9 @@ public final class Geoid {
 	 *     .collect(Geoid.WGSC_84.toTourLength());
 	 * }</pre>
 	 *
-	 * <b>The returned {@code Collector} doesn't work for <em>parallel</em>
-	 * stream. Using it for a <em>parallel</em> point stream will throw an
-	 * {@link UnsupportedOperationException} at runtime.</b>
+	 * The returned {@code Collector} also works for <em>parallel</em>
+	 * streams. The partial lengths are combined in the encounter order of
+	 * the points, so the point stream must be <em>ordered</em>.
 	 *
 	 * @see #toPathLength()
 	 *
@@ -317,7 +627,7 @@ public final class Geoid {
 	 * @throws NullPointerException if the given {@code ellipsoid} is {@code null}
 	 */
 	public static Geoid of(final Ellipsoid ellipsoid) {
-		return new Geoid(ellipsoid);
+		return new Geoid(ellipsoid, DistanceModel.VINCENTY);
 	}
 
 }
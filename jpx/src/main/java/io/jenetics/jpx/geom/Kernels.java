@@ -0,0 +1,135 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx.geom;
+
+/**
+ * Closed-form kernels, which are operating on primitive coordinate arrays.
+ * The {@link #INSTANCE} uses the SIMD instructions of the CPU, via the
+ * {@code jdk.incubator.vector} module, if this module is available at
+ * runtime, e.g. by starting the JVM with
+ * {@code --add-modules jdk.incubator.vector}. Otherwise, the scalar
+ * implementation is used.
+ * <p>
+ * The min/max reductions of the vector implementation give the same results
+ * as the scalar one. The trigonometric functions of the vector implementation
+ * might differ in the last bits, which leads to distances with a relative
+ * difference of less than {@link #TOLERANCE}.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 3.3
+ * @since 3.3
+ */
+interface Kernels {
+
+	/**
+	 * The maximal relative difference of the distances, calculated by the
+	 * different kernel implementations.
+	 */
+	double TOLERANCE = 1e-12;
+
+	/**
+	 * The kernels instance, which is used by the library.
+	 */
+	Kernels INSTANCE = load();
+
+	/**
+	 * Converts the given {@code degrees} into radians.
+	 *
+	 * @param degrees the angles in degrees
+	 * @param radians the output array of the converted angles
+	 */
+	void radians(final double[] degrees, final double[] radians);
+
+	/**
+	 * Calculates the cosines of the given {@code values}.
+	 *
+	 * @param values the angles in radians
+	 * @param cosines the output array of the cosines
+	 */
+	void cosines(final double[] values, final double[] cosines);
+
+	/**
+	 * Calculates the haversine distances of consecutive points.
+	 *
+	 * @param lat the latitudes of the points in radians
+	 * @param coslat the cosines of the latitudes
+	 * @param lon the longitudes of the points in radians
+	 * @param radius the radius of the sphere
+	 * @param out the output array of the {@code lat.length - 1} distances
+	 */
+	void haversine(
+		final double[] lat,
+		final double[] coslat,
+		final double[] lon,
+		final double radius,
+		final double[] out
+	);
+
+	/**
+	 * Calculates the equirectangular distances of consecutive points.
+	 *
+	 * @param lat the latitudes of the points in radians
+	 * @param lon the longitudes of the points in radians
+	 * @param a the major semi-axes of the ellipsoid
+	 * @param e2 the square of the first eccentricity of the ellipsoid
+	 * @param out the output array of the {@code lat.length - 1} distances
+	 */
+	void equirectangular(
+		final double[] lat,
+		final double[] lon,
+		final double a,
+		final double e2,
+		final double[] out
+	);
+
+	/**
+	 * Calculates the bounds of the given, non-empty, coordinate arrays.
+	 *
+	 * @param lat the latitude values
+	 * @param lon the longitude values
+	 * @return the bounds {@code [minLat, minLon, maxLat, maxLon]}
+	 */
+	double[] bounds(final double[] lat, final double[] lon);
+
+	private static Kernels load() {
+		final Module vector = ModuleLayer.boot()
+			.findModule("jdk.incubator.vector")
+			.orElse(null);
+
+		if (vector != null) {
+			try {
+				// The module doesn't require the incubator module statically.
+				Kernels.class.getModule().addReads(vector);
+				return (Kernels)Class
+					.forName("io.jenetics.jpx.geom.VectorKernels")
+					.getDeclaredConstructor()
+					.newInstance();
+			} catch (ReflectiveOperationException |
+					LinkageError |
+					UnsupportedOperationException e)
+			{
+				// Falling back to the scalar implementation.
+			}
+		}
+
+		return new ScalarKernels();
+	}
+
+}
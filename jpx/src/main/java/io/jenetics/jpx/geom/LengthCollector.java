@@ -29,7 +29,7 @@ import io.jenetics.jpx.Point;
  * Helper class for collecting a stream of points to its length.
  *
  * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
- * @version 1.0
+ * @version 3.3
  * @since 1.0
  */
 final class LengthCollector {
@@ -44,8 +44,28 @@ final class LengthCollector {
 		_geoid = requireNonNull(geoid);
 	}
 
+	/**
+	 * Combines the partial length of the {@code other} collector, which
+	 * collected the points following the points of {@code this} collector.
+	 * The distance between the last point of {@code this} collector and the
+	 * first point of the {@code other} collector is added to the length.
+	 *
+	 * @param other the collector of the subsequent points
+	 * @return {@code this} collector, for command chaining
+	 */
 	LengthCollector combine(final LengthCollector other) {
-		throw new UnsupportedOperationException();
+		if (other._first != null) {
+			if (_first == null) {
+				_first = other._first;
+			} else {
+				_length.add(_geoid.distance(_start, other._first).doubleValue());
+			}
+
+			_length.add(other._length);
+			_start = other._start;
+		}
+
+		return this;
 	}
 
 	void add(final Point point) {
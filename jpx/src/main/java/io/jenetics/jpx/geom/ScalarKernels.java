@@ -0,0 +1,99 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx.geom;
+
+import static java.lang.Math.cos;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.Math.toRadians;
+
+/**
+ * Scalar implementation of the coordinate kernels.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 3.3
+ * @since 3.3
+ */
+final class ScalarKernels implements Kernels {
+
+	@Override
+	public void radians(final double[] degrees, final double[] radians) {
+		for (int i = 0; i < degrees.length; ++i) {
+			radians[i] = toRadians(degrees[i]);
+		}
+	}
+
+	@Override
+	public void cosines(final double[] values, final double[] cosines) {
+		for (int i = 0; i < values.length; ++i) {
+			cosines[i] = cos(values[i]);
+		}
+	}
+
+	@Override
+	public void haversine(
+		final double[] lat,
+		final double[] coslat,
+		final double[] lon,
+		final double radius,
+		final double[] out
+	) {
+		for (int i = 0; i < lat.length - 1; ++i) {
+			out[i] = radius*Geoid.centralAngle(
+				lat[i], coslat[i], lon[i],
+				lat[i + 1], coslat[i + 1], lon[i + 1]
+			);
+		}
+	}
+
+	@Override
+	public void equirectangular(
+		final double[] lat,
+		final double[] lon,
+		final double a,
+		final double e2,
+		final double[] out
+	) {
+		for (int i = 0; i < lat.length - 1; ++i) {
+			out[i] = Geoid.equirectangular(
+				a, e2,
+				lat[i], lon[i],
+				lat[i + 1], lon[i + 1]
+			);
+		}
+	}
+
+	@Override
+	public double[] bounds(final double[] lat, final double[] lon) {
+		double minLat = Double.MAX_VALUE;
+		double minLon = Double.MAX_VALUE;
+		double maxLat = -Double.MAX_VALUE;
+		double maxLon = -Double.MAX_VALUE;
+		for (int i = 0; i < lat.length; ++i) {
+			minLat = min(minLat, lat[i]);
+			minLon = min(minLon, lon[i]);
+			maxLat = max(maxLat, lat[i]);
+			maxLon = max(maxLon, lon[i]);
+		}
+
+		return new double[]{minLat, minLon, maxLat, maxLon};
+	}
+
+}
@@ -0,0 +1,211 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import io.jenetics.jpx.GPX.Reader.Order;
+import io.jenetics.jpx.GPX.Reader.PathResult;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class BatchReaderTest {
+
+	private static final int FILES = 20;
+
+	private Path directory;
+	private final List<Path> paths = new ArrayList<>();
+	private final List<GPX> gpxs = new ArrayList<>();
+	private ExecutorService executor;
+
+	@BeforeClass
+	public void setup() throws IOException {
+		directory = Files.createTempDirectory("jpx-batch-");
+		final var random = new Random(123);
+		for (int i = 0; i < FILES; ++i) {
+			final Path path = directory.resolve(String.format("track_%02d.gpx", i));
+			if (i%7 == 3) {
+				// Invalid GPX files.
+				Files.writeString(path, "<gpx><trk>");
+				gpxs.add(null);
+			} else {
+				GPX.write(GPXTest.nextGPX(random), path);
+				gpxs.add(GPX.read(path));
+			}
+			paths.add(path);
+		}
+		Files.writeString(directory.resolve("readme.txt"), "No GPX file.");
+
+		executor = Executors.newFixedThreadPool(4);
+	}
+
+	@AfterClass
+	public void cleanup() throws IOException {
+		executor.shutdown();
+		try (var files = Files.list(directory)) {
+			for (Path file : files.toList()) {
+				Files.delete(file);
+			}
+		}
+		Files.delete(directory);
+	}
+
+	private void assertResult(final PathResult result) {
+		Assert.assertEquals(result.path(), paths.get(result.index()));
+
+		final GPX expected = gpxs.get(result.index());
+		if (expected != null) {
+			Assert.assertTrue(result.isSuccess());
+			Assert.assertEquals(result.gpx(), expected);
+		} else {
+			Assert.assertFalse(result.isSuccess());
+			Assert.assertNull(result.gpx());
+			Assert.assertNotNull(result.error());
+		}
+	}
+
+	@Test
+	public void readAllInInputOrder() {
+		final List<PathResult> results = GPX.Reader.DEFAULT
+			.readAll(paths, executor, 3, Order.INPUT)
+			.toList();
+
+		Assert.assertEquals(results.size(), FILES);
+		for (int i = 0; i < FILES; ++i) {
+			Assert.assertEquals(results.get(i).index(), i);
+			assertResult(results.get(i));
+		}
+	}
+
+	@Test
+	public void readAllInCompletionOrder() {
+		final List<PathResult> results = GPX.Reader.DEFAULT
+			.readAll(paths, executor, 5, Order.COMPLETION)
+			.toList();
+
+		Assert.assertEquals(
+			results.stream().map(PathResult::index).collect(Collectors.toSet()),
+			IntStream.range(0, FILES).boxed().collect(Collectors.toSet())
+		);
+		results.forEach(this::assertResult);
+	}
+
+	@Test
+	public void readAllWithDefaults() {
+		final List<PathResult> results = GPX.Reader.DEFAULT
+			.readAll(paths)
+			.toList();
+
+		Assert.assertEquals(results.size(), FILES);
+		results.forEach(this::assertResult);
+	}
+
+	@Test
+	public void readAllDirectory() throws IOException {
+		final List<PathResult> results = GPX.Reader.DEFAULT
+			.readAll(directory, "*.gpx", executor, 2, Order.INPUT)
+			.toList();
+
+		Assert.assertEquals(
+			results.stream().map(PathResult::path).toList(),
+			paths
+		);
+		results.forEach(this::assertResult);
+	}
+
+	@Test
+	public void boundedInFlight() {
+		final int maxInFlight = 3;
+		final var submitted = new AtomicInteger();
+		final var consumed = new AtomicInteger();
+
+		GPX.Reader.DEFAULT
+			.readAll(
+				paths,
+				task -> {
+					// The consumed counter is incremented after the next file
+					// has been submitted.
+					Assert.assertTrue(
+						submitted.incrementAndGet() - consumed.get() <= maxInFlight + 1
+					);
+					executor.execute(task);
+				},
+				maxInFlight,
+				Order.COMPLETION
+			)
+			.forEach(result -> consumed.incrementAndGet());
+
+		Assert.assertEquals(submitted.get(), FILES);
+		Assert.assertEquals(consumed.get(), FILES);
+	}
+
+	@Test
+	public void lazyReading() {
+		final var submitted = new AtomicInteger();
+		final PathResult first = GPX.Reader.DEFAULT
+			.readAll(
+				paths,
+				task -> {
+					submitted.incrementAndGet();
+					task.run();
+				},
+				2,
+				Order.INPUT
+			)
+			.findFirst()
+			.orElseThrow();
+
+		Assert.assertEquals(first.index(), 0);
+		Assert.assertTrue(submitted.get() <= 3, "Submitted: " + submitted);
+	}
+
+	@Test(expectedExceptions = IOException.class)
+	public void resultGetThrowsError() throws IOException {
+		final PathResult result = GPX.Reader.DEFAULT
+			.readAll(Set.of(paths.get(3)), executor, 1, Order.INPUT)
+			.findFirst()
+			.orElseThrow();
+
+		result.get();
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void invalidMaxInFlight() {
+		GPX.Reader.DEFAULT.readAll(paths, executor, 0, Order.INPUT);
+	}
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import static java.lang.Double.doubleToLongBits;
+import static java.util.Locale.ENGLISH;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.text.NumberFormat;
+import java.text.ParseException;
+import java.util.Random;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class DecimalsTest {
+
+	@Test
+	public void parseRandomValues() throws ParseException {
+		final var random = new Random(1234);
+		final var format = NumberFormat.getNumberInstance(ENGLISH);
+
+		for (int i = 0; i < 10_000; ++i) {
+			final String value = Double.toString((random.nextDouble() - 0.5)*360);
+			final double parsed = Decimals.parse(value, 0, value.length());
+
+			if (!Double.isNaN(parsed)) {
+				assertThat(doubleToLongBits(parsed))
+					.isEqualTo(doubleToLongBits(Double.parseDouble(value)));
+				assertThat(doubleToLongBits(parsed))
+					.isEqualTo(doubleToLongBits(format.parse(value).doubleValue()));
+			}
+		}
+	}
+
+	@Test(dataProvider = "values")
+	public void parse(final String value, final boolean fast) {
+		final double parsed = Decimals.parse(value, 0, value.length());
+		assertThat(Double.isNaN(parsed)).isEqualTo(!fast);
+		if (fast) {
+			assertThat(doubleToLongBits(parsed))
+				.isEqualTo(doubleToLongBits(Double.parseDouble(value)));
+		}
+	}
+
+	@DataProvider
+	public Object[][] values() {
+		return new Object[][] {
+			{"0", true},
+			{"-0", true},
+			{"-0.0", true},
+			{"12", true},
+			{"12.", true},
+			{".5", true},
+			{"-.5", true},
+			{"48.2081743", true},
+			{"-16.3738189", true},
+			{"0.1234567890123456", true},
+			{"9007199254740993", false},
+			{"0.12345678901234567890123", false},
+			{"1e5", false},
+			{"+5", false},
+			{"1,234.5", false},
+			{" 5", false},
+			{"NaN", false},
+			{"Infinity", false},
+			{"-", false},
+			{".", false},
+			{"", false}
+		};
+	}
+
+	@Test(expectedExceptions = NumberFormatException.class)
+	public void parseDoubleInvalid() {
+		Decimals.parseDouble("1.2.3");
+	}
+
+	@Test
+	public void parseDoubleFallback() {
+		assertThat(Decimals.parseDouble("1e5")).isEqualTo(1e5);
+		assertThat(Decimals.parseDouble("+5")).isEqualTo(5.0);
+	}
+
+	@Test(dataProvider = "fractionDigits")
+	public void formatRandomValues(final int fractionDigits) {
+		final var random = new Random(fractionDigits);
+		final var format = NumberFormat.getNumberInstance(ENGLISH);
+		format.setMaximumFractionDigits(fractionDigits);
+		format.setGroupingUsed(false);
+
+		for (int i = 0; i < 10_000; ++i) {
+			final double value = (random.nextDouble() - 0.5)*
+				Math.pow(10, random.nextInt(12) - 4);
+
+			final String formatted = Decimals.format(value, fractionDigits);
+			if (formatted != null) {
+				assertThat(formatted).isEqualTo(format.format(value));
+			}
+		}
+	}
+
+	@DataProvider
+	public Object[][] fractionDigits() {
+		return new Object[][] {{0}, {1}, {3}, {5}, {8}, {12}, {20}};
+	}
+
+	@Test(dataProvider = "formats")
+	public void format(final double value, final int fractionDigits, final String expected) {
+		assertThat(Decimals.format(value, fractionDigits)).isEqualTo(expected);
+	}
+
+	@DataProvider
+	public Object[][] formats() {
+		return new Object[][] {
+			{0.0, 8, "0"},
+			{-0.0, 8, "-0"},
+			{-1e-12, 8, "-0"},
+			{12.0, 8, "12"},
+			{12.5, 0, null},
+			{0.125, 2, null},
+			{48.20817431, 8, "48.20817431"},
+			{48.208174316, 8, "48.20817432"},
+			{-16.3738189, 3, "-16.374"},
+			{1e20, 8, null},
+			{Double.NaN, 8, null},
+			{Double.POSITIVE_INFINITY, 8, null}
+		};
+	}
+
+}
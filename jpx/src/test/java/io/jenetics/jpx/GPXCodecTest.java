@@ -0,0 +1,262 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class GPXCodecTest {
+
+	// Points with the given number of fraction digits, like read from a file.
+	private static List<WayPoint> quantizedPoints(
+		final Random random,
+		final int size,
+		final int digits
+	) {
+		final double scale = Math.pow(10, digits);
+		return Stream
+			.generate(() -> WayPoint.of(
+				Latitude.ofDegrees(Math.round((random.nextDouble()*180 - 90)*scale)/scale),
+				Longitude.ofDegrees(Math.round((random.nextDouble()*360 - 180)*scale)/scale),
+				random.nextInt(10) != 0
+					? Length.of(random.nextInt(100_000)/100.0, Length.Unit.METER)
+					: null,
+				random.nextInt(10) != 0
+					? Instant.ofEpochSecond(1_600_000_000L + random.nextInt(100_000))
+					: null
+			))
+			.limit(size)
+			.toList();
+	}
+
+	private static GPX gpx(final List<WayPoint> points) {
+		return GPX.builder()
+			.addTrack(track -> track
+				.addSegment(segment -> segment.points(points)))
+			.build();
+	}
+
+	@Test(invocationCount = 10)
+	public void encodeDecodeRandomGPX() {
+		final GPX gpx = GPXTest.nextGPX(new Random());
+
+		final byte[] bytes = GPXCodec.DEFAULT.encode(gpx);
+		Assert.assertEquals(GPXCodec.DEFAULT.decode(bytes), gpx);
+	}
+
+	@Test(dataProvider = "digits")
+	public void encodeDecodeWithPrecision(final Integer digits) {
+		final GPX gpx = GPXTest.nextGPX(new Random(digits));
+		final GPXCodec codec = GPXCodec.of(digits, digits);
+
+		Assert.assertEquals(codec.decode(codec.encode(gpx)), gpx);
+	}
+
+	@DataProvider(name = "digits")
+	public Object[][] digits() {
+		return new Object[][] {{0}, {1}, {5}, {7}, {GPXCodec.MAX_DIGITS}};
+	}
+
+	@Test
+	public void encodeDecodeQuantizedPoints() {
+		final GPX gpx = gpx(quantizedPoints(new Random(123), 1000, 6));
+		final GPXCodec codec = GPXCodec.of(6, 2);
+
+		final byte[] bytes = codec.encode(gpx);
+		Assert.assertEquals(codec.decode(bytes), gpx);
+		Assert.assertEquals(GPXCodec.DEFAULT.decode(bytes), gpx);
+
+		final byte[] binary = GPX.Writer.DEFAULT.toByteArray(gpx);
+		Assert.assertTrue(
+			bytes.length*2 < binary.length,
+			bytes.length + " >= " + binary.length/2
+		);
+	}
+
+	@Test
+	public void encodeDecodeSpecialValues() {
+		final GPX gpx = gpx(List.of(
+			WayPoint.of(-0.0, -0.0),
+			WayPoint.of(
+				Latitude.ofDegrees(Math.nextUp(45.0)),
+				Longitude.ofDegrees(Math.PI),
+				Length.of(Double.NaN, Length.Unit.METER),
+				Instant.ofEpochSecond(-1_000_000_000_000L, 999_999_999)
+			),
+			WayPoint.of(
+				Latitude.ofDegrees(90),
+				Longitude.ofDegrees(-180),
+				Length.of(Double.MAX_VALUE, Length.Unit.METER),
+				Instant.MAX
+			),
+			WayPoint.of(
+				Latitude.ofDegrees(-90),
+				Longitude.ofDegrees(180),
+				Length.of(Double.NEGATIVE_INFINITY, Length.Unit.METER),
+				Instant.MIN
+			),
+			WayPoint.builder().name("name").ele(10).build(1, 2)
+		));
+
+		final byte[] bytes = GPXCodec.DEFAULT.encode(gpx);
+		final GPX decoded = GPXCodec.DEFAULT.decode(bytes);
+		Assert.assertEquals(decoded, gpx);
+
+		final List<WayPoint> points = decoded.getTracks().get(0)
+			.getSegments().get(0)
+			.getPoints();
+		Assert.assertEquals(
+			Double.doubleToRawLongBits(points.get(0).getLatitude().doubleValue()),
+			Double.doubleToRawLongBits(-0.0)
+		);
+	}
+
+	@Test
+	public void writeRead() throws IOException {
+		final GPX gpx = GPXTest.nextGPX(new Random(456));
+		final GPXCodec codec = GPXCodec.of(3, 1);
+
+		final var out = new ByteArrayOutputStream();
+		codec.write(gpx, out);
+		codec.write(gpx, out);
+
+		final var in = new ByteArrayInputStream(out.toByteArray());
+		Assert.assertEquals(codec.read(in), gpx);
+		Assert.assertEquals(codec.read(in), gpx);
+		Assert.assertEquals(in.read(), -1);
+	}
+
+	@Test(invocationCount = 5)
+	public void encodedSize() {
+		final GPX gpx = GPXTest.nextGPX(new Random());
+		Assert.assertEquals(
+			GPXCodec.DEFAULT.encodedSize(gpx),
+			GPXCodec.DEFAULT.encode(gpx).length
+		);
+	}
+
+	@Test
+	public void encodeDecodeBuffer() {
+		final GPX gpx1 = GPXTest.nextGPX(new Random(1));
+		final GPX gpx2 = gpx(quantizedPoints(new Random(2), 100, 7));
+		final GPXCodec codec = GPXCodec.DEFAULT;
+
+		final ByteBuffer buffer = ByteBuffer.allocateDirect(
+			codec.encodedSize(gpx1) + codec.encodedSize(gpx2) + 10
+		);
+		buffer.position(10);
+		codec.encode(gpx1, buffer);
+		codec.encode(gpx2, buffer);
+		Assert.assertEquals(buffer.remaining(), 0);
+
+		buffer.flip().position(10);
+		Assert.assertEquals(codec.decode(buffer), gpx1);
+		Assert.assertEquals(codec.decode(buffer), gpx2);
+		Assert.assertEquals(buffer.remaining(), 0);
+	}
+
+	@Test
+	public void encodeWithAllocator() {
+		final GPX gpx = GPXTest.nextGPX(new Random(3));
+		final List<Integer> sizes = new ArrayList<>();
+
+		// Pooled buffers may be larger than requested.
+		final ByteBuffer buffer = GPXCodec.DEFAULT.encode(gpx, size -> {
+			sizes.add(size);
+			return ByteBuffer.allocate(size + 100).position(50);
+		});
+
+		Assert.assertEquals(sizes, List.of(GPXCodec.DEFAULT.encodedSize(gpx)));
+		Assert.assertEquals(buffer.position(), 50);
+		Assert.assertEquals(buffer.remaining(), sizes.get(0).intValue());
+		Assert.assertEquals(GPXCodec.DEFAULT.decode(buffer), gpx);
+	}
+
+	@Test(expectedExceptions = BufferOverflowException.class)
+	public void encodeIntoSmallBuffer() {
+		final GPX gpx = gpx(quantizedPoints(new Random(4), 100, 7));
+		GPXCodec.DEFAULT.encode(gpx, ByteBuffer.allocate(100));
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void decodeTruncatedBuffer() {
+		final GPX gpx = gpx(quantizedPoints(new Random(5), 100, 7));
+		final byte[] bytes = GPXCodec.DEFAULT.encode(gpx);
+		GPXCodec.DEFAULT.decode(ByteBuffer.wrap(bytes, 0, bytes.length - 1));
+	}
+
+	@Test(dataProvider = "files")
+	public void encodeDecodeFile(final String resource) throws IOException {
+		final GPX gpx;
+		try (InputStream in = getClass().getResourceAsStream(resource)) {
+			gpx = GPX.Reader.of(GPX.Reader.Mode.LENIENT).read(in);
+		}
+
+		final byte[] bytes = GPXCodec.DEFAULT.encode(gpx);
+		Assert.assertEquals(GPXCodec.DEFAULT.decode(bytes), gpx);
+	}
+
+	@DataProvider(name = "files")
+	public Object[][] files() {
+		return new Object[][] {
+			{"/io/jenetics/jpx/Austria.gpx"},
+			{"/io/jenetics/jpx/GPX-full.gpx"},
+			{"/io/jenetics/jpx/Gpx-full-sample.gpx"},
+			{"/io/jenetics/jpx/GPX_10-1.gpx"},
+			{"/io/jenetics/jpx/GPX_extensions.gpx"}
+		};
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void decodeInvalidBytes() {
+		GPXCodec.DEFAULT.decode(GPX.Writer.DEFAULT.toByteArray(
+			GPXTest.nextGPX(new Random(789))
+		));
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void invalidDigits() {
+		GPXCodec.of(GPXCodec.MAX_DIGITS + 1, 2);
+	}
+
+	@Test
+	public void equalsHashCode() {
+		Assert.assertEquals(GPXCodec.of(7, 3), GPXCodec.DEFAULT);
+		Assert.assertEquals(GPXCodec.of(7, 3).hashCode(), GPXCodec.DEFAULT.hashCode());
+		Assert.assertNotEquals(GPXCodec.of(6, 3), GPXCodec.DEFAULT);
+	}
+
+}
@@ -0,0 +1,195 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import static java.lang.String.format;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import io.jenetics.jpx.GPX.Version;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class GPXHandlerTest {
+
+	/**
+	 * Rebuilds the GPX object from the handler events.
+	 */
+	private static final class Collector implements GPXHandler {
+		Metadata metadata;
+		final List<WayPoint> wayPoints = new ArrayList<>();
+		final List<List<WayPoint>> routes = new ArrayList<>();
+		final List<List<List<WayPoint>>> tracks = new ArrayList<>();
+		final List<String> events = new ArrayList<>();
+
+		@Override
+		public void onMetadata(final Metadata metadata) {
+			this.metadata = metadata;
+		}
+
+		@Override
+		public void onWayPoint(final WayPoint point) {
+			wayPoints.add(point);
+		}
+
+		@Override
+		public void onRouteStart(final int index) {
+			events.add("rte-start-" + index);
+			routes.add(new ArrayList<>());
+		}
+
+		@Override
+		public void onRoutePoint(final WayPoint point) {
+			routes.get(routes.size() - 1).add(point);
+		}
+
+		@Override
+		public void onRouteEnd(final int index) {
+			events.add("rte-end-" + index);
+		}
+
+		@Override
+		public void onTrackStart(final int index) {
+			events.add("trk-start-" + index);
+			tracks.add(new ArrayList<>());
+		}
+
+		@Override
+		public void onSegmentStart(final int index) {
+			events.add("trkseg-start-" + index);
+			tracks.get(tracks.size() - 1).add(new ArrayList<>());
+		}
+
+		@Override
+		public void onTrackPoint(final WayPoint point) {
+			final var segments = tracks.get(tracks.size() - 1);
+			segments.get(segments.size() - 1).add(point);
+		}
+
+		@Override
+		public void onSegmentEnd(final int index) {
+			events.add("trkseg-end-" + index);
+		}
+
+		@Override
+		public void onTrackEnd(final int index) {
+			events.add("trk-end-" + index);
+		}
+	}
+
+	@Test(dataProvider = "files")
+	public void read(final String file) throws IOException {
+		final var path = Paths.get("src/test/resources/io/jenetics/jpx/serialization", file);
+		final GPX gpx = GPX.read(path);
+
+		final var collector = new Collector();
+		GPX.Reader.DEFAULT.read(path, collector);
+
+		assertThat(collector.metadata)
+			.isEqualTo(gpx.getMetadata().orElse(null));
+		assertThat(collector.wayPoints)
+			.isEqualTo(gpx.getWayPoints());
+		assertThat(collector.routes)
+			.isEqualTo(gpx.routes().map(Route::getPoints).toList());
+		assertThat(collector.tracks)
+			.isEqualTo(gpx.tracks()
+				.map(track -> track.segments()
+					.map(TrackSegment::getPoints)
+					.toList())
+				.toList());
+
+		final var events = new ArrayList<String>();
+		for (int i = 0; i < gpx.getRoutes().size(); ++i) {
+			events.add("rte-start-" + i);
+			events.add("rte-end-" + i);
+		}
+		for (int i = 0; i < gpx.getTracks().size(); ++i) {
+			events.add("trk-start-" + i);
+			final var segments = gpx.getTracks().get(i).getSegments();
+			for (int j = 0; j < segments.size(); ++j) {
+				events.add("trkseg-start-" + j);
+				events.add("trkseg-end-" + j);
+			}
+			events.add("trk-end-" + i);
+		}
+		assertThat(collector.events).isEqualTo(events);
+	}
+
+	@DataProvider
+	public Object[][] files() {
+		final var files = new Object[15][];
+		for (int i = 0; i < files.length; ++i) {
+			files[i] = new Object[]{format("gpx_%d.xml", i)};
+		}
+		return files;
+	}
+
+	@Test
+	public void readV10Metadata() throws IOException {
+		final var reader = GPX.Reader.of(Version.V10, GPX.Reader.Mode.STRICT);
+		final var resource = "/io/jenetics/jpx/GPX_10-1.gpx";
+
+		final GPX gpx;
+		try (InputStream in = getClass().getResourceAsStream(resource)) {
+			gpx = reader.read(in);
+		}
+
+		final var collector = new Collector();
+		try (InputStream in = getClass().getResourceAsStream(resource)) {
+			reader.read(in, collector);
+		}
+
+		assertThat(collector.metadata)
+			.isEqualTo(gpx.getMetadata().orElse(null));
+		assertThat(collector.tracks).hasSize(gpx.getTracks().size());
+	}
+
+	@Test
+	public void readEventsOnly() throws IOException {
+		final var path = Paths.get("src/test/resources/io/jenetics/jpx/serialization/gpx_5.xml");
+		final GPX gpx = GPX.read(path);
+
+		final int[] counts = new int[2];
+		GPX.Reader.DEFAULT.read(path, new GPXHandler() {
+			@Override
+			public void onTrackStart(final int index) {
+				++counts[0];
+			}
+			@Override
+			public void onSegmentStart(final int index) {
+				++counts[1];
+			}
+		});
+
+		assertThat(counts[0]).isEqualTo(gpx.getTracks().size());
+		assertThat(counts[1])
+			.isEqualTo(gpx.tracks().mapToInt(t -> t.getSegments().size()).sum());
+	}
+
+}
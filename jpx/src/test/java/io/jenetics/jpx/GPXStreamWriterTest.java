@@ -0,0 +1,138 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import io.jenetics.jpx.GPX.Version;
+import io.jenetics.jpx.GPX.Writer.Indent;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class GPXStreamWriterTest {
+
+	@Test(dataProvider = "writers")
+	public void write(final Version version, final GPX.Writer writer)
+		throws IOException
+	{
+		final GPX header = GPX.builder(version, "JPX test")
+			.metadata(md -> md
+				.name("metadata")
+				.time(Instant.parse("2024-01-01T10:00:00Z")))
+			.addWayPoint(WayPoint.of(48.2, 16.3))
+			.build();
+
+		final List<Track> tracks = new ArrayList<>();
+		for (int t = 0; t < 2; ++t) {
+			final var track = Track.builder().name("track_" + t);
+			for (int s = 0; s < 3; ++s) {
+				final var segment = TrackSegment.builder();
+				for (int p = 0; p < 1500*s; ++p) {
+					segment.addPoint(WayPoint.builder()
+						.lat(48.2 + p*0.0001)
+						.lon(16.3)
+						.ele(p)
+						.time(Instant.ofEpochSecond(p))
+						.build());
+				}
+				track.addSegment(segment.build());
+			}
+			tracks.add(track.build());
+		}
+
+		final var expected = new ByteArrayOutputStream();
+		writer.write(header.toBuilder().tracks(tracks).build(), expected);
+
+		final var actual = new ByteArrayOutputStream();
+		try (var out = writer.open(actual, header)) {
+			for (var track : tracks) {
+				out.beginTrack(track.toBuilder().segments(List.of()).build());
+				for (var segment : track.getSegments()) {
+					out.beginSegment();
+					for (var point : segment.getPoints()) {
+						out.writePoint(point);
+					}
+					out.endSegment();
+				}
+				out.endTrack();
+			}
+		}
+
+		assertThat(actual.toByteArray()).isEqualTo(expected.toByteArray());
+	}
+
+	@DataProvider
+	public Object[][] writers() {
+		return new Object[][] {
+			{Version.V10, GPX.Writer.DEFAULT},
+			{Version.V11, GPX.Writer.DEFAULT},
+			{Version.V10, GPX.Writer.of(Indent.NULL, 3)},
+			{Version.V11, GPX.Writer.of(Indent.NULL, 3)}
+		};
+	}
+
+	@Test
+	public void closeOpenElements() throws IOException {
+		final var output = new ByteArrayOutputStream();
+		try (var out = GPX.Writer.DEFAULT.open(output)) {
+			out.beginTrack()
+				.beginSegment()
+				.writePoint(WayPoint.of(48.2, 16.3))
+				.writePoint(WayPoint.of(48.3, 16.4));
+		}
+
+		final GPX gpx = GPX.Reader.DEFAULT
+			.read(new ByteArrayInputStream(output.toByteArray()));
+
+		final List<WayPoint> points = gpx.tracks()
+			.flatMap(Track::segments)
+			.flatMap(TrackSegment::points)
+			.toList();
+
+		assertThat(points)
+			.isEqualTo(List.of(WayPoint.of(48.2, 16.3), WayPoint.of(48.3, 16.4)));
+	}
+
+	@Test(expectedExceptions = IllegalStateException.class)
+	public void writePointWithoutSegment() throws IOException {
+		try (var out = GPX.Writer.DEFAULT.open(new ByteArrayOutputStream())) {
+			out.beginTrack().writePoint(WayPoint.of(48.2, 16.3));
+		}
+	}
+
+	@Test(expectedExceptions = IllegalStateException.class)
+	public void writeAfterClose() throws IOException {
+		final var out = GPX.Writer.DEFAULT.open(new ByteArrayOutputStream());
+		out.close();
+		out.beginTrack();
+	}
+
+}
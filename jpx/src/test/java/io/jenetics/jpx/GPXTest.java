@@ -38,14 +38,24 @@ import java.io.InvalidObjectException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.text.NumberFormat;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Random;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import javax.xml.stream.XMLStreamException;
 import javax.xml.transform.TransformerFactory;
@@ -58,7 +68,9 @@ import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 import org.w3c.dom.Document;
 
+import io.jenetics.jpx.GPX.Reader.IndexedPoint;
 import io.jenetics.jpx.GPX.Reader.Mode;
+import io.jenetics.jpx.GPX.Reader.PointType;
 import io.jenetics.jpx.GPX.Version;
 import io.jenetics.jpx.GPX.Writer.Indent;
 import io.jenetics.jpx.Length.Unit;
@@ -489,6 +501,138 @@ public class GPXTest extends XMLStreamTestBase<GPX> {
 		assertThat(read).isEqualTo(gpx);
 	}
 
+	@Test
+	public void readPathWithDeclaredEncoding() throws IOException {
+		final String xml = """
+			<?xml version="1.0" encoding="ISO-8859-1"?>
+			<gpx version="1.1" creator="Jürgen">
+				<wpt lat="1" lon="2"><name>Größe</name></wpt>
+			</gpx>
+			""";
+
+		final Path path = Files.createTempFile("jpx-encoding-", ".gpx");
+		try {
+			Files.write(path, xml.getBytes(StandardCharsets.ISO_8859_1));
+
+			final GPX gpx = GPX.Reader.DEFAULT.read(path);
+			Assert.assertEquals(gpx.getCreator(), "Jürgen");
+			Assert.assertEquals(
+				gpx.getWayPoints().get(0).getName().orElseThrow(),
+				"Größe"
+			);
+		} finally {
+			Files.deleteIfExists(path);
+		}
+	}
+
+	@Test
+	public void readInputStreamWithDeclaredEncoding() throws IOException {
+		final byte[] xml = """
+			<?xml version="1.0" encoding="ISO-8859-1"?>
+			<gpx version="1.1" creator="Jürgen">
+				<wpt lat="1" lon="2"><name>Größe</name></wpt>
+			</gpx>
+			""".getBytes(StandardCharsets.ISO_8859_1);
+
+		final GPX gpx = GPX.Reader.DEFAULT.read(new ByteArrayInputStream(xml));
+		Assert.assertEquals(gpx.getCreator(), "Jürgen");
+		Assert.assertEquals(
+			gpx.getWayPoints().get(0).getName().orElseThrow(),
+			"Größe"
+		);
+
+		final var names = new ArrayList<String>();
+		GPX.Reader.DEFAULT.read(
+			new ByteArrayInputStream(xml),
+			new GPXHandler() {
+				@Override
+				public void onWayPoint(final WayPoint point) {
+					point.getName().ifPresent(names::add);
+				}
+			}
+		);
+		Assert.assertEquals(names, List.of("Größe"));
+	}
+
+	@Test
+	public void fromStringWithDeclaredEncoding() {
+		final GPX gpx = GPX.Reader.DEFAULT.fromString("""
+			<?xml version="1.0" encoding="ISO-8859-1"?>
+			<gpx version="1.1" creator="Jürgen">
+				<wpt lat="1" lon="2"><name>Zürich Straße</name></wpt>
+			</gpx>
+			"""
+		);
+
+		Assert.assertEquals(gpx.getCreator(), "Jürgen");
+		Assert.assertEquals(
+			gpx.getWayPoints().get(0).getName().orElseThrow(),
+			"Zürich Straße"
+		);
+	}
+
+	@Test
+	public void readBigPath() throws IOException {
+		final var random = new Random(123);
+		final var gpx = GPX.builder();
+		final var segment = TrackSegment.builder();
+		for (int i = 0; i < 20_000; ++i) {
+			segment.addPoint(WayPointTest.nextWayPoint(random));
+		}
+		gpx.addTrack(track -> track.addSegment(segment.build()));
+
+		final Path path = Files.createTempFile("jpx-big-", ".gpx");
+		try {
+			GPX.write(gpx.build(), path);
+			Assert.assertTrue(Files.size(path) >= ByteBuffers.BUFFER_THRESHOLD);
+
+			final GPX read;
+			try (var in = Files.newInputStream(path)) {
+				read = GPX.Reader.DEFAULT.read(in);
+			}
+			Assert.assertEquals(GPX.Reader.DEFAULT.read(path), read);
+
+			// The file is released, when the reading returns.
+			Files.delete(path);
+		} finally {
+			Files.deleteIfExists(path);
+		}
+	}
+
+	@Test
+	public void readMappedBuffer() throws IOException {
+		final var random = new Random(123);
+		final GPX gpx = GPX.builder()
+			.addTrack(track -> track.addSegment(segment -> {
+				for (int i = 0; i < 1000; ++i) {
+					segment.addPoint(WayPointTest.nextWayPoint(random));
+				}
+			}))
+			.build();
+
+		final Path path = Files.createTempFile("jpx-mapped-", ".gpx");
+		try {
+			GPX.write(gpx, path);
+
+			try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+				final ByteBuffer bytes = channel
+					.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+				Assert.assertEquals(
+					GPX.Reader.DEFAULT.read(bytes),
+					GPX.Reader.DEFAULT.read(path)
+				);
+				Assert.assertEquals(bytes.position(), 0);
+			}
+		} finally {
+			try {
+				Files.deleteIfExists(path);
+			} catch (IOException ignore) {
+				// The mapped file can't be deleted on Windows.
+			}
+		}
+	}
+
 	@Test(dataProvider = "readWriteGPX")
 	public void readWrite(final String resource) throws IOException {
 		try (InputStream in = getClass().getResourceAsStream(resource)) {
@@ -1001,4 +1145,104 @@ public class GPXTest extends XMLStreamTestBase<GPX> {
 		assertThat(createGPX.getCreator()).isEqualTo("JPX - https://github.com/jenetics/jpx");
 	}
 
+	@Test
+	public void concurrentReading() throws Exception {
+		final var random = new Random(123);
+		final var gpxs = Stream.generate(() -> nextGPX(random))
+			.limit(50)
+			.toList();
+		final var strings = gpxs.stream()
+			.map(GPX.Writer.of(Indent.SPACE4, 25)::toString)
+			.toList();
+
+		final var reader = GPX.Reader.of(Mode.STRICT);
+		final var read = IntStream.range(0, strings.size()).parallel()
+			.mapToObj(i -> reader.fromString(strings.get(i)))
+			.toList();
+
+		assertThat(read).isEqualTo(gpxs);
+	}
+
+	@Test
+	public void concurrentWriting() {
+		final var random = new Random(456);
+		final var gpxs = Stream.generate(() -> nextGPX(random))
+			.limit(50)
+			.toList();
+
+		final var writer = GPX.Writer.of(Indent.SPACE2, 5);
+		final var expected = gpxs.stream()
+			.map(writer::toString)
+			.toList();
+		final var actual = gpxs.parallelStream()
+			.map(writer::toString)
+			.toList();
+
+		assertThat(actual).isEqualTo(expected);
+	}
+
+	@Test
+	public void streamTrackPoints() throws IOException {
+		final var path = Paths.get(
+			"src/test/resources/io/jenetics/jpx/serialization/gpx_3.xml"
+		);
+		final GPX gpx = GPX.read(path);
+
+		final List<WayPoint> expected = gpx.tracks()
+			.flatMap(Track::segments)
+			.flatMap(TrackSegment::points)
+			.toList();
+
+		try (var points = GPX.Reader.DEFAULT.stream(path)) {
+			assertThat(points.toList()).isEqualTo(expected);
+		}
+	}
+
+	@Test
+	public void streamIndexedPoints() throws IOException {
+		final String baseDir = "src/test/resources/io/jenetics/jpx/serialization";
+
+		for (int i = 0; i < 15; ++i) {
+			final var path = Paths.get(baseDir, format("gpx_%d.xml", i));
+			final GPX gpx = GPX.read(path);
+
+			final List<IndexedPoint> points;
+			try (var stream = GPX.Reader.DEFAULT
+				.stream(path, EnumSet.allOf(PointType.class)))
+			{
+				points = stream.toList();
+			}
+
+			assertThat(points.stream()
+				.filter(p -> p.type() == PointType.WAY_POINT)
+				.map(IndexedPoint::point)
+				.toList()
+			).isEqualTo(gpx.getWayPoints());
+
+			assertThat(points.stream()
+				.filter(p -> p.type() == PointType.ROUTE_POINT)
+				.map(IndexedPoint::point)
+				.toList()
+			).isEqualTo(gpx.routes().flatMap(Route::points).toList());
+
+			assertThat(points.stream()
+				.filter(p -> p.type() == PointType.TRACK_POINT)
+				.toList()
+			).allMatch(p -> gpx.getTracks().get(p.index())
+				.getSegments().get(p.segment())
+				.getPoints().contains(p.point())
+			);
+
+			assertThat(points.stream()
+				.filter(p -> p.type() == PointType.TRACK_POINT)
+				.map(IndexedPoint::point)
+				.toList()
+			).isEqualTo(gpx.tracks()
+				.flatMap(Track::segments)
+				.flatMap(TrackSegment::points)
+				.toList()
+			);
+		}
+	}
+
 }
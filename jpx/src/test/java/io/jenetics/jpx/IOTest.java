@@ -24,6 +24,9 @@ import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Random;
 
 import org.testng.Assert;
@@ -89,4 +92,61 @@ public class IOTest {
 		Assert.assertTrue(XML.equals(value, read));
 	}
 
+	@Test
+	public void readWriteDictionaryStrings() throws IOException {
+		final Random random = new Random(123);
+		final List<String> values = new ArrayList<>();
+		for (int i = 0; i < 1000; ++i) {
+			values.add("value_" + random.nextInt(100));
+		}
+
+		final ByteArrayOutputStream bout = new ByteArrayOutputStream();
+		final DataOutputStream dout = new DataOutputStream(bout);
+		final IO.DictionaryOutput out = IO.DictionaryOutput.of(dout);
+		Assert.assertSame(IO.DictionaryOutput.of(out), out);
+		for (String value : values) {
+			IO.writeString(value, out);
+			IO.writeInt(value.length(), out);
+		}
+		dout.flush();
+
+		final ByteArrayOutputStream plain = new ByteArrayOutputStream();
+		final DataOutputStream pout = new DataOutputStream(plain);
+		for (String value : values) {
+			IO.writeString(value, pout);
+			IO.writeInt(value.length(), pout);
+		}
+		pout.flush();
+		Assert.assertTrue(bout.size() < plain.size()/2);
+
+		final ByteArrayInputStream bin = new ByteArrayInputStream(bout.toByteArray());
+		final IO.DictionaryInput in = IO.DictionaryInput.of(new DataInputStream(bin));
+		Assert.assertSame(IO.DictionaryInput.of(in), in);
+
+		String previous = null;
+		for (String value : values) {
+			final String read = IO.readString(in);
+			Assert.assertEquals(read, value);
+			Assert.assertEquals(IO.readInt(in), value.length());
+
+			// Repeated strings are read as the same instance.
+			if (read.equals(previous)) {
+				Assert.assertSame(read, previous);
+			}
+			previous = read;
+		}
+		Assert.assertEquals(bin.read(), -1);
+	}
+
+	@Test(expectedExceptions = StreamCorruptedException.class)
+	public void readInvalidDictionaryId() throws IOException {
+		final ByteArrayOutputStream bout = new ByteArrayOutputStream();
+		final DataOutputStream dout = new DataOutputStream(bout);
+		IO.writeInt(-1, dout);
+		dout.flush();
+
+		final ByteArrayInputStream bin = new ByteArrayInputStream(bout.toByteArray());
+		IO.readString(IO.DictionaryInput.of(new DataInputStream(bin)));
+	}
+
 }
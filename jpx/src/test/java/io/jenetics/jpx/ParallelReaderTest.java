@@ -0,0 +1,262 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import io.jenetics.jpx.GPX.Reader.Mode;
+import io.jenetics.jpx.GPX.Version;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class ParallelReaderTest {
+
+	private ExecutorService executor;
+
+	@BeforeClass
+	public void setup() {
+		executor = Executors.newFixedThreadPool(4);
+	}
+
+	@AfterClass
+	public void cleanup() {
+		executor.shutdown();
+	}
+
+	private GPX read(final GPX.Reader reader, final String xml)
+		throws IOException
+	{
+		return new ParallelReader(reader, executor, 1)
+			.read(ByteBuffer.wrap(xml.getBytes(UTF_8)));
+	}
+
+	private static GPX sequential(final GPX.Reader reader, final String xml)
+		throws IOException
+	{
+		return reader.read(new ByteArrayInputStream(xml.getBytes(UTF_8)));
+	}
+
+	@DataProvider
+	public Object[][] readers() {
+		return new Object[][] {
+			{GPX.Reader.of(Version.V10, Mode.STRICT)},
+			{GPX.Reader.of(Version.V10, Mode.LENIENT)},
+			{GPX.Reader.of(Version.V11, Mode.STRICT)},
+			{GPX.Reader.of(Version.V11, Mode.LENIENT)}
+		};
+	}
+
+	@Test(dataProvider = "readers")
+	public void readRandomGPX(final GPX.Reader reader) throws IOException {
+		final var random = new Random(123);
+		for (int i = 0; i < 20; ++i) {
+			final GPX gpx = GPXTest.nextGPX(random);
+			final var out = new ByteArrayOutputStream();
+			GPX.Writer.of(new GPX.Writer.Indent("  "), 20)
+				.write(
+					reader.version() == Version.V10
+						? gpx.toBuilder().version(Version.V10).build()
+						: gpx,
+					out
+				);
+			final String xml = out.toString(UTF_8);
+
+			Assert.assertEquals(read(reader, xml), sequential(reader, xml));
+		}
+	}
+
+	@Test
+	public void readFile() throws IOException {
+		final var random = new Random(1234);
+		final GPX gpx = GPXTest.nextGPX(random);
+
+		final Path path = Files.createTempFile("jpx-parallel-", ".gpx");
+		try {
+			GPX.write(gpx, path);
+			Assert.assertEquals(
+				GPX.Reader.DEFAULT.read(path, executor),
+				GPX.Reader.DEFAULT.read(path)
+			);
+		} finally {
+			Files.deleteIfExists(path);
+		}
+	}
+
+	@Test
+	public void readDocumentOrder() throws IOException {
+		final String xml = """
+			<?xml version="1.0" encoding="UTF-8"?>
+			<gpx version="1.1" creator="test" xmlns="http://www.topografix.com/GPX/1/1">
+				<wpt lat="1" lon="1"/>
+				<trk><name>t1</name></trk>
+				<wpt lat="2" lon="2"><name>w2</name></wpt>
+				<rte><name>r1</name></rte>
+				<trk><name>t2</name></trk>
+				<rte><name>r2</name></rte>
+				<wpt lat="3" lon="3"></wpt>
+			</gpx>
+			""";
+
+		final GPX gpx = read(GPX.Reader.DEFAULT, xml);
+		Assert.assertEquals(gpx, sequential(GPX.Reader.DEFAULT, xml));
+		Assert.assertEquals(gpx.getCreator(), "test");
+		Assert.assertEquals(gpx.getWayPoints().size(), 3);
+		Assert.assertEquals(
+			gpx.getWayPoints().get(2).getLatitude().doubleValue(), 3.0
+		);
+		Assert.assertEquals(gpx.getRoutes().get(1).getName().orElseThrow(), "r2");
+		Assert.assertEquals(gpx.getTracks().get(0).getName().orElseThrow(), "t1");
+		Assert.assertEquals(gpx.getTracks().get(1).getName().orElseThrow(), "t2");
+	}
+
+	@Test
+	public void readNamespaces() throws IOException {
+		final String xml = """
+			<g:gpx version="1.1" creator="test"
+				xmlns:g="http://www.topografix.com/GPX/1/1"
+				xmlns:ext="http://example.org/ext">
+				<g:metadata><g:name>meta</g:name></g:metadata>
+				<g:trk>
+					<g:name>t1</g:name>
+					<g:extensions><ext:color>red</ext:color></g:extensions>
+					<g:trkseg><g:trkpt lat="1" lon="2"/></g:trkseg>
+				</g:trk>
+				<g:extensions><ext:id>42</ext:id></g:extensions>
+			</g:gpx>
+			""";
+
+		final GPX gpx = read(GPX.Reader.DEFAULT, xml);
+		Assert.assertEquals(gpx, sequential(GPX.Reader.DEFAULT, xml));
+		Assert.assertTrue(gpx.getTracks().get(0).getExtensions().isPresent());
+		Assert.assertTrue(gpx.getExtensions().isPresent());
+		Assert.assertEquals(
+			gpx.getMetadata().orElseThrow().getName().orElseThrow(),
+			"meta"
+		);
+	}
+
+	@Test
+	public void readMarkupInCommentsAndText() throws IOException {
+		final String xml = """
+			<gpx version="1.1" creator="te>st">
+				<!-- <trk><name>comment</name></trk> -->
+				<trk><name><![CDATA[</trk><trk>]]></name></trk>
+				<trk><desc>a &gt; b</desc></trk>
+			</gpx>
+			""";
+
+		final GPX gpx = read(GPX.Reader.DEFAULT, xml);
+		Assert.assertEquals(gpx, sequential(GPX.Reader.DEFAULT, xml));
+		Assert.assertEquals(gpx.getTracks().size(), 2);
+		Assert.assertEquals(
+			gpx.getTracks().get(0).getName().orElseThrow(),
+			"</trk><trk>"
+		);
+	}
+
+	@Test
+	public void readInvalidElement() throws IOException {
+		final String xml = """
+			<gpx version="1.1" creator="test">
+				<wpt lat="1" lon="1"/>
+				<wpt lat="1000" lon="1"/>
+				<wpt lat="3" lon="3"/>
+			</gpx>
+			""";
+
+		final var lenient = GPX.Reader.of(Mode.LENIENT);
+		final GPX gpx = read(lenient, xml);
+		Assert.assertEquals(gpx, sequential(lenient, xml));
+		Assert.assertEquals(gpx.getWayPoints().size(), 2);
+
+		Assert.assertThrows(
+			InvalidObjectException.class,
+			() -> read(GPX.Reader.DEFAULT, xml)
+		);
+	}
+
+	@Test(expectedExceptions = InvalidObjectException.class)
+	public void readMalformedDocument() throws IOException {
+		read(GPX.Reader.DEFAULT, "<gpx><trk><name>a</trk></gpx>");
+	}
+
+	@Test
+	public void readSequentialFallback() {
+		final String xml = """
+			<?xml version="1.0"?>
+			<!DOCTYPE gpx [<!ENTITY name "entity">]>
+			<gpx version="1.1" creator="test">
+				<trk><name>&name;</name></trk>
+			</gpx>
+			""";
+
+		Assert.assertNull(
+			ParallelReader.Layout.scan(ByteBuffer.wrap(xml.getBytes(UTF_8)))
+		);
+
+		final var expected = Assert.expectThrows(
+			InvalidObjectException.class,
+			() -> sequential(GPX.Reader.DEFAULT, xml)
+		);
+		final var actual = Assert.expectThrows(
+			InvalidObjectException.class,
+			() -> read(GPX.Reader.DEFAULT, xml)
+		);
+		Assert.assertEquals(actual.getMessage(), expected.getMessage());
+	}
+
+	@Test
+	public void scan() {
+		final String xml =
+			"<?xml version=\"1.0\"?><gpx a='>'><wpt/><?pi <trk>?><metadata/><trk></trk></gpx>";
+		final var layout = ParallelReader.Layout
+			.scan(ByteBuffer.wrap(xml.getBytes(UTF_8)));
+
+		Assert.assertNotNull(layout);
+		Assert.assertEquals(layout.root, "gpx");
+		Assert.assertEquals(xml.substring(0, layout.rootEnd), "<?xml version=\"1.0\"?><gpx a='>'>");
+		Assert.assertEquals(layout.size, 2);
+		Assert.assertEquals(xml.substring(layout.starts[0], layout.ends[0]), "<wpt/>");
+		Assert.assertEquals(xml.substring(layout.starts[1], layout.ends[1]), "<trk></trk>");
+		Assert.assertEquals(
+			new String(layout.skeleton(ByteBuffer.wrap(xml.getBytes(UTF_8))), UTF_8),
+			"<?xml version=\"1.0\"?><gpx a='>'><?pi <trk>?><metadata/></gpx>"
+		);
+	}
+
+}
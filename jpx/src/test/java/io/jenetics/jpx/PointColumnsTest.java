@@ -0,0 +1,233 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import io.jenetics.jpx.geom.Geoid;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class PointColumnsTest {
+
+	private static List<WayPoint> compactPoints(final Random random, final int size) {
+		return Stream
+			.generate(() -> WayPoint.of(
+				Latitude.ofDegrees(random.nextDouble()*180 - 90),
+				Longitude.ofDegrees(random.nextDouble()*360 - 180),
+				random.nextBoolean()
+					? Length.of(random.nextDouble()*1000, Length.Unit.METER)
+					: null,
+				random.nextBoolean()
+					? Instant.ofEpochSecond(random.nextInt(), random.nextInt(1_000_000_000))
+					: null
+			))
+			.limit(size)
+			.toList();
+	}
+
+	@Test
+	public void compactPoints() {
+		final List<WayPoint> points = compactPoints(new Random(123), 1000);
+		final PointColumns columns = PointColumns.of(points);
+
+		Assert.assertEquals(columns.size(), points.size());
+		Assert.assertEquals(columns.getPoints(), points);
+		for (int i = 0; i < points.size(); ++i) {
+			final WayPoint point = points.get(i);
+			Assert.assertEquals(columns.latitude(i), point.getLatitude().doubleValue());
+			Assert.assertEquals(columns.longitude(i), point.getLongitude().doubleValue());
+
+			final double ele = point.getElevation()
+				.map(Length::doubleValue)
+				.orElse(Double.NaN);
+			Assert.assertEquals(columns.elevationOrNaN(i), ele);
+
+			final long time = point.getTime()
+				.map(t -> t.getEpochSecond()*1_000_000_000L + t.getNano())
+				.orElse(PointColumns.NO_TIME);
+			Assert.assertEquals(columns.epochNanosOrMin(i), time);
+		}
+	}
+
+	@Test
+	public void fullPoints() {
+		final Random random = new Random(123);
+		final List<WayPoint> points = Stream
+			.generate(() -> random.nextInt(10) == 0
+				? WayPointTest.nextWayPoint(random)
+				: WayPoint.of(random.nextDouble()*90, random.nextDouble()*180))
+			.limit(1000)
+			.toList();
+
+		final PointColumns columns = PointColumns.of(points);
+		Assert.assertEquals(columns.getPoints(), points);
+		Assert.assertEquals(columns.points().toList(), points);
+	}
+
+	@Test
+	public void unrepresentableValues() {
+		final List<WayPoint> points = List.of(
+			WayPoint.of(
+				Latitude.ofDegrees(1),
+				Longitude.ofDegrees(2),
+				null,
+				Instant.MAX
+			),
+			WayPoint.of(
+				Latitude.ofDegrees(1),
+				Longitude.ofDegrees(2),
+				Length.of(Double.NaN, Length.Unit.METER),
+				null
+			)
+		);
+
+		final PointColumns columns = PointColumns.of(points);
+		Assert.assertEquals(columns.getPoints(), points);
+		Assert.assertEquals(columns.epochNanosOrMin(0), PointColumns.NO_TIME);
+	}
+
+	@Test
+	public void trackSegmentRoundTrip() {
+		final Random random = new Random(123);
+		final TrackSegment segment = TrackSegment.builder()
+			.points(compactPoints(random, 100))
+			.extensions(XML.parse("<extensions><foo>bar</foo></extensions>"))
+			.build();
+
+		final PointColumns columns = PointColumns.of(segment);
+		final TrackSegment view = columns.toTrackSegment();
+		Assert.assertEquals(view, segment);
+		Assert.assertEquals(view.getPoints(), segment.getPoints());
+		Assert.assertTrue(view.getExtensions().isPresent());
+
+		final PointColumns shared = PointColumns.of(view);
+		Assert.assertEquals(shared, columns);
+		Assert.assertEquals(shared.hashCode(), columns.hashCode());
+		Assert.assertTrue(shared.getExtensions().isPresent());
+	}
+
+	@Test
+	public void equalsExtras() {
+		final List<WayPoint> points = compactPoints(new Random(123), 100);
+		final List<WayPoint> named = IntStream.range(0, points.size())
+			.mapToObj(i -> i == 50
+				? points.get(i).toBuilder().name("extra").build()
+				: points.get(i))
+			.toList();
+		final List<WayPoint> renamed = IntStream.range(0, points.size())
+			.mapToObj(i -> i == 51
+				? points.get(i).toBuilder().name("extra").build()
+				: points.get(i))
+			.toList();
+
+		final PointColumns columns = PointColumns.of(named);
+		Assert.assertEquals(PointColumns.of(named), columns);
+		Assert.assertEquals(PointColumns.of(named).hashCode(), columns.hashCode());
+		Assert.assertNotEquals(PointColumns.of(points), columns);
+		Assert.assertNotEquals(PointColumns.of(renamed), columns);
+	}
+
+	@Test
+	public void equalsIgnoresExtensions() {
+		final List<WayPoint> points = compactPoints(new Random(123), 100);
+		final TrackSegment segment = TrackSegment.builder()
+			.points(points)
+			.extensions(XML.parse("<extensions><foo>bar</foo></extensions>"))
+			.build();
+
+		final PointColumns columns = PointColumns.of(segment);
+		final PointColumns other = PointColumns.of(points);
+		Assert.assertEquals(segment, TrackSegment.of(points));
+		Assert.assertEquals(columns, other);
+		Assert.assertEquals(columns.hashCode(), other.hashCode());
+	}
+
+	@Test(expectedExceptions = UnsupportedOperationException.class)
+	public void unmodifiablePoints() {
+		PointColumns.of(compactPoints(new Random(), 10))
+			.getPoints()
+			.add(WayPoint.of(1, 2));
+	}
+
+	@Test
+	public void bounds() {
+		final List<WayPoint> points = compactPoints(new Random(123), 1000);
+
+		Assert.assertEquals(
+			PointColumns.of(points).bounds(),
+			points.stream().collect(Bounds.toBounds())
+		);
+	}
+
+	@Test
+	public void pathLength() {
+		final Random random = new Random(123);
+		final List<WayPoint> points = IntStream.range(0, 1000)
+			.mapToObj(i -> WayPoint.of(
+				48 + random.nextDouble()*0.1,
+				16 + random.nextDouble()*0.1))
+			.toList();
+
+		Assert.assertEquals(
+			PointColumns.of(points).pathLength(Geoid.WGS84),
+			points.stream().collect(Geoid.WGS84.toPathLength())
+		);
+	}
+
+	@Test
+	public void ofArrays() {
+		final PointColumns columns = PointColumns.of(
+			new double[]{1, 2, 3},
+			new double[]{4, 5, 6},
+			new double[]{7, Double.NaN, 9},
+			null
+		);
+
+		Assert.assertEquals(
+			columns.getPoints(),
+			List.of(
+				WayPoint.of(1, 4, 7, 0).toBuilder().time((Instant)null).build(),
+				WayPoint.of(2, 5),
+				WayPoint.of(3, 6, 9, 0).toBuilder().time((Instant)null).build()
+			)
+		);
+		Assert.assertEquals(columns.epochNanosOrMin(1), PointColumns.NO_TIME);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void ofArraysWithInvalidLatitude() {
+		PointColumns.of(new double[]{91}, new double[]{0}, null, null);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void ofArraysWithDifferentLengths() {
+		PointColumns.of(new double[]{1, 2}, new double[]{0}, null, null);
+	}
+
+}
@@ -0,0 +1,189 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import io.jenetics.jpx.GPX.Reader.IndexedPoint;
+import io.jenetics.jpx.GPX.Reader.PointType;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class PointCursorTest {
+
+	@Test(dataProvider = "types")
+	public void walk(final PointType type) {
+		final Random random = new Random(123);
+		for (int i = 0; i < 20; ++i) {
+			final GPX gpx = GPXTest.nextGPX(random);
+			Assert.assertEquals(walk(PointCursor.of(gpx, type)), expected(gpx, type));
+		}
+	}
+
+	@DataProvider
+	public Object[][] types() {
+		return new Object[][] {
+			{PointType.WAY_POINT},
+			{PointType.ROUTE_POINT},
+			{PointType.TRACK_POINT}
+		};
+	}
+
+	private static List<IndexedPoint> walk(final PointCursor cursor) {
+		final List<IndexedPoint> points = new ArrayList<>();
+		while (cursor.next()) {
+			final WayPoint point = cursor.point();
+			Assert.assertEquals(cursor.latitude(), point.getLatitude().doubleValue());
+			Assert.assertEquals(cursor.longitude(), point.getLongitude().doubleValue());
+
+			final double ele = point.getElevation()
+				.map(Length::doubleValue)
+				.orElse(Double.NaN);
+			Assert.assertEquals(cursor.elevationOrNaN(), ele);
+
+			final long time = point.getTime()
+				.map(Instant::toEpochMilli)
+				.orElse(PointCursor.NO_TIME);
+			Assert.assertEquals(cursor.epochMillisOrMin(), time);
+
+			points.add(new IndexedPoint(
+				cursor.type(),
+				cursor.index(),
+				cursor.segment(),
+				point
+			));
+		}
+		return points;
+	}
+
+	private static List<IndexedPoint> expected(final GPX gpx, final PointType type) {
+		final List<IndexedPoint> points = new ArrayList<>();
+		switch (type) {
+			case WAY_POINT -> {
+				for (int i = 0; i < gpx.getWayPoints().size(); ++i) {
+					points.add(new IndexedPoint(type, i, -1, gpx.getWayPoints().get(i)));
+				}
+			}
+			case ROUTE_POINT -> {
+				for (int i = 0; i < gpx.getRoutes().size(); ++i) {
+					for (WayPoint point : gpx.getRoutes().get(i)) {
+						points.add(new IndexedPoint(type, i, -1, point));
+					}
+				}
+			}
+			case TRACK_POINT -> {
+				for (int i = 0; i < gpx.getTracks().size(); ++i) {
+					final Track track = gpx.getTracks().get(i);
+					for (int j = 0; j < track.getSegments().size(); ++j) {
+						for (WayPoint point : track.getSegments().get(j)) {
+							points.add(new IndexedPoint(type, i, j, point));
+						}
+					}
+				}
+			}
+		}
+		return points;
+	}
+
+	@Test
+	public void walkColumns() {
+		final Random random = new Random(123);
+		final GPX gpx = GPXTest.nextGPX(random).toBuilder()
+			.trackFilter()
+				.map(track -> track.toBuilder()
+					.map(segment -> PointColumns.of(segment).toTrackSegment())
+					.build())
+				.build()
+			.build();
+
+		Assert.assertEquals(
+			walk(PointCursor.of(gpx, PointType.TRACK_POINT)),
+			expected(gpx, PointType.TRACK_POINT)
+		);
+	}
+
+	@Test
+	public void reset() {
+		final Random random = new Random(123);
+		final GPX gpx1 = GPXTest.nextGPX(random);
+		final GPX gpx2 = GPXTest.nextGPX(random);
+
+		final PointCursor cursor = PointCursor.of(gpx1, PointType.TRACK_POINT);
+		Assert.assertEquals(walk(cursor), expected(gpx1, PointType.TRACK_POINT));
+		Assert.assertFalse(cursor.next());
+
+		cursor.reset();
+		Assert.assertEquals(walk(cursor), expected(gpx1, PointType.TRACK_POINT));
+
+		cursor.reset(gpx2);
+		Assert.assertEquals(walk(cursor), expected(gpx2, PointType.TRACK_POINT));
+	}
+
+	@Test
+	public void emptySegments() {
+		final GPX gpx = GPX.builder()
+			.addTrack(track -> track
+				.addSegment(TrackSegment.of(List.of()))
+				.addSegment(segment -> segment.addPoint(p -> p.lat(1).lon(2)))
+				.addSegment(TrackSegment.of(List.of())))
+			.addTrack(Track.builder().build())
+			.addTrack(track -> track
+				.addSegment(segment -> segment.addPoint(p -> p.lat(3).lon(4))))
+			.build();
+
+		final PointCursor cursor = PointCursor.of(gpx, PointType.TRACK_POINT);
+		Assert.assertTrue(cursor.next());
+		Assert.assertEquals(cursor.index(), 0);
+		Assert.assertEquals(cursor.segment(), 1);
+		Assert.assertEquals(cursor.latitude(), 1.0);
+		Assert.assertTrue(cursor.next());
+		Assert.assertEquals(cursor.index(), 2);
+		Assert.assertEquals(cursor.segment(), 0);
+		Assert.assertEquals(cursor.latitude(), 3.0);
+		Assert.assertFalse(cursor.next());
+		Assert.assertFalse(cursor.next());
+	}
+
+	@Test(expectedExceptions = IllegalStateException.class)
+	public void accessBeforeNext() {
+		PointCursor.of(GPX.builder().build(), PointType.TRACK_POINT).latitude();
+	}
+
+	@Test(expectedExceptions = IllegalStateException.class)
+	public void accessAfterEnd() {
+		final GPX gpx = GPX.builder()
+			.addWayPoint(WayPoint.of(1, 2))
+			.build();
+
+		final PointCursor cursor = PointCursor.of(gpx, PointType.WAY_POINT);
+		Assert.assertTrue(cursor.next());
+		Assert.assertFalse(cursor.next());
+		cursor.latitude();
+	}
+
+}
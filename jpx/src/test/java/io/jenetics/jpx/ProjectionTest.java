@@ -0,0 +1,286 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import io.jenetics.jpx.GPX.Reader.Mode;
+import io.jenetics.jpx.GPX.Reader.Projection;
+import io.jenetics.jpx.GPX.Version;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class ProjectionTest {
+
+	private static final String BASE_DIR =
+		"src/test/resources/io/jenetics/jpx/serialization";
+
+	@DataProvider
+	public Object[][] files() {
+		return new Object[][] {
+			{Path.of(BASE_DIR, "gpx_0.xml")},
+			{Path.of(BASE_DIR, "gpx_3.xml")},
+			{Path.of(BASE_DIR, "gpx_7.xml")},
+			{Path.of(BASE_DIR, "gpx_12.xml")}
+		};
+	}
+
+	private static WayPoint project(final WayPoint point) {
+		return WayPoint.builder()
+			.lat(point.getLatitude())
+			.lon(point.getLongitude())
+			.ele(point.getElevation().orElse(null))
+			.time(point.getTime().orElse(null))
+			.build();
+	}
+
+	private static List<WayPoint> points(final GPX gpx) {
+		return gpx.tracks()
+			.flatMap(Track::segments)
+			.flatMap(TrackSegment::points)
+			.toList();
+	}
+
+	@Test(dataProvider = "files")
+	public void readAll(final Path path) throws IOException {
+		final var reader = GPX.Reader.of(Version.V11, Mode.STRICT, Projection.ALL);
+		Assert.assertEquals(reader.read(path), GPX.read(path));
+	}
+
+	@Test(dataProvider = "files")
+	public void readWayPointFields(final Path path) throws IOException {
+		final var reader = GPX.Reader.of(
+			Version.V11,
+			Mode.STRICT,
+			Projection.ALL.wayPoint("ele", "time")
+		);
+
+		final GPX expected = GPX.read(path);
+		final GPX gpx = reader.read(path);
+
+		Assert.assertEquals(
+			gpx.getWayPoints(),
+			expected.getWayPoints().stream().map(ProjectionTest::project).toList()
+		);
+		Assert.assertEquals(
+			points(gpx),
+			points(expected).stream().map(ProjectionTest::project).toList()
+		);
+		Assert.assertEquals(
+			gpx.routes().flatMap(Route::points).toList(),
+			expected.routes()
+				.flatMap(Route::points)
+				.map(ProjectionTest::project)
+				.toList()
+		);
+
+		// Track and route headers are still read.
+		Assert.assertEquals(
+			gpx.tracks().map(Track::getName).toList(),
+			expected.tracks().map(Track::getName).toList()
+		);
+		Assert.assertEquals(gpx.getMetadata(), expected.getMetadata());
+	}
+
+	@Test(dataProvider = "files")
+	public void readTrackFields(final Path path) throws IOException {
+		final var reader = GPX.Reader.of(
+			Version.V11,
+			Mode.STRICT,
+			Projection.ALL.track("name")
+		);
+
+		final GPX expected = GPX.read(path);
+		final GPX gpx = reader.read(path);
+
+		Assert.assertEquals(
+			gpx.getTracks(),
+			expected.tracks()
+				.map(track -> Track.builder()
+					.name(track.getName().orElse(null))
+					.build())
+				.toList()
+		);
+	}
+
+	@Test(dataProvider = "files")
+	public void readMetadataFields(final Path path) throws IOException {
+		final GPX expected = GPX.read(path);
+
+		final GPX gpx1 = GPX.Reader
+			.of(Version.V11, Mode.STRICT, Projection.ALL.metadata())
+			.read(path);
+		Assert.assertTrue(gpx1.getMetadata().isEmpty());
+		Assert.assertEquals(gpx1.getTracks(), expected.getTracks());
+
+		final GPX gpx2 = GPX.Reader
+			.of(Version.V11, Mode.STRICT, Projection.ALL.metadata("name"))
+			.read(path);
+		Assert.assertEquals(
+			gpx2.getMetadata().flatMap(Metadata::getName),
+			expected.getMetadata().flatMap(Metadata::getName)
+		);
+		Assert.assertTrue(gpx2.getMetadata()
+			.flatMap(Metadata::getAuthor)
+			.isEmpty()
+		);
+	}
+
+	@Test
+	public void readV10Fields() throws IOException {
+		final String xml = """
+			<gpx version="1.0" creator="test">
+				<name>gpx name</name>
+				<email>user@example.org</email>
+				<keywords>keywords</keywords>
+				<wpt lat="1" lon="2">
+					<ele>100</ele>
+					<name>point</name>
+					<url>http://example.org</url>
+					<urlname>example</urlname>
+					<course>12</course>
+				</wpt>
+			</gpx>
+			""";
+
+		final var reader = GPX.Reader.of(
+			Version.V10,
+			Mode.STRICT,
+			Projection.ALL
+				.wayPoint("url", "course")
+				.metadata("keywords")
+		);
+
+		final GPX gpx = reader.read(new ByteArrayInputStream(xml.getBytes(UTF_8)));
+		final WayPoint point = gpx.getWayPoints().get(0);
+		Assert.assertTrue(point.getElevation().isEmpty());
+		Assert.assertTrue(point.getName().isEmpty());
+		Assert.assertEquals(point.getLinks().get(0).getText().orElseThrow(), "example");
+		Assert.assertEquals(point.getCourse().orElseThrow().doubleValue(), 12.0);
+
+		final Metadata metadata = gpx.getMetadata().orElseThrow();
+		Assert.assertTrue(metadata.getName().isEmpty());
+		Assert.assertTrue(metadata.getAuthor().isEmpty());
+		Assert.assertEquals(metadata.getKeywords().orElseThrow(), "keywords");
+	}
+
+	@Test
+	public void skippedFieldsAreNotValidated() throws IOException {
+		final String xml = """
+			<gpx version="1.1" creator="test">
+				<wpt lat="1" lon="2">
+					<time>2024-01-01T10:00:00Z</time>
+					<hdop>invalid</hdop>
+					<extensions><a><b>c</b></a></extensions>
+				</wpt>
+			</gpx>
+			""";
+
+		Assert.assertThrows(
+			IOException.class,
+			() -> GPX.Reader.DEFAULT
+				.read(new ByteArrayInputStream(xml.getBytes(UTF_8)))
+		);
+
+		final GPX gpx = GPX.Reader
+			.of(Version.V11, Mode.STRICT, Projection.ALL.wayPoint("time"))
+			.read(new ByteArrayInputStream(xml.getBytes(UTF_8)));
+		final WayPoint point = gpx.getWayPoints().get(0);
+		Assert.assertTrue(point.getTime().isPresent());
+		Assert.assertTrue(point.getHdop().isEmpty());
+		Assert.assertTrue(point.getExtensions().isEmpty());
+	}
+
+	@Test(dataProvider = "files")
+	public void streamWithProjection(final Path path) throws IOException {
+		final var reader = GPX.Reader.of(
+			Version.V11,
+			Mode.STRICT,
+			Projection.ALL.wayPoint("time")
+		);
+
+		try (var points = reader.stream(path)) {
+			Assert.assertEquals(
+				points.toList(),
+				points(reader.read(path))
+			);
+		}
+	}
+
+	@Test(dataProvider = "files")
+	public void readParallelWithProjection(final Path path) throws IOException {
+		final var reader = GPX.Reader.of(
+			Version.V11,
+			Mode.STRICT,
+			Projection.ALL.wayPoint("ele").track("trkseg")
+		);
+
+		Assert.assertEquals(
+			reader.read(path, ForkJoinPool.commonPool()),
+			reader.read(path)
+		);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void unknownField() {
+		Projection.ALL.wayPoint("elevation");
+	}
+
+	@Test
+	public void fields() {
+		final var projection = Projection.ALL
+			.wayPoint("ele", "urlname")
+			.metadata("email");
+
+		Assert.assertEquals(
+			projection.wayPointFields().orElseThrow(),
+			Set.of("ele", "link")
+		);
+		Assert.assertTrue(projection.trackFields().isEmpty());
+		Assert.assertEquals(
+			projection.metadataFields().orElseThrow(),
+			Set.of("author")
+		);
+		Assert.assertEquals(
+			projection,
+			Projection.ALL.metadata("author").wayPoint("link", "ele")
+		);
+		Assert.assertNotEquals(projection, Projection.ALL);
+		Assert.assertEquals(
+			projection.toString(),
+			format("Projection[way-point=%s, track=*, metadata=[author]]",
+				projection.wayPointFields().orElseThrow())
+		);
+	}
+
+}
@@ -0,0 +1,378 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import io.jenetics.jpx.GPX.Reader.IndexedPoint;
+import io.jenetics.jpx.GPX.Reader.Mode;
+import io.jenetics.jpx.GPX.Reader.PointType;
+import io.jenetics.jpx.GPX.Reader.Projection;
+import io.jenetics.jpx.GPX.Reader.Selection;
+import io.jenetics.jpx.GPX.Version;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class SelectionTest {
+
+	private static final String BASE_DIR =
+		"src/test/resources/io/jenetics/jpx/serialization";
+
+	private static final Bounds BOUNDS = Bounds.of(48.5, 17, 49.5, 18);
+
+	@DataProvider
+	public Object[][] files() {
+		return new Object[][] {
+			{Path.of(BASE_DIR, "gpx_0.xml")},
+			{Path.of(BASE_DIR, "gpx_3.xml")},
+			{Path.of(BASE_DIR, "gpx_7.xml")},
+			{Path.of(BASE_DIR, "gpx_12.xml")}
+		};
+	}
+
+	private static GPX.Reader reader(final Selection selection) {
+		return GPX.Reader.of(Version.V11, Mode.STRICT, Projection.ALL, selection);
+	}
+
+	private static boolean inBounds(final WayPoint point) {
+		final double lat = point.getLatitude().toDegrees();
+		final double lon = point.getLongitude().toDegrees();
+		return lat >= 48.5 && lat <= 49.5 && lon >= 17 && lon <= 18;
+	}
+
+	private static List<Instant> times(final GPX gpx) {
+		return Stream.of(
+				gpx.wayPoints(),
+				gpx.routes().flatMap(Route::points),
+				gpx.tracks().flatMap(Track::segments).flatMap(TrackSegment::points)
+			)
+			.flatMap(points -> points)
+			.flatMap(point -> point.getTime().stream())
+			.sorted()
+			.toList();
+	}
+
+	// Selects the expected elements from the completely read GPX object.
+	private static GPX select(
+		final GPX gpx,
+		final Predicate<? super WayPoint> points,
+		final Predicate<? super Track> tracks,
+		final boolean dropEmpty
+	) {
+		final List<Route> routes = gpx.routes()
+			.map(route -> Route.of(
+				route.getName().orElse(null),
+				route.getComment().orElse(null),
+				route.getDescription().orElse(null),
+				route.getSource().orElse(null),
+				route.getLinks(),
+				route.getNumber().orElse(null),
+				route.getType().orElse(null),
+				route.getExtensions().orElse(null),
+				route.points().filter(points).toList()
+			))
+			.filter(route -> !dropEmpty || !route.getPoints().isEmpty())
+			.toList();
+
+		final List<Track> selected = gpx.tracks()
+			.filter(tracks)
+			.map(track -> Track.of(
+				track.getName().orElse(null),
+				track.getComment().orElse(null),
+				track.getDescription().orElse(null),
+				track.getSource().orElse(null),
+				track.getLinks(),
+				track.getNumber().orElse(null),
+				track.getType().orElse(null),
+				track.getExtensions().orElse(null),
+				track.segments()
+					.map(segment -> TrackSegment.of(
+						segment.points().filter(points).toList(),
+						segment.getExtensions().orElse(null)
+					))
+					.filter(segment -> !dropEmpty || !segment.isEmpty())
+					.toList()
+			))
+			.filter(track -> !dropEmpty || !track.getSegments().isEmpty())
+			.toList();
+
+		return gpx.toBuilder()
+			.wayPoints(gpx.wayPoints().filter(points).toList())
+			.routes(routes)
+			.tracks(selected)
+			.build();
+	}
+
+	@Test(dataProvider = "files")
+	public void readAll(final Path path) throws IOException {
+		Assert.assertEquals(reader(Selection.ALL).read(path), GPX.read(path));
+	}
+
+	@Test(dataProvider = "files")
+	public void selectBounds(final Path path) throws IOException {
+		final GPX expected = select(
+			GPX.read(path),
+			SelectionTest::inBounds,
+			track -> true,
+			true
+		);
+		final GPX gpx = reader(Selection.ALL.bounds(BOUNDS)).read(path);
+
+		Assert.assertEquals(gpx, expected);
+	}
+
+	@Test(dataProvider = "files")
+	public void selectTime(final Path path) throws IOException {
+		final GPX all = GPX.read(path);
+		final List<Instant> times = times(all);
+		final Instant start = times.get(times.size()/4);
+		final Instant end = times.get(times.size()*3/4);
+
+		final GPX expected = select(
+			all,
+			point -> point.getTime()
+				.filter(time -> !time.isBefore(start) && time.isBefore(end))
+				.isPresent(),
+			track -> true,
+			true
+		);
+		final GPX gpx = reader(Selection.ALL.time(start, end)).read(path);
+
+		Assert.assertEquals(gpx, expected);
+	}
+
+	@Test(dataProvider = "files")
+	public void selectTrack(final Path path) throws IOException {
+		final Predicate<Track> filter = track -> track.getName()
+			.map(name -> name.hashCode()%2 == 0)
+			.orElse(false);
+
+		final GPX expected = select(GPX.read(path), point -> true, filter, false);
+		final GPX gpx = reader(Selection.ALL.track(filter)).read(path);
+
+		Assert.assertEquals(gpx, expected);
+	}
+
+	@Test(dataProvider = "files")
+	public void selectParallel(final Path path) throws IOException {
+		final GPX.Reader reader = reader(
+			Selection.ALL
+				.bounds(BOUNDS)
+				.track(track -> track.getName().isPresent())
+		);
+		final GPX gpx = new ParallelReader(reader, ForkJoinPool.commonPool(), 1)
+			.read(path);
+
+		Assert.assertEquals(gpx, reader.read(path));
+	}
+
+	@Test(dataProvider = "files")
+	public void selectStream(final Path path) throws IOException {
+		final List<WayPoint> expected = GPX.read(path).tracks()
+			.flatMap(Track::segments)
+			.flatMap(TrackSegment::points)
+			.filter(SelectionTest::inBounds)
+			.toList();
+
+		final GPX.Reader reader = reader(Selection.ALL.bounds(BOUNDS));
+		try (Stream<IndexedPoint> points =
+				reader.stream(path, Set.of(PointType.TRACK_POINT)))
+		{
+			Assert.assertEquals(
+				points.map(IndexedPoint::point).toList(),
+				expected
+			);
+		}
+	}
+
+	@Test
+	public void selectAcrossAntimeridian() {
+		final GPX gpx = GPX.builder()
+			.addWayPoint(WayPoint.of(10, 179))
+			.addWayPoint(WayPoint.of(10, -179))
+			.addWayPoint(WayPoint.of(10, 0))
+			.build();
+
+		final GPX selected = reader(Selection.ALL.bounds(Bounds.of(0, 170, 20, -170)))
+			.fromString(GPX.Writer.DEFAULT.toString(gpx));
+
+		Assert.assertEquals(
+			selected.getWayPoints(),
+			List.of(WayPoint.of(10, 179), WayPoint.of(10, -179))
+		);
+	}
+
+	@Test
+	public void skipRejectedPoints() throws IOException {
+		// The invalid 'magvar' values of the rejected points are not parsed.
+		final byte[] xml = """
+			<gpx version="1.1" creator="test" xmlns="http://www.topografix.com/GPX/1/1">
+			    <wpt lat="80" lon="10">
+			        <magvar>invalid</magvar>
+			    </wpt>
+			    <wpt lat="10" lon="10">
+			        <time>2020-01-01T12:00:00Z</time>
+			        <magvar>invalid</magvar>
+			    </wpt>
+			    <wpt lat="10" lon="10">
+			        <time>2021-01-01T12:00:00Z</time>
+			        <magvar>12</magvar>
+			    </wpt>
+			    <trk>
+			        <trkseg>
+			            <trkpt lat="50" lon="10">
+			                <magvar>invalid</magvar>
+			            </trkpt>
+			        </trkseg>
+			    </trk>
+			</gpx>
+			""".getBytes(UTF_8);
+
+		Assert.expectThrows(
+			InvalidObjectException.class,
+			() -> GPX.Reader.DEFAULT.read(new ByteArrayInputStream(xml))
+		);
+
+		final Selection selection = Selection.ALL
+			.bounds(Bounds.of(0, 0, 20, 20))
+			.time(
+				Instant.parse("2021-01-01T00:00:00Z"),
+				Instant.parse("2022-01-01T00:00:00Z")
+			);
+		final GPX gpx = reader(selection).read(new ByteArrayInputStream(xml));
+
+		Assert.assertEquals(
+			gpx.getWayPoints(),
+			List.of(
+				WayPoint.builder()
+					.time(Instant.parse("2021-01-01T12:00:00Z"))
+					.magvar(12)
+					.build(10, 10)
+			)
+		);
+		// Tracks without selected points are dropped.
+		Assert.assertEquals(gpx.getTracks(), List.of());
+	}
+
+	@Test
+	public void skipRejectedTracks() throws IOException {
+		// The invalid points of the rejected track are not parsed.
+		final byte[] xml = """
+			<gpx version="1.1" creator="test" xmlns="http://www.topografix.com/GPX/1/1">
+			    <trk>
+			        <name>Skipped</name>
+			        <trkseg>
+			            <trkpt lat="invalid" lon="10"/>
+			        </trkseg>
+			    </trk>
+			    <trk>
+			        <name>Selected</name>
+			        <type>running</type>
+			    </trk>
+			</gpx>
+			""".getBytes(UTF_8);
+
+		Assert.expectThrows(
+			InvalidObjectException.class,
+			() -> GPX.Reader.DEFAULT.read(new ByteArrayInputStream(xml))
+		);
+
+		final GPX gpx = reader(
+			Selection.ALL.track(track -> track.getType().isPresent())
+		).read(new ByteArrayInputStream(xml));
+
+		Assert.assertEquals(
+			gpx.getTracks(),
+			List.of(Track.builder().name("Selected").type("running").build())
+		);
+	}
+
+	@Test
+	public void selectWithProjection() throws IOException {
+		final Path path = Path.of(BASE_DIR, "gpx_7.xml");
+		final GPX all = GPX.read(path);
+		final List<Instant> times = times(all);
+		final Instant start = times.get(0);
+		final Instant end = times.get(times.size() - 1);
+
+		// The time is read for the selection, but not part of the points.
+		final GPX gpx = GPX.Reader.of(
+			Version.V11,
+			Mode.STRICT,
+			Projection.ALL.wayPoint("ele"),
+			Selection.ALL.time(start, end)
+		).read(path);
+
+		Assert.assertEquals(
+			gpx.wayPoints().toList(),
+			all.wayPoints()
+				.filter(point -> point.getTime()
+					.filter(time -> !time.isBefore(start) && time.isBefore(end))
+					.isPresent())
+				.map(point -> WayPoint.builder()
+					.ele(point.getElevation().orElse(null))
+					.build(point.getLatitude(), point.getLongitude()))
+				.toList()
+		);
+		Assert.assertFalse(gpx.wayPoints().toList().isEmpty());
+		Assert.assertTrue(times(gpx).isEmpty());
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void invalidTimeRange() {
+		Selection.ALL.time(
+			Instant.parse("2021-01-01T00:00:00Z"),
+			Instant.parse("2020-01-01T00:00:00Z")
+		);
+	}
+
+	@Test
+	public void equalsAndToString() {
+		final Selection selection = Selection.ALL.bounds(BOUNDS);
+
+		Assert.assertEquals(selection, Selection.ALL.bounds(BOUNDS));
+		Assert.assertEquals(selection.hashCode(), Selection.ALL.bounds(BOUNDS).hashCode());
+		Assert.assertNotEquals(selection, Selection.ALL);
+		Assert.assertEquals(selection.bounds(), Optional.of(BOUNDS));
+		Assert.assertEquals(selection.start(), Optional.empty());
+		Assert.assertEquals(
+			Selection.ALL.toString(),
+			"Selection[bounds=*, time=*, track=*]"
+		);
+	}
+
+}
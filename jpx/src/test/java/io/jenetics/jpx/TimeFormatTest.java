@@ -22,6 +22,7 @@ package io.jenetics.jpx;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.Instant;
+import java.util.Random;
 
 import org.testng.Assert;
 import org.testng.annotations.DataProvider;
@@ -49,6 +50,49 @@ public class TimeFormatTest {
 		);
 	}
 
+	@Test(dataProvider = "validExamples")
+	public void parseFast(final String example) {
+		final Instant expected = TimeFormat
+			.findFormat(example)
+			.formatParse(example);
+
+		assertThat(TimeFormat.parseFast(example)).isEqualTo(expected);
+		assertThat(TimeFormat.parse(example)).isEqualTo(expected);
+	}
+
+	@Test
+	public void parseFastRandomTimes() {
+		final var random = new Random(123);
+		for (int i = 0; i < 1000; ++i) {
+			final Instant time = Instant.ofEpochSecond(
+				random.nextLong(-62_000_000_000L, 250_000_000_000L),
+				random.nextInt(1_000_000_000)
+			);
+			final String string = TimeFormat.format(time);
+
+			assertThat(TimeFormat.parseFast(string)).isEqualTo(time);
+		}
+	}
+
+	@Test(dataProvider = "unusualExamples")
+	public void parseFallback(final String example) {
+		assertThat(TimeFormat.parseFast(example)).isNull();
+
+		final Instant expected = TimeFormat
+			.findFormat(example)
+			.formatParse(example);
+		assertThat(TimeFormat.parse(example)).isEqualTo(expected);
+	}
+
+	@DataProvider(name = "unusualExamples")
+	public Object[][] unusualExamples() {
+		return new Object[][] {
+			{"2001-02-29T21:32:52Z"},
+			{"2001-04-31T21:32:52Z"},
+			{"2001-10-26T24:00:00Z"}
+		};
+	}
+
 	@DataProvider(name = "validExamples")
 	public Object[][] validExamples() {
 		return new Object[][] {
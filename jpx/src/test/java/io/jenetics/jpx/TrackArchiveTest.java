@@ -0,0 +1,211 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import io.jenetics.jpx.geom.Geoid;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class TrackArchiveTest {
+
+	private static TrackArchive archive(final GPX gpx) throws IOException {
+		// Mapped files can't be deleted on every platform.
+		final Path path = Files.createTempFile("jpx-", ".jpxa");
+		path.toFile().deleteOnExit();
+
+		TrackArchive.write(gpx, path);
+		return TrackArchive.open(path);
+	}
+
+	private static void assertSegment(
+		final TrackArchive.Segment segment,
+		final TrackSegment expected
+	) {
+		final List<WayPoint> points = expected.getPoints();
+		Assert.assertEquals(segment.size(), points.size());
+
+		for (int i = 0; i < points.size(); ++i) {
+			final WayPoint point = points.get(i);
+			final Point view = segment.get(i);
+
+			Assert.assertEquals(view.getLatitude(), point.getLatitude());
+			Assert.assertEquals(view.getLongitude(), point.getLongitude());
+			Assert.assertEquals(view.getElevation(), point.getElevation());
+			Assert.assertEquals(view.getTime(), point.getTime());
+			Assert.assertEquals(
+				segment.latitude(i),
+				point.getLatitude().doubleValue()
+			);
+		}
+	}
+
+	@Test(invocationCount = 5)
+	public void writeOpen() throws IOException {
+		final var random = new Random();
+		final GPX gpx = GPX.builder()
+			.tracks(TrackTest.nextTracks(random))
+			.build();
+
+		try (var archive = archive(gpx)) {
+			Assert.assertEquals(archive.trackCount(), gpx.getTracks().size());
+			Assert.assertEquals(
+				archive.segmentCount(),
+				gpx.tracks().flatMap(Track::segments).count()
+			);
+
+			for (int i = 0; i < archive.trackCount(); ++i) {
+				final Track track = gpx.getTracks().get(i);
+				Assert.assertEquals(
+					archive.segmentCount(i),
+					track.getSegments().size()
+				);
+				Assert.assertEquals(
+					archive.segments(i).size(),
+					track.getSegments().size()
+				);
+
+				for (int j = 0; j < archive.segmentCount(i); ++j) {
+					assertSegment(archive.segment(i, j), track.getSegments().get(j));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void randomAccess() throws IOException {
+		final var random = new Random(123);
+		final GPX gpx = GPX.builder()
+			.tracks(IntStream.range(0, 50)
+				.mapToObj(i -> TrackTest.nextTrack(random))
+				.toList())
+			.build();
+
+		try (var archive = archive(gpx)) {
+			for (int k = 0; k < 100; ++k) {
+				final int i = random.nextInt(archive.trackCount());
+				if (archive.segmentCount(i) > 0) {
+					final int j = random.nextInt(archive.segmentCount(i));
+					assertSegment(
+						archive.segment(i, j),
+						gpx.getTracks().get(i).getSegments().get(j)
+					);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void toColumns() throws IOException {
+		final var start = Instant.parse("2024-01-01T10:00:00Z");
+		final TrackSegment segment = TrackSegment.of(
+			IntStream.range(0, 1000)
+				.mapToObj(i -> WayPoint.of(
+					Latitude.ofDegrees(48.2 + i*0.0001),
+					Longitude.ofDegrees(16.3 + i*0.0001),
+					i%3 != 0 ? Length.of(200 + i%100, Length.Unit.METER) : null,
+					i%5 != 0 ? start.plusSeconds(i) : null
+				))
+				.toList()
+		);
+		final GPX gpx = GPX.builder()
+			.addTrack(track -> track.addSegment(segment))
+			.build();
+
+		try (var archive = archive(gpx)) {
+			final PointColumns columns = archive.segment(0, 0).toColumns();
+			Assert.assertEquals(columns, PointColumns.of(segment));
+			Assert.assertEquals(
+				columns.pathLength(Geoid.DEFAULT),
+				PointColumns.of(segment).pathLength(Geoid.DEFAULT)
+			);
+		}
+	}
+
+	@Test
+	public void pointViews() throws IOException {
+		final GPX gpx = GPX.builder()
+			.addTrack(track -> track
+				.addSegment(segment -> segment
+					.addPoint(p -> p.lat(48.2).lon(16.3))
+					.addPoint(p -> p.lat(48.3).lon(16.4).ele(Double.NaN))
+					.addPoint(p -> p.lat(48.2).lon(16.3))))
+			.build();
+
+		try (var archive = archive(gpx)) {
+			final TrackArchive.Segment segment = archive.segment(0, 0);
+			Assert.assertEquals(segment.get(0), segment.get(2));
+			Assert.assertEquals(segment.get(0).hashCode(), segment.get(2).hashCode());
+			Assert.assertNotEquals(segment.get(0), segment.get(1));
+			Assert.assertTrue(segment.get(1).getElevation().isEmpty());
+			Assert.assertTrue(Double.isNaN(segment.elevationOrNaN(0)));
+			Assert.assertEquals(segment.epochNanosOrMin(0), PointColumns.NO_TIME);
+			Assert.assertEquals(
+				segment.get(0).distance(segment.get(1)),
+				gpx.getTracks().get(0).getSegments().get(0).getPoints().get(0)
+					.distance(segment.get(1))
+			);
+		}
+	}
+
+	@Test
+	public void emptyArchive() throws IOException {
+		try (var archive = archive(GPX.builder().build())) {
+			Assert.assertEquals(archive.trackCount(), 0);
+			Assert.assertEquals(archive.segmentCount(), 0);
+		}
+	}
+
+	@Test(expectedExceptions = IndexOutOfBoundsException.class)
+	public void invalidSegmentIndex() throws IOException {
+		final GPX gpx = GPX.builder()
+			.addTrack(track -> track
+				.addSegment(segment -> segment.addPoint(p -> p.lat(1).lon(2))))
+			.build();
+
+		try (var archive = archive(gpx)) {
+			archive.segment(0, 1);
+		}
+	}
+
+	@Test(expectedExceptions = InvalidObjectException.class)
+	public void openInvalidFile() throws IOException {
+		final Path path = Files.createTempFile("jpx-", ".jpxa");
+		try {
+			Files.write(path, GPXCodec.DEFAULT.encode(GPX.builder().build()));
+			TrackArchive.open(path).close();
+		} finally {
+			Files.deleteIfExists(path);
+		}
+	}
+
+}
@@ -0,0 +1,232 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.w3c.dom.Document;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class XMLFragmentTest {
+
+	private static XMLStreamReaderAdapter reader(final String xml)
+		throws XMLStreamException
+	{
+		final var reader = new XMLStreamReaderAdapter(
+			XMLProvider.provider()
+				.xmlInputFactory()
+				.createXMLStreamReader(new StringReader(xml))
+		);
+
+		// Move to the <extensions> element of the <gpx> element.
+		reader.nextTag();
+		reader.nextTag();
+		return reader;
+	}
+
+	private static XMLFragment fragment(final String xml)
+		throws XMLStreamException
+	{
+		try (var reader = reader(xml)) {
+			return XMLFragment.read(reader);
+		}
+	}
+
+	private static Document document(final String xml)
+		throws XMLStreamException
+	{
+		try (var reader = reader(xml)) {
+			return XML.extensions(XMLReader.doc("extensions").read(reader, false));
+		}
+	}
+
+	private static String write(final XMLWriter<? super Object> writer, final Object value)
+		throws XMLStreamException
+	{
+		final var out = new StringWriter();
+		final XMLStreamWriter xml = XMLProvider.provider()
+			.xmlOutputFactory()
+			.createXMLStreamWriter(out);
+
+		xml.writeStartElement("root");
+		writer.write(xml, value);
+		xml.writeEndElement();
+		xml.close();
+		return out.toString();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> XMLWriter<? super Object> erase(final XMLWriter<T> writer) {
+		return (xml, value) -> writer.write(xml, (T)value);
+	}
+
+	@DataProvider
+	public Object[][] extensions() {
+		return new Object[][] {
+			{"""
+				<gpx xmlns="http://www.topografix.com/GPX/1/1">
+				    <extensions><foo>asdf</foo><foo>asdf</foo></extensions>
+				</gpx>
+				"""},
+			{"""
+				<gpx xmlns="http://www.topografix.com/GPX/1/1"
+				    xmlns:gpxdata="http://www.cluetrust.com/XML/GPXDATA/1/0">
+				    <extensions>
+				        <gpxdata:hr>164</gpxdata:hr>
+				        <gpxdata:cadence>99</gpxdata:cadence>
+				    </extensions>
+				</gpx>
+				"""},
+			{"""
+				<gpx xmlns="http://www.topografix.com/GPX/1/1"
+				    xmlns:ns3="http://www.garmin.com/xmlschemas/TrackPointExtension/v1">
+				    <extensions>
+				        <ns3:TrackPointExtension>
+				            <ns3:hr>120</ns3:hr>
+				            <ns3:cad>80</ns3:cad>
+				        </ns3:TrackPointExtension>
+				        <other xmlns="urn:other" attr="a &amp; &quot;b&quot;">x &lt; y</other>
+				    </extensions>
+				</gpx>
+				"""},
+			{"""
+				<gpx>
+				    <extensions>
+				        <!-- comment --><foo a="1"/>text<?pi data?><?empty?>
+				        <bar xml:lang="de" xmlns:a="urn:a" a:b="&#9;1&#10;"><a:c/></bar>
+				    </extensions>
+				</gpx>
+				"""}
+		};
+	}
+
+	@Test(dataProvider = "extensions")
+	public void readDocument(final String xml) throws XMLStreamException {
+		final Document expected = document(xml);
+		final Document document = fragment(xml).document();
+
+		Assert.assertTrue(XML.equals(document, expected));
+		Assert.assertEquals(XML.toString(document), XML.toString(expected));
+	}
+
+	@Test(dataProvider = "extensions")
+	public void writeFragment(final String xml) throws XMLStreamException {
+		Assert.assertEquals(
+			write(erase(XMLWriter.fragment("extensions")), fragment(xml)),
+			write(erase(XMLWriter.doc("extensions")), document(xml))
+		);
+	}
+
+	@Test(dataProvider = "extensions")
+	public void documentFragment(final String xml) throws XMLStreamException {
+		final XMLFragment fragment = XMLFragment.of(document(xml));
+
+		Assert.assertEquals(
+			XML.toString(fragment.document()),
+			XML.toString(document(xml))
+		);
+		Assert.assertEquals(
+			write(erase(XMLWriter.fragment("extensions")), fragment),
+			write(erase(XMLWriter.doc("extensions")), document(xml))
+		);
+	}
+
+	@Test
+	public void documentCopies() throws XMLStreamException {
+		final XMLFragment fragment = fragment((String)extensions()[0][0]);
+
+		final Document document = fragment.document();
+		document.getDocumentElement().removeChild(
+			document.getDocumentElement().getFirstChild()
+		);
+
+		Assert.assertNotEquals(
+			XML.toString(fragment.document()),
+			XML.toString(document)
+		);
+	}
+
+	@Test
+	public void readEmpty() throws XMLStreamException {
+		Assert.assertNull(fragment("""
+			<gpx>
+			    <extensions>
+			        <!-- comment -->
+			    </extensions>
+			</gpx>
+			"""
+		));
+	}
+
+	@Test
+	public void readLeavesEndElement() throws XMLStreamException {
+		try (var reader = reader((String)extensions()[1][0])) {
+			XMLFragment.read(reader);
+
+			Assert.assertEquals(reader.getEventType(), END_ELEMENT);
+			Assert.assertEquals(reader.getLocalName(), "extensions");
+			Assert.assertEquals(reader.nextTag(), END_ELEMENT);
+			Assert.assertEquals(reader.getLocalName(), "gpx");
+		}
+	}
+
+	@Test
+	public void wayPointExtensions() throws IOException {
+		final String xml = """
+			<gpx version="1.1" creator="test" xmlns="http://www.topografix.com/GPX/1/1"
+			    xmlns:gpxdata="http://www.cluetrust.com/XML/GPXDATA/1/0">
+			    <wpt lat="48.2" lon="16.3">
+			        <extensions><gpxdata:hr>164</gpxdata:hr></extensions>
+			    </wpt>
+			</gpx>
+			""";
+
+		final GPX gpx = GPX.Reader.DEFAULT.fromString(xml);
+		final WayPoint point = gpx.getWayPoints().get(0);
+		final Document expected = XML.parse(
+			"<extensions xmlns=\"http://www.topografix.com/GPX/1/1\">" +
+			"<gpxdata:hr xmlns:gpxdata=\"http://www.cluetrust.com/XML/GPXDATA/1/0\">" +
+			"164</gpxdata:hr></extensions>"
+		);
+
+		Assert.assertTrue(XML.equals(point.getExtensions().orElseThrow(), expected));
+		Assert.assertTrue(XML.equals(
+			point.toBuilder().build().getExtensions().orElseThrow(),
+			expected
+		));
+		Assert.assertEquals(
+			GPX.Reader.DEFAULT.fromString(GPX.Writer.DEFAULT.toString(gpx)),
+			gpx
+		);
+	}
+
+}
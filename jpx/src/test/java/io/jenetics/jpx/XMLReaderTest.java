@@ -0,0 +1,150 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static io.jenetics.jpx.XMLReader.attr;
+import static io.jenetics.jpx.XMLReader.elem;
+import static io.jenetics.jpx.XMLReader.elems;
+import static io.jenetics.jpx.XMLReader.text;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+
+import javax.xml.stream.XMLStreamException;
+
+import org.assertj.core.api.Assertions;
+import org.testng.annotations.Test;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class XMLReaderTest {
+
+	private record Property(String name, String value, List<String> tags) {}
+
+	private static final XMLReader<Property> READER = elem(
+		v -> new Property((String)v[0], (String)v[1], cast(v[2])),
+		"property",
+		attr("name"),
+		elem("value"),
+		elems(elem("tag"))
+	);
+
+	@SuppressWarnings("unchecked")
+	private static List<String> cast(final Object value) {
+		return (List<String>)value;
+	}
+
+	private static <T> T read(
+		final String xml,
+		final XMLReader<T> reader,
+		final boolean lenient
+	)
+		throws XMLStreamException
+	{
+		final var input = new XMLStreamReaderAdapter(
+			XMLProvider.provider()
+				.xmlInputFactory()
+				.createXMLStreamReader(new ByteArrayInputStream(xml.getBytes(UTF_8)))
+		);
+		input.next();
+		return reader.read(input, lenient);
+	}
+
+	@Test
+	public void readElement() throws XMLStreamException {
+		final Property property = read(
+			"""
+			<property name="size">
+				<tag>a</tag>
+				<value>1234</value>
+				<tag>b</tag>
+				<tag>c</tag>
+			</property>
+			""",
+			READER,
+			false
+		);
+
+		Assertions.assertThat(property)
+			.isEqualTo(new Property("size", "1234", List.of("a", "b", "c")));
+	}
+
+	@Test
+	public void readEmptyList() throws XMLStreamException {
+		final Property property = read(
+			"<property name=\"size\"><value>1234</value></property>",
+			READER,
+			false
+		);
+
+		Assertions.assertThat(property.tags()).isEmpty();
+	}
+
+	@Test
+	public void readSplitText() throws XMLStreamException {
+		final String value = read(
+			"<value>12<![CDATA[34]]>56</value>",
+			elem("value"),
+			false
+		);
+
+		Assertions.assertThat(value).isEqualTo("123456");
+	}
+
+	@Test
+	public void readUnknownElementLenient() throws XMLStreamException {
+		final Property property = read(
+			"""
+			<property name="size">
+				<unknown><nested>x</nested></unknown>
+				<value>1234</value>
+			</property>
+			""",
+			READER,
+			true
+		);
+
+		Assertions.assertThat(property)
+			.isEqualTo(new Property("size", "1234", List.of()));
+	}
+
+	@Test(expectedExceptions = XMLStreamException.class)
+	public void readUnknownElementStrict() throws XMLStreamException {
+		read(
+			"<property name=\"size\"><unknown/><value>1234</value></property>",
+			READER,
+			false
+		);
+	}
+
+	@Test
+	public void readText() throws XMLStreamException {
+		final String value = read(
+			"<value>1234</value>",
+			elem(v -> (String)v[0], "value", text()),
+			false
+		);
+
+		Assertions.assertThat(value).isEqualTo("1234");
+	}
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx.geom;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import io.jenetics.jpx.Bounds;
+import io.jenetics.jpx.WayPoint;
+
+/**
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class CoordinatesTest {
+
+	@Test
+	public void bounds() {
+		final Random random = new Random(123);
+		final List<WayPoint> points = Stream
+			.generate(() -> WayPoint.of(
+				random.nextDouble()*180 - 90,
+				random.nextDouble()*360 - 180))
+			.limit(1001)
+			.toList();
+
+		final double[] lat = points.stream()
+			.mapToDouble(p -> p.getLatitude().doubleValue())
+			.toArray();
+		final double[] lon = points.stream()
+			.mapToDouble(p -> p.getLongitude().doubleValue())
+			.toArray();
+
+		Assert.assertEquals(
+			Coordinates.bounds(lat, lon),
+			points.stream().collect(Bounds.toBounds())
+		);
+	}
+
+	@Test
+	public void emptyBounds() {
+		Assert.assertNull(Coordinates.bounds(new double[0], new double[0]));
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void boundsWithDifferentArrayLengths() {
+		Coordinates.bounds(new double[3], new double[2]);
+	}
+
+}
@@ -126,14 +126,171 @@ public class GeoidTest {
 		};
 	}
 
-	@Test(expectedExceptions = UnsupportedOperationException.class)
-	public void parallelPointStream() {
-		Length length = Stream.generate(() -> WayPointTest.nextWayPoint(new Random()))
-			.limit(1000)
-			.parallel()
+	@Test(dataProvider = "pointSizes")
+	public void collectParallelPathLength(final int size) {
+		final Random random = new Random(123);
+		final List<WayPoint> points = Stream
+			.generate(() -> WayPointTest.nextWayPoint(random))
+			.limit(size*10)
+			.toList();
+
+		final Length length = points.parallelStream()
 			.collect(GEOID.toPathLength());
 
-		Assert.assertNotNull(length);
+		Assert.assertEquals(length.doubleValue(), pathLength(points), 1e-6);
+	}
+
+	@Test(dataProvider = "pointSizes")
+	public void collectParallelTourLength(final int size) {
+		final Random random = new Random(123);
+		final List<WayPoint> points = Stream
+			.generate(() -> WayPointTest.nextWayPoint(random))
+			.limit(size*10)
+			.toList();
+
+		final Length length = points.parallelStream()
+			.collect(GEOID.toTourLength());
+
+		Assert.assertEquals(length.doubleValue(), tourLength(points), 1e-6);
+	}
+
+	@Test(dataProvider = "modelErrors")
+	public void modelDistance(
+		final DistanceModel model,
+		final double distance,
+		final double error
+	) {
+		final Geoid geoid = Geoid.WGS84.withModel(model);
+		final Random random = new Random(123);
+
+		for (int i = 0; i < 1000; ++i) {
+			final double lat = random.nextDouble()*120 - 60;
+			final double lon = random.nextDouble()*300 - 150;
+			final double azimuth = random.nextDouble()*2*Math.PI;
+
+			final WayPoint start = WayPoint.of(lat, lon);
+			final WayPoint end = WayPoint.of(
+				lat + distance*Math.cos(azimuth)/111_000,
+				lon + distance*Math.sin(azimuth)/
+					(111_000*Math.cos(Math.toRadians(lat)))
+			);
+
+			final double expected = GEOID.distance(start, end).doubleValue();
+			final double actual = start.distance(end, geoid).doubleValue();
+			Assert.assertEquals(actual, expected, expected*error);
+		}
+	}
+
+	@DataProvider(name = "modelErrors")
+	public Object[][] modelErrors() {
+		return new Object[][] {
+			{DistanceModel.VINCENTY, 1_000_000, 0.0},
+			{DistanceModel.HAVERSINE, 10, 6e-3},
+			{DistanceModel.HAVERSINE, 1_000_000, 6e-3},
+			{DistanceModel.EQUIRECTANGULAR, 1_000, 1e-7},
+			{DistanceModel.EQUIRECTANGULAR, 10_000, 1e-5},
+			{DistanceModel.EQUIRECTANGULAR, 100_000, 1e-3},
+			{DistanceModel.ANDOYER_LAMBERT, 10, 2e-6},
+			{DistanceModel.ANDOYER_LAMBERT, 1_000_000, 2e-6}
+		};
+	}
+
+	@Test
+	public void modelPathLength() {
+		final Geoid geoid = Geoid.WGS84.withModel(DistanceModel.EQUIRECTANGULAR);
+		final Random random = new Random(123);
+		final List<WayPoint> points = Stream
+			.generate(() -> WayPoint.of(
+				48 + random.nextDouble()*0.01,
+				16 + random.nextDouble()*0.01))
+			.limit(1000)
+			.toList();
+
+		final double expected = points.stream()
+			.collect(Geoid.WGS84.toPathLength())
+			.doubleValue();
+		final double actual = points.stream()
+			.collect(geoid.toPathLength())
+			.doubleValue();
+
+		Assert.assertEquals(actual, expected, expected*1e-6);
+	}
+
+	@Test(dataProvider = "models")
+	public void batchDistances(final DistanceModel model) {
+		final Geoid geoid = Geoid.WGS84.withModel(model);
+		final Random random = new Random(123);
+		final List<WayPoint> points = Stream
+			.generate(() -> WayPoint.of(
+				random.nextDouble()*120 - 60,
+				random.nextDouble()*300 - 150))
+			.limit(1000)
+			.toList();
+
+		final double[] lat = points.stream()
+			.mapToDouble(p -> p.getLatitude().doubleValue())
+			.toArray();
+		final double[] lon = points.stream()
+			.mapToDouble(p -> p.getLongitude().doubleValue())
+			.toArray();
+		final double[] distances = new double[points.size() - 1];
+		geoid.distances(lat, lon, distances);
+
+		for (int i = 0; i < distances.length; ++i) {
+			final double expected = geoid
+				.distance(points.get(i), points.get(i + 1))
+				.doubleValue();
+			Assert.assertEquals(
+				distances[i],
+				expected,
+				expected*Kernels.TOLERANCE
+			);
+		}
+
+		final double expected = points.stream()
+			.collect(geoid.toPathLength())
+			.doubleValue();
+		Assert.assertEquals(
+			geoid.pathLength(lat, lon),
+			expected,
+			expected*Kernels.TOLERANCE
+		);
+	}
+
+	@DataProvider(name = "models")
+	public Object[][] models() {
+		return Stream.of(DistanceModel.values())
+			.map(model -> new Object[]{model})
+			.toArray(Object[][]::new);
+	}
+
+	@Test
+	public void batchPathLengthOfShortArrays() {
+		Assert.assertEquals(GEOID.pathLength(new double[0], new double[0]), 0.0);
+		Assert.assertEquals(GEOID.pathLength(new double[]{48}, new double[]{16}), 0.0);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void batchDistancesWithDifferentArrayLengths() {
+		GEOID.distances(new double[3], new double[2], new double[2]);
+	}
+
+	@Test(expectedExceptions = IllegalArgumentException.class)
+	public void batchDistancesWithTooShortOutput() {
+		GEOID.distances(new double[3], new double[3], new double[1]);
+	}
+
+	@Test
+	public void withModel() {
+		Assert.assertEquals(Geoid.WGS84.model(), DistanceModel.VINCENTY);
+		Assert.assertSame(
+			Geoid.WGS84.withModel(DistanceModel.VINCENTY),
+			Geoid.WGS84
+		);
+
+		final Geoid geoid = Geoid.WGS84.withModel(DistanceModel.HAVERSINE);
+		Assert.assertEquals(geoid.model(), DistanceModel.HAVERSINE);
+		Assert.assertSame(geoid.ellipsoid(), Ellipsoid.WGS84);
 	}
 
 }
@@ -0,0 +1,145 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx.geom;
+
+import java.util.Random;
+
+import org.testng.Assert;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+/**
+ * Compares the {@link Kernels#INSTANCE}, which is the vector implementation if
+ * the {@code jdk.incubator.vector} module is available, with the scalar one.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ */
+public class KernelsTest {
+
+	private static final Kernels SCALAR = new ScalarKernels();
+
+	@Test(dataProvider = "sizes")
+	public void radians(final int size) {
+		final double[] degrees = values(size, 360, 123);
+
+		final double[] expected = new double[size];
+		final double[] actual = new double[size];
+		SCALAR.radians(degrees, expected);
+		Kernels.INSTANCE.radians(degrees, actual);
+
+		Assert.assertEquals(actual, expected);
+	}
+
+	@Test(dataProvider = "sizes")
+	public void cosines(final int size) {
+		final double[] values = values(size, 2*Math.PI, 123);
+
+		final double[] expected = new double[size];
+		final double[] actual = new double[size];
+		SCALAR.cosines(values, expected);
+		Kernels.INSTANCE.cosines(values, actual);
+
+		for (int i = 0; i < size; ++i) {
+			Assert.assertEquals(actual[i], expected[i], 2*Math.ulp(expected[i]));
+		}
+	}
+
+	@Test(dataProvider = "sizes")
+	public void haversine(final int size) {
+		final double[] lat = values(size, Math.PI, 123);
+		final double[] lon = values(size, 2*Math.PI, 456);
+		final double[] coslat = new double[size];
+		SCALAR.cosines(lat, coslat);
+
+		final double[] expected = new double[Math.max(size - 1, 0)];
+		final double[] actual = new double[Math.max(size - 1, 0)];
+		SCALAR.haversine(lat, coslat, lon, 6_371_000, expected);
+		Kernels.INSTANCE.haversine(lat, coslat, lon, 6_371_000, actual);
+
+		assertEquals(actual, expected);
+	}
+
+	@Test(dataProvider = "sizes")
+	public void equirectangular(final int size) {
+		final double[] lat = values(size, Math.PI, 123);
+		final double[] lon = values(size, 2*Math.PI, 456);
+
+		final double a = Ellipsoid.WGS84.A();
+		final double f = 1.0/Ellipsoid.WGS84.F();
+		final double e2 = f*(2 - f);
+
+		final double[] expected = new double[Math.max(size - 1, 0)];
+		final double[] actual = new double[Math.max(size - 1, 0)];
+		SCALAR.equirectangular(lat, lon, a, e2, expected);
+		Kernels.INSTANCE.equirectangular(lat, lon, a, e2, actual);
+
+		assertEquals(actual, expected);
+	}
+
+	@Test(dataProvider = "sizes")
+	public void bounds(final int size) {
+		if (size > 0) {
+			final double[] lat = values(size, 180, 123);
+			final double[] lon = values(size, 360, 456);
+
+			Assert.assertEquals(
+				Kernels.INSTANCE.bounds(lat, lon),
+				SCALAR.bounds(lat, lon)
+			);
+		}
+	}
+
+	@DataProvider
+	public Object[][] sizes() {
+		return new Object[][] {
+			{0}, {1}, {2}, {3}, {4}, {5}, {7}, {8}, {9}, {15}, {16}, {17},
+			{1000}, {1001}
+		};
+	}
+
+	// Random values in the range [-range/2, range/2).
+	private static double[] values(
+		final int size,
+		final double range,
+		final long seed
+	) {
+		final var random = new Random(seed);
+		final double[] values = new double[size];
+		for (int i = 0; i < size; ++i) {
+			values[i] = random.nextDouble()*range - range/2;
+		}
+		return values;
+	}
+
+	private static void assertEquals(
+		final double[] actual,
+		final double[] expected
+	) {
+		Assert.assertEquals(actual.length, expected.length);
+		for (int i = 0; i < actual.length; ++i) {
+			Assert.assertEquals(
+				actual[i],
+				expected[i],
+				expected[i]*Kernels.TOLERANCE
+			);
+		}
+	}
+
+}
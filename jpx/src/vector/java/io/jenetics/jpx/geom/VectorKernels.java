@@ -0,0 +1,221 @@
+/*
+ * Java GPX Library (@__identifier__@).
+ * Copyright (c) @__year__@ Franz Wilhelmstötter
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ * Author:
+ *    Franz Wilhelmstötter (franz.wilhelmstoetter@gmail.com)
+ */
+package io.jenetics.jpx.geom;
+
+import static java.lang.Math.PI;
+import static jdk.incubator.vector.VectorOperators.ASIN;
+import static jdk.incubator.vector.VectorOperators.COS;
+import static jdk.incubator.vector.VectorOperators.GT;
+import static jdk.incubator.vector.VectorOperators.LT;
+import static jdk.incubator.vector.VectorOperators.MAX;
+import static jdk.incubator.vector.VectorOperators.MIN;
+import static jdk.incubator.vector.VectorOperators.SIN;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD implementation of the coordinate kernels, using the
+ * {@code jdk.incubator.vector} API. This class must only be loaded if the
+ * {@code jdk.incubator.vector} module is available. The remaining elements,
+ * which doesn't fill a whole vector, are processed by the scalar kernels.
+ * <p>
+ * The class is part of the {@code vector} source set, which is compiled
+ * separately with the incubator module, and is loaded reflectively by
+ * {@link Kernels}.
+ *
+ * @author <a href="mailto:franz.wilhelmstoetter@gmail.com">Franz Wilhelmstötter</a>
+ * @version 3.3
+ * @since 3.3
+ */
+final class VectorKernels implements Kernels {
+
+	private static final VectorSpecies<Double> SPECIES =
+		DoubleVector.SPECIES_PREFERRED;
+
+	private static final double DEGREES_TO_RADIANS = Math.toRadians(1.0);
+
+	private final ScalarKernels _scalar = new ScalarKernels();
+
+	/**
+	 * Create a new vector kernels object.
+	 *
+	 * @throws UnsupportedOperationException if the platform has no SIMD
+	 *         support for double values
+	 */
+	VectorKernels() {
+		if (SPECIES.length() < 2) {
+			throw new UnsupportedOperationException(
+				"No SIMD support for double values."
+			);
+		}
+	}
+
+	@Override
+	public void radians(final double[] degrees, final double[] radians) {
+		final int bound = SPECIES.loopBound(degrees.length);
+
+		int i = 0;
+		for (; i < bound; i += SPECIES.length()) {
+			DoubleVector.fromArray(SPECIES, degrees, i)
+				.mul(DEGREES_TO_RADIANS)
+				.intoArray(radians, i);
+		}
+		for (; i < degrees.length; ++i) {
+			radians[i] = Math.toRadians(degrees[i]);
+		}
+	}
+
+	@Override
+	public void cosines(final double[] values, final double[] cosines) {
+		final int bound = SPECIES.loopBound(values.length);
+
+		int i = 0;
+		for (; i < bound; i += SPECIES.length()) {
+			DoubleVector.fromArray(SPECIES, values, i)
+				.lanewise(COS)
+				.intoArray(cosines, i);
+		}
+		for (; i < values.length; ++i) {
+			cosines[i] = Math.cos(values[i]);
+		}
+	}
+
+	@Override
+	public void haversine(
+		final double[] lat,
+		final double[] coslat,
+		final double[] lon,
+		final double radius,
+		final double[] out
+	) {
+		final int n = lat.length - 1;
+		final int bound = SPECIES.loopBound(Math.max(n, 0));
+
+		int i = 0;
+		for (; i < bound; i += SPECIES.length()) {
+			final var lat1 = DoubleVector.fromArray(SPECIES, lat, i);
+			final var lat2 = DoubleVector.fromArray(SPECIES, lat, i + 1);
+			final var lon1 = DoubleVector.fromArray(SPECIES, lon, i);
+			final var lon2 = DoubleVector.fromArray(SPECIES, lon, i + 1);
+			final var coslat1 = DoubleVector.fromArray(SPECIES, coslat, i);
+			final var coslat2 = DoubleVector.fromArray(SPECIES, coslat, i + 1);
+
+			final var sinlat = lat2.sub(lat1).mul(0.5).lanewise(SIN);
+			final var sinlon = lon2.sub(lon1).mul(0.5).lanewise(SIN);
+			final var h = sinlat.mul(sinlat)
+				.add(coslat1.mul(coslat2).mul(sinlon).mul(sinlon))
+				.min(1.0);
+
+			h.sqrt()
+				.lanewise(ASIN)
+				.mul(2.0)
+				.mul(radius)
+				.intoArray(out, i);
+		}
+		for (; i < n; ++i) {
+			out[i] = radius*Geoid.centralAngle(
+				lat[i], coslat[i], lon[i],
+				lat[i + 1], coslat[i + 1], lon[i + 1]
+			);
+		}
+	}
+
+	@Override
+	public void equirectangular(
+		final double[] lat,
+		final double[] lon,
+		final double a,
+		final double e2,
+		final double[] out
+	) {
+		final int n = lat.length - 1;
+		final int bound = SPECIES.loopBound(Math.max(n, 0));
+		final var one = DoubleVector.broadcast(SPECIES, 1.0);
+		final var e2v = DoubleVector.broadcast(SPECIES, e2);
+		final var av = DoubleVector.broadcast(SPECIES, a);
+
+		int i = 0;
+		for (; i < bound; i += SPECIES.length()) {
+			final var lat1 = DoubleVector.fromArray(SPECIES, lat, i);
+			final var lat2 = DoubleVector.fromArray(SPECIES, lat, i + 1);
+			final var lon1 = DoubleVector.fromArray(SPECIES, lon, i);
+			final var lon2 = DoubleVector.fromArray(SPECIES, lon, i + 1);
+
+			var dlon = lon2.sub(lon1);
+			dlon = dlon.sub(2*PI, dlon.compare(GT, PI));
+			dlon = dlon.add(2*PI, dlon.compare(LT, -PI));
+
+			// Meridional and prime vertical radius of curvature.
+			final var mid = lat1.add(lat2).mul(0.5);
+			final var sinlat = mid.lanewise(SIN);
+			final var w2 = one.sub(e2v.mul(sinlat).mul(sinlat));
+			final var nv = av.div(w2.sqrt());
+			final var mv = nv.mul(1 - e2).div(w2);
+
+			final var y = mv.mul(lat2.sub(lat1));
+			final var x = nv.mul(mid.lanewise(COS)).mul(dlon);
+			x.mul(x).add(y.mul(y)).sqrt().intoArray(out, i);
+		}
+		for (; i < n; ++i) {
+			out[i] = Geoid.equirectangular(
+				a, e2,
+				lat[i], lon[i],
+				lat[i + 1], lon[i + 1]
+			);
+		}
+	}
+
+	@Override
+	public double[] bounds(final double[] lat, final double[] lon) {
+		final int bound = SPECIES.loopBound(lat.length);
+
+		var minLat = DoubleVector.broadcast(SPECIES, Double.MAX_VALUE);
+		var minLon = DoubleVector.broadcast(SPECIES, Double.MAX_VALUE);
+		var maxLat = DoubleVector.broadcast(SPECIES, -Double.MAX_VALUE);
+		var maxLon = DoubleVector.broadcast(SPECIES, -Double.MAX_VALUE);
+
+		int i = 0;
+		for (; i < bound; i += SPECIES.length()) {
+			final var la = DoubleVector.fromArray(SPECIES, lat, i);
+			final var lo = DoubleVector.fromArray(SPECIES, lon, i);
+			minLat = minLat.min(la);
+			minLon = minLon.min(lo);
+			maxLat = maxLat.max(la);
+			maxLon = maxLon.max(lo);
+		}
+
+		final double[] result = {
+			minLat.reduceLanes(MIN),
+			minLon.reduceLanes(MIN),
+			maxLat.reduceLanes(MAX),
+			maxLon.reduceLanes(MAX)
+		};
+		for (; i < lat.length; ++i) {
+			result[0] = Math.min(result[0], lat[i]);
+			result[1] = Math.min(result[1], lon[i]);
+			result[2] = Math.max(result[2], lat[i]);
+			result[3] = Math.max(result[3], lon[i]);
+		}
+
+		return result;
+	}
+
+}